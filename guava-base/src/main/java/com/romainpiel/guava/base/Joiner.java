@@ -19,6 +19,7 @@ package com.romainpiel.guava.base;
 import android.support.annotation.Nullable;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -204,6 +205,152 @@ public class Joiner {
     return join(iterable(first, second, rest));
   }
 
+  /**
+   * Appends the decimal representation of each of {@code parts}, using the previously configured
+   * separator between each, to {@code appendable}. Digits are written directly, without creating a
+   * {@code String} or boxing any value.
+   */
+  public final <A extends Appendable> A appendTo(A appendable, int[] parts) throws IOException {
+    checkNotNull(appendable);
+    if (appendable instanceof StringBuilder) {
+      appendTo((StringBuilder) appendable, parts);
+      return appendable;
+    }
+    char[] buffer = new char[MAX_LONG_LENGTH];
+    for (int i = 0; i < parts.length; i++) {
+      if (i > 0) {
+        appendable.append(separator);
+      }
+      appendDigits(appendable, parts[i], buffer);
+    }
+    return appendable;
+  }
+
+  /**
+   * Appends the decimal representation of each of {@code parts}, using the previously configured
+   * separator between each, to {@code appendable}. Digits are written directly, without creating a
+   * {@code String} or boxing any value.
+   */
+  public final <A extends Appendable> A appendTo(A appendable, long[] parts) throws IOException {
+    checkNotNull(appendable);
+    if (appendable instanceof StringBuilder) {
+      appendTo((StringBuilder) appendable, parts);
+      return appendable;
+    }
+    char[] buffer = new char[MAX_LONG_LENGTH];
+    for (int i = 0; i < parts.length; i++) {
+      if (i > 0) {
+        appendable.append(separator);
+      }
+      appendDigits(appendable, parts[i], buffer);
+    }
+    return appendable;
+  }
+
+  /**
+   * Appends the string representation of each of {@code parts}, as given by {@link
+   * Double#toString(double)}, using the previously configured separator between each, to {@code
+   * appendable}. No value is boxed.
+   */
+  public final <A extends Appendable> A appendTo(A appendable, double[] parts) throws IOException {
+    checkNotNull(appendable);
+    if (appendable instanceof StringBuilder) {
+      appendTo((StringBuilder) appendable, parts);
+      return appendable;
+    }
+    for (int i = 0; i < parts.length; i++) {
+      if (i > 0) {
+        appendable.append(separator);
+      }
+      appendable.append(Double.toString(parts[i]));
+    }
+    return appendable;
+  }
+
+  /**
+   * Appends the decimal representation of each of {@code parts}, using the previously configured
+   * separator between each, to {@code builder}. Identical to {@link #appendTo(Appendable, int[])},
+   * except that it does not throw {@link IOException}.
+   */
+  public final StringBuilder appendTo(StringBuilder builder, int[] parts) {
+    checkNotNull(builder);
+    for (int i = 0; i < parts.length; i++) {
+      if (i > 0) {
+        builder.append(separator);
+      }
+      builder.append(parts[i]);
+    }
+    return builder;
+  }
+
+  /**
+   * Appends the decimal representation of each of {@code parts}, using the previously configured
+   * separator between each, to {@code builder}. Identical to {@link #appendTo(Appendable, long[])},
+   * except that it does not throw {@link IOException}.
+   */
+  public final StringBuilder appendTo(StringBuilder builder, long[] parts) {
+    checkNotNull(builder);
+    for (int i = 0; i < parts.length; i++) {
+      if (i > 0) {
+        builder.append(separator);
+      }
+      builder.append(parts[i]);
+    }
+    return builder;
+  }
+
+  /**
+   * Appends the string representation of each of {@code parts}, using the previously configured
+   * separator between each, to {@code builder}. Identical to {@link #appendTo(Appendable,
+   * double[])}, except that it does not throw {@link IOException}.
+   */
+  public final StringBuilder appendTo(StringBuilder builder, double[] parts) {
+    checkNotNull(builder);
+    for (int i = 0; i < parts.length; i++) {
+      if (i > 0) {
+        builder.append(separator);
+      }
+      builder.append(parts[i]);
+    }
+    return builder;
+  }
+
+  /**
+   * Returns a string containing the decimal representation of each of {@code parts}, using the
+   * previously configured separator between each. The exact length of the result is computed
+   * first, so the characters are copied only once.
+   */
+  public final String join(int[] parts) {
+    long length = separatorsLength(parts.length);
+    for (int part : parts) {
+      length += decimalLength(part);
+    }
+    return appendTo(new StringBuilder(capacity(length)), parts).toString();
+  }
+
+  /**
+   * Returns a string containing the decimal representation of each of {@code parts}, using the
+   * previously configured separator between each. The exact length of the result is computed
+   * first, so the characters are copied only once.
+   */
+  public final String join(long[] parts) {
+    long length = separatorsLength(parts.length);
+    for (long part : parts) {
+      length += decimalLength(part);
+    }
+    return appendTo(new StringBuilder(capacity(length)), parts).toString();
+  }
+
+  /**
+   * Returns a string containing the string representation of each of {@code parts}, as given by
+   * {@link Double#toString(double)}, using the previously configured separator between each. The
+   * builder is presized for a typical representation of every value and grows if needed.
+   */
+  public final String join(double[] parts) {
+    long length = separatorsLength(parts.length) + (long) TYPICAL_DOUBLE_LENGTH * parts.length;
+    return appendTo(new StringBuilder(capacity(length)), parts).toString();
+  }
+
   /**
    * Returns a joiner with the same behavior as this one, except automatically substituting {@code
    * nullText} for any provided null elements.
@@ -419,6 +566,86 @@ public class Joiner {
     return (part instanceof CharSequence) ? (CharSequence) part : part.toString();
   }
 
+  /** The length of {@code "-9223372036854775808"}. */
+  private static final int MAX_LONG_LENGTH = 20;
+
+  /**
+   * An estimate of the length of {@link Double#toString(double)} for everyday values such as {@code
+   * "0.1"} or {@code "-1234.56789"}. The longest, {@code "-2.2250738585072014E-308"}, is twice
+   * this.
+   */
+  private static final int TYPICAL_DOUBLE_LENGTH = 12;
+
+  /** The largest capacity that is safe to request for a {@code StringBuilder}. */
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  private static final char[] DIGIT_PAIRS = new char[200];
+
+  static {
+    for (int i = 0; i < 100; i++) {
+      DIGIT_PAIRS[i << 1] = (char) ('0' + i / 10);
+      DIGIT_PAIRS[(i << 1) + 1] = (char) ('0' + i % 10);
+    }
+  }
+
+  private long separatorsLength(int count) {
+    return count == 0 ? 0 : (long) separator.length() * (count - 1);
+  }
+
+  private static int capacity(long length) {
+    return (int) Math.min(length, MAX_CAPACITY);
+  }
+
+  /** Returns the number of characters in the decimal representation of {@code value}. */
+  private static int decimalLength(long value) {
+    int length = 1;
+    // Count with a non-positive value so that Long.MIN_VALUE needs no special case.
+    long n = value;
+    if (n < 0) {
+      length++;
+    } else {
+      n = -n;
+    }
+    while (n <= -10) {
+      n /= 10;
+      length++;
+    }
+    return length;
+  }
+
+  /**
+   * Writes the decimal representation of {@code value} into the end of {@code buffer}, two digits
+   * at a time, then appends it to {@code appendable}.
+   */
+  private static void appendDigits(Appendable appendable, long value, char[] buffer)
+      throws IOException {
+    int pos = buffer.length;
+    // Divide a non-positive value so that Long.MIN_VALUE needs no special case.
+    long n = value < 0 ? value : -value;
+    while (n <= -100) {
+      long next = n / 100;
+      int pair = (int) (next * 100 - n) << 1;
+      buffer[--pos] = DIGIT_PAIRS[pair + 1];
+      buffer[--pos] = DIGIT_PAIRS[pair];
+      n = next;
+    }
+    int pair = (int) -n << 1;
+    buffer[--pos] = DIGIT_PAIRS[pair + 1];
+    if (n <= -10) {
+      buffer[--pos] = DIGIT_PAIRS[pair];
+    }
+    if (value < 0) {
+      buffer[--pos] = '-';
+    }
+    if (appendable instanceof Writer) {
+      ((Writer) appendable).write(buffer, pos, buffer.length - pos);
+    } else {
+      for (; pos < buffer.length; pos++) {
+        appendable.append(buffer[pos]);
+      }
+    }
+  }
+
   private static Iterable<Object> iterable(
       final Object first, final Object second, final Object[] rest) {
     checkNotNull(rest);
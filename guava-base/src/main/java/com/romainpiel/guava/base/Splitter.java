@@ -0,0 +1,617 @@
+/*
+ * Copyright (C) 2009 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.romainpiel.guava.base.Preconditions.checkArgument;
+import static com.romainpiel.guava.base.Preconditions.checkElementIndex;
+import static com.romainpiel.guava.base.Preconditions.checkNotNull;
+import static com.romainpiel.guava.base.Preconditions.checkPositionIndexes;
+
+/**
+ * Extracts non-overlapping substrings from an input string, typically by recognizing appearances
+ * of a <i>separator</i> sequence. This separator can be specified as a single {@linkplain #on(char)
+ * character} or fixed {@linkplain #on(String) string}. Instead of using a separator at all, a
+ * splitter can extract adjacent substrings of a given {@linkplain #fixedLength fixed length}.
+ *
+ * <p>For example, this expression: <pre>   {@code
+ *
+ *   Splitter.on(',').split("foo,bar,qux")}</pre>
+ *
+ * ... produces an {@code Iterable} containing {@code "foo"}, {@code "bar"} and {@code "qux"}, in
+ * that order.
+ *
+ * <p>By default, {@code Splitter}'s behavior is simplistic and unassuming. The following
+ * expression: <pre>   {@code
+ *
+ *   Splitter.on(',').split(" foo,,,  bar ,")}</pre>
+ *
+ * ... yields the substrings {@code [" foo", "", "", "  bar ", ""]}. If this is not the desired
+ * behavior, use configuration methods to obtain a <i>new</i> splitter instance with modified
+ * behavior: <pre>   {@code
+ *
+ *   private static final Splitter MY_SPLITTER = Splitter.on(',')
+ *       .trimResults()
+ *       .omitEmptyStrings();}</pre>
+ *
+ * <p>Now {@code MY_SPLITTER.split("foo,,,  bar ,")} returns just {@code ["foo", "bar"]}. Note that
+ * the order in which these configuration methods are called is never significant.
+ *
+ * <p><b>Warning:</b> Splitter instances are immutable. Invoking a configuration method has no
+ * effect on the receiving instance; you must store and use the new splitter instance it returns
+ * instead.
+ *
+ * <p>Splitting is lazy: the input is scanned only as far as the returned iterators are advanced.
+ * {@link #splitToViews} returns the substrings as {@link CharSequence} views over the input rather
+ * than as strings, so that no characters are copied unless the caller asks for a {@code String}.
+ *
+ * <p>See the Guava User Guide article on <a href=
+ * "http://code.google.com/p/guava-libraries/wiki/StringsExplained#Splitter">{@code Splitter}</a>.
+ *
+ * @author Julien Silland
+ * @author Jesse Wilson
+ * @author Kevin Bourrillion
+ * @author Louis Wasserman
+ * @since 1.0
+ */
+public final class Splitter {
+  private final Strategy strategy;
+  private final boolean omitEmptyStrings;
+  private final boolean trimResults;
+  private final int limit;
+
+  private Splitter(Strategy strategy) {
+    this(strategy, false, false, Integer.MAX_VALUE);
+  }
+
+  private Splitter(Strategy strategy, boolean omitEmptyStrings, boolean trimResults, int limit) {
+    this.strategy = strategy;
+    this.omitEmptyStrings = omitEmptyStrings;
+    this.trimResults = trimResults;
+    this.limit = limit;
+  }
+
+  /**
+   * Returns a splitter that uses the given single-character separator. For example, {@code
+   * Splitter.on(',').split("foo,,bar")} returns an iterable containing {@code ["foo", "", "bar"]}.
+   *
+   * @param separator the character to recognize as a separator
+   * @return a splitter, with default settings, that recognizes that separator
+   */
+  public static Splitter on(final char separator) {
+    return new Splitter(new Strategy() {
+      @Override int separatorStart(CharSequence toSplit, int start, int end) {
+        if (toSplit instanceof String && end == toSplit.length()) {
+          return ((String) toSplit).indexOf(separator, start);
+        }
+        for (int i = start; i < end; i++) {
+          if (toSplit.charAt(i) == separator) {
+            return i;
+          }
+        }
+        return -1;
+      }
+
+      @Override int separatorEnd(int separatorPosition) {
+        return separatorPosition + 1;
+      }
+    });
+  }
+
+  /**
+   * Returns a splitter that uses the given fixed string as a separator. For example, {@code
+   * Splitter.on(", ").split("foo, bar,baz")} returns an iterable containing {@code ["foo",
+   * "bar,baz"]}.
+   *
+   * @param separator the literal, nonempty string to recognize as a separator
+   * @return a splitter, with default settings, that recognizes that separator
+   */
+  public static Splitter on(final String separator) {
+    checkArgument(separator.length() != 0, "The separator may not be the empty string.");
+    if (separator.length() == 1) {
+      return on(separator.charAt(0));
+    }
+    return new Splitter(new Strategy() {
+      @Override int separatorStart(CharSequence toSplit, int start, int end) {
+        if (toSplit instanceof String && end == toSplit.length()) {
+          return ((String) toSplit).indexOf(separator, start);
+        }
+        int separatorLength = separator.length();
+        char first = separator.charAt(0);
+        positions:
+        for (int p = start, last = end - separatorLength; p <= last; p++) {
+          if (toSplit.charAt(p) != first) {
+            continue;
+          }
+          for (int i = 1; i < separatorLength; i++) {
+            if (toSplit.charAt(p + i) != separator.charAt(i)) {
+              continue positions;
+            }
+          }
+          return p;
+        }
+        return -1;
+      }
+
+      @Override int separatorEnd(int separatorPosition) {
+        return separatorPosition + separator.length();
+      }
+    });
+  }
+
+  /**
+   * Returns a splitter that divides strings into pieces of the given length. For example, {@code
+   * Splitter.fixedLength(2).split("abcde")} returns an iterable containing {@code ["ab", "cd",
+   * "e"]}. The last piece can be smaller than {@code length} but will never be empty.
+   *
+   * <p><b>Exception:</b> for consistency with separator-based splitters, {@code split("")} does not
+   * yield an empty iterable, but an iterable containing {@code ""}. This is the only case in which
+   * {@code Iterables.size(split(input))} does not equal {@code IntMath.divide(input.length(),
+   * length, CEILING)}. To avoid this behavior, use {@code omitEmptyStrings}.
+   *
+   * @param length the desired length of pieces after splitting, a positive integer
+   * @return a splitter, with default settings, that can split into fixed sized pieces
+   * @throws IllegalArgumentException if {@code length} is zero or negative
+   */
+  public static Splitter fixedLength(final int length) {
+    checkArgument(length > 0, "The length may not be less than 1");
+    return new Splitter(new Strategy() {
+      @Override int separatorStart(CharSequence toSplit, int start, int end) {
+        int nextChunkStart = start + length;
+        return nextChunkStart > 0 && nextChunkStart < end ? nextChunkStart : -1;
+      }
+
+      @Override int separatorEnd(int separatorPosition) {
+        return separatorPosition;
+      }
+    });
+  }
+
+  /**
+   * Returns a splitter that behaves equivalently to {@code this} splitter, but automatically omits
+   * empty strings from the results. For example, {@code
+   * Splitter.on(',').omitEmptyStrings().split(",a,,,b,c,,")} returns an iterable containing only
+   * {@code ["a", "b", "c"]}.
+   *
+   * <p>If the {@code trimResults} option is also specified when creating a splitter, that
+   * splitter always trims results first before checking for emptiness. So, for example, {@code
+   * Splitter.on(':').omitEmptyStrings().trimResults().split(": : : ")} returns an empty iterable.
+   *
+   * <p>Note that it is ordinarily not possible for {@link #split(CharSequence)} to return an empty
+   * iterable, but when using this option, it can (if the input sequence consists of nothing but
+   * separators).
+   *
+   * @return a splitter with the desired configuration
+   */
+  public Splitter omitEmptyStrings() {
+    return new Splitter(strategy, true, trimResults, limit);
+  }
+
+  /**
+   * Returns a splitter that behaves equivalently to {@code this} splitter but stops splitting after
+   * it reaches the limit. The limit defines the maximum number of items returned by the iterator,
+   * or the maximum size of the list returned by {@link #splitToList}.
+   *
+   * <p>For example, {@code Splitter.on(',').limit(3).split("a,b,c,d")} returns an iterable
+   * containing {@code ["a", "b", "c,d"]}. When omitting empty strings, the omitted strings do not
+   * count. Hence, {@code Splitter.on(',').limit(3).omitEmptyStrings().split("a,,,b,,,c,d")}
+   * returns an iterable containing {@code ["a", "b", "c,d"]}. When trim is requested, all entries
+   * are trimmed, including the last. Hence {@code Splitter.on(',').limit(3).trimResults().split(" a
+   * , b , c , d ")} results in {@code ["a", "b", "c , d"]}.
+   *
+   * @param limit the maximum number of items returned
+   * @return a splitter with the desired configuration
+   * @throws IllegalArgumentException if {@code limit} is zero or negative
+   */
+  public Splitter limit(int limit) {
+    checkArgument(limit > 0, "must be greater than zero: %s", limit);
+    return new Splitter(strategy, omitEmptyStrings, trimResults, limit);
+  }
+
+  /**
+   * Returns a splitter that behaves equivalently to {@code this} splitter, but automatically
+   * removes leading and trailing {@linkplain Character#isWhitespace whitespace} from each returned
+   * substring. For example, {@code Splitter.on(',').trimResults().split(" a, b ,c ")} returns an
+   * iterable containing {@code ["a", "b", "c"]}.
+   *
+   * @return a splitter with the desired configuration
+   */
+  public Splitter trimResults() {
+    return new Splitter(strategy, omitEmptyStrings, true, limit);
+  }
+
+  /**
+   * Splits {@code sequence} into string components and makes them available through an {@link
+   * Iterator}, which may be lazily evaluated. If you want an eagerly computed {@link List}, use
+   * {@link #splitToList(CharSequence)}.
+   *
+   * @param sequence the sequence of characters to split
+   * @return an iteration over the segments split from the parameter.
+   */
+  public Iterable<String> split(final CharSequence sequence) {
+    checkNotNull(sequence);
+    return new SplittingIterable<String>() {
+      @Override public Iterator<String> iterator() {
+        return new SplittingIterator<String>(Splitter.this, sequence) {
+          @Override String token(CharSequence toSplit, int start, int end) {
+            return toSplit.subSequence(start, end).toString();
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * Splits {@code sequence} into components and makes them available through an {@link Iterator},
+   * which may be lazily evaluated. Unlike {@link #split}, each component is a {@link CharSequence}
+   * view that reads through to {@code sequence} instead of a copy of its characters; call {@code
+   * toString()} on a component to obtain a {@code String}.
+   *
+   * <p>If {@code sequence} is mutable, such as a {@link StringBuilder}, it must not be modified
+   * while the iterator or any of the returned components are in use.
+   *
+   * @param sequence the sequence of characters to split
+   * @return an iteration over views of the segments split from the parameter.
+   */
+  public Iterable<CharSequence> splitToViews(final CharSequence sequence) {
+    checkNotNull(sequence);
+    return new SplittingIterable<CharSequence>() {
+      @Override public Iterator<CharSequence> iterator() {
+        return new SplittingIterator<CharSequence>(Splitter.this, sequence) {
+          @Override CharSequence token(CharSequence toSplit, int start, int end) {
+            return new Slice(toSplit, start, end);
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * Splits {@code sequence} into string components and returns them as an immutable list. If you
+   * want an {@link Iterable} which may be lazily evaluated, use {@link #split(CharSequence)}.
+   *
+   * @param sequence the sequence of characters to split
+   * @return an immutable list of the segments split from the parameter
+   */
+  public List<String> splitToList(CharSequence sequence) {
+    checkNotNull(sequence);
+    List<String> result = new ArrayList<String>();
+    Iterator<String> iterator = split(sequence).iterator();
+    while (iterator.hasNext()) {
+      result.add(iterator.next());
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  /**
+   * Returns a {@code MapSplitter} which splits entries based on this splitter, and splits entries
+   * into keys and values using the specified separator.
+   */
+  public MapSplitter withKeyValueSeparator(String separator) {
+    return withKeyValueSeparator(on(separator));
+  }
+
+  /**
+   * Returns a {@code MapSplitter} which splits entries based on this splitter, and splits entries
+   * into keys and values using the specified separator.
+   */
+  public MapSplitter withKeyValueSeparator(char separator) {
+    return withKeyValueSeparator(on(separator));
+  }
+
+  /**
+   * Returns a {@code MapSplitter} which splits entries based on this splitter, and splits entries
+   * into keys and values using the specified key-value splitter.
+   */
+  public MapSplitter withKeyValueSeparator(Splitter keyValueSplitter) {
+    return new MapSplitter(this, keyValueSplitter);
+  }
+
+  /**
+   * An object that splits strings into maps as {@code Splitter} splits iterables and lists. Like
+   * {@code Splitter}, it is thread-safe and immutable. It reads back the format written by {@link
+   * Joiner.MapJoiner}.
+   *
+   * <p>Besides building a {@code Map<String, String>}, a {@code MapSplitter} can stream the entries
+   * of its input to an {@link EntryHandler}, which receives the bounds of each key and value
+   * instead of strings. This parses {@code "a=1&b=2"} without allocating anything per entry:
+   * <pre>   {@code
+   *
+   *   Splitter.on('&').withKeyValueSeparator('=').forEachEntry(query, new EntryHandler() {
+   *     public void handle(CharSequence sequence, int keyStart, int keyEnd, int valueStart,
+   *         int valueEnd) {
+   *       ...
+   *     }
+   *   });}</pre>
+   *
+   * @since 10.0
+   */
+  public static final class MapSplitter {
+    private final Splitter outerSplitter;
+    private final Splitter entrySplitter;
+
+    private MapSplitter(Splitter outerSplitter, Splitter entrySplitter) {
+      this.outerSplitter = outerSplitter; // only "this" is passed
+      this.entrySplitter = checkNotNull(entrySplitter);
+    }
+
+    /**
+     * Splits {@code sequence} into substrings, splits each substring into an entry, and returns an
+     * unmodifiable map with each of the entries. For example, {@code
+     * Splitter.on(';').trimResults().withKeyValueSeparator("=>").split("a=>b ; c=>b")} will return
+     * a mapping from {@code "a"} to {@code "b"} and {@code "c"} to {@code "b"}.
+     *
+     * <p>The returned map preserves the order of the entries from {@code sequence}.
+     *
+     * @throws IllegalArgumentException if the specified sequence does not split into valid map
+     *     entries, or if there are duplicate keys
+     */
+    public Map<String, String> split(CharSequence sequence) {
+      final Map<String, String> map = new LinkedHashMap<String, String>();
+      forEachEntry(sequence, new EntryHandler() {
+        @Override public void handle(
+            CharSequence sequence, int keyStart, int keyEnd, int valueStart, int valueEnd) {
+          String key = sequence.subSequence(keyStart, keyEnd).toString();
+          checkArgument(!map.containsKey(key), "Duplicate key [%s] found.", key);
+          map.put(key, sequence.subSequence(valueStart, valueEnd).toString());
+        }
+      });
+      return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Splits {@code sequence} into entries as {@link #split} does, and puts each of them into
+     * {@code map}, in order. Unlike {@link #split}, duplicate keys are allowed: as with {@link
+     * Map#put}, the last value of a key replaces any earlier one.
+     *
+     * <p>If {@code sequence} contains an invalid entry, the entries before it have already been
+     * put into {@code map} when the exception is thrown.
+     *
+     * @return {@code map}
+     * @throws IllegalArgumentException if the specified sequence does not split into valid map
+     *     entries
+     */
+    public <M extends Map<? super String, ? super String>> M splitInto(
+        CharSequence sequence, final M map) {
+      checkNotNull(map);
+      forEachEntry(sequence, new EntryHandler() {
+        @Override public void handle(
+            CharSequence sequence, int keyStart, int keyEnd, int valueStart, int valueEnd) {
+          map.put(sequence.subSequence(keyStart, keyEnd).toString(),
+              sequence.subSequence(valueStart, valueEnd).toString());
+        }
+      });
+      return map;
+    }
+
+    /**
+     * Splits {@code sequence} into entries as {@link #split} does, and passes the bounds of each
+     * key and value to {@code handler}, in order. No intermediate map, entry or string is created,
+     * and duplicate keys are passed on as they appear.
+     *
+     * <p>If {@code sequence} contains an invalid entry, the entries before it have already been
+     * passed to {@code handler} when the exception is thrown.
+     *
+     * @throws IllegalArgumentException if the specified sequence does not split into valid map
+     *     entries
+     */
+    public void forEachEntry(CharSequence sequence, EntryHandler handler) {
+      checkNotNull(sequence);
+      checkNotNull(handler);
+      Tokenizer entries = new Tokenizer(outerSplitter);
+      Tokenizer fields = new Tokenizer(entrySplitter);
+      entries.reset(sequence, 0, sequence.length());
+      while (entries.advance()) {
+        int entryStart = entries.tokenStart;
+        int entryEnd = entries.tokenEnd;
+        fields.reset(sequence, entryStart, entryEnd);
+        if (!fields.advance()) {
+          throw invalidEntry(sequence, entryStart, entryEnd);
+        }
+        int keyStart = fields.tokenStart;
+        int keyEnd = fields.tokenEnd;
+        if (!fields.advance()) {
+          throw invalidEntry(sequence, entryStart, entryEnd);
+        }
+        int valueStart = fields.tokenStart;
+        int valueEnd = fields.tokenEnd;
+        if (fields.advance()) {
+          throw invalidEntry(sequence, entryStart, entryEnd);
+        }
+        handler.handle(sequence, keyStart, keyEnd, valueStart, valueEnd);
+      }
+    }
+
+    private static IllegalArgumentException invalidEntry(
+        CharSequence sequence, int start, int end) {
+      return new IllegalArgumentException(
+          "Chunk [" + sequence.subSequence(start, end) + "] is not a valid entry");
+    }
+
+    /**
+     * Receives the entries found by {@link MapSplitter#forEachEntry}. Keys and values are passed as
+     * ranges of the split sequence, so that they can be compared or parsed in place.
+     */
+    public interface EntryHandler {
+      /**
+       * Handles the entry whose key is {@code sequence} from {@code keyStart}, inclusive, to {@code
+       * keyEnd}, exclusive, and whose value is {@code sequence} from {@code valueStart}, inclusive,
+       * to {@code valueEnd}, exclusive.
+       */
+      void handle(CharSequence sequence, int keyStart, int keyEnd, int valueStart, int valueEnd);
+    }
+  }
+
+  /**
+   * Finds the separators of a splitter. Strategies are stateless, so that a single instance is
+   * shared by every iterator of every splitter derived from the same factory call.
+   */
+  private abstract static class Strategy {
+    /**
+     * Returns the first index in {@code toSplit} at or after {@code start} that contains a whole
+     * separator ending no later than {@code end}, or -1 if there is none.
+     */
+    abstract int separatorStart(CharSequence toSplit, int start, int end);
+
+    /**
+     * Returns the first index in {@code toSplit} after {@code separatorPosition} that does not
+     * contain a separator. This method is only invoked after a call to {@code separatorStart}.
+     */
+    abstract int separatorEnd(int separatorPosition);
+  }
+
+  private abstract static class SplittingIterable<T> implements Iterable<T> {
+    @Override public String toString() {
+      return Joiner.on(", ").appendTo(new StringBuilder().append('['), this).append(']').toString();
+    }
+  }
+
+  private abstract static class SplittingIterator<T> extends AbstractIterator<T> {
+    private final CharSequence toSplit;
+    private final Tokenizer tokenizer;
+
+    SplittingIterator(Splitter splitter, CharSequence toSplit) {
+      this.toSplit = toSplit;
+      this.tokenizer = new Tokenizer(splitter);
+      tokenizer.reset(toSplit, 0, toSplit.length());
+    }
+
+    /** Returns the component between {@code start}, inclusive, and {@code end}, exclusive. */
+    abstract T token(CharSequence toSplit, int start, int end);
+
+    @Override protected T computeNext() {
+      return tokenizer.advance()
+          ? token(toSplit, tokenizer.tokenStart, tokenizer.tokenEnd)
+          : endOfData();
+    }
+  }
+
+  /**
+   * Finds the components of a range of a sequence one at a time, without allocating. A tokenizer
+   * can be {@linkplain #reset reset} to split another range.
+   */
+  private static final class Tokenizer {
+    private final Strategy strategy;
+    private final boolean omitEmptyStrings;
+    private final boolean trimResults;
+    private final int maxTokens;
+
+    private CharSequence toSplit;
+    /** The position of the next substring, or -1 once the end of the range has been reached. */
+    private int offset;
+    private int end;
+    private int limit;
+
+    /** The bounds of the current component, valid after {@link #advance} returns true. */
+    int tokenStart;
+    int tokenEnd;
+
+    Tokenizer(Splitter splitter) {
+      this.strategy = splitter.strategy;
+      this.omitEmptyStrings = splitter.omitEmptyStrings;
+      this.trimResults = splitter.trimResults;
+      this.maxTokens = splitter.limit;
+    }
+
+    void reset(CharSequence toSplit, int start, int end) {
+      this.toSplit = toSplit;
+      this.offset = start;
+      this.end = end;
+      this.limit = maxTokens;
+    }
+
+    /** Moves to the next component, returning false if there is none. */
+    boolean advance() {
+      while (offset != -1) {
+        int start = offset;
+        int end;
+        int separatorPosition = strategy.separatorStart(toSplit, offset, this.end);
+        if (separatorPosition == -1) {
+          end = this.end;
+          offset = -1;
+        } else {
+          end = separatorPosition;
+          offset = strategy.separatorEnd(separatorPosition);
+        }
+        if (trimResults) {
+          while (start < end && Character.isWhitespace(toSplit.charAt(start))) {
+            start++;
+          }
+          while (end > start && Character.isWhitespace(toSplit.charAt(end - 1))) {
+            end--;
+          }
+        }
+        if (omitEmptyStrings && start == end) {
+          continue;
+        }
+        if (limit == 1) {
+          // The limit has been reached, return the rest of the range as the final item.
+          end = this.end;
+          offset = -1;
+          if (trimResults) {
+            while (end > start && Character.isWhitespace(toSplit.charAt(end - 1))) {
+              end--;
+            }
+          }
+        } else {
+          limit--;
+        }
+        tokenStart = start;
+        tokenEnd = end;
+        return true;
+      }
+      return false;
+    }
+  }
+
+  /** A read-through view of a range of a {@link CharSequence}. */
+  private static final class Slice implements CharSequence {
+    private final CharSequence sequence;
+    private final int start;
+    private final int end;
+
+    Slice(CharSequence sequence, int start, int end) {
+      this.sequence = sequence;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override public int length() {
+      return end - start;
+    }
+
+    @Override public char charAt(int index) {
+      checkElementIndex(index, end - start);
+      return sequence.charAt(start + index);
+    }
+
+    @Override public CharSequence subSequence(int start, int end) {
+      checkPositionIndexes(start, end, this.end - this.start);
+      return new Slice(sequence, this.start + start, this.start + end);
+    }
+
+    @Override public String toString() {
+      return sequence.subSequence(start, end).toString();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.base;
+
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+
+/**
+ * Tests for the primitive array overloads of {@link Joiner}.
+ */
+public class JoinerTest extends TestCase {
+  private static final Joiner J = Joiner.on("-");
+
+  public void testJoinInts() {
+    assertEquals("", J.join(new int[0]));
+    assertEquals("0", J.join(new int[] {0}));
+    assertEquals("1-22-333", J.join(new int[] {1, 22, 333}));
+    assertEquals("-2147483648-2147483647-0-9-10-99-100",
+        J.join(new int[] {Integer.MIN_VALUE, Integer.MAX_VALUE, 0, 9, 10, 99, 100}));
+  }
+
+  public void testJoinLongs() {
+    assertEquals("", J.join(new long[0]));
+    assertEquals("-9223372036854775808, 9223372036854775807, -1",
+        Joiner.on(", ").join(new long[] {Long.MIN_VALUE, Long.MAX_VALUE, -1}));
+  }
+
+  public void testJoinDoubles() {
+    assertEquals("", J.join(new double[0]));
+    double[] values = {0.0, -0.0, 1.5, -2.2250738585072014E-308, Double.NaN,
+        Double.NEGATIVE_INFINITY, 1e300};
+    StringBuilder expected = new StringBuilder();
+    for (double value : values) {
+      expected.append(expected.length() == 0 ? "" : "-").append(Double.toString(value));
+    }
+    assertEquals(expected.toString(), J.join(values));
+  }
+
+  public void testAppendToWriter() throws IOException {
+    int[] ints = new int[2001];
+    long[] longs = new long[ints.length];
+    for (int i = 0; i < ints.length; i++) {
+      ints[i] = (i - 1000) * 1073741;
+      longs[i] = (i - 1000) * 9007199254740993L;
+    }
+    assertEquals(join(ints), J.appendTo(new StringWriter(), ints).toString());
+    assertEquals(J.join(ints), J.appendTo(new StringWriter(), ints).toString());
+    assertEquals(join(longs), J.appendTo(new StringWriter(), longs).toString());
+  }
+
+  public void testAppendToCharBuffer() throws IOException {
+    CharBuffer buffer = CharBuffer.allocate(32);
+    J.appendTo(buffer, new long[] {-5, 1234567890123L});
+    J.appendTo(buffer, new double[] {});
+    J.appendTo(buffer, new double[] {0.5});
+    buffer.flip();
+    assertEquals("-5-12345678901230.5", buffer.toString());
+  }
+
+  public void testAppendToStringBuilder() throws IOException {
+    StringBuilder builder = new StringBuilder("x");
+    Appendable appendable = builder;
+    assertSame(builder, J.appendTo(appendable, new int[] {7, -8}));
+    assertSame(builder, J.appendTo(builder, new long[] {9}));
+    assertEquals("x7--89", builder.toString());
+  }
+
+  public void testNullConfigurationIsIgnored() {
+    assertEquals("1,2", Joiner.on(',').skipNulls().join(new int[] {1, 2}));
+    assertEquals("1,2", Joiner.on(',').useForNull("null").join(new long[] {1, 2}));
+  }
+
+  private static String join(int[] values) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < values.length; i++) {
+      builder.append(i == 0 ? "" : "-").append(values[i]);
+    }
+    return builder.toString();
+  }
+
+  private static String join(long[] values) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < values.length; i++) {
+      builder.append(i == 0 ? "" : "-").append(values[i]);
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2009 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.base;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tests for {@link Splitter}.
+ *
+ * @author Julien Silland
+ */
+public class SplitterTest extends TestCase {
+  private static final Splitter COMMA_SPLITTER = Splitter.on(',');
+
+  public void testCharacterSimpleSplit() {
+    assertSplit(COMMA_SPLITTER.split("a,b,c"), "a", "b", "c");
+  }
+
+  public void testCharacterSplitWithDoubleDelimiter() {
+    assertSplit(COMMA_SPLITTER.split("a,,b,c"), "a", "", "b", "c");
+  }
+
+  public void testCharacterSplitWithLeadingAndTrailingDelimiters() {
+    assertSplit(COMMA_SPLITTER.split(",a,b,"), "", "a", "b", "");
+    assertSplit(COMMA_SPLITTER.split(""), "");
+    assertSplit(COMMA_SPLITTER.split(","), "", "");
+  }
+
+  public void testCharacterSplitOnStringBuilder() {
+    assertSplit(COMMA_SPLITTER.split(new StringBuilder("a,b,,c")), "a", "b", "", "c");
+  }
+
+  public void testCharacterSplitWithTrimAndOmit() {
+    assertSplit(COMMA_SPLITTER.trimResults().split(" a, b ,c "), "a", "b", "c");
+    assertSplit(COMMA_SPLITTER.omitEmptyStrings().split(",a,,,b,c,,"), "a", "b", "c");
+    assertSplit(Splitter.on(':').omitEmptyStrings().trimResults().split(": : : "));
+  }
+
+  public void testStringSimpleSplit() {
+    Splitter splitter = Splitter.on(", ");
+    assertSplit(splitter.split("foo, bar,baz"), "foo", "bar,baz");
+    assertSplit(splitter.split(", a, , b, "), "", "a", "", "b", "");
+    assertSplit(splitter.split(new StringBuilder("x, ,, y,,")), "x", ",", "y,,");
+    assertSplit(Splitter.on("aa").split("aaabaa"), "", "ab", "");
+  }
+
+  public void testStringSplitRejectsEmptySeparator() {
+    try {
+      Splitter.on("");
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testFixedLengthSplit() {
+    assertSplit(Splitter.fixedLength(2).split("abcde"), "ab", "cd", "e");
+    assertSplit(Splitter.fixedLength(2).split("abcd"), "ab", "cd");
+    assertSplit(Splitter.fixedLength(2).split(""), "");
+    assertSplit(Splitter.fixedLength(2).omitEmptyStrings().split(""));
+    assertSplit(Splitter.fixedLength(Integer.MAX_VALUE).split("abc"), "abc");
+    try {
+      Splitter.fixedLength(0);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testLimit() {
+    assertSplit(COMMA_SPLITTER.limit(3).split("a,b,c,d"), "a", "b", "c,d");
+    assertSplit(COMMA_SPLITTER.limit(1).split("a,b"), "a,b");
+    assertSplit(COMMA_SPLITTER.limit(3).omitEmptyStrings().split("a,,,b,,,c,d"), "a", "b", "c,d");
+    assertSplit(COMMA_SPLITTER.limit(3).trimResults().split(" a , b , c , d "),
+        "a", "b", "c , d");
+    assertSplit(Splitter.fixedLength(2).limit(2).split("abcde"), "ab", "cde");
+    try {
+      COMMA_SPLITTER.limit(0);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testSplitIsLazyAndRepeatable() {
+    Iterable<String> parts = COMMA_SPLITTER.split("a,b");
+    assertSplit(parts, "a", "b");
+    assertSplit(parts, "a", "b");
+    assertEquals("[a, b]", parts.toString());
+  }
+
+  public void testSplitToList() {
+    List<String> parts = COMMA_SPLITTER.splitToList("a,,b");
+    assertEquals(Arrays.asList("a", "", "b"), parts);
+    try {
+      parts.add("c");
+      fail();
+    } catch (UnsupportedOperationException expected) {
+    }
+  }
+
+  public void testSplitToViews() {
+    StringBuilder input = new StringBuilder(" key = value ,, x");
+    Iterator<CharSequence> views = COMMA_SPLITTER.trimResults().splitToViews(input).iterator();
+    CharSequence first = views.next();
+    assertEquals(11, first.length());
+    assertEquals('k', first.charAt(0));
+    assertEquals("key = value", first.toString());
+    assertEquals("= val", first.subSequence(4, 9).toString());
+    assertEquals("val", first.subSequence(4, 9).subSequence(2, 5).toString());
+    assertEquals("", views.next().toString());
+    assertEquals("x", views.next().toString());
+    assertFalse(views.hasNext());
+
+    input.setCharAt(1, 'K');
+    assertEquals("Key = value", first.toString());
+    try {
+      first.charAt(11);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      first.subSequence(3, 12);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testMapSplitter() {
+    Map<String, String> map = COMMA_SPLITTER.trimResults().withKeyValueSeparator("=>")
+        .split(" boy=>tom , girl=>tina , cat=>kitty , dog=>tommy ");
+    assertEquals(Arrays.asList("boy", "girl", "cat", "dog"), new ArrayList<String>(map.keySet()));
+    assertEquals(Arrays.asList("tom", "tina", "kitty", "tommy"),
+        new ArrayList<String>(map.values()));
+    try {
+      map.put("a", "b");
+      fail();
+    } catch (UnsupportedOperationException expected) {
+    }
+  }
+
+  public void testMapSplitterRoundTripsMapJoiner() {
+    Map<String, String> map = new LinkedHashMap<String, String>();
+    map.put("a", "1");
+    map.put("", "");
+    map.put("c", "3");
+    String joined = Joiner.on('&').withKeyValueSeparator("=").join(map);
+    assertEquals(map, Splitter.on('&').withKeyValueSeparator('=').split(joined));
+  }
+
+  public void testMapSplitterWithKeyValueSplitter() {
+    Map<String, String> map = Splitter.on(';')
+        .withKeyValueSeparator(Splitter.on('=').trimResults().limit(2))
+        .split("a = b=c;d=e ");
+    assertEquals("b=c", map.get("a"));
+    assertEquals("e", map.get("d"));
+  }
+
+  public void testMapSplitterInvalidEntries() {
+    Splitter.MapSplitter splitter = COMMA_SPLITTER.withKeyValueSeparator('=');
+    for (String invalid : new String[] {"a", "a=b,c", "a=b=c", "a=b,,c=d"}) {
+      try {
+        splitter.split(invalid);
+        fail(invalid);
+      } catch (IllegalArgumentException expected) {
+      }
+    }
+    try {
+      splitter.split("a=1,b=2,a=3");
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testMapSplitterSplitInto() {
+    Map<String, String> map = new TreeMap<String, String>();
+    map.put("x", "0");
+    Splitter.MapSplitter splitter = COMMA_SPLITTER.omitEmptyStrings().withKeyValueSeparator(':');
+    assertSame(map, splitter.splitInto("b:2,,a:1,b:3", map));
+    assertEquals("{a=1, b=3, x=0}", map.toString());
+    try {
+      splitter.splitInto("c:4,d", map);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+    assertEquals("4", map.get("c"));
+  }
+
+  public void testMapSplitterForEachEntry() {
+    final StringBuilder visited = new StringBuilder();
+    String input = "a=1&bb=22&a=";
+    Splitter.on('&').withKeyValueSeparator('=').forEachEntry(input,
+        new Splitter.MapSplitter.EntryHandler() {
+          @Override public void handle(
+              CharSequence sequence, int keyStart, int keyEnd, int valueStart, int valueEnd) {
+            visited.append(keyStart).append(keyEnd).append(valueStart).append(valueEnd).append(' ')
+                .append(sequence, keyStart, keyEnd).append(':')
+                .append(sequence, valueStart, valueEnd).append(' ');
+          }
+        });
+    assertEquals("0123 a:1 4679 bb:22 10111212 a: ", visited.toString());
+  }
+
+  private static void assertSplit(Iterable<? extends CharSequence> actual, String... expected) {
+    List<String> parts = new ArrayList<String>();
+    for (CharSequence part : actual) {
+      parts.add(part.toString());
+    }
+    assertEquals(Arrays.asList(expected), parts);
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.base;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link Joiner}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JoinerBenchmark {
+  private static final Joiner JOINER_ON_STRING = Joiner.on(", ");
+  private static final Joiner JOINER_ON_CHARACTER = Joiner.on(',');
+  private static final Joiner JOINER_SKIP_NULLS = Joiner.on(',').skipNulls();
+
+  @Param({"3", "30", "300"})
+  int count;
+
+  @Param({"0", "1", "16"})
+  int componentLength;
+
+  private Iterable<String> components;
+  private Object[] componentArray;
+  private List<Integer> integers;
+  private int[] intArray;
+  private long[] longArray;
+  private double[] doubleArray;
+
+  @Setup
+  public void setUp() {
+    char[] chars = new char[componentLength];
+    Arrays.fill(chars, 'a');
+    String component = new String(chars);
+    List<String> list = new ArrayList<String>(count);
+    List<Integer> ints = new ArrayList<Integer>(count);
+    intArray = new int[count];
+    longArray = new long[count];
+    doubleArray = new double[count];
+    for (int i = 0; i < count; i++) {
+      list.add(component);
+      ints.add(i * 7919);
+      intArray[i] = i * 7919;
+      longArray[i] = i * 7919L * 1000003L;
+      doubleArray[i] = i / 7.0;
+    }
+    components = list;
+    componentArray = list.toArray();
+    integers = ints;
+  }
+
+  @Benchmark
+  public String joinIterableWithStringDelimiter() {
+    return JOINER_ON_STRING.join(components);
+  }
+
+  @Benchmark
+  public String joinIterableWithCharacterDelimiter() {
+    return JOINER_ON_CHARACTER.join(components);
+  }
+
+  @Benchmark
+  public String joinArray() {
+    return JOINER_ON_CHARACTER.join(componentArray);
+  }
+
+  @Benchmark
+  public String joinSkippingNulls() {
+    return JOINER_SKIP_NULLS.join(components);
+  }
+
+  @Benchmark
+  public String joinNonCharSequences() {
+    return JOINER_ON_CHARACTER.join(integers);
+  }
+
+  @Benchmark
+  public String joinIntArray() {
+    return JOINER_ON_CHARACTER.join(intArray);
+  }
+
+  @Benchmark
+  public String joinLongArray() {
+    return JOINER_ON_CHARACTER.join(longArray);
+  }
+
+  @Benchmark
+  public String joinDoubleArray() {
+    return JOINER_ON_CHARACTER.join(doubleArray);
+  }
+
+  @Benchmark
+  public StringWriter appendIntArrayToWriter() throws IOException {
+    return JOINER_ON_CHARACTER.appendTo(new StringWriter(count * 8), intArray);
+  }
+
+  /** The baseline every {@code join} is competing with. */
+  @Benchmark
+  public String stringBuilderBaseline() {
+    StringBuilder sb = new StringBuilder();
+    boolean first = true;
+    for (String component : components) {
+      if (!first) {
+        sb.append(',');
+      }
+      sb.append(component);
+      first = false;
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.base;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.romainpiel.guava.base.Splitter.MapSplitter;
+import com.romainpiel.guava.base.Splitter.MapSplitter.EntryHandler;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link Splitter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SplitterBenchmark {
+  private static final Splitter SPLITTER_ON_CHARACTER = Splitter.on(',');
+  private static final Splitter SPLITTER_ON_STRING = Splitter.on(", ");
+  private static final Splitter SPLITTER_TRIM_OMIT =
+      Splitter.on(',').trimResults().omitEmptyStrings();
+  private static final MapSplitter MAP_SPLITTER = Splitter.on('&').withKeyValueSeparator('=');
+
+  @Param({"3", "30", "300"})
+  int count;
+
+  @Param({"1", "16"})
+  int componentLength;
+
+  private String input;
+  private String inputWithSpaces;
+  private StringBuilder inputBuilder;
+  private String query;
+
+  @Setup
+  public void setUp() {
+    char[] chars = new char[componentLength];
+    Arrays.fill(chars, 'a');
+    String component = new String(chars);
+    String[] components = new String[count];
+    Arrays.fill(components, component);
+    input = Joiner.on(',').join(components);
+    inputWithSpaces = Joiner.on(", ").join(components);
+    inputBuilder = new StringBuilder(input);
+    Map<String, String> map = new LinkedHashMap<String, String>();
+    for (int i = 0; i < count; i++) {
+      map.put(component + i, String.valueOf(i * 7919));
+    }
+    query = Joiner.on('&').withKeyValueSeparator("=").join(map);
+  }
+
+  @Benchmark
+  public int splitOnCharacter() {
+    return totalLength(SPLITTER_ON_CHARACTER.split(input));
+  }
+
+  @Benchmark
+  public int splitOnString() {
+    return totalLength(SPLITTER_ON_STRING.split(inputWithSpaces));
+  }
+
+  @Benchmark
+  public int splitTrimmingAndOmitting() {
+    return totalLength(SPLITTER_TRIM_OMIT.split(inputWithSpaces));
+  }
+
+  @Benchmark
+  public int splitToViews() {
+    return totalLength(SPLITTER_ON_CHARACTER.splitToViews(input));
+  }
+
+  @Benchmark
+  public int splitStringBuilderToViews() {
+    return totalLength(SPLITTER_ON_CHARACTER.splitToViews(inputBuilder));
+  }
+
+  @Benchmark
+  public Map<String, String> mapSplit() {
+    return MAP_SPLITTER.split(query);
+  }
+
+  @Benchmark
+  public Map<String, String> mapSplitInto() {
+    return MAP_SPLITTER.splitInto(query, new HashMap<String, String>());
+  }
+
+  @Benchmark
+  public int mapForEachEntry() {
+    final int[] total = new int[1];
+    MAP_SPLITTER.forEachEntry(query, new EntryHandler() {
+      @Override public void handle(
+          CharSequence sequence, int keyStart, int keyEnd, int valueStart, int valueEnd) {
+        total[0] += keyEnd - keyStart + valueEnd - valueStart;
+      }
+    });
+    return total[0];
+  }
+
+  /** The baseline {@link #splitOnCharacter} is competing with. */
+  @Benchmark
+  public int stringSplitBaseline() {
+    int length = 0;
+    for (String part : input.split(",", -1)) {
+      length += part.length();
+    }
+    return length;
+  }
+
+  private static int totalLength(Iterable<? extends CharSequence> parts) {
+    int length = 0;
+    for (CharSequence part : parts) {
+      length += part.length();
+    }
+    return length;
+  }
+}
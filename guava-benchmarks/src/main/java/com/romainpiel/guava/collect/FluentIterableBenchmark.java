@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.romainpiel.guava.base.Function;
+import com.romainpiel.guava.base.Predicate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for typical {@link FluentIterable} chains.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FluentIterableBenchmark {
+  private static final Predicate<Integer> IS_EVEN = new Predicate<Integer>() {
+    @Override public boolean apply(Integer input) {
+      return (input & 1) == 0;
+    }
+  };
+
+  private static final Predicate<Integer> IS_NEGATIVE = new Predicate<Integer>() {
+    @Override public boolean apply(Integer input) {
+      return input < 0;
+    }
+  };
+
+  private static final Function<Integer, Long> SQUARE = new Function<Integer, Long>() {
+    @Override public Long apply(Integer input) {
+      return (long) input * input;
+    }
+  };
+
+  @Param({"100", "10000", "1000000"})
+  int size;
+
+  private List<Integer> list;
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setUp() {
+    list = new ArrayList<Integer>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(i);
+    }
+    pool = new ForkJoinPool();
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public int filterTransformCopyInto() {
+    return FluentIterable.from(list)
+        .filter(IS_EVEN)
+        .transform(SQUARE)
+        .copyInto(new ArrayList<Long>(size))
+        .size();
+  }
+
+  @Benchmark
+  public int parallelFilterTransformCopyInto() {
+    return FluentIterable.from(list)
+        .parallel(pool)
+        .filter(IS_EVEN)
+        .transform(SQUARE)
+        .copyInto(new ArrayList<Long>(size))
+        .size();
+  }
+
+  @Benchmark
+  public int filterSize() {
+    return FluentIterable.from(list).filter(IS_EVEN).size();
+  }
+
+  @Benchmark
+  public boolean anyMatchMiss() {
+    return FluentIterable.from(list).anyMatch(IS_NEGATIVE);
+  }
+
+  @Benchmark
+  public boolean parallelAnyMatchMiss() {
+    return FluentIterable.from(list).parallel(pool).anyMatch(IS_NEGATIVE);
+  }
+
+  @Benchmark
+  public Long[] skipLimitTransformToArray() {
+    return FluentIterable.from(list)
+        .skip(size / 4)
+        .limit(size / 2)
+        .transform(SQUARE)
+        .toArray(Long.class);
+  }
+
+  /** The hand-written loop every chain is competing with. */
+  @Benchmark
+  public int filterTransformLoopBaseline() {
+    List<Long> result = new ArrayList<Long>(size);
+    for (Integer i : list) {
+      if (IS_EVEN.apply(i)) {
+        result.add(SQUARE.apply(i));
+      }
+    }
+    return result.size();
+  }
+}
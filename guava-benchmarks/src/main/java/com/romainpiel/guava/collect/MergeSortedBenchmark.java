@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link Iterators#mergeSorted}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MergeSortedBenchmark {
+  private static final long RANDOM_SEED = 1234567890L;
+
+  private static final Comparator<Integer> NATURAL_ORDER = new Comparator<Integer>() {
+    @Override public int compare(Integer left, Integer right) {
+      return left.compareTo(right);
+    }
+  };
+
+  @Param({"2", "16", "128"})
+  int sources;
+
+  @Param({"1000"})
+  int elementsPerSource;
+
+  private List<List<Integer>> sortedLists;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(RANDOM_SEED);
+    sortedLists = new ArrayList<List<Integer>>(sources);
+    for (int i = 0; i < sources; i++) {
+      Integer[] values = new Integer[elementsPerSource];
+      for (int j = 0; j < elementsPerSource; j++) {
+        values[j] = random.nextInt();
+      }
+      Arrays.sort(values);
+      sortedLists.add(Arrays.asList(values));
+    }
+  }
+
+  @Benchmark
+  public void mergeSorted(Blackhole bh) {
+    List<Iterator<Integer>> iterators = new ArrayList<Iterator<Integer>>(sources);
+    for (List<Integer> list : sortedLists) {
+      iterators.add(list.iterator());
+    }
+    Iterator<Integer> merged = Iterators.mergeSorted(iterators, NATURAL_ORDER);
+    while (merged.hasNext()) {
+      bh.consume(merged.next());
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link Lists#partition}, iterating the partitions of array-backed and
+ * linked sources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PartitionBenchmark {
+  @Param({"10000"})
+  int size;
+
+  @Param({"1", "16", "1024"})
+  int partitionSize;
+
+  private List<Integer> arrayList;
+  private List<Integer> linkedList;
+
+  @Setup
+  public void setUp() {
+    arrayList = new ArrayList<Integer>(size);
+    for (int i = 0; i < size; i++) {
+      arrayList.add(i);
+    }
+    linkedList = Lists.newLinkedList(arrayList);
+  }
+
+  @Benchmark
+  public void partitionRandomAccess(Blackhole bh) {
+    for (List<Integer> partition : Lists.partition(arrayList, partitionSize)) {
+      bh.consume(partition.get(partition.size() - 1));
+    }
+  }
+
+  @Benchmark
+  public void partitionSequential(Blackhole bh) {
+    for (List<Integer> partition : Lists.partition(linkedList, partitionSize)) {
+      bh.consume(partition.get(partition.size() - 1));
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link BigIntegerMath#factorial} and {@link BigIntegerMath#binomial}, on the
+ * calling thread and across a {@link ForkJoinPool}. The binomial coefficients choose a third of
+ * {@code n}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FactorialBenchmark {
+  @Param({"1000", "10000", "100000"})
+  int n;
+
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setUp() {
+    pool = new ForkJoinPool();
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public BigInteger factorial() {
+    return BigIntegerMath.factorial(n);
+  }
+
+  @Benchmark
+  public BigInteger factorialParallel() {
+    return BigIntegerMath.factorial(n, pool);
+  }
+
+  @Benchmark
+  public BigInteger binomial() {
+    return BigIntegerMath.binomial(n, n / 3);
+  }
+
+  @Benchmark
+  public BigInteger binomialParallel() {
+    return BigIntegerMath.binomial(n, n / 3, pool);
+  }
+}
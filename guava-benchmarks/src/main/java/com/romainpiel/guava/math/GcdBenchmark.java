@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link LongMath#gcd(long...)} and {@link BigIntegerMath#gcd}, against folding
+ * {@link LongMath#gcd(long, long)} and against {@link BigInteger#gcd}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GcdBenchmark {
+  private static final int ARRAY_SIZE = 0x400;
+  private static final int ARRAY_MASK = ARRAY_SIZE - 1;
+  private static final int VALUES_PER_GCD = 8;
+  private static final long RANDOM_SEED = 1234567890L;
+
+  @Param({"256", "1024", "4096"})
+  int bits;
+
+  private final long[][] longs = new long[ARRAY_SIZE][];
+  private final BigInteger[] bigA = new BigInteger[ARRAY_SIZE];
+  private final BigInteger[] bigB = new BigInteger[ARRAY_SIZE];
+  private int index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(RANDOM_SEED);
+    for (int i = 0; i < ARRAY_SIZE; i++) {
+      // Values sharing a small common factor, like the numerators of rates being normalized.
+      long factor = 1 + random.nextInt(1000);
+      longs[i] = new long[VALUES_PER_GCD];
+      for (int j = 0; j < VALUES_PER_GCD; j++) {
+        longs[i][j] = factor * ((random.nextLong() >>> 24) / factor);
+      }
+      BigInteger common = new BigInteger(bits / 4, random);
+      bigA[i] = new BigInteger(bits, random).multiply(common);
+      bigB[i] = new BigInteger(bits, random).multiply(common);
+    }
+  }
+
+  @Benchmark
+  public long longGcdVarargs() {
+    return LongMath.gcd(longs[index++ & ARRAY_MASK]);
+  }
+
+  @Benchmark
+  public long longGcdVarargsBaseline() {
+    long result = 0;
+    for (long value : longs[index++ & ARRAY_MASK]) {
+      result = LongMath.gcd(result, value);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public BigInteger bigIntegerGcd() {
+    int j = index++ & ARRAY_MASK;
+    return BigIntegerMath.gcd(bigA[j], bigB[j]);
+  }
+
+  @Benchmark
+  public BigInteger bigIntegerGcdBaseline() {
+    int j = index++ & ARRAY_MASK;
+    return bigA[j].gcd(bigB[j]);
+  }
+}
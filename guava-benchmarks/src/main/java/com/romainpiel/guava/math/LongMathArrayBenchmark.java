@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the array kernels of {@link LongMath}, against folding the scalar methods over
+ * the arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LongMathArrayBenchmark {
+  private static final long RANDOM_SEED = 1234567890L;
+
+  @Param({"16", "4096"})
+  int length;
+
+  @Param({"1000", "1024"})
+  long divisor;
+
+  private long[] counters;
+  private long[] weights;
+  private long[] quotients;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(RANDOM_SEED);
+    counters = new long[length];
+    weights = new long[length];
+    quotients = new long[length];
+    for (int i = 0; i < length; i++) {
+      counters[i] = random.nextLong() >> 20;
+      weights[i] = random.nextInt(1 << 16);
+    }
+  }
+
+  @Benchmark
+  public long checkedSum() {
+    return LongMath.checkedSum(counters);
+  }
+
+  @Benchmark
+  public long checkedSumBaseline() {
+    long sum = 0;
+    for (long counter : counters) {
+      sum = LongMath.checkedAdd(sum, counter);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long saturatedSum() {
+    return LongMath.saturatedSum(counters);
+  }
+
+  @Benchmark
+  public long checkedDot() {
+    return LongMath.checkedDot(weights, weights);
+  }
+
+  @Benchmark
+  public long checkedDotBaseline() {
+    long sum = 0;
+    for (int i = 0; i < length; i++) {
+      sum = LongMath.checkedAdd(sum, LongMath.checkedMultiply(weights[i], weights[i]));
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long[] divide() {
+    LongMath.divide(counters, divisor, RoundingMode.HALF_EVEN, quotients);
+    return quotients;
+  }
+
+  @Benchmark
+  public long[] divideBaseline() {
+    for (int i = 0; i < length; i++) {
+      quotients[i] = LongMath.divide(counters[i], divisor, RoundingMode.HALF_EVEN);
+    }
+    return quotients;
+  }
+}
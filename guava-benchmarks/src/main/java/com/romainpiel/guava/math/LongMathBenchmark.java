@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link LongMath#checkedMultiply}, {@link LongMath#saturatedMultiply},
+ * {@link LongMath#saturatedAdd}, {@link LongMath#sqrt}, {@link LongMath#binomial},
+ * {@link LongMath#mulMod} and {@link LongMath#isPrime}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LongMathBenchmark {
+  private static final int ARRAY_SIZE = 0x10000;
+  private static final int ARRAY_MASK = ARRAY_SIZE - 1;
+  private static final long RANDOM_SEED = 1234567890L;
+
+  @Param({"FLOOR", "HALF_EVEN"})
+  RoundingMode mode;
+
+  private final long[] factors1 = new long[ARRAY_SIZE];
+  private final long[] factors2 = new long[ARRAY_SIZE];
+  private final long[] positive = new long[ARRAY_SIZE];
+  private final int[] binomialN = new int[ARRAY_SIZE];
+  private final int[] binomialK = new int[ARRAY_SIZE];
+  private int index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(RANDOM_SEED);
+    for (int i = 0; i < ARRAY_SIZE; i++) {
+      // Mostly non-overflowing products, as in real code, with a few that do overflow.
+      factors1[i] = random.nextInt();
+      factors2[i] = (i % 16 == 0) ? random.nextLong() : random.nextInt();
+      positive[i] = random.nextLong() & Long.MAX_VALUE;
+      binomialN[i] = random.nextInt(70);
+      binomialK[i] = random.nextInt(binomialN[i] + 1);
+    }
+  }
+
+  @Benchmark
+  public long checkedMultiply() {
+    int j = index++ & ARRAY_MASK;
+    try {
+      return LongMath.checkedMultiply(factors1[j], factors2[j]);
+    } catch (ArithmeticException overflow) {
+      return 0;
+    }
+  }
+
+  @Benchmark
+  public long saturatedMultiply() {
+    int j = index++ & ARRAY_MASK;
+    return LongMath.saturatedMultiply(factors1[j], factors2[j]);
+  }
+
+  @Benchmark
+  public long saturatedAdd() {
+    int j = index++ & ARRAY_MASK;
+    return LongMath.saturatedAdd(positive[j], factors2[j]);
+  }
+
+  @Benchmark
+  public long saturatedAddBaseline() {
+    int j = index++ & ARRAY_MASK;
+    try {
+      return LongMath.checkedAdd(positive[j], factors2[j]);
+    } catch (ArithmeticException overflow) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  @Benchmark
+  public long sqrt() {
+    return LongMath.sqrt(positive[index++ & ARRAY_MASK], mode);
+  }
+
+  @Benchmark
+  public long binomial() {
+    int j = index++ & ARRAY_MASK;
+    return LongMath.binomial(binomialN[j], binomialK[j]);
+  }
+
+  @Benchmark
+  public long mulMod() {
+    int j = index++ & ARRAY_MASK;
+    return LongMath.mulMod(factors2[j], positive[j], positive[(j + 1) & ARRAY_MASK] | 1);
+  }
+
+  @Benchmark
+  public boolean isPrime() {
+    return LongMath.isPrime(positive[index++ & ARRAY_MASK] | 1);
+  }
+
+  @Benchmark
+  public boolean isPrimeBaseline() {
+    return BigInteger.valueOf(positive[index++ & ARRAY_MASK] | 1).isProbablePrime(100);
+  }
+}
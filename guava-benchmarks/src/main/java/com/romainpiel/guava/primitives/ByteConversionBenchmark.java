@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the bulk byte conversions of {@link Ints} and {@link Longs}, against encoding
+ * and decoding one value at a time with shifts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ByteConversionBenchmark {
+  private static final long RANDOM_SEED = 1234567890L;
+
+  @Param({"16", "4096"})
+  int length;
+
+  @Param({"BIG_ENDIAN", "LITTLE_ENDIAN"})
+  String byteOrder;
+
+  private ByteOrder order;
+  private int[] ints;
+  private long[] longs;
+  private byte[] intBytes;
+  private byte[] longBytes;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(RANDOM_SEED);
+    order = byteOrder.equals("BIG_ENDIAN") ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    ints = new int[length];
+    longs = new long[length];
+    for (int i = 0; i < length; i++) {
+      ints[i] = random.nextInt();
+      longs[i] = random.nextLong();
+    }
+    intBytes = new byte[length * Ints.BYTES];
+    longBytes = new byte[length * Longs.BYTES];
+    random.nextBytes(intBytes);
+    random.nextBytes(longBytes);
+  }
+
+  @Benchmark
+  public byte[] intsCopyToBytes() {
+    Ints.copyToBytes(ints, 0, intBytes, 0, length, order);
+    return intBytes;
+  }
+
+  @Benchmark
+  public byte[] intsCopyToBytesBaseline() {
+    boolean bigEndian = order == ByteOrder.BIG_ENDIAN;
+    for (int i = 0, j = 0; i < length; i++, j += Ints.BYTES) {
+      int value = bigEndian ? ints[i] : Integer.reverseBytes(ints[i]);
+      intBytes[j] = (byte) (value >> 24);
+      intBytes[j + 1] = (byte) (value >> 16);
+      intBytes[j + 2] = (byte) (value >> 8);
+      intBytes[j + 3] = (byte) value;
+    }
+    return intBytes;
+  }
+
+  @Benchmark
+  public int[] intsCopyFromBytes() {
+    Ints.copyFromBytes(intBytes, 0, ints, 0, length, order);
+    return ints;
+  }
+
+  @Benchmark
+  public int[] intsCopyFromBytesBaseline() {
+    boolean bigEndian = order == ByteOrder.BIG_ENDIAN;
+    for (int i = 0, j = 0; i < length; i++, j += Ints.BYTES) {
+      int value = Ints.fromBytes(intBytes[j], intBytes[j + 1], intBytes[j + 2], intBytes[j + 3]);
+      ints[i] = bigEndian ? value : Integer.reverseBytes(value);
+    }
+    return ints;
+  }
+
+  @Benchmark
+  public byte[] longsCopyToBytes() {
+    Longs.copyToBytes(longs, 0, longBytes, 0, length, order);
+    return longBytes;
+  }
+
+  @Benchmark
+  public byte[] longsCopyToBytesBaseline() {
+    boolean bigEndian = order == ByteOrder.BIG_ENDIAN;
+    for (int i = 0, j = 0; i < length; i++, j += Longs.BYTES) {
+      long value = bigEndian ? longs[i] : Long.reverseBytes(longs[i]);
+      for (int k = Longs.BYTES - 1; k >= 0; k--) {
+        longBytes[j + k] = (byte) value;
+        value >>= 8;
+      }
+    }
+    return longBytes;
+  }
+
+  @Benchmark
+  public long[] longsCopyFromBytes() {
+    Longs.copyFromBytes(longBytes, 0, longs, 0, length, order);
+    return longs;
+  }
+
+  @Benchmark
+  public long[] longsCopyFromBytesBaseline() {
+    boolean bigEndian = order == ByteOrder.BIG_ENDIAN;
+    for (int i = 0, j = 0; i < length; i++, j += Longs.BYTES) {
+      long value = 0;
+      for (int k = 0; k < Longs.BYTES; k++) {
+        value = (value << 8) | (longBytes[j + k] & 0xFF);
+      }
+      longs[i] = bigEndian ? value : Long.reverseBytes(value);
+    }
+    return longs;
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the parsing and formatting methods of {@link Doubles}.
+ *
+ * <p>Each invocation handles one value out of a pre-generated pool, so that branch prediction
+ * cannot learn a single input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DoublesBenchmark {
+  private static final int ARRAY_SIZE = 0x10000;
+  private static final int ARRAY_MASK = ARRAY_SIZE - 1;
+  private static final long RANDOM_SEED = 1234567890L;
+
+  /**
+   * The values: uniformly random bits, which need all 17 digits, or measurements with a few
+   * decimals, as found in telemetry.
+   */
+  @Param({"bits", "measurements"})
+  String values;
+
+  private final double[] doubles = new double[ARRAY_SIZE];
+  private final String[] strings = new String[ARRAY_SIZE];
+  /** The values of {@link #strings}, concatenated, with their bounds in {@link #bounds}. */
+  private String buffer;
+  private final int[] bounds = new int[ARRAY_SIZE + 1];
+  private final char[] chars = new char[32];
+  private final StringBuilder builder = new StringBuilder(32);
+  private int index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(RANDOM_SEED);
+    StringBuilder concatenated = new StringBuilder();
+    for (int i = 0; i < ARRAY_SIZE; i++) {
+      double value;
+      if (values.equals("bits")) {
+        do {
+          value = Double.longBitsToDouble(random.nextLong());
+        } while (Double.isNaN(value) || Double.isInfinite(value));
+      } else {
+        value = (random.nextInt(2000000) - 1000000) / Math.pow(10, random.nextInt(5));
+      }
+      doubles[i] = value;
+      strings[i] = Double.toString(value);
+      bounds[i] = concatenated.length();
+      concatenated.append(strings[i]);
+    }
+    bounds[ARRAY_SIZE] = concatenated.length();
+    buffer = concatenated.toString();
+  }
+
+  @Benchmark
+  public Double tryParse() {
+    return Doubles.tryParse(strings[index++ & ARRAY_MASK]);
+  }
+
+  @Benchmark
+  public double tryParseRange() {
+    int i = index++ & ARRAY_MASK;
+    return Doubles.tryParse(buffer, bounds[i], bounds[i + 1], 0.0);
+  }
+
+  @Benchmark
+  public double parseDoubleBaseline() {
+    return Double.parseDouble(strings[index++ & ARRAY_MASK]);
+  }
+
+  /** The baseline {@link #tryParseRange} is competing with. */
+  @Benchmark
+  public double parseDoubleSubstringBaseline() {
+    int i = index++ & ARRAY_MASK;
+    return Double.parseDouble(buffer.substring(bounds[i], bounds[i + 1]));
+  }
+
+  @Benchmark
+  public int writeTo() {
+    return Doubles.writeTo(doubles[index++ & ARRAY_MASK], chars, 0);
+  }
+
+  @Benchmark
+  public int appendToBuilder() throws IOException {
+    builder.setLength(0);
+    return Doubles.appendTo(builder, doubles[index++ & ARRAY_MASK]).length();
+  }
+
+  @Benchmark
+  public String toStringBaseline() {
+    return Double.toString(doubles[index++ & ARRAY_MASK]);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the formatting methods of {@link Longs} and {@link UnsignedLongs}.
+ *
+ * <p>Each invocation formats one value out of a pre-generated pool, so that branch prediction
+ * cannot learn a single input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FormatBenchmark {
+  private static final int ARRAY_SIZE = 0x10000;
+  private static final int ARRAY_MASK = ARRAY_SIZE - 1;
+  private static final long RANDOM_SEED = 1234567890L;
+
+  /** Upper bound on the number of digits of the signed values. */
+  @Param({"3", "10", "19"})
+  int digits;
+
+  private final long[] longs = new long[ARRAY_SIZE];
+  private final long[] unsignedLongs = new long[ARRAY_SIZE];
+  private final char[] buffer = new char[64];
+  private final CharArrayWriter writer = new CharArrayWriter(64);
+  private int index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(RANDOM_SEED);
+    long bound = 1;
+    for (int i = 0; i < digits && bound <= Long.MAX_VALUE / 10; i++) {
+      bound *= 10;
+    }
+    for (int i = 0; i < ARRAY_SIZE; i++) {
+      long value = (random.nextLong() & Long.MAX_VALUE) % bound;
+      longs[i] = random.nextBoolean() ? -value : value;
+      unsignedLongs[i] = random.nextLong();
+    }
+  }
+
+  @Benchmark
+  public int longsWriteTo() {
+    return Longs.writeTo(longs[index++ & ARRAY_MASK], buffer, 0);
+  }
+
+  @Benchmark
+  public int longsWriteToHex() {
+    return Longs.writeTo(longs[index++ & ARRAY_MASK], 16, buffer, 0);
+  }
+
+  @Benchmark
+  public int longsAppendToWriter() throws IOException {
+    writer.reset();
+    return Longs.appendTo(writer, longs[index++ & ARRAY_MASK]).size();
+  }
+
+  @Benchmark
+  public String longToStringBaseline() {
+    return Long.toString(longs[index++ & ARRAY_MASK]);
+  }
+
+  @Benchmark
+  public int unsignedLongsWriteTo() {
+    return UnsignedLongs.writeTo(unsignedLongs[index++ & ARRAY_MASK], buffer, 0);
+  }
+
+  @Benchmark
+  public String unsignedLongsToString() {
+    return UnsignedLongs.toString(unsignedLongs[index++ & ARRAY_MASK]);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the {@code byte[]} comparators of {@link UnsignedBytes} and {@link SignedBytes}.
+ *
+ * <p>Each invocation compares a pair of keys out of a pre-generated pool. The keys of a pair share a
+ * common prefix of {@link #prefixLength} bytes and then differ, like neighbouring keys in a sorted
+ * store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LexicographicalComparatorBenchmark {
+  private static final int ARRAY_SIZE = 0x400;
+  private static final int ARRAY_MASK = ARRAY_SIZE - 1;
+  private static final long RANDOM_SEED = 1234567890L;
+
+  @Param({"4", "16", "100"})
+  int prefixLength;
+
+  private final byte[][] lefts = new byte[ARRAY_SIZE][];
+  private final byte[][] rights = new byte[ARRAY_SIZE][];
+  private final Comparator<byte[]> best = UnsignedBytes.lexicographicalComparator();
+  private final Comparator<byte[]> javaImpl = UnsignedBytes.lexicographicalComparatorJavaImpl();
+  private final Comparator<byte[]> signed = SignedBytes.lexicographicalComparator();
+  private int index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(RANDOM_SEED);
+    for (int i = 0; i < ARRAY_SIZE; i++) {
+      byte[] left = new byte[prefixLength + 1 + random.nextInt(8)];
+      random.nextBytes(left);
+      byte[] right = left.clone();
+      right[prefixLength] = (byte) ~left[prefixLength];
+      lefts[i] = left;
+      rights[i] = right;
+    }
+  }
+
+  @Benchmark
+  public int unsigned() {
+    int i = index++ & ARRAY_MASK;
+    return best.compare(lefts[i], rights[i]);
+  }
+
+  @Benchmark
+  public int unsignedJavaImpl() {
+    int i = index++ & ARRAY_MASK;
+    return javaImpl.compare(lefts[i], rights[i]);
+  }
+
+  @Benchmark
+  public int signed() {
+    int i = index++ & ARRAY_MASK;
+    return signed.compare(lefts[i], rights[i]);
+  }
+
+  @Benchmark
+  public int mismatch() {
+    int i = index++ & ARRAY_MASK;
+    return Bytes.mismatch(lefts[i], rights[i]);
+  }
+}
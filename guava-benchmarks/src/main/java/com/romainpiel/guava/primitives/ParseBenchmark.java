@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the parsing methods of {@link Ints}, {@link Longs} and {@link UnsignedLongs}.
+ *
+ * <p>Each invocation parses one value out of a pre-generated pool, so that branch prediction
+ * cannot learn a single input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParseBenchmark {
+  private static final int ARRAY_SIZE = 0x10000;
+  private static final int ARRAY_MASK = ARRAY_SIZE - 1;
+  private static final long RANDOM_SEED = 1234567890L;
+
+  /** Upper bound on the number of digits of the signed values. */
+  @Param({"3", "10", "19"})
+  int digits;
+
+  private final String[] ints = new String[ARRAY_SIZE];
+  private final String[] longs = new String[ARRAY_SIZE];
+  private final String[] unsignedLongs = new String[ARRAY_SIZE];
+  /** The values of {@link #longs}, concatenated, with their bounds in {@link #longBounds}. */
+  private String longBuffer;
+  private byte[] longBytes;
+  private final int[] longBounds = new int[ARRAY_SIZE + 1];
+  private int index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(RANDOM_SEED);
+    long bound = 1;
+    for (int i = 0; i < digits && bound <= Long.MAX_VALUE / 10; i++) {
+      bound *= 10;
+    }
+    for (int i = 0; i < ARRAY_SIZE; i++) {
+      long value = (random.nextLong() & Long.MAX_VALUE) % bound;
+      if (random.nextBoolean()) {
+        value = -value;
+      }
+      ints[i] = Integer.toString((int) value);
+      longs[i] = Long.toString(value);
+      unsignedLongs[i] = UnsignedLongs.toString(random.nextLong());
+    }
+    StringBuilder buffer = new StringBuilder();
+    for (int i = 0; i < ARRAY_SIZE; i++) {
+      longBounds[i] = buffer.length();
+      buffer.append(longs[i]);
+    }
+    longBounds[ARRAY_SIZE] = buffer.length();
+    longBuffer = buffer.toString();
+    longBytes = new byte[longBuffer.length()];
+    for (int i = 0; i < longBytes.length; i++) {
+      longBytes[i] = (byte) longBuffer.charAt(i);
+    }
+  }
+
+  @Benchmark
+  public Integer intsTryParse() {
+    return Ints.tryParse(ints[index++ & ARRAY_MASK]);
+  }
+
+  @Benchmark
+  public int integerParseIntBaseline() {
+    return Integer.parseInt(ints[index++ & ARRAY_MASK]);
+  }
+
+  @Benchmark
+  public Long longsTryParse() {
+    return Longs.tryParse(longs[index++ & ARRAY_MASK]);
+  }
+
+  @Benchmark
+  public long longParseLongBaseline() {
+    return Long.parseLong(longs[index++ & ARRAY_MASK]);
+  }
+
+  @Benchmark
+  public long longsTryParseRange() {
+    int i = index++ & ARRAY_MASK;
+    return Longs.tryParse(longBuffer, longBounds[i], longBounds[i + 1], 10, 0L);
+  }
+
+  @Benchmark
+  public long longsTryParseAsciiBytes() {
+    int i = index++ & ARRAY_MASK;
+    return Longs.tryParse(longBytes, longBounds[i], longBounds[i + 1] - longBounds[i], 0L);
+  }
+
+  /** The baseline {@link #longsTryParseRange} is competing with. */
+  @Benchmark
+  public long longParseLongSubstringBaseline() {
+    int i = index++ & ARRAY_MASK;
+    return Long.parseLong(longBuffer.substring(longBounds[i], longBounds[i + 1]));
+  }
+
+  @Benchmark
+  public long unsignedLongsParseUnsignedLong() {
+    return UnsignedLongs.parseUnsignedLong(unsignedLongs[index++ & ARRAY_MASK]);
+  }
+}
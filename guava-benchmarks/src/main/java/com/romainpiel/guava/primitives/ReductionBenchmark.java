@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the min, max and sum reductions of {@link Ints}, {@link Longs} and
+ * {@link Doubles}, each against the loop it replaces or competes with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReductionBenchmark {
+  private static final long RANDOM_SEED = 1234567890L;
+
+  @Param({"16", "1024", "65536"})
+  int length;
+
+  private int[] ints;
+  private long[] longs;
+  private double[] doubles;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(RANDOM_SEED);
+    ints = new int[length];
+    longs = new long[length];
+    doubles = new double[length];
+    for (int i = 0; i < length; i++) {
+      ints[i] = random.nextInt();
+      longs[i] = random.nextLong() >> 24;
+      doubles[i] = random.nextGaussian();
+    }
+  }
+
+  @Benchmark
+  public long intsMinMax() {
+    int[] minMax = Ints.minMax(ints);
+    return minMax[0] + minMax[1];
+  }
+
+  @Benchmark
+  public long intsMinAndMaxBaseline() {
+    return Ints.min(ints) + Ints.max(ints);
+  }
+
+  @Benchmark
+  public long intsSum() {
+    return Ints.sum(ints);
+  }
+
+  @Benchmark
+  public long longsSumExact() {
+    return Longs.sumExact(longs);
+  }
+
+  /** The checked sum as a caller would write it with repeated overflow checks. */
+  @Benchmark
+  public long longsSumExactBaseline() {
+    long sum = 0;
+    for (long value : longs) {
+      long next = sum + value;
+      if (((sum ^ next) & (value ^ next)) < 0) {
+        throw new ArithmeticException("overflow");
+      }
+      sum = next;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double doublesMax() {
+    return Doubles.max(doubles);
+  }
+
+  /** The {@link Math#max(double, double)} fold {@link Doubles#max} used to run. */
+  @Benchmark
+  public double doublesMaxBaseline() {
+    double max = doubles[0];
+    for (int i = 1; i < doubles.length; i++) {
+      max = Math.max(max, doubles[i]);
+    }
+    return max;
+  }
+
+  @Benchmark
+  public double doublesSum() {
+    return Doubles.sum(doubles);
+  }
+
+  @Benchmark
+  public double doublesSumBaseline() {
+    double sum = 0;
+    for (double value : doubles) {
+      sum += value;
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the array search methods of {@link Bytes} and {@link Ints}.
+ *
+ * <p>The arrays hold lowercase ASCII text, or its code points for {@code int[]}, and the value or
+ * target searched for sits at the very end, so each call scans the whole array.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SearchBenchmark {
+  private static final long RANDOM_SEED = 1234567890L;
+
+  @Param({"16", "256", "65536"})
+  int length;
+
+  @Param({"4", "32"})
+  int targetLength;
+
+  private byte[] bytes;
+  private byte[] byteTarget;
+  private int[] ints;
+  private int[] intTarget;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(RANDOM_SEED);
+    bytes = new byte[length + targetLength];
+    ints = new int[length + targetLength];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) ('a' + random.nextInt(26));
+      ints[i] = bytes[i];
+    }
+    // The target shares its prefix with the text, so that first-element scans find candidates.
+    byteTarget = new byte[targetLength];
+    intTarget = new int[targetLength];
+    for (int i = 0; i < targetLength; i++) {
+      byteTarget[i] = i == targetLength - 1 ? (byte) '\n' : (byte) ('a' + random.nextInt(26));
+      intTarget[i] = byteTarget[i];
+    }
+    System.arraycopy(byteTarget, 0, bytes, length, targetLength);
+    System.arraycopy(intTarget, 0, ints, length, targetLength);
+  }
+
+  @Benchmark
+  public int bytesIndexOf() {
+    return Bytes.indexOf(bytes, (byte) '\n');
+  }
+
+  /** Searches for a byte that is absent, so that the whole array is scanned from the end. */
+  @Benchmark
+  public int bytesLastIndexOf() {
+    return Bytes.lastIndexOf(bytes, (byte) '{');
+  }
+
+  @Benchmark
+  public int bytesIndexOfArray() {
+    return Bytes.indexOf(bytes, byteTarget);
+  }
+
+  /** The nested loop {@link Bytes#indexOf(byte[], byte[])} used to run. */
+  @Benchmark
+  public int bytesIndexOfArrayBaseline() {
+    outer:
+    for (int i = 0; i <= bytes.length - byteTarget.length; i++) {
+      for (int j = 0; j < byteTarget.length; j++) {
+        if (bytes[i + j] != byteTarget[j]) {
+          continue outer;
+        }
+      }
+      return i;
+    }
+    return -1;
+  }
+
+  @Benchmark
+  public int intsIndexOfArray() {
+    return Ints.indexOf(ints, intTarget);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for sorting hashed ids as unsigned {@code long} values with {@link UnsignedLongs},
+ * against boxing them for a {@link Comparator} and against a signed {@link Arrays#sort}.
+ *
+ * <p>Each invocation sorts a fresh copy of the same random array; the copy is part of the
+ * measurement for all methods alike.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UnsignedSortBenchmark {
+  private static final long RANDOM_SEED = 1234567890L;
+
+  @Param({"100", "10000", "1000000"})
+  int length;
+
+  private long[] values;
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(RANDOM_SEED);
+    values = new long[length];
+    for (int i = 0; i < length; i++) {
+      values[i] = random.nextLong();
+    }
+    pool = new ForkJoinPool();
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public long[] sort() {
+    long[] array = values.clone();
+    UnsignedLongs.sort(array);
+    return array;
+  }
+
+  @Benchmark
+  public long[] parallelSort() {
+    long[] array = values.clone();
+    UnsignedLongs.parallelSort(array, pool);
+    return array;
+  }
+
+  /** What sorting unsigned values took before: boxing and a comparator. */
+  @Benchmark
+  public Long[] boxedComparatorBaseline() {
+    Long[] array = new Long[length];
+    for (int i = 0; i < length; i++) {
+      array[i] = values[i];
+    }
+    Arrays.sort(array, new Comparator<Long>() {
+      @Override public int compare(Long a, Long b) {
+        return UnsignedLongs.compare(a, b);
+      }
+    });
+    return array;
+  }
+
+  /** Signed sorting, which gives the wrong order but bounds what a comparison sort can do. */
+  @Benchmark
+  public long[] signedSortBaseline() {
+    long[] array = values.clone();
+    Arrays.sort(array);
+    return array;
+  }
+}
@@ -27,6 +27,7 @@ import com.romainpiel.guava.primitives.Ints;
 import java.util.AbstractCollection;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.Map;
 
 import static com.romainpiel.guava.base.Preconditions.checkArgument;
 import static com.romainpiel.guava.base.Preconditions.checkNotNull;
@@ -121,6 +122,21 @@ public final class Collections2 {
     }
   }
 
+  /**
+   * Delegates to {@link Map#get}. Returns {@code null} if the {@code get} method
+   * throws a {@code ClassCastException} or {@code NullPointerException}.
+   */
+  static <V> V safeGet(Map<?, V> map, @Nullable Object key) {
+    checkNotNull(map);
+    try {
+      return map.get(key);
+    } catch (ClassCastException e) {
+      return null;
+    } catch (NullPointerException e) {
+      return null;
+    }
+  }
+
   static class FilteredCollection<E> extends AbstractCollection<E> {
     final Collection<E> unfiltered;
     final Predicate<? super E> predicate;
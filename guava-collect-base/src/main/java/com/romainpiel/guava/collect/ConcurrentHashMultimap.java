@@ -0,0 +1,700 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import android.support.annotation.Nullable;
+
+import com.romainpiel.guava.math.IntMath;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.RoundingMode;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.romainpiel.guava.base.Preconditions.checkArgument;
+import static com.romainpiel.guava.base.Preconditions.checkNotNull;
+import static com.romainpiel.guava.collect.CollectPreconditions.checkNonnegative;
+import static com.romainpiel.guava.collect.CollectPreconditions.checkRemove;
+
+/**
+ * A thread-safe {@link SetMultimap} backed by a {@link ConcurrentHashMap} of
+ * hash sets. Null keys and values are not supported.
+ *
+ * <p>Rather than serializing every operation on a single monitor, the key space
+ * is split into a fixed number of stripes, each guarding the value sets of the
+ * keys that hash to it. Operations on a single key, such as {@link #put},
+ * {@link #remove}, {@link #containsEntry}, {@link #removeAll} and the methods
+ * of the collection returned by {@link #get}, only lock that key's stripe, so
+ * threads working on keys in different stripes never wait for each other. The
+ * size of the multimap is also kept per stripe, so there is no shared counter
+ * for writers to contend on.
+ *
+ * <p>Operations spanning several keys, such as {@link #size}, {@link
+ * #containsValue}, {@link #clear} and {@link #putAll(Multimap)}, are not
+ * atomic: they visit the stripes one at a time.
+ *
+ * <p>The iterators of all views, including {@link #entries}, {@link #keys},
+ * {@link #keySet}, {@link #values} and {@link #asMap}, are <i>weakly
+ * consistent</i>: they never throw {@link
+ * java.util.ConcurrentModificationException}, and they reflect the state of
+ * each key at some point at or since the creation of the iterator. The values
+ * of a key are copied under its stripe lock when the iterator reaches that
+ * key. Removing through an iterator removes the last returned mapping from the
+ * multimap.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class ConcurrentHashMultimap<K, V> extends AbstractMultimap<K, V>
+    implements SetMultimap<K, V>, Serializable {
+  private static final int DEFAULT_VALUES_PER_KEY = 2;
+  private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+  private static final int MAX_STRIPES = 1 << 16;
+
+  /**
+   * Creates a new, empty {@code ConcurrentHashMultimap} with the default
+   * initial capacities and 16 lock stripes.
+   */
+  public static <K, V> ConcurrentHashMultimap<K, V> create() {
+    return new ConcurrentHashMultimap<K, V>(
+        16, DEFAULT_VALUES_PER_KEY, DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  /**
+   * Creates a new, empty {@code ConcurrentHashMultimap} with enough capacity to
+   * hold the specified numbers of keys and values without rehashing, and
+   * enough lock stripes for {@code concurrencyLevel} threads to update it
+   * without contention. The number of stripes is rounded up to a power of two.
+   *
+   * @param expectedKeys the expected number of distinct keys
+   * @param expectedValuesPerKey the expected average number of values per key
+   * @param concurrencyLevel the expected number of concurrently updating
+   *     threads
+   * @throws IllegalArgumentException if {@code expectedKeys} or {@code
+   *     expectedValuesPerKey} is negative, or if {@code concurrencyLevel} is
+   *     not positive
+   */
+  public static <K, V> ConcurrentHashMultimap<K, V> create(
+      int expectedKeys, int expectedValuesPerKey, int concurrencyLevel) {
+    return new ConcurrentHashMultimap<K, V>(
+        expectedKeys, expectedValuesPerKey, concurrencyLevel);
+  }
+
+  /**
+   * Creates a new {@code ConcurrentHashMultimap} with the same mappings as the
+   * specified multimap, and the default number of lock stripes.
+   *
+   * @throws NullPointerException if {@code multimap} contains a null key or
+   *     value
+   */
+  public static <K, V> ConcurrentHashMultimap<K, V> create(
+      Multimap<? extends K, ? extends V> multimap) {
+    ConcurrentHashMultimap<K, V> result = new ConcurrentHashMultimap<K, V>(
+        multimap.keySet().size(), DEFAULT_VALUES_PER_KEY,
+        DEFAULT_CONCURRENCY_LEVEL);
+    result.putAll(multimap);
+    return result;
+  }
+
+  /**
+   * A lock guarding the value sets of the keys that hash to it. The size is
+   * only written while holding the lock, and is volatile so that {@link
+   * #size} can sum the stripes without locking them.
+   */
+  private static final class Stripe {
+    volatile int size;
+  }
+
+  /**
+   * Maps each key to its nonempty set of values. Entries are only added or
+   * removed, and value sets only read or written, while holding the key's
+   * stripe.
+   */
+  private final transient ConcurrentMap<K, Set<V>> map;
+  private final transient Stripe[] stripes;
+  private final transient int expectedValuesPerKey;
+
+  private ConcurrentHashMultimap(
+      int expectedKeys, int expectedValuesPerKey, int concurrencyLevel) {
+    checkNonnegative(expectedKeys, "expectedKeys");
+    checkNonnegative(expectedValuesPerKey, "expectedValuesPerKey");
+    checkArgument(concurrencyLevel > 0,
+        "concurrencyLevel must be positive: %s", concurrencyLevel);
+    int stripeCount = (concurrencyLevel > MAX_STRIPES)
+        ? MAX_STRIPES
+        : 1 << IntMath.log2(concurrencyLevel, RoundingMode.CEILING);
+    this.stripes = new Stripe[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      stripes[i] = new Stripe();
+    }
+    this.map = new ConcurrentHashMap<K, Set<V>>(
+        Maps.capacity(expectedKeys), 0.75f, stripeCount);
+    this.expectedValuesPerKey = expectedValuesPerKey;
+  }
+
+  private Stripe stripeFor(Object key) {
+    int hash = key.hashCode();
+    // Spread the high bits, as in HashMap, since only the low bits pick a
+    // stripe.
+    hash ^= (hash >>> 20) ^ (hash >>> 12);
+    hash ^= (hash >>> 7) ^ (hash >>> 4);
+    return stripes[hash & (stripes.length - 1)];
+  }
+
+  private Set<V> createValueSet() {
+    return new HashSet<V>(Maps.capacity(expectedValuesPerKey));
+  }
+
+  // Query Operations
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The result is the sum of the sizes of the stripes, each read at a
+   * slightly different time. If the multimap is modified while this method
+   * runs, the result may not match its size at any single point in time.
+   */
+  @Override
+  public int size() {
+    long sum = 0L;
+    for (Stripe stripe : stripes) {
+      sum += stripe.size;
+    }
+    return (int) Math.min(sum, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+    return key != null && map.containsKey(key);
+  }
+
+  @Override
+  public boolean containsValue(@Nullable Object value) {
+    if (value == null) {
+      return false;
+    }
+    for (K key : map.keySet()) {
+      if (containsEntry(key, value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean containsEntry(@Nullable Object key, @Nullable Object value) {
+    if (key == null || value == null) {
+      return false;
+    }
+    synchronized (stripeFor(key)) {
+      Set<V> values = map.get(key);
+      return values != null && values.contains(value);
+    }
+  }
+
+  // Modification Operations
+
+  /**
+   * Stores a key-value pair in the multimap.
+   *
+   * @return {@code true} if the method increased the size of the multimap, or
+   *     {@code false} if the multimap already contained the key-value pair
+   * @throws NullPointerException if {@code key} or {@code value} is null
+   */
+  @Override
+  public boolean put(K key, V value) {
+    checkNotNull(key);
+    checkNotNull(value);
+    Stripe stripe = stripeFor(key);
+    synchronized (stripe) {
+      Set<V> values = map.get(key);
+      if (values == null) {
+        values = createValueSet();
+        map.put(key, values);
+      }
+      if (values.add(value)) {
+        stripe.size++;
+        return true;
+      }
+      return false;
+    }
+  }
+
+  @Override
+  public boolean remove(@Nullable Object key, @Nullable Object value) {
+    if (key == null || value == null) {
+      return false;
+    }
+    Stripe stripe = stripeFor(key);
+    synchronized (stripe) {
+      Set<V> values = map.get(key);
+      if (values == null || !values.remove(value)) {
+        return false;
+      }
+      if (values.isEmpty()) {
+        map.remove(key);
+      }
+      stripe.size--;
+      return true;
+    }
+  }
+
+  // Bulk Operations
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>All of {@code values} are added atomically with respect to other
+   * operations on {@code key}.
+   *
+   * @throws NullPointerException if {@code key} or any of {@code values} is
+   *     null
+   */
+  @Override
+  public boolean putAll(K key, Iterable<? extends V> values) {
+    checkNotNull(key);
+    Iterator<? extends V> iterator = values.iterator();
+    if (!iterator.hasNext()) {
+      return false;
+    }
+    Stripe stripe = stripeFor(key);
+    synchronized (stripe) {
+      Set<V> existing = map.get(key);
+      Set<V> target = (existing == null) ? createValueSet() : existing;
+      int oldSize = target.size();
+      try {
+        while (iterator.hasNext()) {
+          target.add(checkNotNull(iterator.next()));
+        }
+      } finally {
+        int added = target.size() - oldSize;
+        stripe.size += added;
+        if (existing == null && added > 0) {
+          map.put(key, target);
+        }
+      }
+      return target.size() > oldSize;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The values are replaced atomically with respect to other operations on
+   * {@code key}. The returned set is immutable.
+   *
+   * @throws NullPointerException if {@code key} or any of {@code values} is
+   *     null
+   */
+  @Override
+  public Set<V> replaceValues(K key, Iterable<? extends V> values) {
+    checkNotNull(key);
+    Set<V> newValues = createValueSet();
+    for (V value : values) {
+      newValues.add(checkNotNull(value));
+    }
+    Stripe stripe = stripeFor(key);
+    synchronized (stripe) {
+      Set<V> oldValues = newValues.isEmpty()
+          ? map.remove(key)
+          : map.put(key, newValues);
+      int oldSize = (oldValues == null) ? 0 : oldValues.size();
+      stripe.size += newValues.size() - oldSize;
+      return unmodifiable(oldValues);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The values are removed atomically with respect to other operations on
+   * {@code key}. The returned set is immutable.
+   */
+  @Override
+  public Set<V> removeAll(@Nullable Object key) {
+    if (key == null) {
+      return Collections.emptySet();
+    }
+    Stripe stripe = stripeFor(key);
+    synchronized (stripe) {
+      Set<V> oldValues = map.remove(key);
+      if (oldValues != null) {
+        stripe.size -= oldValues.size();
+      }
+      return unmodifiable(oldValues);
+    }
+  }
+
+  /*
+   * A value set that was removed from the map is never modified again, so it
+   * can be handed out directly.
+   */
+  private static <V> Set<V> unmodifiable(@Nullable Set<V> values) {
+    return (values == null)
+        ? Collections.<V>emptySet()
+        : Collections.unmodifiableSet(values);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Keys are removed one at a time; mappings added concurrently may
+   * survive.
+   */
+  @Override
+  public void clear() {
+    for (K key : map.keySet()) {
+      removeAll(key);
+    }
+  }
+
+  // Views
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The returned set is a view that locks the stripe of {@code key} for
+   * each operation, and whose iterator is weakly consistent.
+   */
+  @Override
+  public Set<V> get(K key) {
+    return new WrappedValues(checkNotNull(key));
+  }
+
+  /**
+   * Returns a copy of the values currently associated with {@code key}, taken
+   * under its stripe lock.
+   */
+  private Object[] snapshot(Object key) {
+    synchronized (stripeFor(key)) {
+      Set<V> values = map.get(key);
+      return (values == null) ? ObjectArrays.EMPTY_ARRAY : values.toArray();
+    }
+  }
+
+  private final class WrappedValues extends AbstractSet<V> {
+    final K key;
+
+    WrappedValues(K key) {
+      this.key = key;
+    }
+
+    @Override public int size() {
+      synchronized (stripeFor(key)) {
+        Set<V> values = map.get(key);
+        return (values == null) ? 0 : values.size();
+      }
+    }
+
+    @Override public boolean isEmpty() {
+      return !map.containsKey(key);
+    }
+
+    @Override public boolean contains(@Nullable Object o) {
+      return containsEntry(key, o);
+    }
+
+    @Override public boolean add(V value) {
+      return put(key, value);
+    }
+
+    @Override public boolean addAll(Collection<? extends V> values) {
+      return putAll(key, values);
+    }
+
+    @Override public boolean remove(@Nullable Object o) {
+      return ConcurrentHashMultimap.this.remove(key, o);
+    }
+
+    @Override public void clear() {
+      ConcurrentHashMultimap.this.removeAll(key);
+    }
+
+    @Override public Object[] toArray() {
+      return snapshot(key);
+    }
+
+    @Override public Iterator<V> iterator() {
+      return new SnapshotIterator<V>(key, snapshot(key)) {
+        @Override V output(K key, V value) {
+          return value;
+        }
+      };
+    }
+  }
+
+  /**
+   * Iterates over the values of one key, as copied by {@link #snapshot}.
+   * Removal removes the last returned value from the multimap.
+   */
+  private abstract class SnapshotIterator<T> implements Iterator<T> {
+    final K key;
+    final Object[] values;
+    int next;
+    boolean canRemove;
+
+    SnapshotIterator(K key, Object[] values) {
+      this.key = key;
+      this.values = values;
+    }
+
+    abstract T output(K key, V value);
+
+    @Override public boolean hasNext() {
+      return next < values.length;
+    }
+
+    @Override public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      canRemove = true;
+      return output(key, value(next++));
+    }
+
+    @SuppressWarnings("unchecked") // values holds a copy of a Set<V>
+    V value(int index) {
+      return (V) values[index];
+    }
+
+    @Override public void remove() {
+      checkRemove(canRemove);
+      ConcurrentHashMultimap.this.remove(key, values[next - 1]);
+      canRemove = false;
+    }
+  }
+
+  @Override
+  Iterator<Map.Entry<K, V>> entryIterator() {
+    final Iterator<K> keyIterator = map.keySet().iterator();
+    return new Iterator<Map.Entry<K, V>>() {
+      SnapshotIterator<Map.Entry<K, V>> valueIterator;
+      SnapshotIterator<Map.Entry<K, V>> lastReturned;
+
+      @Override public boolean hasNext() {
+        while (valueIterator == null || !valueIterator.hasNext()) {
+          if (!keyIterator.hasNext()) {
+            return false;
+          }
+          K key = keyIterator.next();
+          valueIterator = new SnapshotIterator<Map.Entry<K, V>>(key, snapshot(key)) {
+            @Override Map.Entry<K, V> output(K key, V value) {
+              return Maps.immutableEntry(key, value);
+            }
+          };
+        }
+        return true;
+      }
+
+      @Override public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        lastReturned = valueIterator;
+        return valueIterator.next();
+      }
+
+      @Override public void remove() {
+        checkRemove(lastReturned != null);
+        lastReturned.remove();
+        lastReturned = null;
+      }
+    };
+  }
+
+  @Override
+  Set<K> createKeySet() {
+    return new AbstractSet<K>() {
+      @Override public int size() {
+        return map.size();
+      }
+
+      @Override public boolean isEmpty() {
+        return map.isEmpty();
+      }
+
+      @Override public boolean contains(@Nullable Object o) {
+        return containsKey(o);
+      }
+
+      @Override public boolean remove(@Nullable Object o) {
+        return !ConcurrentHashMultimap.this.removeAll(o).isEmpty();
+      }
+
+      @Override public void clear() {
+        ConcurrentHashMultimap.this.clear();
+      }
+
+      @Override public Iterator<K> iterator() {
+        final Iterator<K> delegate = map.keySet().iterator();
+        return new Iterator<K>() {
+          K last;
+
+          @Override public boolean hasNext() {
+            return delegate.hasNext();
+          }
+
+          @Override public K next() {
+            last = delegate.next();
+            return last;
+          }
+
+          @Override public void remove() {
+            checkRemove(last != null);
+            ConcurrentHashMultimap.this.removeAll(last);
+            last = null;
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  Map<K, Collection<V>> createAsMap() {
+    return new AsMap();
+  }
+
+  private final class AsMap extends AbstractMap<K, Collection<V>> {
+    @Override public int size() {
+      return map.size();
+    }
+
+    @Override public boolean isEmpty() {
+      return map.isEmpty();
+    }
+
+    @Override public boolean containsKey(@Nullable Object key) {
+      return ConcurrentHashMultimap.this.containsKey(key);
+    }
+
+    @Override public Collection<V> get(@Nullable Object key) {
+      if (!containsKey(key)) {
+        return null;
+      }
+      @SuppressWarnings("unchecked") // key is present, so it is a K
+      K k = (K) key;
+      return new WrappedValues(k);
+    }
+
+    @Override public Collection<V> remove(@Nullable Object key) {
+      Set<V> oldValues = removeAll(key);
+      return oldValues.isEmpty() ? null : oldValues;
+    }
+
+    @Override public Set<K> keySet() {
+      return ConcurrentHashMultimap.this.keySet();
+    }
+
+    @Override public void clear() {
+      ConcurrentHashMultimap.this.clear();
+    }
+
+    @Override public Set<Map.Entry<K, Collection<V>>> entrySet() {
+      return new AbstractSet<Map.Entry<K, Collection<V>>>() {
+        @Override public int size() {
+          return map.size();
+        }
+
+        @Override public Iterator<Map.Entry<K, Collection<V>>> iterator() {
+          return new TransformedIterator<K, Map.Entry<K, Collection<V>>>(
+              keySet().iterator()) {
+            @Override Map.Entry<K, Collection<V>> transform(K key) {
+              return Maps.<K, Collection<V>>immutableEntry(
+                  key, new WrappedValues(key));
+            }
+          };
+        }
+      };
+    }
+  }
+
+  @Override public Set<Map.Entry<K, V>> entries() {
+    return (Set<Map.Entry<K, V>>) super.entries();
+  }
+
+  // Serialization
+
+  private Object writeReplace() {
+    return new SerializedForm<K, V>(this);
+  }
+
+  private void readObject(ObjectInputStream stream)
+      throws InvalidObjectException {
+    throw new InvalidObjectException("Use SerializedForm");
+  }
+
+  /**
+   * Writes a snapshot of the multimap, so that the number of keys written up
+   * front matches the entries that follow even under concurrent updates.
+   */
+  private static final class SerializedForm<K, V> implements Serializable {
+    private transient ConcurrentHashMultimap<K, V> multimap;
+
+    SerializedForm(ConcurrentHashMultimap<K, V> multimap) {
+      this.multimap = multimap;
+    }
+
+    /**
+     * @serialData the number of stripes, expectedValuesPerKey, the number of
+     *     distinct keys, and then for each distinct key: the key, the number
+     *     of values for that key, and the key's values
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+      stream.defaultWriteObject();
+      stream.writeInt(multimap.stripes.length);
+      stream.writeInt(multimap.expectedValuesPerKey);
+      Serialization.writeMultimap(HashMultimap.create(multimap), stream);
+    }
+
+    private void readObject(ObjectInputStream stream)
+        throws IOException, ClassNotFoundException {
+      stream.defaultReadObject();
+      int stripeCount = stream.readInt();
+      int expectedValuesPerKey = stream.readInt();
+      int distinctKeys = Serialization.readCount(stream);
+      multimap = new ConcurrentHashMultimap<K, V>(
+          distinctKeys, expectedValuesPerKey, stripeCount);
+      Serialization.populateMultimap(multimap, stream, distinctKeys);
+    }
+
+    private Object readResolve() {
+      return multimap;
+    }
+
+    private static final long serialVersionUID = 0;
+  }
+
+  private static final long serialVersionUID = 0;
+}
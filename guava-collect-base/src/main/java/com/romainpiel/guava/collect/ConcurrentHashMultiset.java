@@ -0,0 +1,548 @@
+/*
+ * Copyright (C) 2007 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import android.support.annotation.Nullable;
+
+import com.romainpiel.guava.math.IntMath;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.romainpiel.guava.base.Preconditions.checkArgument;
+import static com.romainpiel.guava.base.Preconditions.checkNotNull;
+import static com.romainpiel.guava.base.Preconditions.checkState;
+import static com.romainpiel.guava.collect.CollectPreconditions.checkNonnegative;
+
+/**
+ * A multiset that supports concurrent modifications and that provides atomic
+ * versions of most {@code Multiset} operations (exceptions where noted). Null
+ * elements are not supported.
+ *
+ * <p>Each distinct element owns its own {@link AtomicInteger} counter in a
+ * {@link ConcurrentHashMap}, so contention is striped down to the individual
+ * element: {@link #count}, {@link #add(Object, int)}, {@link #remove(Object,
+ * int)} and both {@code setCount} methods on an element that is already
+ * present are a map lookup followed by a compare-and-set loop, and allocate
+ * nothing. A counter is only allocated when an element first appears (or
+ * reappears after its count dropped to zero).
+ *
+ * @author Cliff L. Biffle
+ * @author mike nonemacher
+ * @since 2.0 (imported from Google Collections Library)
+ */
+public final class ConcurrentHashMultiset<E> extends AbstractMultiset<E>
+    implements Serializable {
+
+  /*
+   * The ConcurrentHashMultiset's atomic operations are implemented primarily in
+   * terms of AtomicInteger's atomic operations, with some help from
+   * ConcurrentMap's atomic operations on creation and removal (including
+   * automatic removal of zeroes). If the modification of an AtomicInteger
+   * results in zero, we compareAndSet the value to zero; if that succeeds, we
+   * remove(k, zero) from the map. Any AtomicInteger in the map holding zero is
+   * treated as absent, and replaced by a fresh counter on the next addition.
+   */
+
+  /** The number of occurrences of each element. */
+  private transient ConcurrentMap<E, AtomicInteger> countMap;
+
+  /**
+   * Creates a new, empty {@code ConcurrentHashMultiset} using the default
+   * initial capacity, load factor, and concurrency settings.
+   */
+  public static <E> ConcurrentHashMultiset<E> create() {
+    return new ConcurrentHashMultiset<E>(
+        new ConcurrentHashMap<E, AtomicInteger>());
+  }
+
+  /**
+   * Creates a new {@code ConcurrentHashMultiset} containing the specified
+   * elements, using the default initial capacity, load factor, and concurrency
+   * settings.
+   *
+   * <p>This implementation is highly efficient when {@code elements} is itself
+   * a {@link Multiset}.
+   *
+   * @param elements the elements that the multiset should contain
+   */
+  public static <E> ConcurrentHashMultiset<E> create(
+      Iterable<? extends E> elements) {
+    ConcurrentHashMultiset<E> multiset = ConcurrentHashMultiset.create();
+    Iterables.addAll(multiset, elements);
+    return multiset;
+  }
+
+  /**
+   * Creates a new, empty {@code ConcurrentHashMultiset} sized for {@code
+   * distinctElements} distinct elements, whose backing map can be updated
+   * without contention by up to {@code concurrencyLevel} threads at a time.
+   *
+   * @throws IllegalArgumentException if {@code distinctElements} is negative
+   *     or {@code concurrencyLevel} is not positive
+   */
+  public static <E> ConcurrentHashMultiset<E> create(
+      int distinctElements, int concurrencyLevel) {
+    checkNonnegative(distinctElements, "distinctElements");
+    checkArgument(concurrencyLevel > 0,
+        "concurrencyLevel must be positive: %s", concurrencyLevel);
+    return new ConcurrentHashMultiset<E>(
+        new ConcurrentHashMap<E, AtomicInteger>(
+            Maps.capacity(distinctElements), 0.75f, concurrencyLevel));
+  }
+
+  ConcurrentHashMultiset(ConcurrentMap<E, AtomicInteger> countMap) {
+    checkArgument(countMap.isEmpty());
+    this.countMap = countMap;
+  }
+
+  // Query Operations
+
+  /**
+   * Returns the number of occurrences of {@code element} in this multiset.
+   *
+   * @param element the element to look for
+   * @return the nonnegative number of occurrences of the element
+   */
+  @Override public int count(@Nullable Object element) {
+    AtomicInteger existingCounter = Collections2.safeGet(countMap, element);
+    return (existingCounter == null) ? 0 : existingCounter.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>If the data in the multiset is modified by any other threads during this
+   * method, it is undefined which (if any) of these modifications will be
+   * reflected in the result.
+   */
+  @Override public int size() {
+    long sum = 0L;
+    for (AtomicInteger value : countMap.values()) {
+      sum += value.get();
+    }
+    return (int) Math.min(sum, Integer.MAX_VALUE);
+  }
+
+  /*
+   * Note: the superclass toArray() methods assume that size() gives a correct
+   * answer, which ours does not.
+   */
+
+  @Override public Object[] toArray() {
+    return snapshot().toArray();
+  }
+
+  @Override public <T> T[] toArray(T[] array) {
+    return snapshot().toArray(array);
+  }
+
+  /*
+   * We'd love to use 'new ArrayList(this)' or 'list.addAll(this)', but
+   * either of these would recurse back to us again!
+   */
+  private List<E> snapshot() {
+    List<E> list = Lists.newArrayListWithExpectedSize(size());
+    for (Multiset.Entry<E> entry : entrySet()) {
+      E element = entry.getElement();
+      for (int i = entry.getCount(); i > 0; i--) {
+        list.add(element);
+      }
+    }
+    return list;
+  }
+
+  // Modification Operations
+
+  /**
+   * Adds a number of occurrences of the specified element to this multiset.
+   *
+   * @param element the element to add
+   * @param occurrences the number of occurrences to add
+   * @return the previous count of the element before the operation; possibly
+   *     zero
+   * @throws IllegalArgumentException if {@code occurrences} is negative, or if
+   *     the resulting amount would exceed {@link Integer#MAX_VALUE}
+   */
+  @Override public int add(E element, int occurrences) {
+    checkNotNull(element);
+    if (occurrences == 0) {
+      return count(element);
+    }
+    checkArgument(
+        occurrences > 0, "Invalid occurrences: %s", occurrences);
+
+    while (true) {
+      AtomicInteger existingCounter = Collections2.safeGet(countMap, element);
+      if (existingCounter == null) {
+        existingCounter =
+            countMap.putIfAbsent(element, new AtomicInteger(occurrences));
+        if (existingCounter == null) {
+          return 0;
+        }
+        // existingCounter != null: fall through to operate against the
+        // existing AtomicInteger
+      }
+
+      while (true) {
+        int oldValue = existingCounter.get();
+        if (oldValue != 0) {
+          try {
+            int newValue = IntMath.checkedAdd(oldValue, occurrences);
+            if (existingCounter.compareAndSet(oldValue, newValue)) {
+              // newValue can't == 0, so no need to check & remove
+              return oldValue;
+            }
+          } catch (ArithmeticException overflow) {
+            throw new IllegalArgumentException("Overflow adding "
+                + occurrences + " occurrences to a count of " + oldValue);
+          }
+        } else {
+          // In the case of a concurrent remove, we might observe a zero value,
+          // which means another thread is about to remove (element,
+          // existingCounter) from the map. Rather than wait, we can just do
+          // that work here.
+          AtomicInteger newCounter = new AtomicInteger(occurrences);
+          if ((countMap.putIfAbsent(element, newCounter) == null)
+              || countMap.replace(element, existingCounter, newCounter)) {
+            return 0;
+          }
+          break;
+        }
+      }
+
+      // If we're still here, there was a race, so just try again.
+    }
+  }
+
+  /**
+   * Removes a number of occurrences of the specified element from this
+   * multiset. If the multiset contains fewer than this number of occurrences
+   * to begin with, all occurrences will be removed.
+   *
+   * <p>Null elements are never present, so removing one has no effect and
+   * returns zero.
+   *
+   * @param element the element whose occurrences should be removed
+   * @param occurrences the number of occurrences of the element to remove
+   * @return the count of the element before the operation; possibly zero
+   * @throws IllegalArgumentException if {@code occurrences} is negative
+   */
+  @Override public int remove(@Nullable Object element, int occurrences) {
+    if (occurrences == 0) {
+      return count(element);
+    }
+    checkArgument(
+        occurrences > 0, "Invalid occurrences: %s", occurrences);
+
+    AtomicInteger existingCounter = Collections2.safeGet(countMap, element);
+    if (existingCounter == null) {
+      return 0;
+    }
+    while (true) {
+      int oldValue = existingCounter.get();
+      if (oldValue != 0) {
+        int newValue = Math.max(0, oldValue - occurrences);
+        if (existingCounter.compareAndSet(oldValue, newValue)) {
+          if (newValue == 0) {
+            // Just CASed to 0; remove the entry to clean up the map. If the
+            // removal fails, another thread has already replaced it with a new
+            // counter, which is fine.
+            countMap.remove(element, existingCounter);
+          }
+          return oldValue;
+        }
+      } else {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Removes exactly the specified number of occurrences of {@code element}, or
+   * makes no change if this is not possible.
+   *
+   * <p>This method, in contrast to {@link #remove(Object, int)}, has no effect
+   * when the element count is smaller than {@code occurrences}. Null elements
+   * are never present, so removing one only succeeds for zero occurrences.
+   *
+   * @param element the element to remove
+   * @param occurrences the number of occurrences of {@code element} to remove
+   * @return {@code true} if the removal was possible (including if {@code
+   *     occurrences} is zero)
+   * @throws IllegalArgumentException if {@code occurrences} is negative
+   */
+  public boolean removeExactly(@Nullable Object element, int occurrences) {
+    if (occurrences == 0) {
+      return true;
+    }
+    checkArgument(
+        occurrences > 0, "Invalid occurrences: %s", occurrences);
+
+    AtomicInteger existingCounter = Collections2.safeGet(countMap, element);
+    if (existingCounter == null) {
+      return false;
+    }
+    while (true) {
+      int oldValue = existingCounter.get();
+      if (oldValue < occurrences) {
+        return false;
+      }
+      int newValue = oldValue - occurrences;
+      if (existingCounter.compareAndSet(oldValue, newValue)) {
+        if (newValue == 0) {
+          // Just CASed to 0; remove the entry to clean up the map. If the
+          // removal fails, another thread has already replaced it with a new
+          // counter, which is fine.
+          countMap.remove(element, existingCounter);
+        }
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Adds or removes occurrences of {@code element} such that the {@link
+   * #count} of the element becomes {@code count}.
+   *
+   * @return the count of {@code element} in the multiset before this call
+   * @throws IllegalArgumentException if {@code count} is negative
+   */
+  @Override public int setCount(E element, int count) {
+    checkNotNull(element);
+    checkNonnegative(count, "count");
+    while (true) {
+      AtomicInteger existingCounter = Collections2.safeGet(countMap, element);
+      if (existingCounter == null) {
+        if (count == 0) {
+          return 0;
+        } else {
+          existingCounter = countMap.putIfAbsent(element, new AtomicInteger(count));
+          if (existingCounter == null) {
+            return 0;
+          }
+          // existingCounter != null: fall through
+        }
+      }
+
+      while (true) {
+        int oldValue = existingCounter.get();
+        if (oldValue == 0) {
+          if (count == 0) {
+            return 0;
+          } else {
+            AtomicInteger newCounter = new AtomicInteger(count);
+            if ((countMap.putIfAbsent(element, newCounter) == null)
+                || countMap.replace(element, existingCounter, newCounter)) {
+              return 0;
+            }
+          }
+          break;
+        } else {
+          if (existingCounter.compareAndSet(oldValue, count)) {
+            if (count == 0) {
+              // Just CASed to 0; remove the entry to clean up the map. If the
+              // removal fails, another thread has already replaced it with a
+              // new counter, which is fine.
+              countMap.remove(element, existingCounter);
+            }
+            return oldValue;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Sets the number of occurrences of {@code element} to {@code newCount}, but
+   * only if the count is currently {@code expectedOldCount}. If {@code element}
+   * does not appear in the multiset exactly {@code expectedOldCount} times, no
+   * changes will be made.
+   *
+   * @return {@code true} if the change was successful. This usually indicates
+   *     that the multiset has been modified, but not always: in the case that
+   *     {@code expectedOldCount == newCount}, the method will return {@code
+   *     true} if the condition was met.
+   * @throws IllegalArgumentException if {@code expectedOldCount} or {@code
+   *     newCount} is negative
+   */
+  @Override public boolean setCount(
+      E element, int expectedOldCount, int newCount) {
+    checkNotNull(element);
+    checkNonnegative(expectedOldCount, "oldCount");
+    checkNonnegative(newCount, "newCount");
+
+    AtomicInteger existingCounter = Collections2.safeGet(countMap, element);
+    if (existingCounter == null) {
+      if (expectedOldCount != 0) {
+        return false;
+      } else if (newCount == 0) {
+        return true;
+      } else {
+        // if our write lost the race, it must have lost to a nonzero value,
+        // so we can stop
+        return countMap.putIfAbsent(element, new AtomicInteger(newCount))
+            == null;
+      }
+    }
+    int oldValue = existingCounter.get();
+    if (oldValue == expectedOldCount) {
+      if (oldValue == 0) {
+        if (newCount == 0) {
+          // Just observed a 0; try to remove the entry to clean up the map
+          countMap.remove(element, existingCounter);
+          return true;
+        } else {
+          AtomicInteger newCounter = new AtomicInteger(newCount);
+          return (countMap.putIfAbsent(element, newCounter) == null)
+              || countMap.replace(element, existingCounter, newCounter);
+        }
+      } else {
+        if (existingCounter.compareAndSet(oldValue, newCount)) {
+          if (newCount == 0) {
+            // Just CASed to 0; remove the entry to clean up the map. If the
+            // removal fails, another thread has already replaced it with a
+            // new counter, which is fine.
+            countMap.remove(element, existingCounter);
+          }
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  // Views
+
+  @Override Set<E> createElementSet() {
+    final Set<E> delegate = countMap.keySet();
+    return new java.util.AbstractSet<E>() {
+      @Override public Iterator<E> iterator() {
+        return delegate.iterator();
+      }
+
+      @Override public int size() {
+        return delegate.size();
+      }
+
+      @Override public boolean contains(@Nullable Object object) {
+        return object != null && delegate.contains(object);
+      }
+
+      @Override public boolean containsAll(Collection<?> collection) {
+        return delegate.containsAll(collection);
+      }
+
+      @Override public boolean remove(Object object) {
+        try {
+          return object != null && delegate.remove(object);
+        } catch (ClassCastException e) {
+          return false;
+        }
+      }
+
+      @Override public void clear() {
+        delegate.clear();
+      }
+    };
+  }
+
+  @Override int distinctElements() {
+    return countMap.size();
+  }
+
+  @Override public boolean isEmpty() {
+    return countMap.isEmpty();
+  }
+
+  @Override Iterator<Entry<E>> entryIterator() {
+    // AbstractIterator makes this fairly clean, but it doesn't support remove().
+    // To support remove(), we create an AbstractIterator, and then wrap it in
+    // an iterator that delegates to it.
+    final Iterator<Entry<E>> readOnlyIterator =
+        new AbstractIterator<Entry<E>>() {
+          private final Iterator<Map.Entry<E, AtomicInteger>> mapEntries =
+              countMap.entrySet().iterator();
+
+          @Override protected Entry<E> computeNext() {
+            while (true) {
+              if (!mapEntries.hasNext()) {
+                return endOfData();
+              }
+              Map.Entry<E, AtomicInteger> mapEntry = mapEntries.next();
+              int count = mapEntry.getValue().get();
+              if (count != 0) {
+                return Multisets.immutableEntry(mapEntry.getKey(), count);
+              }
+            }
+          }
+        };
+
+    return new Iterator<Entry<E>>() {
+      private Entry<E> last;
+
+      @Override public boolean hasNext() {
+        return readOnlyIterator.hasNext();
+      }
+
+      @Override public Entry<E> next() {
+        last = readOnlyIterator.next();
+        return last;
+      }
+
+      @Override public void remove() {
+        checkState(last != null, "no calls to next() since the last call to remove()");
+        ConcurrentHashMultiset.this.setCount(last.getElement(), 0);
+        last = null;
+      }
+    };
+  }
+
+  @Override public void clear() {
+    countMap.clear();
+  }
+
+  /**
+   * @serialData the number of distinct elements, the first element, its count,
+   *     the second element, its count, and so on
+   */
+  private void writeObject(ObjectOutputStream stream) throws IOException {
+    stream.defaultWriteObject();
+    Serialization.writeMultiset(this, stream);
+  }
+
+  private void readObject(ObjectInputStream stream)
+      throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+    int distinctElements = Serialization.readCount(stream);
+    countMap = new ConcurrentHashMap<E, AtomicInteger>(
+        Maps.capacity(distinctElements));
+    Serialization.populateMultiset(this, stream, distinctElements);
+  }
+
+  private static final long serialVersionUID = 1;
+}
@@ -29,6 +29,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.SortedSet;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.romainpiel.guava.base.Preconditions.checkNotNull;
 
@@ -480,6 +481,39 @@ public abstract class FluentIterable<E> implements Iterable<E> {
     return collection;
   }
 
+  /**
+   * Returns a {@link SplittableIterator} over the elements of this fluent iterable, which can be
+   * partitioned with {@link SplittableIterator#trySplit} to process the elements on several threads
+   * without first copying them into a list.
+   *
+   * <p>If this fluent iterable is a chain of {@link #filter} and {@link #transform} calls on a
+   * {@link java.util.RandomAccess} list or an array, the returned iterator splits the underlying
+   * source in half and applies the chain to each part. Such an iterator is {@link
+   * SplittableIterator#SIZED} unless the chain contains a filter. Other sources are split by
+   * copying batches of elements into arrays.
+   */
+  public final SplittableIterator<E> splittableIterator() {
+    return createSplittableIterator();
+  }
+
+  /**
+   * Creates the iterator returned by {@link #splittableIterator}. Views that know their source
+   * override this to keep the source splittable.
+   */
+  SplittableIterator<E> createSplittableIterator() {
+    return SplittableIterators.from(iterable);
+  }
+
+  /**
+   * Returns a view of this fluent iterable whose terminal operations split the elements across
+   * the threads of {@code pool}. See {@link ParallelFluentIterable} for when this pays off.
+   *
+   * <p>The sequential methods of this fluent iterable are unaffected.
+   */
+  public final ParallelFluentIterable<E> parallel(ForkJoinPool pool) {
+    return new ParallelFluentIterable<E>(this, pool);
+  }
+
   /**
    * Returns a {@link String} containing all of the elements of this fluent iterable joined with
    * {@code joiner}.
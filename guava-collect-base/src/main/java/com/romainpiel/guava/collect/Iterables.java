@@ -21,6 +21,7 @@ import android.support.annotation.Nullable;
 import com.romainpiel.guava.base.Function;
 import com.romainpiel.guava.base.Optional;
 import com.romainpiel.guava.base.Predicate;
+import com.romainpiel.guava.base.Predicates;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -449,6 +450,11 @@ public final class Iterables {
       public Iterator<T> iterator() {
         return Iterators.filter(unfiltered.iterator(), predicate);
       }
+
+      @Override
+      SplittableIterator<T> createSplittableIterator() {
+        return SplittableIterators.filter(Iterables.splittableIterator(unfiltered), predicate);
+      }
     };
   }
 
@@ -472,6 +478,13 @@ public final class Iterables {
       public Iterator<T> iterator() {
         return Iterators.filter(unfiltered.iterator(), type);
       }
+
+      @SuppressWarnings("unchecked") // only instances of type pass the filter
+      @Override
+      SplittableIterator<T> createSplittableIterator() {
+        return (SplittableIterator<T>) SplittableIterators.filter(
+            Iterables.splittableIterator(unfiltered), Predicates.instanceOf(type));
+      }
     };
   }
 
@@ -572,9 +585,31 @@ public final class Iterables {
       public Iterator<T> iterator() {
         return Iterators.transform(fromIterable.iterator(), function);
       }
+
+      @Override
+      SplittableIterator<T> createSplittableIterator() {
+        return SplittableIterators.transform(Iterables.splittableIterator(fromIterable), function);
+      }
     };
   }
 
+  /**
+   * Returns a {@link SplittableIterator} over the elements of {@code iterable}, so that they can
+   * be processed on several threads without first copying them into a list.
+   *
+   * <p>A {@link java.util.RandomAccess} list, and any chain of {@link #filter} and {@link
+   * #transform} views on one, is split in half in constant time; the iterator is {@link
+   * SplittableIterator#SIZED} and {@link SplittableIterator#SUBSIZED} unless a filter is involved.
+   * Other collections report their size but are split by copying batches of elements into arrays,
+   * and other iterables are split the same way without a known size.
+   */
+  public static <T> SplittableIterator<T> splittableIterator(Iterable<T> iterable) {
+    checkNotNull(iterable);
+    return (iterable instanceof FluentIterable)
+        ? ((FluentIterable<T>) iterable).splittableIterator()
+        : SplittableIterators.from(iterable);
+  }
+
   /**
    * Returns the element at the specified position in an iterable.
    *
@@ -895,6 +895,20 @@ public final class Iterators {
     return forArray(array, 0, array.length, 0);
   }
 
+  /**
+   * Returns a splittable iterator containing the elements of {@code array} in
+   * order. The iterator is {@link SplittableIterator#SIZED} and {@link
+   * SplittableIterator#SUBSIZED}, and {@link SplittableIterator#trySplit}
+   * splits the remaining range in half without copying. The returned iterator
+   * is a view of the array; subsequent changes to the array will be reflected
+   * in the iterator.
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs") // the array is only read
+  public static <T> SplittableIterator<T> splittableForArray(T... array) {
+    return SplittableIterators.forArray(array, 0, array.length);
+  }
+
   /**
    * Returns a list iterator containing the elements in the specified range of
    * {@code array} in order, starting at the specified index.
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2007 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import android.support.annotation.Nullable;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static com.romainpiel.guava.collect.CollectPreconditions.checkNonnegative;
+
+/**
+ * Provides static methods acting on or generating a {@code Multimap}.
+ *
+ * <p>See the Guava User Guide article on <a href=
+ * "http://code.google.com/p/guava-libraries/wiki/CollectionUtilitiesExplained#Multimaps">
+ * {@code Multimaps}</a>.
+ *
+ * @author Jared Levy
+ * @author Robert Konigsberg
+ * @author Mike Bostock
+ * @author Louis Wasserman
+ * @since 2.0 (imported from Google Collections Library)
+ */
+public final class Multimaps {
+  private Multimaps() {}
+
+  static class Keys<K, V> extends AbstractMultiset<K> {
+    final Multimap<K, V> multimap;
+
+    Keys(Multimap<K, V> multimap) {
+      this.multimap = multimap;
+    }
+
+    @Override Iterator<Multiset.Entry<K>> entryIterator() {
+      return new TransformedIterator<Map.Entry<K, Collection<V>>, Multiset.Entry<K>>(
+          multimap.asMap().entrySet().iterator()) {
+        @Override
+        Multiset.Entry<K> transform(
+            final Map.Entry<K, Collection<V>> backingEntry) {
+          return new Multisets.AbstractEntry<K>() {
+            @Override
+            public K getElement() {
+              return backingEntry.getKey();
+            }
+
+            @Override
+            public int getCount() {
+              return backingEntry.getValue().size();
+            }
+          };
+        }
+      };
+    }
+
+    @Override int distinctElements() {
+      return multimap.asMap().size();
+    }
+
+    @Override Set<Multiset.Entry<K>> createEntrySet() {
+      return new KeysEntrySet();
+    }
+
+    class KeysEntrySet extends Multisets.EntrySet<K> {
+      @Override Multiset<K> multiset() {
+        return Keys.this;
+      }
+
+      @Override public Iterator<Multiset.Entry<K>> iterator() {
+        return entryIterator();
+      }
+
+      @Override public int size() {
+        return distinctElements();
+      }
+
+      @Override public boolean isEmpty() {
+        return multimap.isEmpty();
+      }
+
+      @Override public boolean contains(@Nullable Object o) {
+        if (o instanceof Multiset.Entry) {
+          Multiset.Entry<?> entry = (Multiset.Entry<?>) o;
+          Collection<V> collection = multimap.asMap().get(entry.getElement());
+          return collection != null && collection.size() == entry.getCount();
+        }
+        return false;
+      }
+
+      @Override public boolean remove(@Nullable Object o) {
+        if (o instanceof Multiset.Entry) {
+          Multiset.Entry<?> entry = (Multiset.Entry<?>) o;
+          Collection<V> collection = multimap.asMap().get(entry.getElement());
+          if (collection != null && collection.size() == entry.getCount()) {
+            collection.clear();
+            return true;
+          }
+        }
+        return false;
+      }
+    }
+
+    @Override public boolean contains(@Nullable Object element) {
+      return multimap.containsKey(element);
+    }
+
+    @Override public Iterator<K> iterator() {
+      return Maps.keyIterator(multimap.entries().iterator());
+    }
+
+    @Override public int count(@Nullable Object element) {
+      Collection<V> values = Collections2.safeGet(multimap.asMap(), element);
+      return (values == null) ? 0 : values.size();
+    }
+
+    @Override public int remove(@Nullable Object element, int occurrences) {
+      checkNonnegative(occurrences, "occurrences");
+      if (occurrences == 0) {
+        return count(element);
+      }
+
+      Collection<V> values = Collections2.safeGet(multimap.asMap(), element);
+
+      if (values == null) {
+        return 0;
+      }
+
+      int oldCount = values.size();
+      if (occurrences >= oldCount) {
+        values.clear();
+      } else {
+        Iterator<V> iterator = values.iterator();
+        for (int i = 0; i < occurrences; i++) {
+          iterator.next();
+          iterator.remove();
+        }
+      }
+      return oldCount;
+    }
+
+    @Override public void clear() {
+      multimap.clear();
+    }
+
+    @Override public Set<K> elementSet() {
+      return multimap.keySet();
+    }
+  }
+
+  /**
+   * A skeleton implementation of {@link Multimap#entries()}.
+   */
+  abstract static class Entries<K, V> extends
+      AbstractCollection<Map.Entry<K, V>> {
+    abstract Multimap<K, V> multimap();
+
+    @Override public int size() {
+      return multimap().size();
+    }
+
+    @Override public boolean contains(@Nullable Object o) {
+      if (o instanceof Map.Entry) {
+        Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+        return multimap().containsEntry(entry.getKey(), entry.getValue());
+      }
+      return false;
+    }
+
+    @Override public boolean remove(@Nullable Object o) {
+      if (o instanceof Map.Entry) {
+        Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+        return multimap().remove(entry.getKey(), entry.getValue());
+      }
+      return false;
+    }
+
+    @Override public void clear() {
+      multimap().clear();
+    }
+  }
+
+  static boolean equalsImpl(Multimap<?, ?> multimap, @Nullable Object object) {
+    if (object == multimap) {
+      return true;
+    }
+    if (object instanceof Multimap) {
+      Multimap<?, ?> that = (Multimap<?, ?>) object;
+      return multimap.asMap().equals(that.asMap());
+    }
+    return false;
+  }
+}
@@ -0,0 +1,458 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import android.support.annotation.Nullable;
+
+import com.romainpiel.guava.base.Function;
+import com.romainpiel.guava.base.Objects;
+import com.romainpiel.guava.base.Optional;
+import com.romainpiel.guava.base.Predicate;
+import com.romainpiel.guava.primitives.Ints;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.romainpiel.guava.base.Preconditions.checkNotNull;
+
+/**
+ * A parallel view of a {@link FluentIterable}, whose terminal operations run on a {@link
+ * ForkJoinPool}. Instances are obtained with {@link FluentIterable#parallel}.
+ *
+ * <p>The terminal operations split the source with {@link FluentIterable#splittableIterator} and
+ * evaluate the {@link #filter} and {@link #transform} chain on each part in a separate fork-join
+ * task. They pay off for large {@link java.util.RandomAccess} lists and arrays, which split in
+ * half without copying; other sources are split by copying batches of elements, which is only
+ * worth it when the chain does substantial work per element.
+ *
+ * <p>Results do not depend on how the work was divided: {@link #firstMatch}, {@link #toArray}
+ * and {@link #copyInto} honor the encounter order of the source. {@link #anyMatch}, {@link
+ * #allMatch}, {@link #contains} and {@link #firstMatch} stop the remaining tasks as soon as their
+ * answer is known.
+ *
+ * <p>Predicates and functions are applied concurrently from several threads, so they must be
+ * thread-safe, and the source must not be modified while a terminal operation runs. Exceptions
+ * they throw are rethrown by the terminal operation.
+ *
+ * @param <E> the type of the elements
+ */
+public final class ParallelFluentIterable<E> {
+  /**
+   * Sources of unknown size are split until they run out, in batches of this many elements or
+   * more, which are not split further.
+   */
+  private static final long UNKNOWN_SIZE_THRESHOLD = 1 << 10;
+
+  /** How often, in elements, a short-circuiting leaf task checks whether it can stop. */
+  private static final int CANCELLATION_CHECK_MASK = 0x3f;
+
+  /** Result of a {@link FirstMatchTask} that found nothing, as {@code null} may be a match. */
+  private static final Object NONE = new Object();
+
+  private final FluentIterable<E> source;
+  private final ForkJoinPool pool;
+
+  ParallelFluentIterable(FluentIterable<E> source, ForkJoinPool pool) {
+    this.source = checkNotNull(source);
+    this.pool = checkNotNull(pool);
+  }
+
+  /** Returns the elements that satisfy a predicate, to be evaluated in parallel. */
+  public ParallelFluentIterable<E> filter(Predicate<? super E> predicate) {
+    return new ParallelFluentIterable<E>(source.filter(predicate), pool);
+  }
+
+  /** Returns the elements that are instances of class {@code type}. */
+  public <T> ParallelFluentIterable<T> filter(Class<T> type) {
+    return new ParallelFluentIterable<T>(source.filter(type), pool);
+  }
+
+  /** Returns a view that applies {@code function} to each element, in parallel. */
+  public <T> ParallelFluentIterable<T> transform(Function<? super E, T> function) {
+    return new ParallelFluentIterable<T>(source.transform(function), pool);
+  }
+
+  /** Returns the sequential fluent iterable this parallel view evaluates. */
+  public FluentIterable<E> sequential() {
+    return source;
+  }
+
+  /**
+   * Returns the number of elements. If the chain contains no filter and the source knows its
+   * size, the chain is not evaluated at all.
+   */
+  public int size() {
+    SplittableIterator<E> iterator = source.splittableIterator();
+    long size = iterator.getExactSizeIfKnown();
+    if (size < 0) {
+      size = pool.invoke(new CountTask<E>(iterator, threshold(iterator)));
+    }
+    return Ints.saturatedCast(size);
+  }
+
+  /** Returns {@code true} if any element is equal to {@code element}. */
+  public boolean contains(@Nullable final Object element) {
+    return anyMatch(new Predicate<E>() {
+      @Override public boolean apply(@Nullable E input) {
+        return Objects.equal(input, element);
+      }
+    });
+  }
+
+  /** Returns {@code true} if any element satisfies {@code predicate}. */
+  public boolean anyMatch(Predicate<? super E> predicate) {
+    checkNotNull(predicate);
+    SplittableIterator<E> iterator = source.splittableIterator();
+    return pool.invoke(
+        new AnyMatchTask<E>(iterator, threshold(iterator), predicate, new AtomicBoolean()));
+  }
+
+  /** Returns {@code true} if every element satisfies {@code predicate}, or if there are none. */
+  public boolean allMatch(final Predicate<? super E> predicate) {
+    checkNotNull(predicate);
+    return !anyMatch(new Predicate<E>() {
+      @Override public boolean apply(@Nullable E input) {
+        return !predicate.apply(input);
+      }
+    });
+  }
+
+  /**
+   * Returns an {@link Optional} containing the first element, in encounter order, that
+   * satisfies {@code predicate}, if there is one. Tasks covering later elements are stopped as
+   * soon as a match is found.
+   *
+   * @throws NullPointerException if the first match is {@code null}
+   */
+  public Optional<E> firstMatch(Predicate<? super E> predicate) {
+    checkNotNull(predicate);
+    SplittableIterator<E> iterator = source.splittableIterator();
+    Object match = pool.invoke(
+        new FirstMatchTask<E>(null, iterator, threshold(iterator), predicate));
+    if (match == NONE) {
+      return Optional.absent();
+    }
+    @SuppressWarnings("unchecked") // match was returned by the iterator
+    E result = (E) match;
+    return Optional.of(result);
+  }
+
+  /**
+   * Returns an array containing the elements in encounter order.
+   *
+   * @throws ArrayStoreException if an element is not an instance of {@code type}
+   */
+  public E[] toArray(Class<E> type) {
+    SplittableIterator<E> iterator = source.splittableIterator();
+    if (iterator.hasCharacteristics(SplittableIterator.SIZED | SplittableIterator.SUBSIZED)) {
+      E[] array = ObjectArrays.newArray(type, Ints.checkedCast(iterator.estimateSize()));
+      pool.invoke(new FillTask<E>(iterator, threshold(iterator), array, 0));
+      return array;
+    }
+    Chunk chunk = pool.invoke(new CollectTask<E>(iterator, threshold(iterator)));
+    E[] array = ObjectArrays.newArray(type, Ints.checkedCast(chunk.size));
+    chunk.copyTo(array, 0);
+    return array;
+  }
+
+  /**
+   * Adds the elements to {@code collection} in encounter order. The elements are computed in
+   * parallel and then added from the calling thread, so {@code collection} need not be
+   * thread-safe.
+   *
+   * @return {@code collection}, for convenience
+   */
+  public <C extends Collection<? super E>> C copyInto(C collection) {
+    checkNotNull(collection);
+    SplittableIterator<E> iterator = source.splittableIterator();
+    Object[] array;
+    if (iterator.hasCharacteristics(SplittableIterator.SIZED | SplittableIterator.SUBSIZED)) {
+      array = new Object[Ints.checkedCast(iterator.estimateSize())];
+      pool.invoke(new FillTask<E>(iterator, threshold(iterator), array, 0));
+    } else {
+      Chunk chunk = pool.invoke(new CollectTask<E>(iterator, threshold(iterator)));
+      array = new Object[Ints.checkedCast(chunk.size)];
+      chunk.copyTo(array, 0);
+    }
+    @SuppressWarnings("unchecked") // array only holds elements of this iterable
+    List<E> elements = (List<E>) Arrays.asList(array);
+    collection.addAll(elements);
+    return collection;
+  }
+
+  /**
+   * Returns the size below which a task stops splitting: about four tasks per worker thread, so
+   * that workers finishing early can steal the rest.
+   */
+  private long threshold(SplittableIterator<?> iterator) {
+    long size = iterator.estimateSize();
+    if (size == Long.MAX_VALUE) {
+      return UNKNOWN_SIZE_THRESHOLD;
+    }
+    return Math.max(size / (pool.getParallelism() << 2), 1);
+  }
+
+  private static <E> boolean shouldSplit(SplittableIterator<E> iterator, long threshold) {
+    return iterator.estimateSize() > threshold;
+  }
+
+  private static final class CountTask<E> extends RecursiveTask<Long> {
+    final SplittableIterator<E> iterator;
+    final long threshold;
+
+    CountTask(SplittableIterator<E> iterator, long threshold) {
+      this.iterator = iterator;
+      this.threshold = threshold;
+    }
+
+    @Override protected Long compute() {
+      SplittableIterator<E> prefix;
+      if (shouldSplit(iterator, threshold) && (prefix = iterator.trySplit()) != null) {
+        CountTask<E> right = new CountTask<E>(iterator, threshold);
+        right.fork();
+        long left = new CountTask<E>(prefix, threshold).compute();
+        return left + right.join();
+      }
+      long count = 0;
+      while (iterator.hasNext()) {
+        iterator.next();
+        count++;
+      }
+      return count;
+    }
+
+    private static final long serialVersionUID = 0;
+  }
+
+  private static final class AnyMatchTask<E> extends RecursiveTask<Boolean> {
+    final SplittableIterator<E> iterator;
+    final long threshold;
+    final Predicate<? super E> predicate;
+    final AtomicBoolean found;
+
+    AnyMatchTask(SplittableIterator<E> iterator, long threshold,
+        Predicate<? super E> predicate, AtomicBoolean found) {
+      this.iterator = iterator;
+      this.threshold = threshold;
+      this.predicate = predicate;
+      this.found = found;
+    }
+
+    @Override protected Boolean compute() {
+      if (found.get()) {
+        return true;
+      }
+      SplittableIterator<E> prefix;
+      if (shouldSplit(iterator, threshold) && (prefix = iterator.trySplit()) != null) {
+        AnyMatchTask<E> right = new AnyMatchTask<E>(iterator, threshold, predicate, found);
+        right.fork();
+        // No need to wait for the right half once the left half has found a match.
+        return new AnyMatchTask<E>(prefix, threshold, predicate, found).compute()
+            || right.join();
+      }
+      int visited = 0;
+      while (iterator.hasNext()) {
+        if ((++visited & CANCELLATION_CHECK_MASK) == 0 && found.get()) {
+          return true;
+        }
+        if (predicate.apply(iterator.next())) {
+          found.set(true);
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private static final long serialVersionUID = 0;
+  }
+
+  /**
+   * Finds the first match in encounter order. Tasks form a tree; when a leaf finds a match, it
+   * cancels every task covering later elements, while tasks covering earlier elements keep
+   * looking for an earlier match.
+   */
+  private static final class FirstMatchTask<E> extends RecursiveTask<Object> {
+    @Nullable final FirstMatchTask<E> parent;
+    final SplittableIterator<E> iterator;
+    final long threshold;
+    final Predicate<? super E> predicate;
+    FirstMatchTask<E> leftChild;
+    FirstMatchTask<E> rightChild;
+    volatile boolean canceled;
+
+    FirstMatchTask(@Nullable FirstMatchTask<E> parent, SplittableIterator<E> iterator,
+        long threshold, Predicate<? super E> predicate) {
+      this.parent = parent;
+      this.iterator = iterator;
+      this.threshold = threshold;
+      this.predicate = predicate;
+    }
+
+    boolean isCanceled() {
+      for (FirstMatchTask<E> task = this; task != null; task = task.parent) {
+        if (task.canceled) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    void cancelLaterTasks() {
+      for (FirstMatchTask<E> child = this, task = parent; task != null;
+          child = task, task = task.parent) {
+        if (task.leftChild == child) {
+          task.rightChild.canceled = true;
+        }
+      }
+    }
+
+    @Override protected Object compute() {
+      if (isCanceled()) {
+        return NONE;
+      }
+      SplittableIterator<E> prefix;
+      if (shouldSplit(iterator, threshold) && (prefix = iterator.trySplit()) != null) {
+        leftChild = new FirstMatchTask<E>(this, prefix, threshold, predicate);
+        rightChild = new FirstMatchTask<E>(this, iterator, threshold, predicate);
+        rightChild.fork();
+        Object left = leftChild.compute();
+        // A match on the left has canceled the right half, which need not be waited for.
+        return (left != NONE) ? left : rightChild.join();
+      }
+      int visited = 0;
+      while (iterator.hasNext()) {
+        if ((++visited & CANCELLATION_CHECK_MASK) == 0 && isCanceled()) {
+          return NONE;
+        }
+        E element = iterator.next();
+        if (predicate.apply(element)) {
+          cancelLaterTasks();
+          return element;
+        }
+      }
+      return NONE;
+    }
+
+    private static final long serialVersionUID = 0;
+  }
+
+  /**
+   * Writes the elements of a {@link SplittableIterator#SUBSIZED} source straight into their final
+   * positions, which are known from the sizes of the splits.
+   */
+  private static final class FillTask<E> extends RecursiveAction {
+    final SplittableIterator<E> iterator;
+    final long threshold;
+    final Object[] array;
+    final int offset;
+
+    FillTask(SplittableIterator<E> iterator, long threshold, Object[] array, int offset) {
+      this.iterator = iterator;
+      this.threshold = threshold;
+      this.array = array;
+      this.offset = offset;
+    }
+
+    @Override protected void compute() {
+      SplittableIterator<E> prefix;
+      if (shouldSplit(iterator, threshold) && (prefix = iterator.trySplit()) != null) {
+        int rightOffset = offset + (int) prefix.estimateSize();
+        FillTask<E> right = new FillTask<E>(iterator, threshold, array, rightOffset);
+        right.fork();
+        new FillTask<E>(prefix, threshold, array, offset).compute();
+        right.join();
+        return;
+      }
+      int index = offset;
+      while (iterator.hasNext()) {
+        array[index++] = iterator.next();
+      }
+    }
+
+    private static final long serialVersionUID = 0;
+  }
+
+  /**
+   * The elements collected by a {@link CollectTask}, as a tree whose leaves hold the elements of
+   * each part in order.
+   */
+  private static final class Chunk {
+    @Nullable final Object[] elements;
+    @Nullable final Chunk left;
+    @Nullable final Chunk right;
+    final long size;
+
+    Chunk(Object[] elements) {
+      this.elements = elements;
+      this.left = null;
+      this.right = null;
+      this.size = elements.length;
+    }
+
+    Chunk(Chunk left, Chunk right) {
+      this.elements = null;
+      this.left = left;
+      this.right = right;
+      this.size = left.size + right.size;
+    }
+
+    void copyTo(Object[] array, int offset) {
+      if (elements != null) {
+        System.arraycopy(elements, 0, array, offset, elements.length);
+      } else {
+        left.copyTo(array, offset);
+        right.copyTo(array, offset + (int) left.size);
+      }
+    }
+  }
+
+  private static final class CollectTask<E> extends RecursiveTask<Chunk> {
+    final SplittableIterator<E> iterator;
+    final long threshold;
+
+    CollectTask(SplittableIterator<E> iterator, long threshold) {
+      this.iterator = iterator;
+      this.threshold = threshold;
+    }
+
+    @Override protected Chunk compute() {
+      SplittableIterator<E> prefix;
+      if (shouldSplit(iterator, threshold) && (prefix = iterator.trySplit()) != null) {
+        CollectTask<E> right = new CollectTask<E>(iterator, threshold);
+        right.fork();
+        Chunk left = new CollectTask<E>(prefix, threshold).compute();
+        return new Chunk(left, right.join());
+      }
+      long estimate = iterator.estimateSize();
+      List<Object> elements = (estimate < Integer.MAX_VALUE)
+          ? new ArrayList<Object>((int) estimate)
+          : new ArrayList<Object>();
+      while (iterator.hasNext()) {
+        elements.add(iterator.next());
+      }
+      return new Chunk(elements.toArray());
+    }
+
+    private static final long serialVersionUID = 0;
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import android.support.annotation.Nullable;
+
+/**
+ * An iterator that can also partition its remaining elements, so that they can
+ * be traversed by several threads at once. This is the counterpart of {@code
+ * java.util.Spliterator} for platforms that predate it: the characteristic
+ * constants have the same values, and {@link #trySplit} follows the same
+ * contract, so adapting one to the other is a matter of delegation.
+ *
+ * <p>A splittable iterator is obtained from {@link FluentIterable#splittableIterator},
+ * {@link Iterables#splittableIterator} or {@link Iterators#splittableForArray}.
+ * Sources backed by an array or a {@link java.util.RandomAccess} list split in
+ * half in constant time and report {@link #SIZED} and {@link #SUBSIZED}; other
+ * sources are split by copying a batch of elements into an array, and filtered
+ * views drop the size characteristics.
+ *
+ * <p>Splittable iterators are not thread-safe: each one must be used by a
+ * single thread at a time, but the halves returned by {@link #trySplit} may be
+ * used by different threads.
+ *
+ * @param <E> the type of the elements
+ */
+public abstract class SplittableIterator<E> extends UnmodifiableIterator<E> {
+  /**
+   * Characteristic value signifying that an encounter order is defined for
+   * elements, and that {@link #trySplit} returns a prefix of the elements.
+   */
+  public static final int ORDERED = 0x00000010;
+
+  /**
+   * Characteristic value signifying that {@link #estimateSize} is the exact
+   * number of remaining elements.
+   */
+  public static final int SIZED = 0x00000040;
+
+  /**
+   * Characteristic value signifying that all iterators resulting from {@link
+   * #trySplit} are {@link #SIZED} and {@link #SUBSIZED}.
+   */
+  public static final int SUBSIZED = 0x00004000;
+
+  /** Constructor for use by subclasses. */
+  protected SplittableIterator() {}
+
+  /**
+   * If the remaining elements can be partitioned, returns a splittable iterator
+   * covering some of them, which will no longer be returned by this iterator.
+   * If this iterator is {@link #ORDERED}, the returned iterator covers a
+   * strict prefix of the remaining elements.
+   *
+   * @return an iterator covering some of the remaining elements, or {@code
+   *     null} if they cannot be split
+   */
+  @Nullable public abstract SplittableIterator<E> trySplit();
+
+  /**
+   * Returns an estimate of the number of remaining elements, or {@link
+   * Long#MAX_VALUE} if it is unknown or too expensive to compute. The estimate
+   * is exact if this iterator is {@link #SIZED}.
+   */
+  public abstract long estimateSize();
+
+  /**
+   * Returns the characteristics of this iterator and its elements, as a
+   * combination of {@link #ORDERED}, {@link #SIZED} and {@link #SUBSIZED}.
+   */
+  public abstract int characteristics();
+
+  /** Returns {@code true} if this iterator has all of the given characteristics. */
+  public final boolean hasCharacteristics(int characteristics) {
+    return (characteristics() & characteristics) == characteristics;
+  }
+
+  /** Returns {@link #estimateSize} if this iterator is {@link #SIZED}, else {@code -1}. */
+  public final long getExactSizeIfKnown() {
+    return hasCharacteristics(SIZED) ? estimateSize() : -1;
+  }
+}
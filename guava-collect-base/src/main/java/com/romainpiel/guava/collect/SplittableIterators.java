@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import com.romainpiel.guava.base.Function;
+import com.romainpiel.guava.base.Predicate;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import static com.romainpiel.guava.base.Preconditions.checkNotNull;
+import static com.romainpiel.guava.base.Preconditions.checkPositionIndexes;
+
+/**
+ * Implementations of {@link SplittableIterator} for the sources and views of
+ * this package.
+ */
+final class SplittableIterators {
+  private SplittableIterators() {}
+
+  private static final int SIZED_CHARACTERISTICS =
+      SplittableIterator.ORDERED | SplittableIterator.SIZED | SplittableIterator.SUBSIZED;
+
+  /**
+   * Returns a splittable iterator over {@code iterable}, without looking
+   * through {@link FluentIterable} views.
+   */
+  static <T> SplittableIterator<T> from(Iterable<T> iterable) {
+    if (iterable instanceof List && iterable instanceof RandomAccess) {
+      List<T> list = (List<T>) iterable;
+      return new ListSplittableIterator<T>(list, 0, list.size());
+    }
+    if (iterable instanceof Collection) {
+      return new IteratorSplittableIterator<T>(
+          iterable.iterator(), ((Collection<T>) iterable).size());
+    }
+    return new IteratorSplittableIterator<T>(iterable.iterator(), -1);
+  }
+
+  static <T> SplittableIterator<T> forArray(T[] array, int from, int to) {
+    checkPositionIndexes(from, to, array.length);
+    return new ArraySplittableIterator<T>(array, from, to);
+  }
+
+  /** Splits a range of an array in half. */
+  private static final class ArraySplittableIterator<T> extends SplittableIterator<T> {
+    final Object[] array;
+    int index;
+    final int fence;
+
+    ArraySplittableIterator(Object[] array, int index, int fence) {
+      this.array = array;
+      this.index = index;
+      this.fence = fence;
+    }
+
+    @Override public boolean hasNext() {
+      return index < fence;
+    }
+
+    @SuppressWarnings("unchecked") // array only holds T instances
+    @Override public T next() {
+      if (index >= fence) {
+        throw new NoSuchElementException();
+      }
+      return (T) array[index++];
+    }
+
+    @Override public SplittableIterator<T> trySplit() {
+      int mid = (index + fence) >>> 1;
+      if (mid <= index) {
+        return null;
+      }
+      SplittableIterator<T> prefix = new ArraySplittableIterator<T>(array, index, mid);
+      index = mid;
+      return prefix;
+    }
+
+    @Override public long estimateSize() {
+      return fence - index;
+    }
+
+    @Override public int characteristics() {
+      return SIZED_CHARACTERISTICS;
+    }
+  }
+
+  /** Splits a range of a random access list in half. */
+  private static final class ListSplittableIterator<T> extends SplittableIterator<T> {
+    final List<T> list;
+    int index;
+    final int fence;
+
+    ListSplittableIterator(List<T> list, int index, int fence) {
+      this.list = list;
+      this.index = index;
+      this.fence = fence;
+    }
+
+    @Override public boolean hasNext() {
+      return index < fence;
+    }
+
+    @Override public T next() {
+      if (index >= fence) {
+        throw new NoSuchElementException();
+      }
+      return list.get(index++);
+    }
+
+    @Override public SplittableIterator<T> trySplit() {
+      int mid = (index + fence) >>> 1;
+      if (mid <= index) {
+        return null;
+      }
+      SplittableIterator<T> prefix = new ListSplittableIterator<T>(list, index, mid);
+      index = mid;
+      return prefix;
+    }
+
+    @Override public long estimateSize() {
+      return fence - index;
+    }
+
+    @Override public int characteristics() {
+      return SIZED_CHARACTERISTICS;
+    }
+  }
+
+  /**
+   * Splits an iterator by copying batches of elements into arrays. Batches grow
+   * arithmetically, so that splitting costs stay small relative to the work on
+   * each batch.
+   */
+  private static final class IteratorSplittableIterator<T> extends SplittableIterator<T> {
+    static final int BATCH_UNIT = 1 << 10;
+    static final int MAX_BATCH = 1 << 25;
+
+    final Iterator<? extends T> iterator;
+    /** The exact number of remaining elements, or -1 if unknown. */
+    long size;
+    int batch;
+
+    IteratorSplittableIterator(Iterator<? extends T> iterator, long size) {
+      this.iterator = iterator;
+      this.size = size;
+    }
+
+    @Override public boolean hasNext() {
+      return iterator.hasNext();
+    }
+
+    @Override public T next() {
+      T next = iterator.next();
+      if (size > 0) {
+        size--;
+      }
+      return next;
+    }
+
+    @Override public SplittableIterator<T> trySplit() {
+      if (size == 0 || size == 1 || !iterator.hasNext()) {
+        return null;
+      }
+      int n = batch + BATCH_UNIT;
+      if (size > 0 && n > size) {
+        n = (int) size;
+      }
+      if (n > MAX_BATCH) {
+        n = MAX_BATCH;
+      }
+      Object[] array = new Object[n];
+      int i = 0;
+      do {
+        array[i++] = iterator.next();
+      } while (i < n && iterator.hasNext());
+      batch = i;
+      if (size > 0) {
+        size -= i;
+      }
+      return new ArraySplittableIterator<T>(array, 0, i);
+    }
+
+    @Override public long estimateSize() {
+      return size >= 0 ? size : Long.MAX_VALUE;
+    }
+
+    @Override public int characteristics() {
+      return size >= 0 ? SIZED_CHARACTERISTICS : SplittableIterator.ORDERED;
+    }
+  }
+
+  static <T> SplittableIterator<T> filter(
+      SplittableIterator<T> unfiltered, Predicate<? super T> predicate) {
+    return new FilteringSplittableIterator<T>(unfiltered, checkNotNull(predicate));
+  }
+
+  private static final class FilteringSplittableIterator<T> extends SplittableIterator<T> {
+    final SplittableIterator<T> unfiltered;
+    final Predicate<? super T> predicate;
+    boolean hasPeeked;
+    T peeked;
+
+    FilteringSplittableIterator(
+        SplittableIterator<T> unfiltered, Predicate<? super T> predicate) {
+      this.unfiltered = unfiltered;
+      this.predicate = predicate;
+    }
+
+    @Override public boolean hasNext() {
+      while (!hasPeeked) {
+        if (!unfiltered.hasNext()) {
+          return false;
+        }
+        T element = unfiltered.next();
+        if (predicate.apply(element)) {
+          peeked = element;
+          hasPeeked = true;
+        }
+      }
+      return true;
+    }
+
+    @Override public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      T result = peeked;
+      peeked = null;
+      hasPeeked = false;
+      return result;
+    }
+
+    @Override public SplittableIterator<T> trySplit() {
+      // A peeked element precedes everything left in the source, so splitting
+      // the source now would reorder it.
+      if (hasPeeked) {
+        return null;
+      }
+      SplittableIterator<T> prefix = unfiltered.trySplit();
+      return (prefix == null) ? null : new FilteringSplittableIterator<T>(prefix, predicate);
+    }
+
+    @Override public long estimateSize() {
+      long size = unfiltered.estimateSize();
+      return (hasPeeked && size != Long.MAX_VALUE) ? size + 1 : size;
+    }
+
+    @Override public int characteristics() {
+      return unfiltered.characteristics()
+          & ~(SplittableIterator.SIZED | SplittableIterator.SUBSIZED);
+    }
+  }
+
+  static <F, T> SplittableIterator<T> transform(
+      SplittableIterator<F> fromIterator, Function<? super F, ? extends T> function) {
+    return new TransformingSplittableIterator<F, T>(fromIterator, checkNotNull(function));
+  }
+
+  private static final class TransformingSplittableIterator<F, T>
+      extends SplittableIterator<T> {
+    final SplittableIterator<F> fromIterator;
+    final Function<? super F, ? extends T> function;
+
+    TransformingSplittableIterator(
+        SplittableIterator<F> fromIterator, Function<? super F, ? extends T> function) {
+      this.fromIterator = fromIterator;
+      this.function = function;
+    }
+
+    @Override public boolean hasNext() {
+      return fromIterator.hasNext();
+    }
+
+    @Override public T next() {
+      return function.apply(fromIterator.next());
+    }
+
+    @Override public SplittableIterator<T> trySplit() {
+      SplittableIterator<F> prefix = fromIterator.trySplit();
+      return (prefix == null) ? null : new TransformingSplittableIterator<F, T>(prefix, function);
+    }
+
+    @Override public long estimateSize() {
+      return fromIterator.estimateSize();
+    }
+
+    @Override public int characteristics() {
+      return fromIterator.characteristics();
+    }
+  }
+}
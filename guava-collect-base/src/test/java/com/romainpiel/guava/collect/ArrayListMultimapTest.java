@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import static com.romainpiel.guava.collect.ConcurrentHashMultimapTest.reserialize;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link ArrayListMultimap}.
+ */
+public class ArrayListMultimapTest extends TestCase {
+
+  public void testPutGetRemove() {
+    ArrayListMultimap<String, Integer> multimap = ArrayListMultimap.create();
+    assertTrue(multimap.put("a", 1));
+    assertTrue(multimap.put("a", 1));
+    assertTrue(multimap.put("b", 2));
+    assertTrue(multimap.put(null, null));
+    assertEquals(4, multimap.size());
+    assertEquals(Arrays.asList(1, 1), multimap.get("a"));
+    assertTrue(multimap.containsEntry(null, null));
+    assertTrue(multimap.remove("a", 1));
+    assertEquals(Arrays.asList(1), multimap.get("a"));
+    assertFalse(multimap.remove("a", 2));
+    assertEquals(3, multimap.size());
+  }
+
+  public void testGet_afterKeyRemovedAndReadded() {
+    ArrayListMultimap<String, Integer> multimap = ArrayListMultimap.create();
+    List<Integer> values = multimap.get("a");
+    multimap.put("a", 1);
+    assertEquals(Arrays.asList(1), values);
+    multimap.removeAll("a");
+    assertTrue(values.isEmpty());
+    assertFalse(multimap.containsKey("a"));
+    multimap.put("a", 2);
+    assertEquals(Arrays.asList(2), values);
+    assertTrue(values.add(3));
+    assertEquals(Arrays.asList(2, 3), multimap.get("a"));
+    assertEquals(2, multimap.size());
+    values.clear();
+    assertFalse(multimap.containsKey("a"));
+    assertEquals(0, multimap.size());
+    values.add(4);
+    assertTrue(multimap.containsEntry("a", 4));
+    assertEquals(1, multimap.size());
+  }
+
+  public void testReplaceValuesAndRemoveAll_returnCopies() {
+    ArrayListMultimap<String, Integer> multimap = ArrayListMultimap.create();
+    multimap.putAll("a", Arrays.asList(1, 2, 3));
+    List<Integer> old = multimap.replaceValues("a", Arrays.asList(4, 5));
+    assertEquals(Arrays.asList(1, 2, 3), old);
+    multimap.put("a", 6);
+    multimap.get("a").set(0, 7);
+    assertEquals(Arrays.asList(1, 2, 3), old);
+    assertEquals(Arrays.asList(7, 5, 6), multimap.get("a"));
+    try {
+      old.add(8);
+      fail();
+    } catch (UnsupportedOperationException expected) {
+    }
+    List<Integer> removed = multimap.removeAll("a");
+    assertEquals(Arrays.asList(7, 5, 6), removed);
+    multimap.put("a", 9);
+    assertEquals(Arrays.asList(7, 5, 6), removed);
+    assertEquals(Arrays.asList(9), multimap.replaceValues("a", Collections.<Integer>emptyList()));
+    assertFalse(multimap.containsKey("a"));
+    assertTrue(multimap.removeAll("a").isEmpty());
+    assertEquals(0, multimap.size());
+  }
+
+  public void testSize_underViewMutation() {
+    ArrayListMultimap<String, Integer> multimap = ArrayListMultimap.create();
+    multimap.putAll("a", Arrays.asList(1, 2, 3, 4, 5));
+    multimap.putAll("b", Arrays.asList(6, 7));
+    List<Integer> values = multimap.get("a");
+    values.subList(1, 3).clear();
+    assertEquals(Arrays.asList(1, 4, 5), values);
+    assertEquals(5, multimap.size());
+    ListIterator<Integer> iterator = values.listIterator();
+    iterator.next();
+    iterator.add(8);
+    iterator.next();
+    iterator.remove();
+    iterator.next();
+    iterator.set(9);
+    assertEquals(Arrays.asList(1, 8, 9), multimap.get("a"));
+    assertEquals(5, multimap.size());
+    values.retainAll(Arrays.asList(8));
+    assertEquals(3, multimap.size());
+    assertTrue(multimap.values().remove(6));
+    assertEquals(2, multimap.size());
+    multimap.asMap().get("b").clear();
+    assertFalse(multimap.containsKey("b"));
+    assertEquals(1, multimap.size());
+    multimap.keySet().remove("a");
+    assertTrue(multimap.isEmpty());
+    assertEquals(0, multimap.size());
+    assertTrue(values.isEmpty());
+  }
+
+  public void testAsMapRemove() {
+    ArrayListMultimap<String, Integer> multimap = ArrayListMultimap.create();
+    multimap.putAll("a", Arrays.asList(1, 2));
+    multimap.put("b", 3);
+    List<Integer> values = multimap.get("a");
+    Collection<Integer> removed = multimap.asMap().remove("a");
+    assertEquals(Arrays.asList(1, 2), removed);
+    assertNull(multimap.asMap().remove("a"));
+    assertEquals(1, multimap.size());
+    assertTrue(values.isEmpty());
+    multimap.put("a", 4);
+    assertEquals(Arrays.asList(4), values);
+    for (Iterator<Map.Entry<String, Collection<Integer>>> iterator =
+        multimap.asMap().entrySet().iterator(); iterator.hasNext(); ) {
+      if (iterator.next().getKey().equals("b")) {
+        iterator.remove();
+      }
+    }
+    assertFalse(multimap.containsKey("b"));
+    assertEquals(1, multimap.size());
+  }
+
+  public void testEntriesIteratorRemove() {
+    ArrayListMultimap<String, Integer> multimap = ArrayListMultimap.create();
+    multimap.putAll("a", Arrays.asList(1, 2, 3));
+    multimap.putAll("b", Arrays.asList(4, 5));
+    for (Iterator<Map.Entry<String, Integer>> iterator = multimap.entries().iterator();
+        iterator.hasNext(); ) {
+      if (iterator.next().getValue() % 2 == 1) {
+        iterator.remove();
+      }
+    }
+    assertEquals(Arrays.asList(2), multimap.get("a"));
+    assertEquals(Arrays.asList(4), multimap.get("b"));
+    assertEquals(2, multimap.size());
+    assertEquals(2, multimap.entries().size());
+    Iterator<Map.Entry<String, Integer>> iterator = multimap.entries().iterator();
+    iterator.next();
+    iterator.remove();
+    try {
+      iterator.remove();
+      fail();
+    } catch (IllegalStateException expected) {
+    }
+    iterator.next();
+    iterator.remove();
+    assertTrue(multimap.isEmpty());
+    assertTrue(multimap.asMap().isEmpty());
+  }
+
+  public void testEquals() {
+    ArrayListMultimap<String, Integer> multimap = ArrayListMultimap.create();
+    multimap.putAll("a", Arrays.asList(1, 2));
+    ArrayListMultimap<String, Integer> other = ArrayListMultimap.create();
+    other.putAll("a", Arrays.asList(2, 1));
+    assertFalse(multimap.equals(other));
+    other.replaceValues("a", Arrays.asList(1, 2));
+    assertEquals(multimap, other);
+    assertEquals(multimap.hashCode(), other.hashCode());
+    assertFalse(multimap.equals(HashMultimap.create(multimap)));
+  }
+
+  public void testSerialization() throws Exception {
+    ArrayListMultimap<String, Integer> multimap = ArrayListMultimap.create(4, 5);
+    multimap.putAll("a", Arrays.asList(3, 1, 3));
+    multimap.put(null, 2);
+    ArrayListMultimap<String, Integer> copy = reserialize(multimap);
+    assertEquals(multimap, copy);
+    assertEquals(Arrays.asList(3, 1, 3), copy.get("a"));
+    assertEquals(4, copy.size());
+    copy.get("a").add(4);
+    assertEquals(5, copy.size());
+    assertEquals(4, multimap.size());
+    assertEquals(ArrayListMultimap.<String, Integer>create(),
+        reserialize(ArrayListMultimap.<String, Integer>create()));
+  }
+}
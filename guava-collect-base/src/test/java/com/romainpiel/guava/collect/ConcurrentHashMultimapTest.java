@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for {@link ConcurrentHashMultimap}.
+ */
+public class ConcurrentHashMultimapTest extends TestCase {
+
+  public void testPutRemove() {
+    ConcurrentHashMultimap<String, Integer> multimap = ConcurrentHashMultimap.create();
+    assertTrue(multimap.put("a", 1));
+    assertFalse(multimap.put("a", 1));
+    assertTrue(multimap.put("a", 2));
+    assertTrue(multimap.put("b", 1));
+    assertEquals(3, multimap.size());
+    assertTrue(multimap.containsEntry("a", 2));
+    assertTrue(multimap.containsValue(2));
+    assertFalse(multimap.remove("a", 3));
+    assertTrue(multimap.remove("a", 1));
+    assertTrue(multimap.remove("a", 2));
+    assertFalse(multimap.containsKey("a"));
+    assertEquals(1, multimap.size());
+    assertFalse(multimap.remove(null, 1));
+    assertFalse(multimap.containsEntry("b", null));
+    try {
+      multimap.put(null, 1);
+      fail();
+    } catch (NullPointerException expected) {
+    }
+    try {
+      multimap.put("a", null);
+      fail();
+    } catch (NullPointerException expected) {
+    }
+  }
+
+  public void testReplaceValuesAndRemoveAll() {
+    ConcurrentHashMultimap<String, Integer> multimap = ConcurrentHashMultimap.create();
+    multimap.putAll("a", Arrays.asList(1, 2, 3));
+    Set<Integer> old = multimap.replaceValues("a", Arrays.asList(3, 4));
+    assertEquals(new HashSet<Integer>(Arrays.asList(1, 2, 3)), old);
+    assertEquals(2, multimap.size());
+    try {
+      old.add(5);
+      fail();
+    } catch (UnsupportedOperationException expected) {
+    }
+    multimap.put("a", 5);
+    assertEquals(3, old.size());
+    Set<Integer> removed = multimap.removeAll("a");
+    assertEquals(new HashSet<Integer>(Arrays.asList(3, 4, 5)), removed);
+    multimap.put("a", 6);
+    assertEquals(3, removed.size());
+    assertEquals(1, multimap.size());
+    assertEquals(Collections.singleton(6),
+        multimap.replaceValues("a", Collections.<Integer>emptySet()));
+    assertFalse(multimap.containsKey("a"));
+    assertEquals(0, multimap.size());
+    assertTrue(multimap.removeAll(null).isEmpty());
+  }
+
+  public void testPutAll_nullValue() {
+    ConcurrentHashMultimap<String, Integer> multimap = ConcurrentHashMultimap.create();
+    multimap.put("a", 1);
+    try {
+      multimap.putAll("a", Arrays.asList(2, 3, null, 4));
+      fail();
+    } catch (NullPointerException expected) {
+    }
+    assertEquals(3, multimap.size());
+    assertEquals(new HashSet<Integer>(Arrays.asList(1, 2, 3)), multimap.get("a"));
+    try {
+      multimap.putAll("b", Arrays.asList(5, null));
+      fail();
+    } catch (NullPointerException expected) {
+    }
+    assertEquals(4, multimap.size());
+    assertEquals(Collections.singleton(5), multimap.get("b"));
+    try {
+      multimap.putAll("c", Arrays.<Integer>asList((Integer) null));
+      fail();
+    } catch (NullPointerException expected) {
+    }
+    assertFalse(multimap.containsKey("c"));
+    assertEquals(4, multimap.size());
+    assertEquals(multimap.size(), multimap.entries().size());
+  }
+
+  public void testGet_writesThrough() {
+    ConcurrentHashMultimap<String, Integer> multimap = ConcurrentHashMultimap.create();
+    Set<Integer> values = multimap.get("a");
+    assertTrue(values.isEmpty());
+    assertTrue(values.add(1));
+    assertTrue(values.addAll(Arrays.asList(2, 3)));
+    assertEquals(3, multimap.size());
+    assertTrue(multimap.containsEntry("a", 2));
+    assertTrue(values.remove(2));
+    assertFalse(multimap.containsEntry("a", 2));
+    multimap.removeAll("a");
+    assertTrue(values.isEmpty());
+    multimap.put("a", 4);
+    assertEquals(Collections.singleton(4), values);
+    values.clear();
+    assertFalse(multimap.containsKey("a"));
+    assertEquals(0, multimap.size());
+  }
+
+  public void testAsMap_writesThrough() {
+    ConcurrentHashMultimap<String, Integer> multimap = ConcurrentHashMultimap.create();
+    multimap.putAll("a", Arrays.asList(1, 2));
+    multimap.put("b", 3);
+    Map<String, Collection<Integer>> asMap = multimap.asMap();
+    assertEquals(2, asMap.size());
+    assertNull(asMap.get("c"));
+    asMap.get("a").add(5);
+    assertTrue(multimap.containsEntry("a", 5));
+    assertEquals(4, multimap.size());
+    for (Map.Entry<String, Collection<Integer>> entry : asMap.entrySet()) {
+      entry.getValue().remove(entry.getKey().equals("a") ? 1 : 3);
+    }
+    assertEquals(2, multimap.size());
+    assertFalse(multimap.containsKey("b"));
+    assertEquals(new HashSet<Integer>(Arrays.asList(2, 5)), asMap.remove("a"));
+    assertNull(asMap.remove("a"));
+    assertTrue(multimap.isEmpty());
+    assertEquals(0, multimap.size());
+  }
+
+  public void testEntriesAndKeySet_writeThrough() {
+    ConcurrentHashMultimap<String, Integer> multimap = ConcurrentHashMultimap.create();
+    multimap.putAll("a", Arrays.asList(1, 2));
+    multimap.putAll("b", Arrays.asList(3, 4));
+    multimap.put("c", 5);
+    assertTrue(multimap.entries().contains(Maps.immutableEntry("a", 2)));
+    assertTrue(multimap.entries().remove(Maps.immutableEntry("a", 2)));
+    assertFalse(multimap.containsEntry("a", 2));
+    assertEquals(4, multimap.size());
+    assertTrue(multimap.keySet().remove("b"));
+    assertFalse(multimap.keySet().remove("b"));
+    assertEquals(2, multimap.size());
+    assertEquals(new HashSet<String>(Arrays.asList("a", "c")), multimap.keySet());
+    multimap.keySet().clear();
+    assertTrue(multimap.isEmpty());
+    assertEquals(0, multimap.size());
+  }
+
+  public void testIteratorRemove() {
+    ConcurrentHashMultimap<String, Integer> multimap = ConcurrentHashMultimap.create();
+    multimap.putAll("a", Arrays.asList(1, 2, 3));
+    multimap.putAll("b", Arrays.asList(4, 5));
+    multimap.put("c", 6);
+
+    Iterator<Integer> values = multimap.get("a").iterator();
+    values.next();
+    values.remove();
+    try {
+      values.remove();
+      fail();
+    } catch (IllegalStateException expected) {
+    }
+    assertEquals(5, multimap.size());
+    assertEquals(2, multimap.get("a").size());
+
+    for (Iterator<Map.Entry<String, Integer>> entries = multimap.entries().iterator();
+        entries.hasNext(); ) {
+      if (entries.next().getValue() % 2 == 0) {
+        entries.remove();
+      }
+    }
+    assertEquals(multimap.entries().size(), multimap.size());
+    for (Map.Entry<String, Integer> entry : multimap.entries()) {
+      assertEquals(1, entry.getValue() % 2);
+    }
+
+    Iterator<String> keys = multimap.keySet().iterator();
+    String key = keys.next();
+    int count = multimap.get(key).size();
+    int size = multimap.size();
+    keys.remove();
+    assertFalse(multimap.containsKey(key));
+    assertEquals(size - count, multimap.size());
+  }
+
+  public void testConcurrentUpdates() throws Exception {
+    final ConcurrentHashMultimap<Integer, Integer> multimap =
+        ConcurrentHashMultimap.create(16, 4, 4);
+    int threadCount = 8;
+    final CountDownLatch start = new CountDownLatch(1);
+    final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    Thread[] threads = new Thread[threadCount];
+    for (int t = 0; t < threadCount; t++) {
+      final Random random = new Random(t);
+      threads[t] = new Thread() {
+        @Override public void run() {
+          try {
+            start.await();
+            for (int i = 0; i < 20000; i++) {
+              Integer key = random.nextInt(32);
+              Integer value = random.nextInt(8);
+              switch (random.nextInt(7)) {
+                case 0:
+                case 1:
+                  multimap.put(key, value);
+                  break;
+                case 2:
+                  multimap.remove(key, value);
+                  break;
+                case 3:
+                  multimap.putAll(key, Arrays.asList(value, value + 1, value + 2));
+                  break;
+                case 4:
+                  multimap.replaceValues(key, Arrays.asList(value, value + 3));
+                  break;
+                case 5:
+                  multimap.removeAll(key);
+                  break;
+                default:
+                  multimap.get(key).remove(value);
+                  break;
+              }
+            }
+          } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+          }
+        }
+      };
+      threads[t].start();
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    if (failure.get() != null) {
+      throw new AssertionError(failure.get());
+    }
+    int count = 0;
+    for (Collection<Integer> values : multimap.asMap().values()) {
+      assertFalse(values.isEmpty());
+      count += values.size();
+    }
+    assertEquals(count, multimap.size());
+    assertEquals(count, multimap.entries().size());
+    multimap.clear();
+    assertEquals(0, multimap.size());
+  }
+
+  public void testSerialization() throws Exception {
+    ConcurrentHashMultimap<String, Integer> multimap = ConcurrentHashMultimap.create(4, 3, 64);
+    multimap.putAll("a", Arrays.asList(1, 2, 3));
+    multimap.put("b", 4);
+    ConcurrentHashMultimap<String, Integer> copy = reserialize(multimap);
+    assertEquals(multimap, copy);
+    assertEquals(4, copy.size());
+    assertTrue(copy.put("b", 5));
+    assertEquals(5, copy.size());
+    assertEquals(4, multimap.size());
+    assertEquals(ConcurrentHashMultimap.<String, Integer>create(),
+        reserialize(ConcurrentHashMultimap.<String, Integer>create()));
+  }
+
+  static <T> T reserialize(T object) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    out.writeObject(object);
+    out.close();
+    ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    @SuppressWarnings("unchecked")
+    T copy = (T) in.readObject();
+    return copy;
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import static com.romainpiel.guava.collect.ConcurrentHashMultimapTest.reserialize;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for {@link ConcurrentHashMultiset}.
+ */
+public class ConcurrentHashMultisetTest extends TestCase {
+
+  public void testCountAddRemove() {
+    ConcurrentHashMultiset<String> multiset = ConcurrentHashMultiset.create();
+    assertEquals(0, multiset.add("a", 3));
+    assertEquals(3, multiset.add("a", 2));
+    assertEquals(5, multiset.count("a"));
+    assertEquals(5, multiset.remove("a", 2));
+    assertEquals(3, multiset.remove("a", 10));
+    assertEquals(0, multiset.count("a"));
+    assertTrue(multiset.isEmpty());
+    assertEquals(0, multiset.add("a", 1));
+    assertEquals(1, multiset.count("a"));
+    assertEquals(0, multiset.remove("b", 1));
+    assertEquals(0, multiset.count(null));
+    try {
+      multiset.add(null, 1);
+      fail();
+    } catch (NullPointerException expected) {
+    }
+    try {
+      multiset.add("a", -1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testRemoveExactly() {
+    ConcurrentHashMultiset<String> multiset = ConcurrentHashMultiset.create();
+    multiset.add("a", 3);
+    assertFalse(multiset.removeExactly("a", 4));
+    assertEquals(3, multiset.count("a"));
+    assertTrue(multiset.removeExactly("a", 0));
+    assertTrue(multiset.removeExactly("a", 3));
+    assertEquals(0, multiset.count("a"));
+    assertFalse(multiset.removeExactly("a", 1));
+    assertFalse(multiset.contains("a"));
+  }
+
+  public void testRemove_null() {
+    ConcurrentHashMultiset<String> multiset = ConcurrentHashMultiset.create();
+    multiset.add("a");
+    assertEquals(0, multiset.remove(null, 0));
+    assertEquals(0, multiset.remove(null, 2));
+    assertFalse(multiset.remove(null));
+    assertTrue(multiset.removeExactly(null, 0));
+    assertFalse(multiset.removeExactly(null, 1));
+    assertEquals(1, multiset.size());
+  }
+
+  public void testSetCount() {
+    ConcurrentHashMultiset<String> multiset = ConcurrentHashMultiset.create();
+    assertEquals(0, multiset.setCount("a", 0));
+    assertEquals(0, multiset.setCount("a", 4));
+    assertEquals(4, multiset.setCount("a", 2));
+    assertEquals(2, multiset.size());
+    assertEquals(2, multiset.setCount("a", 0));
+    assertFalse(multiset.contains("a"));
+    assertFalse(multiset.setCount("a", 1, 3));
+    assertTrue(multiset.setCount("a", 0, 3));
+    assertFalse(multiset.setCount("a", 0, 5));
+    assertTrue(multiset.setCount("a", 3, 3));
+    assertTrue(multiset.setCount("a", 3, 1));
+    assertEquals(1, multiset.count("a"));
+    assertTrue(multiset.setCount("a", 1, 0));
+    assertTrue(multiset.isEmpty());
+    try {
+      multiset.setCount("a", -1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      multiset.setCount("a", 0, -1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testViews_writeThrough() {
+    ConcurrentHashMultiset<String> multiset =
+        ConcurrentHashMultiset.create(Arrays.asList("a", "a", "b", "c"));
+    assertTrue(multiset.elementSet().remove("a"));
+    assertEquals(0, multiset.count("a"));
+    assertEquals(2, multiset.size());
+    for (Iterator<Multiset.Entry<String>> iterator = multiset.entrySet().iterator();
+        iterator.hasNext(); ) {
+      if (iterator.next().getElement().equals("b")) {
+        iterator.remove();
+      }
+    }
+    assertEquals(0, multiset.count("b"));
+    assertEquals(1, multiset.size());
+    Iterator<String> iterator = multiset.iterator();
+    iterator.next();
+    iterator.remove();
+    assertTrue(multiset.isEmpty());
+  }
+
+  public void testConcurrentAddRemove() throws Exception {
+    final ConcurrentHashMultiset<Integer> multiset = ConcurrentHashMultiset.create(8, 4);
+    int threadCount = 8;
+    final int iterations = 20000;
+    final CountDownLatch start = new CountDownLatch(1);
+    final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    Thread[] threads = new Thread[threadCount];
+    for (int t = 0; t < threadCount; t++) {
+      threads[t] = new Thread() {
+        @Override public void run() {
+          try {
+            start.await();
+            for (int i = 0; i < iterations; i++) {
+              Integer element = i & 7;
+              // Element 0 also goes through 0 and back, which replaces its counter.
+              multiset.add(element, 2);
+              multiset.remove(element, 1);
+              if (element == 0) {
+                multiset.remove(element, 1);
+                multiset.add(element, 1);
+              }
+              // Increments the count of element 1 through compare-and-set.
+              int count;
+              do {
+                count = multiset.count(1);
+              } while (!multiset.setCount(1, count, count + 1));
+            }
+          } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+          }
+        }
+      };
+      threads[t].start();
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    if (failure.get() != null) {
+      throw new AssertionError(failure.get());
+    }
+    int perElement = threadCount * iterations / 8;
+    for (int element = 0; element < 8; element++) {
+      int expected = (element == 1) ? perElement + threadCount * iterations : perElement;
+      assertEquals(expected, multiset.count(element));
+    }
+    assertEquals(8 * perElement + threadCount * iterations, multiset.size());
+  }
+
+  public void testSerialization() throws Exception {
+    ConcurrentHashMultiset<String> multiset =
+        ConcurrentHashMultiset.create(Arrays.asList("a", "a", "b"));
+    ConcurrentHashMultiset<String> copy = reserialize(multiset);
+    assertEquals(multiset, copy);
+    assertEquals(3, copy.size());
+    copy.add("a");
+    assertEquals(3, copy.count("a"));
+    assertEquals(2, multiset.count("a"));
+  }
+}
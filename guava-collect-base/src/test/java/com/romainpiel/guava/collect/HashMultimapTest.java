@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import static com.romainpiel.guava.collect.ConcurrentHashMultimapTest.reserialize;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link HashMultimap}.
+ */
+public class HashMultimapTest extends TestCase {
+
+  public void testPutGetRemove() {
+    HashMultimap<String, Integer> multimap = HashMultimap.create();
+    assertTrue(multimap.put("a", 1));
+    assertFalse(multimap.put("a", 1));
+    assertTrue(multimap.put("a", 2));
+    assertTrue(multimap.put(null, null));
+    assertEquals(3, multimap.size());
+    assertEquals(setOf(1, 2), multimap.get("a"));
+    assertTrue(multimap.remove("a", 1));
+    assertFalse(multimap.remove("a", 1));
+    assertEquals(2, multimap.size());
+    assertFalse(multimap.putAll("a", Arrays.asList(2, 2)));
+    assertTrue(multimap.putAll("a", Arrays.asList(2, 3)));
+    assertEquals(3, multimap.size());
+  }
+
+  public void testGet_afterKeyRemovedAndReadded() {
+    HashMultimap<String, Integer> multimap = HashMultimap.create();
+    multimap.put("a", 1);
+    Set<Integer> values = multimap.get("a");
+    multimap.asMap().remove("a");
+    assertTrue(values.isEmpty());
+    multimap.put("a", 2);
+    assertEquals(setOf(2), values);
+    assertTrue(values.add(3));
+    assertFalse(values.add(3));
+    assertEquals(setOf(2, 3), multimap.get("a"));
+    assertEquals(2, multimap.size());
+    assertTrue(values.remove(2));
+    assertTrue(values.remove(3));
+    assertFalse(multimap.containsKey("a"));
+    assertEquals(0, multimap.size());
+    assertTrue(values.addAll(Arrays.asList(4, 5)));
+    assertEquals(setOf(4, 5), multimap.get("a"));
+    assertEquals(2, multimap.size());
+  }
+
+  public void testReplaceValuesAndRemoveAll_returnCopies() {
+    HashMultimap<String, Integer> multimap = HashMultimap.create();
+    multimap.putAll("a", Arrays.asList(1, 2));
+    Set<Integer> old = multimap.replaceValues("a", Arrays.asList(2, 3, 3));
+    assertEquals(setOf(1, 2), old);
+    assertEquals(2, multimap.size());
+    multimap.put("a", 4);
+    assertEquals(setOf(1, 2), old);
+    try {
+      old.clear();
+      fail();
+    } catch (UnsupportedOperationException expected) {
+    }
+    Set<Integer> removed = multimap.removeAll("a");
+    assertEquals(setOf(2, 3, 4), removed);
+    multimap.put("a", 5);
+    assertEquals(setOf(2, 3, 4), removed);
+    assertEquals(setOf(5), multimap.replaceValues("a", Collections.<Integer>emptySet()));
+    assertTrue(multimap.isEmpty());
+    assertTrue(multimap.removeAll("b").isEmpty());
+  }
+
+  public void testSize_underViewMutation() {
+    HashMultimap<String, Integer> multimap = HashMultimap.create();
+    multimap.putAll("a", Arrays.asList(1, 2, 3, 4));
+    multimap.putAll("b", Arrays.asList(5, 6));
+    Set<Integer> values = multimap.get("a");
+    values.removeAll(Arrays.asList(1, 2, 7));
+    assertEquals(4, multimap.size());
+    for (Iterator<Integer> iterator = values.iterator(); iterator.hasNext(); ) {
+      if (iterator.next() == 3) {
+        iterator.remove();
+      }
+    }
+    assertEquals(setOf(4), multimap.get("a"));
+    assertEquals(3, multimap.size());
+    assertTrue(multimap.values().remove(5));
+    assertEquals(2, multimap.size());
+    assertTrue(multimap.entries().remove(Maps.immutableEntry("b", 6)));
+    assertFalse(multimap.containsKey("b"));
+    assertEquals(1, multimap.size());
+    multimap.asMap().get("a").clear();
+    assertTrue(multimap.isEmpty());
+    assertEquals(0, multimap.size());
+  }
+
+  public void testAsMapAndEntriesRemove() {
+    HashMultimap<String, Integer> multimap = HashMultimap.create();
+    multimap.putAll("a", Arrays.asList(1, 2));
+    multimap.putAll("b", Arrays.asList(3, 4));
+    Collection<Integer> removed = multimap.asMap().remove("a");
+    assertEquals(setOf(1, 2), removed);
+    assertEquals(2, multimap.size());
+    for (Iterator<Map.Entry<String, Integer>> iterator = multimap.entries().iterator();
+        iterator.hasNext(); ) {
+      if (iterator.next().getValue() == 3) {
+        iterator.remove();
+      }
+    }
+    assertEquals(setOf(4), multimap.get("b"));
+    assertEquals(1, multimap.size());
+    Iterator<Map.Entry<String, Integer>> iterator = multimap.entries().iterator();
+    iterator.next();
+    iterator.remove();
+    assertFalse(multimap.containsKey("b"));
+    assertTrue(multimap.isEmpty());
+  }
+
+  public void testEquals() {
+    HashMultimap<String, Integer> multimap = HashMultimap.create();
+    multimap.putAll("a", Arrays.asList(1, 2));
+    multimap.put("b", 3);
+    HashMultimap<String, Integer> other = HashMultimap.create();
+    other.put("b", 3);
+    other.putAll("a", Arrays.asList(2, 1));
+    assertEquals(multimap, other);
+    assertEquals(multimap.hashCode(), other.hashCode());
+    assertEquals(multimap, ConcurrentHashMultimap.create(multimap));
+    other.remove("b", 3);
+    assertFalse(multimap.equals(other));
+  }
+
+  public void testSerialization() throws Exception {
+    HashMultimap<String, Integer> multimap = HashMultimap.create(4, 3);
+    multimap.putAll("a", Arrays.asList(1, 2, 3));
+    multimap.put(null, 4);
+    HashMultimap<String, Integer> copy = reserialize(multimap);
+    assertEquals(multimap, copy);
+    assertEquals(4, copy.size());
+    assertTrue(copy.get("a").add(5));
+    assertEquals(5, copy.size());
+    assertEquals(4, multimap.size());
+    assertEquals(HashMultimap.<String, Integer>create(),
+        reserialize(HashMultimap.<String, Integer>create()));
+  }
+
+  private static Set<Integer> setOf(Integer... values) {
+    return new HashSet<Integer>(Arrays.asList(values));
+  }
+}
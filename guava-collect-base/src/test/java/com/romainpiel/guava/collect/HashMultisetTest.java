@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import static com.romainpiel.guava.collect.ConcurrentHashMultimapTest.reserialize;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link HashMultiset}.
+ */
+public class HashMultisetTest extends TestCase {
+
+  public void testCountAddRemove() {
+    HashMultiset<String> multiset = HashMultiset.create();
+    assertEquals(0, multiset.count("a"));
+    assertEquals(0, multiset.add("a", 3));
+    assertTrue(multiset.add("a"));
+    assertEquals(0, multiset.add("b", 2));
+    assertEquals(4, multiset.count("a"));
+    assertEquals(6, multiset.size());
+    assertEquals(4, multiset.remove("a", 3));
+    assertEquals(1, multiset.remove("a", 5));
+    assertEquals(0, multiset.count("a"));
+    assertFalse(multiset.contains("a"));
+    assertFalse(multiset.remove("a"));
+    assertEquals(2, multiset.add("b", 0));
+    assertEquals(0, multiset.count(1));
+    assertEquals(2, multiset.size());
+    multiset.add(null, 2);
+    assertEquals(2, multiset.count(null));
+    assertEquals(4, multiset.size());
+    try {
+      multiset.add("a", -1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      multiset.remove("b", -1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testSetCount() {
+    HashMultiset<String> multiset = HashMultiset.create();
+    assertEquals(0, multiset.setCount("a", 3));
+    assertEquals(3, multiset.setCount("a", 1));
+    assertEquals(1, multiset.size());
+    assertEquals(1, multiset.setCount("a", 0));
+    assertFalse(multiset.contains("a"));
+    assertEquals(0, multiset.size());
+    try {
+      multiset.setCount("a", -1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testSetCountConditional() {
+    HashMultiset<String> multiset = HashMultiset.create();
+    assertFalse(multiset.setCount("a", 1, 2));
+    assertEquals(0, multiset.count("a"));
+    assertTrue(multiset.setCount("a", 0, 2));
+    assertEquals(2, multiset.count("a"));
+    assertFalse(multiset.setCount("a", 1, 5));
+    assertEquals(2, multiset.count("a"));
+    assertTrue(multiset.setCount("a", 2, 2));
+    assertTrue(multiset.setCount("a", 2, 7));
+    assertEquals(7, multiset.size());
+    assertTrue(multiset.setCount("a", 7, 0));
+    assertFalse(multiset.contains("a"));
+    assertEquals(0, multiset.size());
+    assertTrue(multiset.setCount("a", 0, 0));
+    try {
+      multiset.setCount("a", -1, 1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      multiset.setCount("a", 0, -1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testElementSet_writesThrough() {
+    HashMultiset<String> multiset = HashMultiset.create(Arrays.asList("a", "a", "b", "c", "c"));
+    Set<String> elements = multiset.elementSet();
+    assertEquals(new HashSet<String>(Arrays.asList("a", "b", "c")), elements);
+    assertTrue(elements.remove("a"));
+    assertFalse(elements.remove("a"));
+    assertEquals(0, multiset.count("a"));
+    assertEquals(3, multiset.size());
+    multiset.add("d");
+    assertTrue(elements.contains("d"));
+    Iterator<String> iterator = elements.iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().equals("c")) {
+        iterator.remove();
+      }
+    }
+    assertEquals(0, multiset.count("c"));
+    assertEquals(2, multiset.size());
+    elements.clear();
+    assertTrue(multiset.isEmpty());
+    assertEquals(0, multiset.size());
+  }
+
+  public void testEntrySet_writesThrough() {
+    HashMultiset<String> multiset = HashMultiset.create(Arrays.asList("a", "a", "b", "c", "c"));
+    Set<Multiset.Entry<String>> entries = multiset.entrySet();
+    assertEquals(3, entries.size());
+    assertTrue(entries.contains(Multisets.immutableEntry("a", 2)));
+    assertFalse(entries.contains(Multisets.immutableEntry("a", 1)));
+    assertFalse(entries.remove(Multisets.immutableEntry("a", 1)));
+    assertTrue(entries.remove(Multisets.immutableEntry("a", 2)));
+    assertEquals(3, multiset.size());
+    Iterator<Multiset.Entry<String>> iterator = entries.iterator();
+    Multiset.Entry<String> entry = iterator.next();
+    int count = entry.getCount();
+    multiset.add(entry.getElement(), 3);
+    assertEquals(count + 3, entry.getCount());
+    iterator.remove();
+    try {
+      iterator.remove();
+      fail();
+    } catch (IllegalStateException expected) {
+    }
+    assertEquals(0, multiset.count(entry.getElement()));
+    assertEquals(1, entries.size());
+    assertEquals(entries.iterator().next().getCount(), multiset.size());
+  }
+
+  public void testIteratorRemove() {
+    HashMultiset<String> multiset = HashMultiset.create(Arrays.asList("a", "a", "a", "b"));
+    Iterator<String> iterator = multiset.iterator();
+    int removed = 0;
+    while (iterator.hasNext()) {
+      if (iterator.next().equals("a") && removed < 2) {
+        iterator.remove();
+        removed++;
+      }
+    }
+    assertEquals(1, multiset.count("a"));
+    assertEquals(2, multiset.size());
+    iterator = multiset.iterator();
+    iterator.next();
+    iterator.remove();
+    iterator.next();
+    iterator.remove();
+    assertFalse(iterator.hasNext());
+    assertTrue(multiset.isEmpty());
+    assertEquals(0, multiset.size());
+  }
+
+  public void testEquals() {
+    HashMultiset<String> multiset = HashMultiset.create(Arrays.asList("a", "b", "a"));
+    assertEquals(LinkedHashMultiset.create(Arrays.asList("b", "a", "a")), multiset);
+    assertEquals(multiset.hashCode(),
+        LinkedHashMultiset.create(Arrays.asList("a", "a", "b")).hashCode());
+    assertFalse(multiset.equals(HashMultiset.create(Arrays.asList("a", "b"))));
+    assertFalse(multiset.equals(new HashSet<String>(Arrays.asList("a", "b"))));
+  }
+
+  public void testImmutableEntry() {
+    Multiset.Entry<String> entry = Multisets.immutableEntry("a", 3);
+    assertEquals("a", entry.getElement());
+    assertEquals(3, entry.getCount());
+    assertEquals("a x 3", entry.toString());
+    assertEquals("b", Multisets.immutableEntry("b", 1).toString());
+    assertEquals(entry,
+        HashMultiset.create(Collections.nCopies(3, "a")).entrySet().iterator().next());
+    try {
+      Multisets.immutableEntry("a", -1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testSerialization() throws Exception {
+    HashMultiset<String> multiset = HashMultiset.create(Arrays.asList("a", "a", "b", null));
+    HashMultiset<String> copy = reserialize(multiset);
+    assertEquals(multiset, copy);
+    assertEquals(4, copy.size());
+    copy.add("c");
+    assertEquals(5, copy.size());
+    assertEquals(0, multiset.count("c"));
+    assertEquals(HashMultiset.<String>create(), reserialize(HashMultiset.<String>create()));
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import static com.romainpiel.guava.collect.ConcurrentHashMultimapTest.reserialize;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Unit tests for {@link LinkedHashMultiset}.
+ */
+public class LinkedHashMultisetTest extends TestCase {
+
+  public void testIterationOrder() {
+    LinkedHashMultiset<String> multiset =
+        LinkedHashMultiset.create(Arrays.asList("c", "a", "c", "b", "a", "c"));
+    assertEquals(Arrays.asList("c", "c", "c", "a", "a", "b"), new ArrayList<String>(multiset));
+    assertEquals(Arrays.asList("c", "a", "b"), new ArrayList<String>(multiset.elementSet()));
+    assertEquals("[c x 3, a x 2, b]", multiset.entrySet().toString());
+    assertEquals("[c x 3, a x 2, b]", multiset.toString());
+  }
+
+  public void testIterationOrder_afterRemoval() {
+    LinkedHashMultiset<String> multiset = LinkedHashMultiset.create();
+    multiset.add("a");
+    multiset.add("b", 2);
+    multiset.add("c");
+    multiset.remove("b");
+    assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<String>(multiset.elementSet()));
+    multiset.remove("b");
+    multiset.add("b");
+    assertEquals(Arrays.asList("a", "c", "b"), new ArrayList<String>(multiset.elementSet()));
+    multiset.setCount("a", 0);
+    multiset.setCount("a", 0, 4);
+    assertEquals(Arrays.asList("c", "b", "a", "a", "a", "a"), new ArrayList<String>(multiset));
+  }
+
+  public void testIteratorRemove_keepsOrder() {
+    LinkedHashMultiset<String> multiset =
+        LinkedHashMultiset.create(Arrays.asList("a", "b", "b", "c", "d", "d"));
+    List<String> kept = new ArrayList<String>();
+    for (Iterator<String> iterator = multiset.iterator(); iterator.hasNext(); ) {
+      String element = iterator.next();
+      if (element.equals("b") || element.equals("c")) {
+        iterator.remove();
+      } else {
+        kept.add(element);
+      }
+    }
+    assertEquals(Arrays.asList("a", "d", "d"), kept);
+    assertEquals(kept, new ArrayList<String>(multiset));
+    assertEquals(3, multiset.size());
+    for (Iterator<Multiset.Entry<String>> iterator = multiset.entrySet().iterator();
+        iterator.hasNext(); ) {
+      if (iterator.next().getElement().equals("a")) {
+        iterator.remove();
+      }
+    }
+    assertEquals(Arrays.asList("d", "d"), new ArrayList<String>(multiset));
+    assertEquals(2, multiset.size());
+  }
+
+  public void testSerialization_keepsOrder() throws Exception {
+    LinkedHashMultiset<String> multiset =
+        LinkedHashMultiset.create(Arrays.asList("z", "y", "z", "x"));
+    LinkedHashMultiset<String> copy = reserialize(multiset);
+    assertEquals(multiset, copy);
+    assertEquals(new ArrayList<String>(multiset), new ArrayList<String>(copy));
+    copy.add("w");
+    assertEquals(Arrays.asList("z", "y", "x", "w"), new ArrayList<String>(copy.elementSet()));
+    assertEquals(5, copy.size());
+  }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import com.romainpiel.guava.base.Function;
+import com.romainpiel.guava.base.Optional;
+import com.romainpiel.guava.base.Predicate;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link ParallelFluentIterable}.
+ */
+public class ParallelFluentIterableTest extends TestCase {
+
+  private static final Function<Integer, Integer> SQUARE = new Function<Integer, Integer>() {
+    @Override public Integer apply(Integer input) {
+      return input * input;
+    }
+  };
+
+  private static final Predicate<Integer> EVEN = new Predicate<Integer>() {
+    @Override public boolean apply(Integer input) {
+      return input % 2 == 0;
+    }
+  };
+
+  private ForkJoinPool pool;
+
+  @Override protected void setUp() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @Override protected void tearDown() {
+    pool.shutdown();
+  }
+
+  public void testToArray_sized() {
+    List<Integer> list = range(100000);
+    Integer[] array = FluentIterable.from(list).parallel(pool).toArray(Integer.class);
+    assertTrue(Arrays.equals(list.toArray(), array));
+  }
+
+  public void testToArray_transformed() {
+    List<Integer> list = range(100000);
+    FluentIterable<Integer> squares = FluentIterable.from(list).transform(SQUARE);
+    assertTrue(Arrays.equals(
+        squares.toArray(Integer.class), squares.parallel(pool).toArray(Integer.class)));
+  }
+
+  public void testToArray_filtered() {
+    FluentIterable<Integer> evens = FluentIterable.from(range(100000)).filter(EVEN);
+    assertFalse(evens.splittableIterator().hasCharacteristics(SplittableIterator.SIZED));
+    assertTrue(Arrays.equals(
+        evens.toArray(Integer.class), evens.parallel(pool).toArray(Integer.class)));
+  }
+
+  public void testCopyInto_sized() {
+    List<Integer> list = range(100000);
+    List<Integer> copy = FluentIterable.from(list).parallel(pool)
+        .copyInto(new ArrayList<Integer>());
+    assertEquals(list, copy);
+  }
+
+  public void testCopyInto_filtered() {
+    FluentIterable<Integer> evens = FluentIterable.from(range(100000)).filter(EVEN);
+    List<Integer> copy = evens.parallel(pool).copyInto(new ArrayList<Integer>(Arrays.asList(-1)));
+    assertEquals(Integer.valueOf(-1), copy.get(0));
+    assertEquals(evens.copyInto(new ArrayList<Integer>()), copy.subList(1, copy.size()));
+  }
+
+  public void testFirstMatch() {
+    ParallelFluentIterable<Integer> parallel = FluentIterable.from(range(100000)).parallel(pool);
+    assertEquals(Optional.of(50001), parallel.firstMatch(new Predicate<Integer>() {
+      @Override public boolean apply(Integer input) {
+        return input > 50000;
+      }
+    }));
+    assertEquals(Optional.<Integer>absent(), parallel.firstMatch(new Predicate<Integer>() {
+      @Override public boolean apply(Integer input) {
+        return input < 0;
+      }
+    }));
+  }
+
+  public void testFirstMatch_laterChunkMatchesFirst() {
+    final CountDownLatch laterMatchSeen = new CountDownLatch(1);
+    Predicate<Integer> predicate = new Predicate<Integer>() {
+      @Override public boolean apply(Integer input) {
+        if (input == 90000) {
+          laterMatchSeen.countDown();
+          return true;
+        }
+        if (input == 10) {
+          // Hold back the earlier match until a task further along has found its own.
+          try {
+            laterMatchSeen.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            throw new AssertionError(e);
+          }
+          return true;
+        }
+        return false;
+      }
+    };
+    Optional<Integer> match = FluentIterable.from(range(100000)).parallel(pool)
+        .firstMatch(predicate);
+    assertEquals(0, laterMatchSeen.getCount());
+    assertEquals(Optional.of(10), match);
+  }
+
+  public void testUnsizedSources() {
+    List<Integer> list = range(5000);
+    List<Iterable<Integer>> sources = new ArrayList<Iterable<Integer>>();
+    sources.add(new LinkedList<Integer>(list));
+    sources.add(iterableOnly(list));
+    sources.add(FluentIterable.from(range(8000)).limit(5000));
+    for (Iterable<Integer> source : sources) {
+      ParallelFluentIterable<Integer> parallel = FluentIterable.from(source).parallel(pool);
+      assertEquals(5000, parallel.size());
+      assertTrue(Arrays.equals(list.toArray(), parallel.toArray(Integer.class)));
+      assertEquals(list, parallel.copyInto(new ArrayList<Integer>()));
+      assertEquals(Optional.of(4096), parallel.firstMatch(new Predicate<Integer>() {
+        @Override public boolean apply(Integer input) {
+          return input >= 4096;
+        }
+      }));
+      assertTrue(parallel.contains(4999));
+      assertFalse(parallel.contains(5000));
+      assertEquals(2500, parallel.filter(EVEN).size());
+      assertEquals(Integer.valueOf(4998 * 4998),
+          parallel.filter(EVEN).transform(SQUARE).toArray(Integer.class)[2499]);
+    }
+  }
+
+  public void testEmptySources() {
+    List<Iterable<Integer>> sources = new ArrayList<Iterable<Integer>>();
+    sources.add(Collections.<Integer>emptyList());
+    sources.add(new LinkedList<Integer>());
+    sources.add(iterableOnly(Collections.<Integer>emptyList()));
+    sources.add(FluentIterable.from(range(10)).limit(0));
+    sources.add(FluentIterable.from(range(10)).filter(new Predicate<Integer>() {
+      @Override public boolean apply(Integer input) {
+        return false;
+      }
+    }));
+    for (Iterable<Integer> source : sources) {
+      ParallelFluentIterable<Integer> parallel = FluentIterable.from(source).parallel(pool);
+      assertEquals(0, parallel.size());
+      assertEquals(0, parallel.toArray(Integer.class).length);
+      assertTrue(parallel.copyInto(new ArrayList<Integer>()).isEmpty());
+      assertEquals(Optional.<Integer>absent(), parallel.firstMatch(EVEN));
+      assertFalse(parallel.anyMatch(EVEN));
+      assertTrue(parallel.allMatch(EVEN));
+      assertFalse(parallel.contains(0));
+    }
+  }
+
+  public void testSingleThreadedPool() {
+    ForkJoinPool single = new ForkJoinPool(1);
+    try {
+      List<Integer> list = range(100000);
+      FluentIterable<Integer> squares = FluentIterable.from(list).transform(SQUARE);
+      ParallelFluentIterable<Integer> parallel = squares.parallel(single);
+      assertEquals(100000, parallel.size());
+      assertTrue(Arrays.equals(squares.toArray(Integer.class), parallel.toArray(Integer.class)));
+      assertEquals(squares.filter(EVEN).copyInto(new ArrayList<Integer>()),
+          parallel.filter(EVEN).copyInto(new ArrayList<Integer>()));
+      assertEquals(Optional.of(4), parallel.firstMatch(new Predicate<Integer>() {
+        @Override public boolean apply(Integer input) {
+          return input > 1;
+        }
+      }));
+      assertTrue(parallel.contains(99999 * 99999));
+      assertFalse(parallel.allMatch(EVEN));
+    } finally {
+      single.shutdown();
+    }
+  }
+
+  public void testExceptionsAreRethrown() {
+    try {
+      FluentIterable.from(range(100000)).parallel(pool).anyMatch(new Predicate<Integer>() {
+        @Override public boolean apply(Integer input) {
+          if (input == 77777) {
+            throw new IllegalStateException();
+          }
+          return false;
+        }
+      });
+      fail();
+    } catch (IllegalStateException expected) {
+    }
+  }
+
+  private static List<Integer> range(int size) {
+    List<Integer> list = new ArrayList<Integer>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(i);
+    }
+    return list;
+  }
+
+  /** Returns an iterable that is not a collection, so its size is unknown. */
+  private static <E> Iterable<E> iterableOnly(final Iterable<E> iterable) {
+    return new Iterable<E>() {
+      @Override public Iterator<E> iterator() {
+        return iterable.iterator();
+      }
+    };
+  }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.collect;
+
+import static com.romainpiel.guava.collect.SplittableIterator.ORDERED;
+import static com.romainpiel.guava.collect.SplittableIterator.SIZED;
+import static com.romainpiel.guava.collect.SplittableIterator.SUBSIZED;
+
+import com.romainpiel.guava.base.Function;
+import com.romainpiel.guava.base.Predicate;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Unit tests for {@link SplittableIterators}, {@link SplittableIterator} and
+ * {@link Iterators#splittableForArray}.
+ */
+public class SplittableIteratorsTest extends TestCase {
+
+  private static final Predicate<Integer> MULTIPLE_OF_THREE = new Predicate<Integer>() {
+    @Override public boolean apply(Integer input) {
+      return input % 3 == 0;
+    }
+  };
+
+  private static final Function<Integer, String> TO_STRING = new Function<Integer, String>() {
+    @Override public String apply(Integer input) {
+      return input.toString();
+    }
+  };
+
+  public void testForArray() {
+    Integer[] array = range(1000).toArray(new Integer[0]);
+    SplittableIterator<Integer> iterator = Iterators.splittableForArray(array);
+    assertEquals(1000, iterator.estimateSize());
+    assertEquals(1000, iterator.getExactSizeIfKnown());
+    assertTrue(iterator.hasCharacteristics(ORDERED | SIZED | SUBSIZED));
+    SplittableIterator<Integer> prefix = iterator.trySplit();
+    assertEquals(500, prefix.estimateSize());
+    assertEquals(500, iterator.estimateSize());
+    assertEquals(Integer.valueOf(0), prefix.next());
+    assertEquals(499, prefix.estimateSize());
+    assertEquals(Integer.valueOf(500), iterator.next());
+    assertEquals(range(1000), splitAndDrain(Iterators.splittableForArray(array)));
+  }
+
+  public void testForArray_range() {
+    Integer[] array = range(10).toArray(new Integer[0]);
+    SplittableIterator<Integer> iterator = SplittableIterators.forArray(array, 3, 7);
+    assertEquals(4, iterator.estimateSize());
+    assertEquals(Arrays.asList(3, 4, 5, 6), splitAndDrain(iterator));
+    try {
+      SplittableIterators.forArray(array, 7, 3);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testForArray_cannotSplitBelowOneElement() {
+    SplittableIterator<Integer> iterator = Iterators.splittableForArray(1);
+    assertNull(iterator.trySplit());
+    assertEquals(Integer.valueOf(1), iterator.next());
+    assertNull(iterator.trySplit());
+    assertEquals(0, iterator.estimateSize());
+    try {
+      iterator.next();
+      fail();
+    } catch (NoSuchElementException expected) {
+    }
+    assertNull(Iterators.<Integer>splittableForArray().trySplit());
+  }
+
+  public void testRandomAccessList() {
+    List<Integer> list = range(777);
+    SplittableIterator<Integer> iterator = Iterables.splittableIterator(list);
+    assertTrue(iterator.hasCharacteristics(ORDERED | SIZED | SUBSIZED));
+    assertEquals(777, iterator.estimateSize());
+    assertEquals(list, splitAndDrain(iterator));
+  }
+
+  public void testIterator_unknownSize() {
+    List<Integer> list = range(10000);
+    SplittableIterator<Integer> iterator = Iterables.splittableIterator(iterableOnly(list));
+    assertEquals(Long.MAX_VALUE, iterator.estimateSize());
+    assertEquals(-1, iterator.getExactSizeIfKnown());
+    assertEquals(ORDERED, iterator.characteristics());
+    List<Integer> seen = new ArrayList<Integer>();
+    // Batches grow by 1024 elements each, until the source runs out.
+    int[] expectedBatches = {1024, 2048, 3072, 3856};
+    for (int expectedBatch : expectedBatches) {
+      SplittableIterator<Integer> batch = iterator.trySplit();
+      assertTrue(batch.hasCharacteristics(ORDERED | SIZED | SUBSIZED));
+      assertEquals(expectedBatch, batch.estimateSize());
+      seen.addAll(splitAndDrain(batch));
+    }
+    assertNull(iterator.trySplit());
+    assertFalse(iterator.hasNext());
+    assertEquals(list, seen);
+  }
+
+  public void testIterator_knownSize() {
+    List<Integer> list = range(5000);
+    SplittableIterator<Integer> iterator =
+        Iterables.splittableIterator(new LinkedList<Integer>(list));
+    assertTrue(iterator.hasCharacteristics(ORDERED | SIZED | SUBSIZED));
+    assertEquals(5000, iterator.estimateSize());
+    assertEquals(Integer.valueOf(0), iterator.next());
+    assertEquals(4999, iterator.estimateSize());
+    List<Integer> seen = new ArrayList<Integer>(Collections.singletonList(0));
+    long remaining = 4999;
+    // Batches grow by 1024 elements each, but never past the remaining size.
+    for (int expectedBatch : new int[] {1024, 2048, 1927}) {
+      SplittableIterator<Integer> batch = iterator.trySplit();
+      assertEquals(expectedBatch, batch.estimateSize());
+      remaining -= expectedBatch;
+      assertEquals(remaining, iterator.estimateSize());
+      seen.addAll(splitAndDrain(batch));
+    }
+    assertNull(iterator.trySplit());
+    assertEquals(0, iterator.estimateSize());
+    assertEquals(list, seen);
+  }
+
+  public void testIterator_interleavedSplitsAndNext() {
+    for (boolean sized : new boolean[] {true, false}) {
+      List<Integer> list = range(20000);
+      Iterable<Integer> source = sized ? new LinkedList<Integer>(list) : iterableOnly(list);
+      SplittableIterator<Integer> iterator = Iterables.splittableIterator(source);
+      List<Integer> seen = new ArrayList<Integer>();
+      int step = 0;
+      while (iterator.hasNext()) {
+        SplittableIterator<Integer> batch = (step++ % 3 == 0) ? iterator.trySplit() : null;
+        if (batch != null) {
+          seen.addAll(splitAndDrain(batch));
+        } else {
+          for (int i = 0; i < 700 && iterator.hasNext(); i++) {
+            seen.add(iterator.next());
+          }
+        }
+        if (sized) {
+          assertEquals(list.size() - seen.size(), iterator.estimateSize());
+        }
+      }
+      assertEquals(list, seen);
+    }
+  }
+
+  public void testFilter() {
+    List<Integer> list = range(3000);
+    FluentIterable<Integer> filtered = FluentIterable.from(list).filter(MULTIPLE_OF_THREE);
+    SplittableIterator<Integer> iterator = filtered.splittableIterator();
+    assertTrue(iterator.hasCharacteristics(ORDERED));
+    assertFalse(iterator.hasCharacteristics(SIZED));
+    assertFalse(iterator.hasCharacteristics(SUBSIZED));
+    assertEquals(-1, iterator.getExactSizeIfKnown());
+    assertEquals(3000, iterator.estimateSize());
+    SplittableIterator<Integer> prefix = iterator.trySplit();
+    assertFalse(prefix.hasCharacteristics(SIZED));
+    assertEquals(1500, prefix.estimateSize());
+    assertEquals(1500, iterator.estimateSize());
+    List<Integer> seen = splitAndDrain(prefix);
+    seen.addAll(splitAndDrain(iterator));
+    assertEquals(filtered.copyInto(new ArrayList<Integer>()), seen);
+  }
+
+  public void testFilter_peekedElementBlocksSplit() {
+    SplittableIterator<Integer> iterator =
+        FluentIterable.from(range(100)).filter(MULTIPLE_OF_THREE).splittableIterator();
+    assertEquals(Integer.valueOf(0), iterator.next());
+    assertTrue(iterator.hasNext());
+    // 3 is peeked, and the source has 96 elements left after it.
+    assertEquals(97, iterator.estimateSize());
+    assertNull(iterator.trySplit());
+    assertEquals(Integer.valueOf(3), iterator.next());
+    assertNotNull(iterator.trySplit());
+  }
+
+  public void testTransform() {
+    List<Integer> list = range(1000);
+    FluentIterable<String> transformed = FluentIterable.from(list).transform(TO_STRING);
+    SplittableIterator<String> iterator = transformed.splittableIterator();
+    assertTrue(iterator.hasCharacteristics(ORDERED | SIZED | SUBSIZED));
+    assertEquals(1000, iterator.getExactSizeIfKnown());
+    SplittableIterator<String> prefix = iterator.trySplit();
+    assertTrue(prefix.hasCharacteristics(ORDERED | SIZED | SUBSIZED));
+    assertEquals(500, prefix.estimateSize());
+    assertEquals("0", prefix.next());
+    assertEquals(499, prefix.estimateSize());
+    assertEquals(500, iterator.estimateSize());
+    assertEquals(transformed.copyInto(new ArrayList<String>()),
+        splitAndDrain(transformed.splittableIterator()));
+  }
+
+  public void testFilterAndTransform_chained() {
+    List<Integer> list = range(5000);
+    for (Iterable<Integer> source : Arrays.asList(
+        list, new LinkedList<Integer>(list), iterableOnly(list))) {
+      FluentIterable<String> chain =
+          FluentIterable.from(source).filter(MULTIPLE_OF_THREE).transform(TO_STRING);
+      SplittableIterator<String> iterator = chain.splittableIterator();
+      assertFalse(iterator.hasCharacteristics(SIZED));
+      assertTrue(iterator.hasCharacteristics(ORDERED));
+      assertEquals(chain.copyInto(new ArrayList<String>()), splitAndDrain(iterator));
+
+      FluentIterable<Integer> transformedOnly = FluentIterable.from(source).transform(
+          new Function<Integer, Integer>() {
+            @Override public Integer apply(Integer input) {
+              return -input;
+            }
+          });
+      SplittableIterator<Integer> sized = transformedOnly.splittableIterator();
+      assertEquals(source instanceof Collection, sized.hasCharacteristics(SIZED));
+      assertEquals(transformedOnly.copyInto(new ArrayList<Integer>()), splitAndDrain(sized));
+    }
+  }
+
+  /**
+   * Splits {@code iterator} as far as it goes, prefix first, and returns the
+   * elements of all the parts in order. Checks along the way that {@link
+   * SplittableIterator#SIZED} parts report their exact size and that
+   * {@link SplittableIterator#SUBSIZED} parts only split into sized parts.
+   */
+  private static <T> List<T> splitAndDrain(SplittableIterator<T> iterator) {
+    long sizeBefore = iterator.getExactSizeIfKnown();
+    boolean subsized = iterator.hasCharacteristics(SUBSIZED);
+    List<T> elements = new ArrayList<T>();
+    SplittableIterator<T> prefix = iterator.trySplit();
+    if (prefix != null) {
+      if (subsized) {
+        assertTrue(prefix.hasCharacteristics(SIZED | SUBSIZED));
+        assertTrue(iterator.hasCharacteristics(SIZED | SUBSIZED));
+      }
+      if (sizeBefore >= 0) {
+        assertEquals(sizeBefore, prefix.estimateSize() + iterator.estimateSize());
+      }
+      elements.addAll(splitAndDrain(prefix));
+      elements.addAll(splitAndDrain(iterator));
+    } else {
+      while (iterator.hasNext()) {
+        elements.add(iterator.next());
+      }
+      assertFalse(iterator.hasNext());
+    }
+    if (sizeBefore >= 0) {
+      assertEquals(sizeBefore, elements.size());
+      assertEquals(0, iterator.estimateSize());
+    }
+    return elements;
+  }
+
+  private static List<Integer> range(int size) {
+    List<Integer> list = new ArrayList<Integer>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(i);
+    }
+    return list;
+  }
+
+  /** Returns an iterable that is not a collection, so its size is unknown. */
+  private static <E> Iterable<E> iterableOnly(final Iterable<E> iterable) {
+    return new Iterable<E>() {
+      @Override public Iterator<E> iterator() {
+        return iterable.iterator();
+      }
+    };
+  }
+}
@@ -351,6 +351,38 @@ public final class IntMath {
     return (result >= 0) ? result : result + m;
   }
 
+  /**
+   * Returns {@code a * b mod m}, a non-negative value less than {@code m}. Unlike
+   * {@code (a * b) % m}, this is exact even when {@code a * b} overflows an {@code int}.
+   *
+   * @throws ArithmeticException if {@code m <= 0}
+   */
+  public static int mulMod(int a, int b, int m) {
+    long product = (long) mod(a, m) * mod(b, m);
+    return (int) (product % m);
+  }
+
+  /**
+   * Returns {@code b} to the {@code k}th power mod {@code m}, a non-negative value less than
+   * {@code m}. Intermediate results are reduced as they are computed, so this never overflows.
+   *
+   * @throws IllegalArgumentException if {@code k < 0}
+   * @throws ArithmeticException if {@code m <= 0}
+   */
+  public static int powMod(int b, int k, int m) {
+    checkNonNegative("exponent", k);
+    long base = mod(b, m);
+    // Both factors are less than 2^31, so every product fits in a long.
+    long accum = 1 % m;
+    for (; k > 0; k >>= 1) {
+      if ((k & 1) != 0) {
+        accum = accum * base % m;
+      }
+      base = base * base % m;
+    }
+    return (int) accum;
+  }
+
   /**
    * Returns the greatest common divisor of {@code a, b}. Returns {@code 0} if
    * {@code a == 0 && b == 0}.
@@ -402,6 +434,66 @@ public final class IntMath {
     return a << min(aTwos, bTwos);
   }
 
+  /**
+   * Returns the greatest common divisor of {@code values}, or {@code 0} if there are none or
+   * they are all zero. This stops as soon as the running divisor reaches {@code 1}, and reduces
+   * each value modulo the running divisor first, so that the binary algorithm of
+   * {@link #gcd(int, int)} only ever works on operands smaller than that divisor.
+   *
+   * @throws IllegalArgumentException if any of {@code values} is negative
+   */
+  public static int gcd(int... values) {
+    for (int value : values) {
+      checkNonNegative("value", value);
+    }
+    int result = 0;
+    for (int value : values) {
+      if (result != 0) {
+        value %= result; // gcd(result, value) == gcd(result, value % result)
+      }
+      result = gcd(result, value);
+      if (result == 1) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the least common multiple of {@code a} and {@code b}, or {@code 0} if either is
+   * zero. Even if the result overflows, it will be equal to the exact least common multiple
+   * converted by {@link BigInteger#intValue}.
+   *
+   * <p>Compare {@link #checkedLcm}, which throws an {@link ArithmeticException} upon overflow.
+   *
+   * @throws IllegalArgumentException if {@code a < 0} or {@code b < 0}
+   */
+  public static int lcm(int a, int b) {
+    checkNonNegative("a", a);
+    checkNonNegative("b", b);
+    if (a == 0 || b == 0) {
+      return 0;
+    }
+    return (a / gcd(a, b)) * b;
+  }
+
+  /**
+   * Returns the least common multiple of {@code a} and {@code b}, or {@code 0} if either is
+   * zero, provided it does not overflow.
+   *
+   * @throws IllegalArgumentException if {@code a < 0} or {@code b < 0}
+   * @throws ArithmeticException if the least common multiple overflows in signed {@code int}
+   *         arithmetic
+   */
+  public static int checkedLcm(int a, int b) {
+    checkNonNegative("a", a);
+    checkNonNegative("b", b);
+    if (a == 0 || b == 0) {
+      return 0;
+    }
+    return checkedMultiply(a / gcd(a, b), b);
+  }
+
   /**
    * Returns the sum of {@code a} and {@code b}, provided it does not overflow.
    *
@@ -483,6 +575,108 @@ public final class IntMath {
 
   @VisibleForTesting static final int FLOOR_SQRT_MAX_INT = 46340;
 
+  /**
+   * Returns the sum of {@code a} and {@code b} unless it would overflow or underflow in which case
+   * {@code Integer.MAX_VALUE} or {@code Integer.MIN_VALUE} is returned, respectively. The
+   * implementation is branch-free, so it costs the same whether or not the sum saturates.
+   */
+  public static int saturatedAdd(int a, int b) {
+    int naiveSum = a + b;
+    // All ones if both operands differ in sign from the naive sum, that is if it overflowed.
+    int overflowMask = ((a ^ naiveSum) & (b ^ naiveSum)) >> (Integer.SIZE - 1);
+    return saturate(naiveSum, a, overflowMask);
+  }
+
+  /**
+   * Returns the difference of {@code a} and {@code b} unless it would overflow or underflow in
+   * which case {@code Integer.MAX_VALUE} or {@code Integer.MIN_VALUE} is returned, respectively.
+   * The implementation is branch-free, so it costs the same whether or not the difference
+   * saturates.
+   */
+  public static int saturatedSubtract(int a, int b) {
+    int naiveDifference = a - b;
+    // All ones if a and b differ in sign, and a differs in sign from the naive difference.
+    int overflowMask = ((a ^ b) & (a ^ naiveDifference)) >> (Integer.SIZE - 1);
+    return saturate(naiveDifference, a, overflowMask);
+  }
+
+  /**
+   * Returns the product of {@code a} and {@code b} unless it would overflow or underflow in which
+   * case {@code Integer.MAX_VALUE} or {@code Integer.MIN_VALUE} is returned, respectively. The
+   * implementation is branch-free, so it costs the same whether or not the product saturates.
+   */
+  public static int saturatedMultiply(int a, int b) {
+    long product = (long) a * b;
+    int naiveProduct = (int) product;
+    long error = product - naiveProduct;
+    // All ones if the product does not fit in an int, that is if error is nonzero.
+    int overflowMask = (int) ((error | -error) >> (Long.SIZE - 1));
+    return saturate(naiveProduct, a ^ b, overflowMask);
+  }
+
+  /**
+   * Returns the {@code b} to the {@code k}th power, unless it would overflow or underflow in which
+   * case {@code Integer.MAX_VALUE} or {@code Integer.MIN_VALUE} is returned, respectively.
+   *
+   * @throws IllegalArgumentException if {@code k < 0}
+   */
+  public static int saturatedPow(int b, int k) {
+    checkNonNegative("exponent", k);
+    switch (b) {
+      case 0:
+        return (k == 0) ? 1 : 0;
+      case 1:
+        return 1;
+      case (-1):
+        return ((k & 1) == 0) ? 1 : -1;
+      case 2:
+        if (k >= Integer.SIZE - 1) {
+          return Integer.MAX_VALUE;
+        }
+        return 1 << k;
+      case (-2):
+        if (k >= Integer.SIZE) {
+          return Integer.MAX_VALUE + (k & 1);
+        }
+        return ((k & 1) == 0) ? 1 << k : -1 << k;
+      default:
+        // continue below to handle the general case
+    }
+    int accum = 1;
+    // If b is negative and k is odd then the limit is MIN, otherwise the limit is MAX.
+    int limit = Integer.MAX_VALUE + ((b >>> (Integer.SIZE - 1)) & (k & 1));
+    while (true) {
+      switch (k) {
+        case 0:
+          return accum;
+        case 1:
+          return saturatedMultiply(accum, b);
+        default:
+          if ((k & 1) != 0) {
+            accum = saturatedMultiply(accum, b);
+          }
+          k >>= 1;
+          if (k > 0) {
+            if (-FLOOR_SQRT_MAX_INT > b | b > FLOOR_SQRT_MAX_INT) {
+              return limit;
+            }
+            b *= b;
+          }
+      }
+    }
+  }
+
+  /**
+   * Returns {@code naiveResult} if {@code overflowMask} is zero, and otherwise {@code
+   * Integer.MAX_VALUE} if {@code sign} is nonnegative or {@code Integer.MIN_VALUE} if it is
+   * negative. {@code overflowMask} must be either zero or all ones.
+   */
+  private static int saturate(int naiveResult, int sign, int overflowMask) {
+    // MAX_VALUE + 1 wraps around to MIN_VALUE.
+    int limit = Integer.MAX_VALUE + (sign >>> (Integer.SIZE - 1));
+    return naiveResult ^ ((naiveResult ^ limit) & overflowMask);
+  }
+
   /**
    * Returns {@code n!}, that is, the product of the first {@code n} positive
    * integers, {@code 1} if {@code n == 0}, or {@link Integer#MAX_VALUE} if the
@@ -575,5 +769,59 @@ public final class IntMath {
     return (x & y) + ((x ^ y) >> 1);
   }
 
+  /**
+   * Returns {@code true} if {@code n} is a <a
+   * href="http://mathworld.wolfram.com/PrimeNumber.html">prime number</a>: an integer greater
+   * than one that cannot be factored into a product of smaller positive integers. Returns
+   * {@code false} if {@code n} is zero, one, or a composite number (one which can be factored
+   * into smaller positive integers).
+   *
+   * <p>The test is deterministic: after some trial division, it runs the Miller-Rabin test with
+   * bases 2, 7 and 61, which together have no strong pseudoprime below 4,759,123,141.
+   *
+   * @throws IllegalArgumentException if {@code n} is negative
+   */
+  public static boolean isPrime(int n) {
+    checkNonNegative("n", n);
+    if (n < Long.SIZE) {
+      return ((SMALL_PRIMES >>> n) & 1) != 0;
+    }
+    if ((SIEVE_30 & (1 << (n % 30))) != 0 || n % 7 == 0 || n % 11 == 0 || n % 13 == 0) {
+      return false;
+    }
+    if (n < 17 * 17) {
+      return true;
+    }
+    return isStrongProbablePrime(2, n) && isStrongProbablePrime(7, n)
+        && isStrongProbablePrime(61, n);
+  }
+
+  /** Bit {@code n} is set if {@code n} is a prime less than 64. */
+  private static final long SMALL_PRIMES = 0x28208A20A08A28ACL;
+
+  /** Bit {@code n % 30} is set if {@code n} shares a factor with 30, that is 2, 3 or 5. */
+  static final int SIEVE_30 = ~((1 << 1) | (1 << 7) | (1 << 11) | (1 << 13) | (1 << 17)
+      | (1 << 19) | (1 << 23) | (1 << 29));
+
+  /**
+   * Returns whether the odd {@code n > base} is a strong probable prime to {@code base}, that is
+   * whether {@code base^d == 1} or {@code base^(d * 2^r) == -1 (mod n)} for some {@code r < s},
+   * where {@code n - 1 == d * 2^s} with {@code d} odd.
+   */
+  private static boolean isStrongProbablePrime(int base, int n) {
+    int s = Integer.numberOfTrailingZeros(n - 1);
+    long x = powMod(base, (n - 1) >> s, n);
+    if (x == 1) {
+      return true;
+    }
+    for (int r = 0; x != n - 1; r++) {
+      if (r == s - 1) {
+        return false;
+      }
+      x = x * x % n;
+    }
+    return true;
+  }
+
   private IntMath() {}
 }
@@ -335,16 +335,64 @@ public final class LongMath {
    * @throws ArithmeticException if {@code q == 0}, or if {@code mode == UNNECESSARY} and {@code a}
    *         is not an integer multiple of {@code b}
    */
-  @SuppressWarnings("fallthrough")
   public static long divide(long p, long q, RoundingMode mode) {
     checkNotNull(mode);
     long div = p / q; // throws if q == 0
     long rem = p - q * div; // equals p % q
 
-    if (rem == 0) {
-      return div;
+    return (rem == 0) ? div : roundQuotient(p, q, div, rem, mode);
+  }
+
+  /**
+   * Divides each of {@code values} by {@code q}, rounding using the specified {@code RoundingMode},
+   * and stores the quotients at the same indices of {@code out}, which may be {@code values}
+   * itself. Equivalent to calling {@link #divide(long, long, RoundingMode)} on each value, but
+   * divisions by a positive power of two are done with shifts.
+   *
+   * @throws ArithmeticException if {@code q == 0}, or if {@code mode == UNNECESSARY} and any of
+   *         {@code values} is not an integer multiple of {@code q}
+   * @throws IllegalArgumentException if {@code out} is shorter than {@code values}
+   */
+  public static void divide(long[] values, long q, RoundingMode mode, long[] out) {
+    checkNotNull(mode);
+    checkArgument(out.length >= values.length,
+        "out length (%s) must be >= values length (%s)", out.length, values.length);
+    if (q == 0) {
+      throw new ArithmeticException("/ by zero");
+    }
+    if (q > 0 && isPowerOfTwo(q)) {
+      int shift = Long.numberOfTrailingZeros(q);
+      long mask = q - 1;
+      for (int i = 0; i < values.length; i++) {
+        long p = values[i];
+        long div = p >> shift; // rounds towards negative infinity
+        long rem = p & mask;
+        if (rem == 0) {
+          out[i] = div;
+        } else {
+          if (p < 0) { // match p / q and p % q, which round towards 0
+            div++;
+            rem -= q;
+          }
+          out[i] = roundQuotient(p, q, div, rem, mode);
+        }
+      }
+    } else {
+      for (int i = 0; i < values.length; i++) {
+        long p = values[i];
+        long div = p / q;
+        long rem = p - q * div;
+        out[i] = (rem == 0) ? div : roundQuotient(p, q, div, rem, mode);
+      }
     }
+  }
 
+  /**
+   * Rounds {@code div == p / q} using the specified {@code RoundingMode}, given the nonzero
+   * remainder {@code rem == p % q}.
+   */
+  @SuppressWarnings("fallthrough")
+  private static long roundQuotient(long p, long q, long div, long rem, RoundingMode mode) {
     /*
      * Normal Java division rounds towards 0, consistently with RoundingMode.DOWN. We just have to
      * deal with the cases where rounding towards 0 is wrong, which typically depends on the sign of
@@ -438,6 +486,160 @@ public final class LongMath {
     return (result >= 0) ? result : result + m;
   }
 
+  /**
+   * Returns {@code a * b mod m}, a non-negative value less than {@code m}. Unlike
+   * {@code (a * b) % m}, this is exact even when {@code a * b} overflows a {@code long}.
+   *
+   * @throws ArithmeticException if {@code m <= 0}
+   */
+  public static long mulMod(long a, long b, long m) {
+    a = mod(a, m);
+    b = mod(b, m);
+    if (m <= FLOOR_SQRT_MAX_LONG) {
+      return a * b % m; // a * b < m^2 fits in a long
+    }
+    if ((m & 1) == 0) {
+      int twos = Long.numberOfTrailingZeros(m);
+      long odd = m >> twos;
+      return combineWithPowerOfTwo(mulMod(a, b, odd), a * b, odd, twos);
+    }
+    long inverse = inverseMod2To64(m);
+    long r2 = montgomeryR2(montgomeryOne(m), m, inverse);
+    // a * b / 2^64, then times 2^128 / 2^64.
+    return montgomeryMultiply(montgomeryMultiply(a, b, m, inverse), r2, m, inverse);
+  }
+
+  /**
+   * Returns {@code b} to the {@code k}th power mod {@code m}, a non-negative value less than
+   * {@code m}. Intermediate results are reduced as they are computed, so this never overflows.
+   *
+   * @throws IllegalArgumentException if {@code k < 0}
+   * @throws ArithmeticException if {@code m <= 0}
+   */
+  public static long powMod(long b, long k, long m) {
+    checkNonNegative("exponent", k);
+    b = mod(b, m);
+    if (m <= FLOOR_SQRT_MAX_LONG) {
+      long accum = 1 % m;
+      for (; k > 0; k >>= 1) {
+        if ((k & 1) != 0) {
+          accum = accum * b % m;
+        }
+        b = b * b % m;
+      }
+      return accum;
+    }
+    if ((m & 1) == 0) {
+      int twos = Long.numberOfTrailingZeros(m);
+      long odd = m >> twos;
+      return combineWithPowerOfTwo(powMod(b, k, odd), wrappingPow(b, k), odd, twos);
+    }
+    long inverse = inverseMod2To64(m);
+    long one = montgomeryOne(m);
+    long r2 = montgomeryR2(one, m, inverse);
+    long result = montgomeryPow(montgomeryMultiply(b, r2, m, inverse), k, one, m, inverse);
+    return montgomeryMultiply(result, 1, m, inverse);
+  }
+
+  /**
+   * Returns the value less than {@code odd << twos} that is congruent to {@code oddResult} mod
+   * {@code odd} and to {@code lowBits} mod {@code 2^twos}, by the Chinese remainder theorem.
+   */
+  private static long combineWithPowerOfTwo(long oddResult, long lowBits, long odd, int twos) {
+    long mask = (1L << twos) - 1;
+    return oddResult + odd * (((lowBits - oddResult) * inverseMod2To64(odd)) & mask);
+  }
+
+  /** Returns {@code b} to the {@code k}th power mod {@code 2^64}. */
+  private static long wrappingPow(long b, long k) {
+    long accum = 1;
+    for (; k > 0; k >>= 1) {
+      if ((k & 1) != 0) {
+        accum *= b;
+      }
+      b *= b;
+    }
+    return accum;
+  }
+
+  /*
+   * Montgomery arithmetic modulo an odd m < 2^63: x is represented by x * 2^64 mod m, so that
+   * products can be reduced with two multiplications and a subtraction instead of a division.
+   */
+
+  /** Returns the inverse of the odd {@code m} modulo {@code 2^64}. */
+  private static long inverseMod2To64(long m) {
+    // m * m == 1 mod 8 for every odd m, and each Newton step doubles the number of correct bits.
+    long inverse = m;
+    for (int i = 0; i < 5; i++) {
+      inverse *= 2 - m * inverse;
+    }
+    return inverse;
+  }
+
+  /** Returns {@code 2^64 mod m}, which is {@code 1} in Montgomery form. */
+  private static long montgomeryOne(long m) {
+    return doubleMod((Long.MAX_VALUE % m + 1) % m, m);
+  }
+
+  /**
+   * Returns {@code 2^128 mod m}, which turns a value into Montgomery form when multiplied with
+   * {@link #montgomeryMultiply}.
+   */
+  private static long montgomeryR2(long one, long m, long inverse) {
+    // Squaring 2 six times in Montgomery form yields 2^64 in Montgomery form, that is 2^128 mod m.
+    long x = doubleMod(one, m);
+    for (int i = 0; i < 6; i++) {
+      x = montgomeryMultiply(x, x, m, inverse);
+    }
+    return x;
+  }
+
+  /** Returns {@code 2 * x mod m} for {@code 0 <= x < m < 2^63}. */
+  private static long doubleMod(long x, long m) {
+    long doubled = x << 1; // less than 2^64 as an unsigned value
+    return (doubled < 0 | doubled >= m) ? doubled - m : doubled;
+  }
+
+  /**
+   * Returns {@code a * b / 2^64 mod m} for {@code 0 <= a, b < m}, given {@code inverse}, the
+   * inverse of the odd {@code m} modulo {@code 2^64}.
+   */
+  private static long montgomeryMultiply(long a, long b, long m, long inverse) {
+    long low = a * b;
+    long high = unsignedMultiplyHigh(a, b);
+    // q * m has the same low word as a * b, so (a * b - q * m) / 2^64 is the difference of the
+    // high words, which lies strictly between -m and m.
+    long q = low * inverse;
+    long result = high - unsignedMultiplyHigh(q, m);
+    return result + (m & (result >> (Long.SIZE - 1)));
+  }
+
+  /** Returns {@code b} to the {@code k}th power, all in Montgomery form. */
+  private static long montgomeryPow(long b, long k, long one, long m, long inverse) {
+    long accum = one;
+    for (; k > 0; k >>= 1) {
+      if ((k & 1) != 0) {
+        accum = montgomeryMultiply(accum, b, m, inverse);
+      }
+      b = montgomeryMultiply(b, b, m, inverse);
+    }
+    return accum;
+  }
+
+  /** Returns the high word of the 128-bit product of {@code a} and {@code b} as unsigned longs. */
+  private static long unsignedMultiplyHigh(long a, long b) {
+    long aLow = a & 0xFFFFFFFFL;
+    long aHigh = a >>> 32;
+    long bLow = b & 0xFFFFFFFFL;
+    long bHigh = b >>> 32;
+    long lowLow = aLow * bLow;
+    // Neither partial sum can overflow: (2^32 - 1)^2 + 2 * (2^32 - 1) == 2^64 - 1.
+    long middle = aHigh * bLow + (lowLow >>> 32);
+    long middle2 = (middle & 0xFFFFFFFFL) + aLow * bHigh;
+    return aHigh * bHigh + (middle >>> 32) + (middle2 >>> 32);
+  }
+
   /**
    * Returns the greatest common divisor of {@code a, b}. Returns {@code 0} if
    * {@code a == 0 && b == 0}.
@@ -489,6 +691,66 @@ public final class LongMath {
     return a << min(aTwos, bTwos);
   }
 
+  /**
+   * Returns the greatest common divisor of {@code values}, or {@code 0} if there are none or
+   * they are all zero. This stops as soon as the running divisor reaches {@code 1}, and reduces
+   * each value modulo the running divisor first, so that the binary algorithm of
+   * {@link #gcd(long, long)} only ever works on operands smaller than that divisor.
+   *
+   * @throws IllegalArgumentException if any of {@code values} is negative
+   */
+  public static long gcd(long... values) {
+    for (long value : values) {
+      checkNonNegative("value", value);
+    }
+    long result = 0;
+    for (long value : values) {
+      if (result != 0) {
+        value %= result; // gcd(result, value) == gcd(result, value % result)
+      }
+      result = gcd(result, value);
+      if (result == 1) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the least common multiple of {@code a} and {@code b}, or {@code 0} if either is
+   * zero. Even if the result overflows, it will be equal to the exact least common multiple
+   * converted by {@link BigInteger#longValue}.
+   *
+   * <p>Compare {@link #checkedLcm}, which throws an {@link ArithmeticException} upon overflow.
+   *
+   * @throws IllegalArgumentException if {@code a < 0} or {@code b < 0}
+   */
+  public static long lcm(long a, long b) {
+    checkNonNegative("a", a);
+    checkNonNegative("b", b);
+    if (a == 0 || b == 0) {
+      return 0;
+    }
+    return (a / gcd(a, b)) * b;
+  }
+
+  /**
+   * Returns the least common multiple of {@code a} and {@code b}, or {@code 0} if either is
+   * zero, provided it does not overflow.
+   *
+   * @throws IllegalArgumentException if {@code a < 0} or {@code b < 0}
+   * @throws ArithmeticException if the least common multiple overflows in signed {@code long}
+   *         arithmetic
+   */
+  public static long checkedLcm(long a, long b) {
+    checkNonNegative("a", a);
+    checkNonNegative("b", b);
+    if (a == 0 || b == 0) {
+      return 0;
+    }
+    return checkedMultiply(a / gcd(a, b), b);
+  }
+
   /**
    * Returns the sum of {@code a} and {@code b}, provided it does not overflow.
    *
@@ -588,6 +850,210 @@ public final class LongMath {
 
   @VisibleForTesting static final long FLOOR_SQRT_MAX_LONG = 3037000499L;
 
+  /**
+   * Returns the sum of {@code a} and {@code b} unless it would overflow or underflow in which case
+   * {@code Long.MAX_VALUE} or {@code Long.MIN_VALUE} is returned, respectively. The
+   * implementation is branch-free, so it costs the same whether or not the sum saturates.
+   */
+  public static long saturatedAdd(long a, long b) {
+    long naiveSum = a + b;
+    // All ones if both operands differ in sign from the naive sum, that is if it overflowed.
+    long overflowMask = ((a ^ naiveSum) & (b ^ naiveSum)) >> (Long.SIZE - 1);
+    return saturate(naiveSum, a, overflowMask);
+  }
+
+  /**
+   * Returns the difference of {@code a} and {@code b} unless it would overflow or underflow in
+   * which case {@code Long.MAX_VALUE} or {@code Long.MIN_VALUE} is returned, respectively. The
+   * implementation is branch-free, so it costs the same whether or not the difference saturates.
+   */
+  public static long saturatedSubtract(long a, long b) {
+    long naiveDifference = a - b;
+    // All ones if a and b differ in sign, and a differs in sign from the naive difference.
+    long overflowMask = ((a ^ b) & (a ^ naiveDifference)) >> (Long.SIZE - 1);
+    return saturate(naiveDifference, a, overflowMask);
+  }
+
+  /**
+   * Returns the product of {@code a} and {@code b} unless it would overflow or underflow in which
+   * case {@code Long.MAX_VALUE} or {@code Long.MIN_VALUE} is returned, respectively.
+   */
+  public static long saturatedMultiply(long a, long b) {
+    // see checkedMultiply for explanation
+    int leadingZeros = Long.numberOfLeadingZeros(a) + Long.numberOfLeadingZeros(~a)
+        + Long.numberOfLeadingZeros(b) + Long.numberOfLeadingZeros(~b);
+    if (leadingZeros > Long.SIZE + 1) {
+      return a * b;
+    }
+    // the return value if we will overflow (which we calculate by overflowing a long :) )
+    long limit = Long.MAX_VALUE + ((a ^ b) >>> (Long.SIZE - 1));
+    if (leadingZeros < Long.SIZE | (a < 0 & b == Long.MIN_VALUE)) {
+      // overflow
+      return limit;
+    }
+    long result = a * b;
+    if (a == 0 || result / a == b) {
+      return result;
+    }
+    return limit;
+  }
+
+  /**
+   * Returns the {@code b} to the {@code k}th power, unless it would overflow or underflow in which
+   * case {@code Long.MAX_VALUE} or {@code Long.MIN_VALUE} is returned, respectively.
+   *
+   * @throws IllegalArgumentException if {@code k < 0}
+   */
+  public static long saturatedPow(long b, int k) {
+    checkNonNegative("exponent", k);
+    if (b >= -2 & b <= 2) {
+      switch ((int) b) {
+        case 0:
+          return (k == 0) ? 1 : 0;
+        case 1:
+          return 1;
+        case (-1):
+          return ((k & 1) == 0) ? 1 : -1;
+        case 2:
+          if (k >= Long.SIZE - 1) {
+            return Long.MAX_VALUE;
+          }
+          return 1L << k;
+        case (-2):
+          if (k >= Long.SIZE) {
+            return Long.MAX_VALUE + (k & 1);
+          }
+          return ((k & 1) == 0) ? (1L << k) : (-1L << k);
+        default:
+          throw new AssertionError();
+      }
+    }
+    long accum = 1;
+    // If b is negative and k is odd then the limit is MIN, otherwise the limit is MAX.
+    long limit = Long.MAX_VALUE + ((b >>> (Long.SIZE - 1)) & (k & 1));
+    while (true) {
+      switch (k) {
+        case 0:
+          return accum;
+        case 1:
+          return saturatedMultiply(accum, b);
+        default:
+          if ((k & 1) != 0) {
+            accum = saturatedMultiply(accum, b);
+          }
+          k >>= 1;
+          if (k > 0) {
+            if (-FLOOR_SQRT_MAX_LONG > b | b > FLOOR_SQRT_MAX_LONG) {
+              return limit;
+            }
+            b *= b;
+          }
+      }
+    }
+  }
+
+  /**
+   * Returns {@code naiveResult} if {@code overflowMask} is zero, and otherwise {@code
+   * Long.MAX_VALUE} if {@code sign} is nonnegative or {@code Long.MIN_VALUE} if it is negative.
+   * {@code overflowMask} must be either zero or all ones.
+   */
+  private static long saturate(long naiveResult, long sign, long overflowMask) {
+    // MAX_VALUE + 1 wraps around to MIN_VALUE.
+    long limit = Long.MAX_VALUE + (sign >>> (Long.SIZE - 1));
+    return naiveResult ^ ((naiveResult ^ limit) & overflowMask);
+  }
+
+  /**
+   * Returns the sum of {@code values}, provided it does not overflow. Only the total counts:
+   * partial sums outside the {@code long} range are fine as long as later values bring the total
+   * back into range. This is equivalent to {@link Longs#sumExact}, and much faster than folding the
+   * values with {@link #checkedAdd}.
+   *
+   * @throws ArithmeticException if the sum of {@code values} overflows in signed {@code long}
+   *         arithmetic
+   */
+  public static long checkedSum(long... values) {
+    return Longs.sumExact(values);
+  }
+
+  /**
+   * Returns the sum of {@code values}, or {@link Long#MAX_VALUE} or {@link Long#MIN_VALUE} if the
+   * exact sum is too large or too small to fit in a {@code long}. Partial sums are not
+   * saturated, so the result only depends on the exact total.
+   */
+  public static long saturatedSum(long... values) {
+    long sum = 0;
+    long overflow = 0;
+    for (long value : values) {
+      long next = sum + value;
+      // The sign bit is set when both operands differ in sign from the result.
+      overflow |= (sum ^ next) & (value ^ next);
+      sum = next;
+    }
+    if (overflow >= 0) {
+      return sum;
+    }
+    long high = sumHighWord(values);
+    if (high == (sum >> (Long.SIZE - 1))) {
+      return sum;
+    }
+    return (high < 0) ? Long.MIN_VALUE : Long.MAX_VALUE;
+  }
+
+  /**
+   * Returns the dot product of {@code a} and {@code b}, that is the sum of {@code a[i] * b[i]},
+   * provided no product overflows and their sum fits in a {@code long}. As with {@link
+   * #checkedSum}, partial sums may temporarily leave the {@code long} range.
+   *
+   * @throws IllegalArgumentException if {@code a} and {@code b} have different lengths
+   * @throws ArithmeticException if any product, or the sum of the products, overflows in signed
+   *         {@code long} arithmetic
+   */
+  public static long checkedDot(long[] a, long[] b) {
+    checkArgument(a.length == b.length,
+        "arrays must have the same length, but were %s and %s", a.length, b.length);
+    /*
+     * First pass with plain arithmetic, recording the magnitude of every factor and any overflow of
+     * the running sum. If all factors are below 2^31 in absolute value, every product is below 2^62
+     * and exact, and if the running sum never overflowed, the result is exact too.
+     */
+    long sum = 0;
+    long magnitudes = 0;
+    long overflow = 0;
+    for (int i = 0; i < a.length; i++) {
+      long x = a[i];
+      long y = b[i];
+      magnitudes |= (x ^ (x >> (Long.SIZE - 1))) | (y ^ (y >> (Long.SIZE - 1)));
+      long product = x * y;
+      long next = sum + product;
+      overflow |= (sum ^ next) & (product ^ next);
+      sum = next;
+    }
+    if ((magnitudes >>> (Integer.SIZE - 1)) == 0 && overflow >= 0) {
+      return sum;
+    }
+    long[] products = new long[a.length];
+    for (int i = 0; i < a.length; i++) {
+      products[i] = checkedMultiply(a[i], b[i]);
+    }
+    return checkedSum(products);
+  }
+
+  /**
+   * Returns the high word of the exact sum of {@code values}, computed as a 128-bit integer.
+   */
+  private static long sumHighWord(long[] values) {
+    long low = 0;
+    long high = 0;
+    for (long value : values) {
+      long next = low + value;
+      // Add the sign extension of value and the carry out of the low word.
+      high += (value >> (Long.SIZE - 1)) + (((low & value) | ((low | value) & ~next)) >>> 63);
+      low = next;
+    }
+    return high;
+  }
+
   /**
    * Returns {@code n!}, that is, the product of the first {@code n} positive
    * integers, {@code 1} if {@code n == 0}, or {@link Long#MAX_VALUE} if the
@@ -742,5 +1208,53 @@ public final class LongMath {
     return (x & y) + ((x ^ y) >> 1);
   }
 
+  /**
+   * Returns {@code true} if {@code n} is a <a
+   * href="http://mathworld.wolfram.com/PrimeNumber.html">prime number</a>: an integer greater
+   * than one that cannot be factored into a product of smaller positive integers. Returns
+   * {@code false} if {@code n} is zero, one, or a composite number (one which can be factored
+   * into smaller positive integers).
+   *
+   * <p>The test is deterministic. Values that fit in an {@code int} are tested by {@link
+   * IntMath#isPrime}; larger ones run the Miller-Rabin test in Montgomery form with a set of
+   * seven bases that has no strong pseudoprime below {@code 2^64}.
+   *
+   * @throws IllegalArgumentException if {@code n} is negative
+   */
+  public static boolean isPrime(long n) {
+    checkNonNegative("n", n);
+    if (n <= Integer.MAX_VALUE) {
+      return IntMath.isPrime((int) n);
+    }
+    if ((IntMath.SIEVE_30 & (1 << (n % 30))) != 0
+        || n % 7 == 0 || n % 11 == 0 || n % 13 == 0) {
+      return false;
+    }
+    long inverse = inverseMod2To64(n);
+    long one = montgomeryOne(n);
+    long r2 = montgomeryR2(one, n, inverse);
+    long minusOne = n - one;
+    int s = Long.numberOfTrailingZeros(n - 1);
+    long d = (n - 1) >> s;
+    for (long base : MILLER_RABIN_BASES) {
+      // Every base is less than 2^31 <= n, so it is already reduced mod n and nonzero.
+      long x = montgomeryPow(montgomeryMultiply(base, r2, n, inverse), d, one, n, inverse);
+      if (x == one) {
+        continue;
+      }
+      for (int r = 0; x != minusOne; r++) {
+        if (r == s - 1) {
+          return false;
+        }
+        x = montgomeryMultiply(x, x, n, inverse);
+      }
+    }
+    return true;
+  }
+
+  /** Jim Sinclair's bases, which make the Miller-Rabin test deterministic below 2^64. */
+  private static final long[] MILLER_RABIN_BASES =
+      {2, 325, 9375, 28178, 450775, 9780504, 1795265022};
+
   private LongMath() {}
 }
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.math;
+
+import android.support.annotation.Nullable;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static java.math.RoundingMode.FLOOR;
+
+/**
+ * Computes factorials and binomial coefficients from their prime factorizations, multiplying the
+ * prime powers together with a balanced product tree that can be split across the threads of a
+ * {@link ForkJoinPool}.
+ *
+ * <p>Factorials use Luschny's prime swing: {@code n! == ((n / 2)!)^2 * swing(n)}, where the
+ * exponent of each prime in {@code swing(n)} can be read off the quotients of {@code n} by its
+ * powers. Unrolling the recursion, {@code n!} is a power of two times the product of {@code
+ * swing(n >> i)^(2^i)}, which is evaluated by repeated squaring. Binomial coefficients take the
+ * exponent of each prime from Kummer's theorem: it is the number of carries when adding {@code k}
+ * and {@code n - k} in base {@code p}.
+ */
+final class PrimeProducts {
+  /** Ranges of fewer packed factors than this are multiplied out without forking. */
+  private static final int PARALLEL_PRODUCT_THRESHOLD = 64;
+
+  /** Returns {@code n!}, splitting the work across {@code pool} if it is not null. */
+  static BigInteger factorial(int n, @Nullable ForkJoinPool pool) {
+    int[] primes = oddPrimes(n);
+    int levels = Integer.SIZE - Integer.numberOfLeadingZeros(n);
+    BigInteger[] swings = new BigInteger[levels];
+    if (isSequential(pool)) {
+      for (int i = 0; i < levels; i++) {
+        Factors factors = oddSwingFactors(n >> i, primes);
+        swings[i] = product(factors.values, 0, factors.size);
+      }
+    } else {
+      // The swings are independent, so they are all computed at once.
+      SwingTask[] tasks = new SwingTask[levels];
+      for (int i = 0; i < levels; i++) {
+        tasks[i] = new SwingTask(n >> i, primes);
+        pool.execute(tasks[i]);
+      }
+      for (int i = 0; i < levels; i++) {
+        swings[i] = tasks[i].join();
+      }
+    }
+    BigInteger oddFactorial = BigInteger.ONE;
+    for (int i = levels - 1; i >= 0; i--) {
+      oddFactorial = oddFactorial.pow(2).multiply(swings[i]);
+    }
+    // By Legendre's formula, n! has n - bitCount(n) factors of two.
+    return oddFactorial.shiftLeft(n - Integer.bitCount(n));
+  }
+
+  /**
+   * Returns {@code n} choose {@code k} for {@code 0 <= k <= n}, splitting the work across
+   * {@code pool} if it is not null.
+   */
+  static BigInteger binomial(int n, int k, @Nullable ForkJoinPool pool) {
+    int[] primes = oddPrimes(n);
+    int nMinusK = n - k;
+    int sqrtN = IntMath.sqrt(n, FLOOR);
+    Factors factors = new Factors(primes.length / 8);
+    for (int p : primes) {
+      if (p > sqrtN) {
+        // n has at most two digits in base p, so there is at most one carry.
+        if (n % p < k % p) {
+          factors.add(p);
+        }
+      } else {
+        int carry = 0;
+        for (int a = k, b = nMinusK; a > 0 || b > 0; a /= p, b /= p) {
+          carry = (a % p + b % p + carry) / p;
+          if (carry != 0) {
+            factors.add(p);
+          }
+        }
+      }
+    }
+    factors.finish();
+    // The carries in binary are those that turn bits of k and n - k into fewer bits of n.
+    int twos = Integer.bitCount(k) + Integer.bitCount(nMinusK) - Integer.bitCount(n);
+    return product(factors.values, 0, factors.size, pool).shiftLeft(twos);
+  }
+
+  /**
+   * Returns the prime factors, with multiplicity, of the odd part of {@code swing(m)}: each odd
+   * prime {@code p <= m} appears once for every odd value among {@code m / p}, {@code m / p^2},
+   * and so on.
+   */
+  private static Factors oddSwingFactors(int m, int[] primes) {
+    Factors factors = new Factors(m / 64);
+    int sqrtM = IntMath.sqrt(m, FLOOR);
+    for (int p : primes) {
+      if (p > m) {
+        break;
+      }
+      if (p > sqrtM) {
+        // Only m / p is nonzero.
+        if (((m / p) & 1) != 0) {
+          factors.add(p);
+        }
+      } else {
+        for (int q = m / p; q > 0; q /= p) {
+          if ((q & 1) != 0) {
+            factors.add(p);
+          }
+        }
+      }
+    }
+    factors.finish();
+    return factors;
+  }
+
+  /** Returns the odd primes up to {@code n} in increasing order. */
+  static int[] oddPrimes(int n) {
+    // Sieve of Eratosthenes over the odd numbers: composite[i] is set if 2 * i + 1 is composite.
+    int size = Math.max(0, (n - 1) / 2 + 1);
+    boolean[] composite = new boolean[size];
+    int count = 0;
+    for (int i = 1; i < size; i++) {
+      if (!composite[i]) {
+        count++;
+        long p = 2 * i + 1;
+        for (long j = p * p / 2; j < size; j += p) {
+          composite[(int) j] = true;
+        }
+      }
+    }
+    int[] primes = new int[count];
+    for (int i = 1, j = 0; j < count; i++) {
+      if (!composite[i]) {
+        primes[j++] = 2 * i + 1;
+      }
+    }
+    return primes;
+  }
+
+  /**
+   * Returns the product of {@code factors[fromIndex, toIndex)}, splitting the product tree across
+   * {@code pool} if it is not null.
+   */
+  static BigInteger product(
+      long[] factors, int fromIndex, int toIndex, @Nullable ForkJoinPool pool) {
+    if (isSequential(pool) || toIndex - fromIndex < PARALLEL_PRODUCT_THRESHOLD) {
+      return product(factors, fromIndex, toIndex);
+    }
+    return pool.invoke(new ProductTask(factors, fromIndex, toIndex));
+  }
+
+  private static BigInteger product(long[] factors, int fromIndex, int toIndex) {
+    switch (toIndex - fromIndex) {
+      case 0:
+        return BigInteger.ONE;
+      case 1:
+        return BigInteger.valueOf(factors[fromIndex]);
+      case 2:
+        return BigInteger.valueOf(factors[fromIndex])
+            .multiply(BigInteger.valueOf(factors[fromIndex + 1]));
+      default:
+        // Balanced halves keep the operands of each multiplication the same size.
+        int mid = (fromIndex + toIndex) >>> 1;
+        return product(factors, fromIndex, mid).multiply(product(factors, mid, toIndex));
+    }
+  }
+
+  private static boolean isSequential(@Nullable ForkJoinPool pool) {
+    return pool == null || pool.getParallelism() == 1;
+  }
+
+  /**
+   * A list of factors, where consecutive small factors are multiplied together into a single
+   * {@code long} for as long as the product fits.
+   */
+  private static final class Factors {
+    long[] values;
+    int size;
+    private long pending = 1;
+    private int pendingBits;
+
+    Factors(int expectedSize) {
+      values = new long[Math.max(expectedSize, 16)];
+    }
+
+    void add(int factor) {
+      int factorBits = Integer.SIZE - Integer.numberOfLeadingZeros(factor);
+      // pending < 2^pendingBits and factor < 2^factorBits, so their product is below 2^63.
+      if (pendingBits + factorBits >= Long.SIZE) {
+        append(pending);
+        pending = 1;
+      }
+      pending *= factor;
+      pendingBits = Long.SIZE - Long.numberOfLeadingZeros(pending);
+    }
+
+    void finish() {
+      if (pending != 1) {
+        append(pending);
+        pending = 1;
+        pendingBits = 0;
+      }
+    }
+
+    private void append(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+  }
+
+  private static final class ProductTask extends RecursiveTask<BigInteger> {
+    private final long[] factors;
+    private final int fromIndex;
+    private final int toIndex;
+
+    ProductTask(long[] factors, int fromIndex, int toIndex) {
+      this.factors = factors;
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+    }
+
+    @Override protected BigInteger compute() {
+      if (toIndex - fromIndex < PARALLEL_PRODUCT_THRESHOLD) {
+        return product(factors, fromIndex, toIndex);
+      }
+      int mid = (fromIndex + toIndex) >>> 1;
+      ProductTask right = new ProductTask(factors, mid, toIndex);
+      right.fork();
+      BigInteger left = new ProductTask(factors, fromIndex, mid).compute();
+      return left.multiply(right.join());
+    }
+
+    private static final long serialVersionUID = 0;
+  }
+
+  private static final class SwingTask extends RecursiveTask<BigInteger> {
+    private final int m;
+    private final int[] primes;
+
+    SwingTask(int m, int[] primes) {
+      this.m = m;
+      this.primes = primes;
+    }
+
+    @Override protected BigInteger compute() {
+      Factors factors = oddSwingFactors(m, primes);
+      return new ProductTask(factors.values, 0, factors.size).compute();
+    }
+
+    private static final long serialVersionUID = 0;
+  }
+
+  private PrimeProducts() {}
+}
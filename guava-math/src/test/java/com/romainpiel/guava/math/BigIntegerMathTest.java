@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.math;
+
+import junit.framework.TestCase;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Unit tests for {@link BigIntegerMath}.
+ */
+public class BigIntegerMathTest extends TestCase {
+
+  public void testGcd() {
+    assertEquals(BigInteger.ZERO, BigIntegerMath.gcd(BigInteger.ZERO, BigInteger.ZERO));
+    assertEquals(BigInteger.TEN, BigIntegerMath.gcd(BigInteger.ZERO, BigInteger.TEN.negate()));
+    assertEquals(BigInteger.ONE,
+        BigIntegerMath.gcd(BigInteger.ONE, BigInteger.ONE.shiftLeft(1000)));
+    BigInteger mersenne = BigInteger.ONE.shiftLeft(1279).subtract(BigInteger.ONE); // prime
+    assertEquals(mersenne,
+        BigIntegerMath.gcd(mersenne.shiftLeft(3), mersenne.multiply(BigInteger.valueOf(15))));
+  }
+
+  public void testGcd_random() {
+    Random random = new Random(1);
+    for (int trial = 0; trial < 500; trial++) {
+      BigInteger common = new BigInteger(random.nextInt(600), random);
+      BigInteger a = new BigInteger(random.nextInt(2000), random).multiply(common);
+      BigInteger b = new BigInteger(random.nextInt(2000), random).multiply(common);
+      if (random.nextBoolean()) {
+        a = a.negate();
+      }
+      assertEquals(a.gcd(b), BigIntegerMath.gcd(a, b));
+      assertEquals(a.gcd(b), BigIntegerMath.gcd(b, a));
+    }
+  }
+
+  public void testGcd_consecutiveFibonacci() {
+    // The worst case of the Euclidean algorithm: every quotient is 1.
+    BigInteger a = BigInteger.ONE;
+    BigInteger b = BigInteger.ONE;
+    for (int i = 0; i < 3000; i++) {
+      BigInteger next = a.add(b);
+      a = b;
+      b = next;
+    }
+    assertEquals(BigInteger.ONE, BigIntegerMath.gcd(a, b));
+    assertEquals(a, BigIntegerMath.gcd(a.multiply(a), a.multiply(b)));
+  }
+
+  public void testFactorial() {
+    BigInteger expected = BigInteger.ONE;
+    for (int n = 0; n <= BigIntegerMath.PRIME_SWING_THRESHOLD + 500; n++) {
+      if (n > 0) {
+        expected = expected.multiply(BigInteger.valueOf(n));
+      }
+      assertEquals(Integer.toString(n), expected, BigIntegerMath.factorial(n));
+    }
+  }
+
+  public void testFactorial_parallel() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int n : new int[] {0, 1, 20, 21, 999, 1000, 1001, 4096, 30001}) {
+        assertEquals(Integer.toString(n), naiveFactorial(n), BigIntegerMath.factorial(n, pool));
+      }
+    } finally {
+      pool.shutdown();
+    }
+    try {
+      BigIntegerMath.factorial(-1, new ForkJoinPool(1));
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testBinomial_pascal() {
+    BigInteger[] row = {BigInteger.ONE};
+    for (int n = 0; n <= 300; n++) {
+      for (int k = 0; k <= n; k++) {
+        assertEquals(n + " choose " + k, row[k], BigIntegerMath.binomial(n, k));
+      }
+      BigInteger[] next = new BigInteger[n + 2];
+      next[0] = BigInteger.ONE;
+      next[n + 1] = BigInteger.ONE;
+      for (int k = 1; k <= n; k++) {
+        next[k] = row[k - 1].add(row[k]);
+      }
+      row = next;
+    }
+  }
+
+  public void testBinomial_large() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      int[][] cases = {{10000, 5000}, {10000, 199}, {10000, 200}, {30000, 700}, {54321, 12345}};
+      for (int[] c : cases) {
+        int n = c[0];
+        int k = c[1];
+        BigInteger expected = naiveFactorial(n)
+            .divide(naiveFactorial(k).multiply(naiveFactorial(n - k)));
+        assertEquals(n + " choose " + k, expected, BigIntegerMath.binomial(n, k));
+        assertEquals(n + " choose " + k, expected, BigIntegerMath.binomial(n, n - k, pool));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  public void testOddPrimes() {
+    int[] primes = PrimeProducts.oddPrimes(10000);
+    int i = 0;
+    for (int n = 0; n <= 10000; n++) {
+      if (n != 2 && IntMath.isPrime(n)) {
+        assertEquals(n, primes[i++]);
+      }
+    }
+    assertEquals(primes.length, i);
+    assertEquals(0, PrimeProducts.oddPrimes(2).length);
+  }
+
+  private static BigInteger naiveFactorial(int n) {
+    BigInteger result = BigInteger.ONE;
+    for (int i = 2; i <= n; i++) {
+      result = result.multiply(BigInteger.valueOf(i));
+    }
+    return result;
+  }
+}
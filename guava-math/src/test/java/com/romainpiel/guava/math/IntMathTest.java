@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.math;
+
+import junit.framework.TestCase;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link IntMath}.
+ */
+public class IntMathTest extends TestCase {
+  private static final int[] INTERESTING_VALUES = {
+      0, 1, -1, 2, -2, 3, 7, -7, 8, -8, 1 << 15, -(1 << 15), 1 << 16, -(1 << 16), 46340, -46340,
+      46341, -46341, 1 << 30, -(1 << 30), Integer.MAX_VALUE, Integer.MAX_VALUE - 1,
+      Integer.MIN_VALUE, Integer.MIN_VALUE + 1};
+
+  public void testSaturatedAdd() {
+    for (int a : INTERESTING_VALUES) {
+      for (int b : INTERESTING_VALUES) {
+        assertEquals(saturate((long) a + b), IntMath.saturatedAdd(a, b));
+      }
+    }
+  }
+
+  public void testSaturatedSubtract() {
+    for (int a : INTERESTING_VALUES) {
+      for (int b : INTERESTING_VALUES) {
+        assertEquals(saturate((long) a - b), IntMath.saturatedSubtract(a, b));
+      }
+    }
+  }
+
+  public void testSaturatedMultiply() {
+    for (int a : INTERESTING_VALUES) {
+      for (int b : INTERESTING_VALUES) {
+        assertEquals(a + " * " + b, saturate((long) a * b), IntMath.saturatedMultiply(a, b));
+      }
+    }
+  }
+
+  public void testSaturated_random() {
+    Random random = new Random(1);
+    for (int trial = 0; trial < 10000; trial++) {
+      int a = random.nextInt() >> random.nextInt(Integer.SIZE);
+      int b = random.nextInt() >> random.nextInt(Integer.SIZE);
+      assertEquals(saturate((long) a + b), IntMath.saturatedAdd(a, b));
+      assertEquals(saturate((long) a - b), IntMath.saturatedSubtract(a, b));
+      assertEquals(saturate((long) a * b), IntMath.saturatedMultiply(a, b));
+    }
+  }
+
+  public void testSaturatedPow() {
+    for (int b : INTERESTING_VALUES) {
+      for (int k = 0; k < 40; k++) {
+        assertEquals(b + "^" + k, saturate(BigInteger.valueOf(b).pow(k)),
+            IntMath.saturatedPow(b, k));
+      }
+    }
+    for (int b = -50; b <= 50; b++) {
+      for (int k = 0; k < 40; k++) {
+        assertEquals(b + "^" + k, saturate(BigInteger.valueOf(b).pow(k)),
+            IntMath.saturatedPow(b, k));
+      }
+    }
+    try {
+      IntMath.saturatedPow(2, -1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testMulMod() {
+    for (int m : new int[] {1, 2, 3, 46341, 1 << 30, Integer.MAX_VALUE}) {
+      for (int a : INTERESTING_VALUES) {
+        for (int b : INTERESTING_VALUES) {
+          long expected = BigInteger.valueOf(a).multiply(BigInteger.valueOf(b))
+              .mod(BigInteger.valueOf(m)).longValue();
+          assertEquals(expected, IntMath.mulMod(a, b, m));
+        }
+      }
+    }
+    try {
+      IntMath.mulMod(1, 1, 0);
+      fail();
+    } catch (ArithmeticException expected) {
+    }
+  }
+
+  public void testPowMod_random() {
+    Random random = new Random(2);
+    for (int trial = 0; trial < 2000; trial++) {
+      int m = (random.nextInt() & Integer.MAX_VALUE) >>> random.nextInt(Integer.SIZE - 1);
+      if (m == 0) {
+        continue;
+      }
+      int b = random.nextInt();
+      int k = (random.nextInt() & Integer.MAX_VALUE) >>> random.nextInt(Integer.SIZE);
+      long expected = BigInteger.valueOf(b)
+          .modPow(BigInteger.valueOf(k), BigInteger.valueOf(m)).longValue();
+      assertEquals(expected, IntMath.powMod(b, k, m));
+    }
+    try {
+      IntMath.powMod(2, -1, 7);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testIsPrime_sieve() {
+    int limit = 1 << 17;
+    boolean[] composite = new boolean[limit];
+    composite[0] = true;
+    composite[1] = true;
+    for (int i = 2; i * i < limit; i++) {
+      if (!composite[i]) {
+        for (int j = i * i; j < limit; j += i) {
+          composite[j] = true;
+        }
+      }
+    }
+    for (int n = 0; n < limit; n++) {
+      assertEquals(Integer.toString(n), !composite[n], IntMath.isPrime(n));
+    }
+  }
+
+  public void testIsPrime_large() {
+    for (int n = Integer.MAX_VALUE - 10000; n > 0; n++) {
+      assertEquals(Integer.toString(n),
+          BigInteger.valueOf(n).isProbablePrime(100), IntMath.isPrime(n));
+    }
+    // Strong pseudoprimes to bases 2, 3, 5 and 7 respectively, and a Carmichael number.
+    for (int n : new int[] {2047, 1373653, 25326001, 1050535501, 561}) {
+      assertFalse(Integer.toString(n), IntMath.isPrime(n));
+    }
+    try {
+      IntMath.isPrime(-1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testGcdVarargs() {
+    assertEquals(0, IntMath.gcd());
+    assertEquals(0, IntMath.gcd(0, 0, 0));
+    assertEquals(7, IntMath.gcd(0, 7));
+    assertEquals(6, IntMath.gcd(12, 18, 0, 30));
+    assertEquals(1, IntMath.gcd(4, 9, 16));
+    assertEquals(Integer.MAX_VALUE, IntMath.gcd(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    try {
+      // Values after the divisor reaches 1 are still checked.
+      IntMath.gcd(2, 3, -1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testGcdVarargs_random() {
+    Random random = new Random(8);
+    for (int trial = 0; trial < 2000; trial++) {
+      int factor = 1 + random.nextInt(1000);
+      int[] values = new int[random.nextInt(6)];
+      BigInteger expected = BigInteger.ZERO;
+      for (int i = 0; i < values.length; i++) {
+        values[i] = factor * ((random.nextInt() & Integer.MAX_VALUE) / factor);
+        expected = expected.gcd(BigInteger.valueOf(values[i]));
+      }
+      assertEquals(expected.intValue(), IntMath.gcd(values));
+    }
+  }
+
+  public void testLcm() {
+    for (int a : INTERESTING_VALUES) {
+      for (int b : INTERESTING_VALUES) {
+        if (a < 0 || b < 0) {
+          try {
+            IntMath.lcm(a, b);
+            fail();
+          } catch (IllegalArgumentException expected) {
+          }
+          try {
+            IntMath.checkedLcm(a, b);
+            fail();
+          } catch (IllegalArgumentException expected) {
+          }
+          continue;
+        }
+        BigInteger bigA = BigInteger.valueOf(a);
+        BigInteger bigB = BigInteger.valueOf(b);
+        BigInteger expected = (a == 0 || b == 0)
+            ? BigInteger.ZERO
+            : bigA.multiply(bigB).divide(bigA.gcd(bigB));
+        assertEquals(expected.intValue(), IntMath.lcm(a, b));
+        try {
+          assertEquals(expected.intValue(), IntMath.checkedLcm(a, b));
+          assertTrue(expected.bitLength() < Integer.SIZE);
+        } catch (ArithmeticException e) {
+          assertFalse(expected.bitLength() < Integer.SIZE);
+        }
+      }
+    }
+  }
+
+  private static int saturate(long value) {
+    return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+  }
+
+  private static int saturate(BigInteger value) {
+    if (value.bitLength() < Integer.SIZE) {
+      return value.intValue();
+    }
+    return (value.signum() > 0) ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+  }
+}
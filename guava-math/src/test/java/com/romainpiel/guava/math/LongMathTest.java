@@ -0,0 +1,419 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.math;
+
+import junit.framework.TestCase;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link LongMath}.
+ */
+public class LongMathTest extends TestCase {
+  private static final BigInteger MAX_LONG = BigInteger.valueOf(Long.MAX_VALUE);
+  private static final BigInteger MIN_LONG = BigInteger.valueOf(Long.MIN_VALUE);
+
+  private static final long[] INTERESTING_VALUES = {
+      0, 1, -1, 2, -2, 3, 7, -7, 8, -8, 1L << 31, -(1L << 31), (1L << 31) - 1,
+      1L << 32, -(1L << 32), 3037000499L, -3037000499L, 3037000500L, 1L << 62,
+      Long.MAX_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE, Long.MIN_VALUE + 1};
+
+  public void testCheckedSum() {
+    assertEquals(0, LongMath.checkedSum());
+    assertEquals(6, LongMath.checkedSum(1, 2, 3));
+    assertEquals(Long.MAX_VALUE, LongMath.checkedSum(Long.MAX_VALUE, 1, -1));
+    try {
+      LongMath.checkedSum(Long.MAX_VALUE, 1);
+      fail();
+    } catch (ArithmeticException expected) {
+    }
+  }
+
+  public void testSaturatedSum() {
+    assertEquals(0, LongMath.saturatedSum());
+    assertEquals(6, LongMath.saturatedSum(1, 2, 3));
+    assertEquals(Long.MAX_VALUE, LongMath.saturatedSum(Long.MAX_VALUE, 1));
+    assertEquals(Long.MIN_VALUE, LongMath.saturatedSum(Long.MIN_VALUE, -1));
+    // Partial sums are not saturated.
+    assertEquals(Long.MAX_VALUE - 1, LongMath.saturatedSum(Long.MAX_VALUE, 1, -2));
+    assertEquals(-2,
+        LongMath.saturatedSum(Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE));
+    assertEquals(Long.MIN_VALUE,
+        LongMath.saturatedSum(Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE));
+  }
+
+  public void testSaturatedSum_random() {
+    Random random = new Random(1);
+    for (int trial = 0; trial < 1000; trial++) {
+      long[] values = new long[random.nextInt(8)];
+      BigInteger exact = BigInteger.ZERO;
+      for (int i = 0; i < values.length; i++) {
+        values[i] = random.nextBoolean()
+            ? random.nextLong()
+            : INTERESTING_VALUES[random.nextInt(INTERESTING_VALUES.length)];
+        exact = exact.add(BigInteger.valueOf(values[i]));
+      }
+      assertEquals(saturate(exact), LongMath.saturatedSum(values));
+      try {
+        assertEquals(exact.longValue(), LongMath.checkedSum(values));
+        assertTrue(fitsInLong(exact));
+      } catch (ArithmeticException e) {
+        assertFalse(fitsInLong(exact));
+      }
+    }
+  }
+
+  public void testCheckedDot() {
+    assertEquals(0, LongMath.checkedDot(new long[0], new long[0]));
+    assertEquals(1 * 4 + 2 * 5 + 3 * 6,
+        LongMath.checkedDot(new long[] {1, 2, 3}, new long[] {4, 5, 6}));
+    assertEquals(0,
+        LongMath.checkedDot(new long[] {Long.MAX_VALUE, Long.MAX_VALUE}, new long[] {1, -1}));
+    assertEquals(Long.MAX_VALUE - 1, LongMath.checkedDot(
+        new long[] {Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE}, new long[] {1, 1, 1}));
+    try {
+      LongMath.checkedDot(new long[] {1L << 32}, new long[] {1L << 31});
+      fail();
+    } catch (ArithmeticException expected) {
+    }
+    try {
+      LongMath.checkedDot(new long[] {1}, new long[] {1, 2});
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testCheckedDot_random() {
+    Random random = new Random(2);
+    for (int trial = 0; trial < 1000; trial++) {
+      int length = random.nextInt(6);
+      long[] a = new long[length];
+      long[] b = new long[length];
+      BigInteger exact = BigInteger.ZERO;
+      boolean productOverflows = false;
+      for (int i = 0; i < length; i++) {
+        a[i] = random.nextLong() >> random.nextInt(Long.SIZE);
+        b[i] = random.nextLong() >> random.nextInt(Long.SIZE);
+        BigInteger product = BigInteger.valueOf(a[i]).multiply(BigInteger.valueOf(b[i]));
+        productOverflows |= !fitsInLong(product);
+        exact = exact.add(product);
+      }
+      try {
+        assertEquals(exact.longValue(), LongMath.checkedDot(a, b));
+        assertFalse(productOverflows);
+        assertTrue(fitsInLong(exact));
+      } catch (ArithmeticException e) {
+        assertTrue(productOverflows || !fitsInLong(exact));
+      }
+    }
+  }
+
+  public void testDivideArray() {
+    long[] divisors = {1, 2, 3, 4, 7, 8, 1L << 40, -1, -2, -3, -8, Long.MAX_VALUE, Long.MIN_VALUE};
+    long[] values = new long[INTERESTING_VALUES.length + 100];
+    System.arraycopy(INTERESTING_VALUES, 0, values, 0, INTERESTING_VALUES.length);
+    Random random = new Random(3);
+    for (int i = INTERESTING_VALUES.length; i < values.length; i++) {
+      values[i] = random.nextLong() >> random.nextInt(Long.SIZE);
+    }
+    for (long q : divisors) {
+      for (RoundingMode mode : RoundingMode.values()) {
+        if (mode == RoundingMode.UNNECESSARY) {
+          continue;
+        }
+        long[] out = new long[values.length];
+        LongMath.divide(values, q, mode, out);
+        for (int i = 0; i < values.length; i++) {
+          assertEquals(values[i] + " / " + q + " " + mode,
+              LongMath.divide(values[i], q, mode), out[i]);
+        }
+        long[] inPlace = values.clone();
+        LongMath.divide(inPlace, q, mode, inPlace);
+        assertTrue(Arrays.equals(out, inPlace));
+      }
+    }
+  }
+
+  public void testDivideArray_unnecessary() {
+    long[] out = new long[3];
+    LongMath.divide(new long[] {-8, 0, 16}, 8, RoundingMode.UNNECESSARY, out);
+    assertTrue(Arrays.equals(new long[] {-1, 0, 2}, out));
+    LongMath.divide(new long[] {-9, 0, 18}, -3, RoundingMode.UNNECESSARY, out);
+    assertTrue(Arrays.equals(new long[] {3, 0, -6}, out));
+    try {
+      LongMath.divide(new long[] {8, -9}, 8, RoundingMode.UNNECESSARY, out);
+      fail();
+    } catch (ArithmeticException expected) {
+    }
+  }
+
+  public void testDivideArray_illegalArguments() {
+    try {
+      LongMath.divide(new long[] {1}, 0, RoundingMode.DOWN, new long[1]);
+      fail();
+    } catch (ArithmeticException expected) {
+    }
+    try {
+      LongMath.divide(new long[] {1, 2}, 1, RoundingMode.DOWN, new long[1]);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      LongMath.divide(new long[] {1}, 1, null, new long[1]);
+      fail();
+    } catch (NullPointerException expected) {
+    }
+  }
+
+  public void testSaturatedAdd() {
+    for (long a : INTERESTING_VALUES) {
+      for (long b : INTERESTING_VALUES) {
+        assertEquals(saturate(BigInteger.valueOf(a).add(BigInteger.valueOf(b))),
+            LongMath.saturatedAdd(a, b));
+      }
+    }
+  }
+
+  public void testSaturatedSubtract() {
+    for (long a : INTERESTING_VALUES) {
+      for (long b : INTERESTING_VALUES) {
+        assertEquals(saturate(BigInteger.valueOf(a).subtract(BigInteger.valueOf(b))),
+            LongMath.saturatedSubtract(a, b));
+      }
+    }
+  }
+
+  public void testSaturatedMultiply() {
+    for (long a : INTERESTING_VALUES) {
+      for (long b : INTERESTING_VALUES) {
+        assertEquals(a + " * " + b,
+            saturate(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b))),
+            LongMath.saturatedMultiply(a, b));
+      }
+    }
+  }
+
+  public void testSaturated_random() {
+    Random random = new Random(4);
+    for (int trial = 0; trial < 10000; trial++) {
+      long a = random.nextLong() >> random.nextInt(Long.SIZE);
+      long b = random.nextLong() >> random.nextInt(Long.SIZE);
+      BigInteger bigA = BigInteger.valueOf(a);
+      BigInteger bigB = BigInteger.valueOf(b);
+      assertEquals(saturate(bigA.add(bigB)), LongMath.saturatedAdd(a, b));
+      assertEquals(saturate(bigA.subtract(bigB)), LongMath.saturatedSubtract(a, b));
+      assertEquals(saturate(bigA.multiply(bigB)), LongMath.saturatedMultiply(a, b));
+    }
+  }
+
+  public void testSaturatedPow() {
+    for (long b : INTERESTING_VALUES) {
+      for (int k = 0; k < 70; k++) {
+        assertEquals(b + "^" + k, saturate(BigInteger.valueOf(b).pow(k)),
+            LongMath.saturatedPow(b, k));
+      }
+    }
+    for (long b = -50; b <= 50; b++) {
+      for (int k = 0; k < 70; k++) {
+        assertEquals(b + "^" + k, saturate(BigInteger.valueOf(b).pow(k)),
+            LongMath.saturatedPow(b, k));
+      }
+    }
+    try {
+      LongMath.saturatedPow(2, -1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testMulMod() {
+    long[] moduli = {1, 2, 3, 7, 1L << 20, 3037000499L, 3037000500L, 1L << 40, (1L << 40) + 1,
+        (1L << 62) - 57, 3L << 60, 1L << 62, Long.MAX_VALUE, Long.MAX_VALUE - 1};
+    for (long m : moduli) {
+      BigInteger bigM = BigInteger.valueOf(m);
+      for (long a : INTERESTING_VALUES) {
+        for (long b : INTERESTING_VALUES) {
+          long expected =
+              BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(bigM).longValue();
+          assertEquals(a + " * " + b + " mod " + m, expected, LongMath.mulMod(a, b, m));
+        }
+      }
+    }
+  }
+
+  public void testMulMod_random() {
+    Random random = new Random(5);
+    for (int trial = 0; trial < 10000; trial++) {
+      long m = (random.nextLong() & Long.MAX_VALUE) >>> random.nextInt(Long.SIZE - 1);
+      if (m == 0) {
+        continue;
+      }
+      long a = random.nextLong();
+      long b = random.nextLong();
+      long expected = BigInteger.valueOf(a).multiply(BigInteger.valueOf(b))
+          .mod(BigInteger.valueOf(m)).longValue();
+      assertEquals(a + " * " + b + " mod " + m, expected, LongMath.mulMod(a, b, m));
+    }
+  }
+
+  public void testPowMod_random() {
+    Random random = new Random(6);
+    for (int trial = 0; trial < 2000; trial++) {
+      long m = (random.nextLong() & Long.MAX_VALUE) >>> random.nextInt(Long.SIZE - 1);
+      if (m == 0) {
+        continue;
+      }
+      long b = random.nextLong();
+      long k = (random.nextLong() & Long.MAX_VALUE) >>> random.nextInt(Long.SIZE);
+      long expected = BigInteger.valueOf(b)
+          .modPow(BigInteger.valueOf(k), BigInteger.valueOf(m)).longValue();
+      assertEquals(b + "^" + k + " mod " + m, expected, LongMath.powMod(b, k, m));
+    }
+  }
+
+  public void testModularArithmetic_illegalArguments() {
+    try {
+      LongMath.mulMod(1, 1, 0);
+      fail();
+    } catch (ArithmeticException expected) {
+    }
+    try {
+      LongMath.powMod(1, 1, -1);
+      fail();
+    } catch (ArithmeticException expected) {
+    }
+    try {
+      LongMath.powMod(2, -1, 7);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testIsPrime() {
+    assertFalse(LongMath.isPrime(0));
+    assertFalse(LongMath.isPrime(1));
+    assertTrue(LongMath.isPrime(2));
+    assertTrue(LongMath.isPrime(Integer.MAX_VALUE));
+    assertTrue(LongMath.isPrime(4294967291L));
+    assertTrue(LongMath.isPrime(9223372036854775783L));
+    assertFalse(LongMath.isPrime(Long.MAX_VALUE));
+    // Strong pseudoprimes to several small prime bases.
+    long[] pseudoprimes = {3215031751L, 2152302898747L, 3474749660383L, 341550071728321L,
+        3825123056546413051L, 318665857834031151L, 7999252175582851L, 585226005592931977L};
+    for (long n : pseudoprimes) {
+      assertFalse(Long.toString(n), LongMath.isPrime(n));
+    }
+    try {
+      LongMath.isPrime(-1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testIsPrime_random() {
+    Random random = new Random(7);
+    for (int trial = 0; trial < 5000; trial++) {
+      long n = (random.nextLong() & Long.MAX_VALUE) >>> random.nextInt(Long.SIZE - 1);
+      assertEquals(Long.toString(n),
+          BigInteger.valueOf(n).isProbablePrime(100), LongMath.isPrime(n));
+    }
+    // Products of two primes are the hardest composites for trial division to catch.
+    for (int trial = 0; trial < 1000; trial++) {
+      long p = BigInteger.probablePrime(31, random).longValue();
+      long q = BigInteger.probablePrime(32, random).longValue();
+      assertFalse(p + " * " + q, LongMath.isPrime(p * q));
+    }
+  }
+
+  public void testGcdVarargs() {
+    assertEquals(0, LongMath.gcd());
+    assertEquals(0, LongMath.gcd(0, 0, 0));
+    assertEquals(7, LongMath.gcd(0, 7));
+    assertEquals(6, LongMath.gcd(12, 18, 0, 30));
+    assertEquals(1, LongMath.gcd(4, 9, 16));
+    assertEquals(Long.MAX_VALUE, LongMath.gcd(Long.MAX_VALUE, Long.MAX_VALUE));
+    try {
+      // Values after the divisor reaches 1 are still checked.
+      LongMath.gcd(2, 3, -1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testGcdVarargs_random() {
+    Random random = new Random(8);
+    for (int trial = 0; trial < 2000; trial++) {
+      long factor = 1 + random.nextInt(1000);
+      long[] values = new long[random.nextInt(6)];
+      BigInteger expected = BigInteger.ZERO;
+      for (int i = 0; i < values.length; i++) {
+        values[i] = factor * ((random.nextLong() & Long.MAX_VALUE) / factor);
+        expected = expected.gcd(BigInteger.valueOf(values[i]));
+      }
+      assertEquals(expected.longValue(), LongMath.gcd(values));
+    }
+  }
+
+  public void testLcm() {
+    for (long a : INTERESTING_VALUES) {
+      for (long b : INTERESTING_VALUES) {
+        if (a < 0 || b < 0) {
+          try {
+            LongMath.lcm(a, b);
+            fail();
+          } catch (IllegalArgumentException expected) {
+          }
+          try {
+            LongMath.checkedLcm(a, b);
+            fail();
+          } catch (IllegalArgumentException expected) {
+          }
+          continue;
+        }
+        BigInteger bigA = BigInteger.valueOf(a);
+        BigInteger bigB = BigInteger.valueOf(b);
+        BigInteger expected = (a == 0 || b == 0)
+            ? BigInteger.ZERO
+            : bigA.multiply(bigB).divide(bigA.gcd(bigB));
+        assertEquals(expected.longValue(), LongMath.lcm(a, b));
+        try {
+          assertEquals(expected.longValue(), LongMath.checkedLcm(a, b));
+          assertTrue(expected.bitLength() < Long.SIZE);
+        } catch (ArithmeticException e) {
+          assertFalse(expected.bitLength() < Long.SIZE);
+        }
+      }
+    }
+  }
+
+  private static boolean fitsInLong(BigInteger value) {
+    return value.bitLength() < Long.SIZE;
+  }
+
+  private static long saturate(BigInteger value) {
+    if (value.compareTo(MAX_LONG) > 0) {
+      return Long.MAX_VALUE;
+    }
+    if (value.compareTo(MIN_LONG) < 0) {
+      return Long.MIN_VALUE;
+    }
+    return value.longValue();
+  }
+}
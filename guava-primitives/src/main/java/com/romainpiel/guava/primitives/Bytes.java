@@ -17,6 +17,8 @@
 package com.romainpiel.guava.primitives;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -69,12 +71,7 @@ public final class Bytes {
    *     i}
    */
   public static boolean contains(byte[] array, byte target) {
-    for (byte value : array) {
-      if (value == target) {
-        return true;
-      }
-    }
-    return false;
+    return indexOf(array, target, 0, array.length) != -1;
   }
 
   /**
@@ -93,7 +90,20 @@ public final class Bytes {
   // TODO(kevinb): consider making this public
   private static int indexOf(
       byte[] array, byte target, int start, int end) {
-    for (int i = start; i < end; i++) {
+    int i = start;
+    if (end - start >= WORD_SEARCH_THRESHOLD) {
+      // The little-endian view puts array[i] in the lowest byte of the word,
+      // so the trailing zero count of the match mask finds the first hit.
+      ByteBuffer words = ByteBuffer.wrap(array).order(ByteOrder.LITTLE_ENDIAN);
+      long pattern = broadcast(target);
+      for (; i <= end - Longs.BYTES; i += Longs.BYTES) {
+        long matches = zeroBytes(words.getLong(i) ^ pattern);
+        if (matches != 0) {
+          return i + (Long.numberOfTrailingZeros(matches) >>> 3);
+        }
+      }
+    }
+    for (; i < end; i++) {
       if (array[i] == target) {
         return i;
       }
@@ -118,19 +128,100 @@ public final class Bytes {
     if (target.length == 0) {
       return 0;
     }
+    int lastStart = array.length - target.length;
+    if (target.length >= SKIP_SEARCH_MIN_TARGET
+        && lastStart >= SKIP_SEARCH_MIN_ARRAY) {
+      return horspoolIndexOf(array, target, lastStart);
+    }
 
-    outer:
-    for (int i = 0; i < array.length - target.length + 1; i++) {
-      for (int j = 0; j < target.length; j++) {
-        if (array[i + j] != target[j]) {
-          continue outer;
-        }
+    // Let the word-at-a-time scan find candidates for the first byte.
+    byte first = target[0];
+    for (int i = 0; i <= lastStart; i++) {
+      i = indexOf(array, first, i, lastStart + 1);
+      if (i == -1) {
+        return -1;
+      }
+      if (regionMatches(array, i + 1, target, 1, target.length - 1)) {
+        return i;
       }
-      return i;
     }
     return -1;
   }
 
+  /**
+   * Targets at least this long, in arrays with at least this many candidate
+   * positions, are searched with the Boyer-Moore-Horspool skip table, which
+   * usually advances by close to a whole target length per comparison.
+   */
+  private static final int SKIP_SEARCH_MIN_TARGET = 8;
+  private static final int SKIP_SEARCH_MIN_ARRAY = 256;
+
+  private static int horspoolIndexOf(byte[] array, byte[] target, int lastStart) {
+    int last = target.length - 1;
+    int[] skip = new int[256];
+    Arrays.fill(skip, target.length);
+    for (int j = 0; j < last; j++) {
+      skip[target[j] & 0xFF] = last - j;
+    }
+    byte lastByte = target[last];
+    for (int i = 0; i <= lastStart; i += skip[array[i + last] & 0xFF]) {
+      if (array[i + last] == lastByte
+          && regionMatches(array, i, target, 0, last)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean regionMatches(
+      byte[] array, int offset, byte[] target, int targetOffset, int length) {
+    for (int j = 0; j < length; j++) {
+      if (array[offset + j] != target[targetOffset + j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the index of the first position at which {@code a} and {@code b}
+   * differ, or {@code -1} if they have the same length and elements. When one
+   * array is a proper prefix of the other, the result is the length of the
+   * shorter one. This matches {@code java.util.Arrays.mismatch} from Java 9.
+   *
+   * <p>Common prefixes of 16 bytes or more are compared eight bytes at a time,
+   * which makes this the building block for fast equality checks and
+   * lexicographical comparisons of long keys.
+   *
+   * @param a the first array, possibly empty
+   * @param b the second array, possibly empty
+   */
+  public static int mismatch(byte[] a, byte[] b) {
+    checkNotNull(a, "a");
+    checkNotNull(b, "b");
+    if (a == b) {
+      return -1;
+    }
+    int length = Math.min(a.length, b.length);
+    int i = 0;
+    if (length >= WORD_SEARCH_THRESHOLD) {
+      ByteBuffer aWords = ByteBuffer.wrap(a).order(ByteOrder.LITTLE_ENDIAN);
+      ByteBuffer bWords = ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN);
+      for (; i <= length - Longs.BYTES; i += Longs.BYTES) {
+        long difference = aWords.getLong(i) ^ bWords.getLong(i);
+        if (difference != 0) {
+          return i + (Long.numberOfTrailingZeros(difference) >>> 3);
+        }
+      }
+    }
+    for (; i < length; i++) {
+      if (a[i] != b[i]) {
+        return i;
+      }
+    }
+    return a.length == b.length ? -1 : length;
+  }
+
   /**
    * Returns the index of the last appearance of the value {@code target} in
    * {@code array}.
@@ -147,7 +238,18 @@ public final class Bytes {
   // TODO(kevinb): consider making this public
   private static int lastIndexOf(
       byte[] array, byte target, int start, int end) {
-    for (int i = end - 1; i >= start; i--) {
+    int i = end;
+    if (end - start >= WORD_SEARCH_THRESHOLD) {
+      ByteBuffer words = ByteBuffer.wrap(array).order(ByteOrder.LITTLE_ENDIAN);
+      long pattern = broadcast(target);
+      for (; i - Longs.BYTES >= start; i -= Longs.BYTES) {
+        long matches = zeroBytes(words.getLong(i - Longs.BYTES) ^ pattern);
+        if (matches != 0) {
+          return i - 1 - (Long.numberOfLeadingZeros(matches) >>> 3);
+        }
+      }
+    }
+    for (i--; i >= start; i--) {
       if (array[i] == target) {
         return i;
       }
@@ -155,6 +257,30 @@ public final class Bytes {
     return -1;
   }
 
+  /**
+   * Ranges at least this long are scanned eight bytes at a time; shorter ones
+   * are not worth the setup.
+   */
+  private static final int WORD_SEARCH_THRESHOLD = 16;
+
+  private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+  /** Returns a word with every byte equal to {@code value}. */
+  private static long broadcast(byte value) {
+    return (value & 0xFFL) * 0x0101010101010101L;
+  }
+
+  /**
+   * Returns a word whose bytes are {@code 0x80} where the corresponding byte of
+   * {@code word} is zero, and {@code 0x00} elsewhere. Unlike the shorter
+   * {@code (x - 0x01..) & ~x & 0x80..} form, carries never leak between bytes,
+   * so the result is exact in both directions.
+   */
+  private static long zeroBytes(long word) {
+    long lowBitsSet = (word & LOW_SEVEN_BITS) + LOW_SEVEN_BITS;
+    return ~(lowBitsSet | word | LOW_SEVEN_BITS);
+  }
+
   /**
    * Returns the values from each provided array combined into a single array.
    * For example, {@code concat(new byte[] {a, b}, new byte[] {}, new
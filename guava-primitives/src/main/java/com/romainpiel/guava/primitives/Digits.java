@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import static com.romainpiel.guava.base.Preconditions.checkArgument;
+import static com.romainpiel.guava.base.Preconditions.checkNotNull;
+import static com.romainpiel.guava.base.Preconditions.checkPositionIndex;
+
+import java.io.IOException;
+
+/**
+ * Allocation-free formatting of integral values, shared by {@link Ints}, {@link Longs}, {@link
+ * UnsignedInts} and {@link UnsignedLongs}.
+ *
+ * <p>Decimal digits are produced two at a time from a table of the hundred digit pairs, which
+ * halves the number of divisions. Digits in a power-of-two radix are extracted with shifts. Values
+ * are written backwards from the end of their exact length into a {@code char[]}, and forwards,
+ * most significant digit first, into an {@link Appendable}, so that neither needs a scratch
+ * buffer.
+ */
+final class Digits {
+  private Digits() {}
+
+  private static final char[] DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+  /** The two decimal digits of {@code i} are at {@code 2 * i} and {@code 2 * i + 1}. */
+  private static final char[] DIGIT_PAIRS = new char[200];
+
+  static {
+    for (int i = 0; i < 100; i++) {
+      DIGIT_PAIRS[i << 1] = DIGITS[i / 10];
+      DIGIT_PAIRS[(i << 1) + 1] = DIGITS[i % 10];
+    }
+  }
+
+  /** {@code 10^i} for {@code i} from 0 to 18, the largest power of ten that fits a long. */
+  static final long[] POWERS_OF_10 = new long[19];
+
+  static {
+    POWERS_OF_10[0] = 1;
+    for (int i = 1; i < POWERS_OF_10.length; i++) {
+      POWERS_OF_10[i] = POWERS_OF_10[i - 1] * 10;
+    }
+  }
+
+  /** 10^19 - 2^64, the bit pattern of 10^19 as an unsigned long. */
+  private static final long UNSIGNED_10_TO_19 = -8446744073709551616L;
+
+  static void checkRadix(int radix) {
+    checkArgument(radix >= Character.MIN_RADIX && radix <= Character.MAX_RADIX,
+        "radix (%s) must be between Character.MIN_RADIX and Character.MAX_RADIX", radix);
+  }
+
+  /** Returns the number of characters of {@code value} in {@code radix}, with its sign. */
+  static int signedLength(long value, int radix) {
+    // -Long.MIN_VALUE overflows back to itself, which is 2^63 as an unsigned long.
+    return value < 0 ? 1 + unsignedLength(-value, radix) : unsignedLength(value, radix);
+  }
+
+  /** Returns the number of characters of {@code value}, treated as unsigned, in {@code radix}. */
+  static int unsignedLength(long value, int radix) {
+    if (radix == 10) {
+      if (value < 0) {
+        return UnsignedLongs.compare(value, UNSIGNED_10_TO_19) < 0 ? 19 : 20;
+      }
+      int length = 1;
+      while (length < POWERS_OF_10.length && value >= POWERS_OF_10[length]) {
+        length++;
+      }
+      return length;
+    }
+    if ((radix & (radix - 1)) == 0) {
+      int shift = Integer.numberOfTrailingZeros(radix);
+      int bits = Long.SIZE - Long.numberOfLeadingZeros(value);
+      return Math.max((bits + shift - 1) / shift, 1);
+    }
+    int length = 1;
+    if (value < 0) {
+      value = UnsignedLongs.divide(value, radix);
+      length++;
+    }
+    while (value >= radix) {
+      value /= radix;
+      length++;
+    }
+    return length;
+  }
+
+  /**
+   * Writes {@code value} in {@code radix}, with a leading {@code '-'} if it is negative, into
+   * {@code dst} starting at {@code offset}, and returns the index after the last character.
+   */
+  static int writeSigned(long value, int radix, char[] dst, int offset) {
+    checkRadix(radix);
+    int end = checkRoom(dst, offset, signedLength(value, radix));
+    if (value < 0) {
+      dst[offset] = '-';
+      fillUnsigned(-value, radix, dst, end);
+    } else {
+      fillUnsigned(value, radix, dst, end);
+    }
+    return end;
+  }
+
+  /**
+   * Writes {@code value}, treated as unsigned, in {@code radix} into {@code dst} starting at
+   * {@code offset}, and returns the index after the last character.
+   */
+  static int writeUnsigned(long value, int radix, char[] dst, int offset) {
+    checkRadix(radix);
+    int end = checkRoom(dst, offset, unsignedLength(value, radix));
+    fillUnsigned(value, radix, dst, end);
+    return end;
+  }
+
+  static int checkRoom(char[] dst, int offset, int length) {
+    checkPositionIndex(offset, dst.length);
+    if (length > dst.length - offset) {
+      throw new IndexOutOfBoundsException(
+          "cannot write " + length + " characters at " + offset + " in an array of " + dst.length);
+    }
+    return offset + length;
+  }
+
+  /** Writes the digits of unsigned {@code value} backwards, ending just before {@code end}. */
+  static void fillUnsigned(long value, int radix, char[] dst, int end) {
+    int pos = end;
+    if (radix == 10) {
+      if (value < 0) {
+        // Separate off the last digit with an unsigned division by 10, leaving a value that is
+        // nonnegative as a signed long.
+        long quotient = (value >>> 1) / 5;
+        dst[--pos] = DIGITS[(int) (value - quotient * 10)];
+        value = quotient;
+      }
+      while (value >= 100) {
+        long quotient = value / 100;
+        int pair = (int) (value - quotient * 100) << 1;
+        dst[--pos] = DIGIT_PAIRS[pair + 1];
+        dst[--pos] = DIGIT_PAIRS[pair];
+        value = quotient;
+      }
+      int pair = (int) value << 1;
+      dst[--pos] = DIGIT_PAIRS[pair + 1];
+      if (value >= 10) {
+        dst[--pos] = DIGIT_PAIRS[pair];
+      }
+    } else if ((radix & (radix - 1)) == 0) {
+      int shift = Integer.numberOfTrailingZeros(radix);
+      int mask = radix - 1;
+      do {
+        dst[--pos] = DIGITS[(int) value & mask];
+        value >>>= shift;
+      } while (value != 0);
+    } else {
+      if (value < 0) {
+        long quotient = UnsignedLongs.divide(value, radix);
+        dst[--pos] = DIGITS[(int) (value - quotient * radix)];
+        value = quotient;
+      }
+      do {
+        dst[--pos] = DIGITS[(int) (value % radix)];
+        value /= radix;
+      } while (value != 0);
+    }
+  }
+
+  /** Appends {@code value} in {@code radix}, with a leading {@code '-'} if it is negative. */
+  static void appendSigned(Appendable appendable, long value, int radix) throws IOException {
+    checkNotNull(appendable);
+    checkRadix(radix);
+    if (radix == 10 && appendable instanceof StringBuilder) {
+      ((StringBuilder) appendable).append(value);
+      return;
+    }
+    if (value < 0) {
+      appendable.append('-');
+      value = -value;
+    }
+    appendUnsignedDigits(appendable, value, radix);
+  }
+
+  /** Appends {@code value}, treated as unsigned, in {@code radix}. */
+  static void appendUnsigned(Appendable appendable, long value, int radix) throws IOException {
+    checkNotNull(appendable);
+    checkRadix(radix);
+    appendUnsignedDigits(appendable, value, radix);
+  }
+
+  /**
+   * Appends {@code value} to {@code builder}, treated as unsigned, in decimal. Identical to {@link
+   * #appendUnsigned}, except that it does not throw {@link IOException}.
+   */
+  static StringBuilder appendUnsigned(StringBuilder builder, long value) {
+    if (value >= 0) {
+      return builder.append(value);
+    }
+    long quotient = (value >>> 1) / 5;
+    return builder.append(quotient).append(DIGITS[(int) (value - quotient * 10)]);
+  }
+
+  private static void appendUnsignedDigits(Appendable appendable, long value, int radix)
+      throws IOException {
+    if ((radix & (radix - 1)) == 0) {
+      int shift = Integer.numberOfTrailingZeros(radix);
+      int mask = radix - 1;
+      for (int s = (unsignedLength(value, radix) - 1) * shift; s >= 0; s -= shift) {
+        appendable.append(DIGITS[(int) (value >>> s) & mask]);
+      }
+      return;
+    }
+    if (value < 0) {
+      // Print all but the last digit as a nonnegative signed long, then the last digit.
+      long quotient = (radix == 10) ? (value >>> 1) / 5 : UnsignedLongs.divide(value, radix);
+      appendNonNegative(appendable, quotient, radix);
+      appendable.append(DIGITS[(int) (value - quotient * radix)]);
+    } else {
+      appendNonNegative(appendable, value, radix);
+    }
+  }
+
+  /** Appends {@code value >= 0} most significant digit first. */
+  private static void appendNonNegative(Appendable appendable, long value, int radix)
+      throws IOException {
+    if (radix == 10) {
+      if (appendable instanceof StringBuilder) {
+        ((StringBuilder) appendable).append(value);
+        return;
+      }
+      // Emit a leading single digit if the length is odd, then pairs, dividing by powers of 100.
+      int exponent = unsignedLength(value, 10) - 1;
+      if ((exponent & 1) == 0) {
+        long power = POWERS_OF_10[exponent];
+        int digit = (int) (value / power);
+        appendable.append(DIGITS[digit]);
+        value -= digit * power;
+        exponent--;
+      }
+      for (; exponent > 0; exponent -= 2) {
+        long power = POWERS_OF_10[exponent - 1];
+        int pair = (int) (value / power);
+        value -= pair * power;
+        appendable.append(DIGIT_PAIRS[pair << 1]).append(DIGIT_PAIRS[(pair << 1) + 1]);
+      }
+      return;
+    }
+    long power = 1;
+    while (power <= value / radix) {
+      power *= radix;
+    }
+    do {
+      int digit = (int) (value / power);
+      appendable.append(DIGITS[digit]);
+      value -= digit * power;
+      power /= radix;
+    } while (power > 0);
+  }
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import static com.romainpiel.guava.base.Preconditions.checkArgument;
+import static com.romainpiel.guava.base.Preconditions.checkElementIndex;
+import static com.romainpiel.guava.base.Preconditions.checkNotNull;
+import static com.romainpiel.guava.base.Preconditions.checkPositionIndex;
+import static com.romainpiel.guava.base.Preconditions.checkPositionIndexes;
+
+import android.support.annotation.Nullable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A resizable sequence of {@code double} values, the primitive counterpart of {@code
+ * ArrayList<Double>}. Values are stored in a single {@code double[]} that grows by half its size
+ * when full, so appending is amortized constant time and no {@link Double} is ever allocated.
+ *
+ * <p>The backing array can be handed to the static helpers of {@link Doubles} through {@link
+ * #toArray}, and the list can be viewed as a {@code List<Double>} through {@link #asList} when
+ * collection-based utilities are needed (at the cost of boxing on access).
+ *
+ * <p>Instances are not thread-safe.
+ */
+public final class DoubleArrayList {
+  private static final int DEFAULT_CAPACITY = 10;
+
+  /** Creates a new, empty list with a default initial capacity. */
+  public static DoubleArrayList create() {
+    return new DoubleArrayList(new double[DEFAULT_CAPACITY], 0);
+  }
+
+  /**
+   * Creates a new, empty list that can hold {@code initialCapacity} values before it needs to
+   * grow.
+   *
+   * @throws IllegalArgumentException if {@code initialCapacity} is negative
+   */
+  public static DoubleArrayList create(int initialCapacity) {
+    checkArgument(initialCapacity >= 0, "Invalid initialCapacity: %s", initialCapacity);
+    return new DoubleArrayList(new double[initialCapacity], 0);
+  }
+
+  /** Creates a new list containing a copy of {@code values}, in order. */
+  public static DoubleArrayList copyOf(double[] values) {
+    return new DoubleArrayList(Arrays.copyOf(values, values.length), values.length);
+  }
+
+  /**
+   * Creates a new list containing {@code values}, in order.
+   *
+   * @throws NullPointerException if {@code values} or any of its elements is null
+   */
+  public static DoubleArrayList copyOf(Collection<? extends Number> values) {
+    double[] array = Doubles.toArray(values);
+    return new DoubleArrayList(array, array.length);
+  }
+
+  private double[] array;
+  private int size;
+
+  private DoubleArrayList(double[] array, int size) {
+    this.array = array;
+    this.size = size;
+  }
+
+  /** Returns the number of values in this list. */
+  public int size() {
+    return size;
+  }
+
+  /** Returns {@code true} if this list contains no values. */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the value at {@code index}.
+   *
+   * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size}
+   */
+  public double get(int index) {
+    checkElementIndex(index, size);
+    return array[index];
+  }
+
+  /**
+   * Replaces the value at {@code index} with {@code value}.
+   *
+   * @return the value previously at {@code index}
+   * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size}
+   */
+  public double set(int index, double value) {
+    checkElementIndex(index, size);
+    double oldValue = array[index];
+    array[index] = value;
+    return oldValue;
+  }
+
+  /** Appends {@code value} to the end of this list. */
+  public void add(double value) {
+    if (size == array.length) {
+      grow(size + 1);
+    }
+    array[size++] = value;
+  }
+
+  /**
+   * Inserts {@code value} at {@code index}, shifting the value currently at that position and any
+   * subsequent values to the right.
+   *
+   * @throws IndexOutOfBoundsException if {@code index} is negative or greater than {@link #size}
+   */
+  public void add(int index, double value) {
+    checkPositionIndex(index, size);
+    if (size == array.length) {
+      grow(size + 1);
+    }
+    System.arraycopy(array, index, array, index + 1, size - index);
+    array[index] = value;
+    size++;
+  }
+
+  /** Appends all of {@code values}, in order, to the end of this list. */
+  public void addAll(double[] values) {
+    addAll(values, 0, values.length);
+  }
+
+  /**
+   * Appends {@code length} values of {@code values}, starting at {@code offset}, to the end of this
+   * list.
+   *
+   * @throws IndexOutOfBoundsException if the range is not within the bounds of {@code values}
+   */
+  public void addAll(double[] values, int offset, int length) {
+    checkPositionIndexes(offset, offset + length, values.length);
+    ensureCapacity(size + length);
+    System.arraycopy(values, offset, array, size, length);
+    size += length;
+  }
+
+  /** Appends all values of {@code values}, in order, to the end of this list. */
+  public void addAll(DoubleArrayList values) {
+    addAll(values.array, 0, values.size);
+  }
+
+  /**
+   * Appends all of {@code values}, in order, to the end of this list.
+   *
+   * @throws NullPointerException if {@code values} or any of its elements is null
+   */
+  public void addAll(Collection<? extends Number> values) {
+    ensureCapacity(size + values.size());
+    for (Number value : values) {
+      add(checkNotNull(value).doubleValue());
+    }
+  }
+
+  /**
+   * Removes the value at {@code index}, shifting any subsequent values to the left.
+   *
+   * @return the removed value
+   * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size}
+   */
+  public double removeAt(int index) {
+    checkElementIndex(index, size);
+    double oldValue = array[index];
+    System.arraycopy(array, index + 1, array, index, size - index - 1);
+    size--;
+    return oldValue;
+  }
+
+  /**
+   * Removes the values from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive, shifting
+   * any subsequent values to the left.
+   *
+   * @throws IndexOutOfBoundsException if {@code fromIndex > toIndex} or if either index is outside
+   *     {@code [0, size()]}
+   */
+  public void removeRange(int fromIndex, int toIndex) {
+    checkPositionIndexes(fromIndex, toIndex, size);
+    System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+    size -= toIndex - fromIndex;
+  }
+
+  /** Removes all values from this list. The capacity is kept; see {@link #trimToSize}. */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Returns {@code true} if {@code target} is present in this list. As with {@link
+   * Doubles#contains}, this always returns {@code false} when {@code target} is {@code NaN}.
+   */
+  public boolean contains(double target) {
+    return Doubles.indexOf(array, target, 0, size) != -1;
+  }
+
+  /**
+   * Returns the index of the first appearance of {@code target}, or {@code -1} if absent. Values
+   * are compared with {@code ==}, as in {@link Doubles#indexOf(double[], double)}.
+   */
+  public int indexOf(double target) {
+    return Doubles.indexOf(array, target, 0, size);
+  }
+
+  /**
+   * Returns the index of the last appearance of {@code target}, or {@code -1} if absent. Values
+   * are compared with {@code ==}, as in {@link Doubles#lastIndexOf(double[], double)}.
+   */
+  public int lastIndexOf(double target) {
+    return Doubles.lastIndexOf(array, target, 0, size);
+  }
+
+  /**
+   * Sorts the values of this list into ascending order, using the total order of {@link
+   * Arrays#sort(double[])}: {@code -0.0} sorts before {@code 0.0} and {@code NaN} sorts last.
+   */
+  public void sort() {
+    Arrays.sort(array, 0, size);
+  }
+
+  /**
+   * Searches this list for {@code key} using the binary search algorithm. The list must be sorted
+   * in ascending order (as by {@link #sort}), otherwise the result is undefined.
+   *
+   * @return the index of {@code key} if present; otherwise {@code (-(insertion point) - 1)}, as
+   *     specified by {@link Arrays#binarySearch(double[], double)}
+   */
+  public int binarySearch(double key) {
+    return Arrays.binarySearch(array, 0, size, key);
+  }
+
+  /**
+   * Ensures that this list can hold at least {@code minCapacity} values without growing its
+   * backing array.
+   */
+  public void ensureCapacity(int minCapacity) {
+    if (minCapacity > array.length) {
+      grow(minCapacity);
+    }
+  }
+
+  /** Shrinks the backing array of this list to exactly {@link #size} values. */
+  public void trimToSize() {
+    if (size < array.length) {
+      array = Arrays.copyOf(array, size);
+    }
+  }
+
+  private void grow(int minCapacity) {
+    if (minCapacity < 0) {
+      throw new OutOfMemoryError("cannot store more than Integer.MAX_VALUE values");
+    }
+    // Grow by half again, like ArrayList, without overflowing past Integer.MAX_VALUE.
+    int padding = Math.max(array.length >> 1, 1);
+    padding = (int) Math.min(padding, (long) Integer.MAX_VALUE - minCapacity);
+    array = Doubles.ensureCapacity(array, minCapacity, padding);
+  }
+
+  /** Returns a new array containing the values of this list, in order. */
+  public double[] toArray() {
+    return Arrays.copyOf(array, size);
+  }
+
+  /** Returns an immutable snapshot of the values of this list. */
+  public ImmutableDoubleArray toImmutableArray() {
+    return ImmutableDoubleArray.copyOfRange(array, 0, size);
+  }
+
+  /**
+   * Returns a {@code List<Double>} view of this list. The view supports {@code set}, {@code add}
+   * and {@code remove}, and writes through to this list; any attempt to store a {@code null}
+   * results in a {@link NullPointerException}. Values are boxed on each access, so the view is
+   * meant for interoperability rather than hot loops.
+   */
+  public List<Double> asList() {
+    return new AsList(this);
+  }
+
+  private static final class AsList extends AbstractList<Double> implements RandomAccess {
+    private final DoubleArrayList parent;
+
+    AsList(DoubleArrayList parent) {
+      this.parent = parent;
+    }
+
+    @Override public int size() {
+      return parent.size;
+    }
+
+    @Override public Double get(int index) {
+      return parent.get(index);
+    }
+
+    @Override public Double set(int index, Double element) {
+      return parent.set(index, checkNotNull(element));
+    }
+
+    @Override public void add(int index, Double element) {
+      parent.add(index, checkNotNull(element));
+      modCount++;
+    }
+
+    @Override public Double remove(int index) {
+      modCount++;
+      return parent.removeAt(index);
+    }
+
+    @Override protected void removeRange(int fromIndex, int toIndex) {
+      modCount++;
+      parent.removeRange(fromIndex, toIndex);
+    }
+
+    @Override public boolean contains(Object target) {
+      // Overridden to prevent a ton of boxing
+      return (target instanceof Double) && parent.contains((Double) target);
+    }
+
+    @Override public int indexOf(Object target) {
+      // Overridden to prevent a ton of boxing
+      return (target instanceof Double) ? parent.indexOf((Double) target) : -1;
+    }
+
+    @Override public int lastIndexOf(Object target) {
+      // Overridden to prevent a ton of boxing
+      return (target instanceof Double) ? parent.lastIndexOf((Double) target) : -1;
+    }
+  }
+
+  /**
+   * Returns {@code true} if {@code object} is a {@code DoubleArrayList} containing the same values
+   * as this one, in the same order. Values are compared as if by {@link Double#equals}.
+   */
+  @Override public boolean equals(@Nullable Object object) {
+    if (object == this) {
+      return true;
+    }
+    if (!(object instanceof DoubleArrayList)) {
+      return false;
+    }
+    DoubleArrayList that = (DoubleArrayList) object;
+    if (size != that.size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (Double.doubleToLongBits(array[i]) != Double.doubleToLongBits(that.array[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns the same hash code as {@code asList().hashCode()}, computed without boxing. */
+  @Override public int hashCode() {
+    int result = 1;
+    for (int i = 0; i < size; i++) {
+      result = 31 * result + Doubles.hashCode(array[i]);
+    }
+    return result;
+  }
+
+  /** Returns a string representation of the form {@code "[1, 2, 3]"}. */
+  @Override public String toString() {
+    if (size == 0) {
+      return "[]";
+    }
+    StringBuilder builder = new StringBuilder(size * 5);
+    builder.append('[').append(array[0]);
+    for (int i = 1; i < size; i++) {
+      builder.append(", ").append(array[i]);
+    }
+    return builder.append(']').toString();
+  }
+}
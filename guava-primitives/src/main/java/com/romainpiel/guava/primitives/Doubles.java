@@ -20,7 +20,13 @@ import android.support.annotation.Nullable;
 
 import com.romainpiel.guava.base.Converter;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -28,7 +34,6 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.RandomAccess;
-import java.util.regex.Pattern;
 
 import static com.romainpiel.guava.base.Preconditions.checkArgument;
 import static com.romainpiel.guava.base.Preconditions.checkElementIndex;
@@ -137,7 +142,7 @@ public final class Doubles {
   }
 
   // TODO(kevinb): consider making this public
-  private static int indexOf(
+  static int indexOf(
       double[] array, double target, int start, int end) {
     for (int i = start; i < end; i++) {
       if (array[i] == target) {
@@ -195,7 +200,7 @@ public final class Doubles {
   }
 
   // TODO(kevinb): consider making this public
-  private static int lastIndexOf(
+  static int lastIndexOf(
       double[] array, double target, int start, int end) {
     for (int i = end - 1; i >= start; i--) {
       if (array[i] == target) {
@@ -217,8 +222,23 @@ public final class Doubles {
   public static double min(double... array) {
     checkArgument(array.length > 0);
     double min = array[0];
+    if (Double.isNaN(min)) {
+      return min;
+    }
+    // A plain comparison is cheaper than Math.min; NaN is dealt with
+    // separately, and equal values have their bits OR-ed together so that
+    // -0.0 wins over 0.0.
     for (int i = 1; i < array.length; i++) {
-      min = Math.min(min, array[i]);
+      double next = array[i];
+      if (!(next >= min)) {
+        if (Double.isNaN(next)) {
+          return next;
+        }
+        min = next;
+      } else if (next == min) {
+        min = Double.longBitsToDouble(
+            Double.doubleToRawLongBits(min) | Double.doubleToRawLongBits(next));
+      }
     }
     return min;
   }
@@ -235,12 +255,93 @@ public final class Doubles {
   public static double max(double... array) {
     checkArgument(array.length > 0);
     double max = array[0];
+    if (Double.isNaN(max)) {
+      return max;
+    }
+    // Equal values have their bits AND-ed together so that 0.0 wins over -0.0.
     for (int i = 1; i < array.length; i++) {
-      max = Math.max(max, array[i]);
+      double next = array[i];
+      if (!(next <= max)) {
+        if (Double.isNaN(next)) {
+          return next;
+        }
+        max = next;
+      } else if (next == max) {
+        max = Double.longBitsToDouble(
+            Double.doubleToRawLongBits(max) & Double.doubleToRawLongBits(next));
+      }
     }
     return max;
   }
 
+  /**
+   * Returns the least and the greatest value present in {@code array}, found
+   * in a single pass over the array, using the same rules of comparison as
+   * {@link #min} and {@link #max}. In particular, both are NaN if any value is.
+   *
+   * @param array a <i>nonempty</i> array of {@code double} values
+   * @return a new two-element array holding {@link #min} and {@link #max} of
+   *     {@code array}, in that order
+   * @throws IllegalArgumentException if {@code array} is empty
+   */
+  public static double[] minMax(double... array) {
+    checkArgument(array.length > 0);
+    double min = array[0];
+    double max = min;
+    if (Double.isNaN(min)) {
+      return new double[] {min, min};
+    }
+    for (int i = 1; i < array.length; i++) {
+      double next = array[i];
+      if (!(next >= min)) {
+        if (Double.isNaN(next)) {
+          return new double[] {next, next};
+        }
+        min = next;
+      } else {
+        if (next == min) {
+          min = Double.longBitsToDouble(
+              Double.doubleToRawLongBits(min) | Double.doubleToRawLongBits(next));
+        }
+        if (next > max) {
+          max = next;
+        } else if (next == max) {
+          max = Double.longBitsToDouble(
+              Double.doubleToRawLongBits(max) & Double.doubleToRawLongBits(next));
+        }
+      }
+    }
+    return new double[] {min, max};
+  }
+
+  /**
+   * Returns the sum of the values in {@code array}. The values are
+   * accumulated in several independent partial sums, which is faster than a
+   * single running sum, so the result may differ from a left-to-right sum by
+   * rounding error. As with the {@code +} operator, the sum is NaN if any
+   * value is NaN or if infinities of both signs are present.
+   *
+   * @param array an array of {@code double} values, possibly empty
+   * @return the sum of the values, or {@code 0.0} if {@code array} is empty
+   */
+  public static double sum(double... array) {
+    double sum0 = 0;
+    double sum1 = 0;
+    double sum2 = 0;
+    double sum3 = 0;
+    int i = 0;
+    for (; i < array.length - 3; i += 4) {
+      sum0 += array[i];
+      sum1 += array[i + 1];
+      sum2 += array[i + 2];
+      sum3 += array[i + 3];
+    }
+    for (; i < array.length; i++) {
+      sum0 += array[i];
+    }
+    return (sum0 + sum1) + (sum2 + sum3);
+  }
+
   /**
    * Returns the values from each provided array combined into a single array.
    * For example, {@code concat(new double[] {a, b}, new double[] {}, new
@@ -264,6 +365,83 @@ public final class Doubles {
     return result;
   }
 
+  /**
+   * Copies {@code length} values from {@code src}, starting at index {@code
+   * srcIndex}, into {@code dst} starting at index {@code dstIndex}, each value
+   * taking {@value #BYTES} bytes in the given byte order. NaN values keep
+   * their exact bits.
+   *
+   * @throws IndexOutOfBoundsException if either range lies outside its array
+   */
+  public static void copyToBytes(double[] src, int srcIndex, byte[] dst,
+      int dstIndex, int length, ByteOrder order) {
+    checkNotNull(order);
+    checkPositionIndexes(srcIndex, srcIndex + length, src.length);
+    checkPositionIndexes(dstIndex, dstIndex + length * BYTES, dst.length);
+    ByteBuffer.wrap(dst, dstIndex, length * BYTES).order(order)
+        .asDoubleBuffer().put(src, srcIndex, length);
+  }
+
+  /**
+   * Copies {@code length} values out of {@code src}, starting at index {@code
+   * srcIndex} and each taking {@value #BYTES} bytes in the given byte order,
+   * into {@code dst} starting at index {@code dstIndex}. NaN values keep
+   * their exact bits.
+   *
+   * @throws IndexOutOfBoundsException if either range lies outside its array
+   */
+  public static void copyFromBytes(byte[] src, int srcIndex, double[] dst,
+      int dstIndex, int length, ByteOrder order) {
+    checkNotNull(order);
+    checkPositionIndexes(srcIndex, srcIndex + length * BYTES, src.length);
+    checkPositionIndexes(dstIndex, dstIndex + length, dst.length);
+    ByteBuffer.wrap(src, srcIndex, length * BYTES).order(order)
+        .asDoubleBuffer().get(dst, dstIndex, length);
+  }
+
+  /**
+   * Writes {@code length} values from {@code src}, starting at index {@code
+   * srcIndex}, to {@code buffer} at its position and in its byte order, and
+   * advances the position past them. The result is that of calling {@link
+   * ByteBuffer#putDouble(double)} for each value, but heap and direct buffers alike are
+   * written in bulk.
+   *
+   * @throws IndexOutOfBoundsException if the range lies outside {@code src}
+   * @throws BufferOverflowException if {@code buffer} has fewer than {@code
+   *     length * BYTES} bytes remaining
+   * @throws ReadOnlyBufferException if {@code buffer} is read-only
+   */
+  public static void put(
+      ByteBuffer buffer, double[] src, int srcIndex, int length) {
+    checkPositionIndexes(srcIndex, srcIndex + length, src.length);
+    if (buffer.remaining() / BYTES < length) {
+      throw new BufferOverflowException();
+    }
+    buffer.asDoubleBuffer().put(src, srcIndex, length);
+    buffer.position(buffer.position() + length * BYTES);
+  }
+
+  /**
+   * Reads {@code length} values from {@code buffer} at its position and in its
+   * byte order into {@code dst}, starting at index {@code dstIndex}, and
+   * advances the position past them. The result is that of calling {@link
+   * ByteBuffer#getDouble()} for each value, but heap and direct buffers alike are
+   * read in bulk.
+   *
+   * @throws IndexOutOfBoundsException if the range lies outside {@code dst}
+   * @throws BufferUnderflowException if {@code buffer} has fewer than {@code
+   *     length * BYTES} bytes remaining
+   */
+  public static void get(
+      ByteBuffer buffer, double[] dst, int dstIndex, int length) {
+    checkPositionIndexes(dstIndex, dstIndex + length, dst.length);
+    if (buffer.remaining() / BYTES < length) {
+      throw new BufferUnderflowException();
+    }
+    buffer.asDoubleBuffer().get(dst, dstIndex, length);
+    buffer.position(buffer.position() + length * BYTES);
+  }
+
   private static final class DoubleConverter
       extends Converter<String, Double> implements Serializable {
     static final DoubleConverter INSTANCE = new DoubleConverter();
@@ -360,6 +538,42 @@ public final class Doubles {
     return builder.toString();
   }
 
+  /**
+   * Writes the shortest decimal representation of {@code value} that parses
+   * back to the same value into {@code dst}, starting at {@code offset}, and
+   * returns the index after the last character written. The layout is that of
+   * {@link Double#toString(double)}, including the special values and the
+   * switch to scientific notation below {@code 10^-3} and from {@code 10^7}
+   * on, but some values are written with fewer digits than by that method
+   * before Java 19, such as {@code 1.0E23}, which it writes as {@code
+   * "9.999999999999999E22"}. At most 24 characters are written and nothing is
+   * allocated.
+   *
+   * @param value the value to write
+   * @param dst the array to write the characters into
+   * @param offset the index in {@code dst} of the first character to write
+   * @return the index in {@code dst} after the last character written
+   * @throws IndexOutOfBoundsException if {@code offset} is not a valid
+   *     position in {@code dst}, or if the representation does not fit in
+   *     the remaining space; nothing is written in that case
+   */
+  public static int writeTo(double value, char[] dst, int offset) {
+    return FloatingPointFormatter.writeTo(value, dst, offset);
+  }
+
+  /**
+   * Appends the representation of {@code value} written by {@link
+   * #writeTo(double, char[], int)} to {@code appendable}, most significant
+   * digit first, without creating a {@code String} or any other object.
+   *
+   * @return {@code appendable}
+   */
+  public static <A extends Appendable> A appendTo(A appendable, double value)
+      throws IOException {
+    FloatingPointFormatter.appendTo(appendable, value);
+    return appendable;
+  }
+
   /**
    * Returns a comparator that compares two {@code double} arrays
    * lexicographically. That is, it compares, using {@link
@@ -572,23 +786,6 @@ public final class Doubles {
     private static final long serialVersionUID = 0;
   }
 
-  /**
-   * This is adapted from the regex suggested by {@link Double#valueOf(String)}
-   * for prevalidating inputs.  All valid inputs must pass this regex, but it's
-   * semantically fine if not all inputs that pass this regex are valid --
-   * only a performance hit is incurred, not a semantics bug.
-   */
-  static final Pattern FLOATING_POINT_PATTERN = fpPattern();
-
-  private static Pattern fpPattern() {
-    String decimal = "(?:\\d++(?:\\.\\d*+)?|\\.\\d++)";
-    String completeDec = decimal + "(?:[eE][+-]?\\d++)?[fFdD]?";
-    String hex = "(?:\\p{XDigit}++(?:\\.\\p{XDigit}*+)?|\\.\\p{XDigit}++)";
-    String completeHex = "0[xX]" + hex + "[pP][+-]?\\d++[fFdD]?";
-    String fpPattern = "[+-]?(?:NaN|Infinity|" + completeDec + "|" + completeHex + ")";
-    return Pattern.compile(fpPattern);
-  }
-
   /**
    * Parses the specified string as a double-precision floating point value.
    * The ASCII character {@code '-'} (<code>'&#92;u002D'</code>) is recognized
@@ -600,7 +797,8 @@ public final class Doubles {
    * except that leading and trailing whitespace is not permitted.
    *
    * <p>This implementation is likely to be faster than {@code
-   * Double.parseDouble} if many failures are expected.
+   * Double.parseDouble}, whether or not many failures are expected: decimal
+   * inputs of up to 19 significant digits are converted without allocating.
    *
    * @param string the string representation of a {@code double} value
    * @return the floating point value represented by {@code string}, or
@@ -610,16 +808,58 @@ public final class Doubles {
    */
   @Nullable
   public static Double tryParse(String string) {
-    if (FLOATING_POINT_PATTERN.matcher(string).matches()) {
-      // TODO(user): could be potentially optimized, but only with
-      // extensive testing
-      try {
-        return Double.parseDouble(string);
-      } catch (NumberFormatException e) {
-        // Double.parseDouble has changed specs several times, so fall through
-        // gracefully
-      }
-    }
-    return null;
+    long bits = FloatingPointParser.parseDouble(string, 0, string.length());
+    return (bits == FloatingPointParser.INVALID) ? null : Double.longBitsToDouble(bits);
+  }
+
+  /**
+   * Parses the characters of {@code sequence} from {@code start}, inclusive,
+   * to {@code end}, exclusive, as a double-precision floating point value,
+   * with the same rules as {@link #tryParse(String)}.
+   *
+   * @param sequence the characters containing the {@code double}
+   *     representation
+   * @param start the index of the first character to parse
+   * @param end the index after the last character to parse
+   * @return the floating point value represented by the range, or {@code
+   *     null} if the range is empty or cannot be parsed as a {@code double}
+   *     value
+   * @throws IndexOutOfBoundsException if {@code start} or {@code end} is not
+   *     a valid position in {@code sequence}, or if {@code end < start}
+   */
+  @Nullable
+  public static Double tryParse(CharSequence sequence, int start, int end) {
+    checkPositionIndexes(start, end, sequence.length());
+    long bits = FloatingPointParser.parseDouble(sequence, start, end);
+    return (bits == FloatingPointParser.INVALID) ? null : Double.longBitsToDouble(bits);
+  }
+
+  /**
+   * Parses the characters of {@code sequence} from {@code start}, inclusive,
+   * to {@code end}, exclusive, as a double-precision floating point value,
+   * with the same rules as {@link #tryParse(String)}. No object is allocated
+   * for decimal inputs of up to 19 significant digits, whether parsing
+   * succeeds or not, which makes this method suitable for reading fields out
+   * of a buffer without extracting them as strings first. Longer and
+   * hexadecimal inputs may be copied to a string to be converted exactly.
+   *
+   * @param sequence the characters containing the {@code double}
+   *     representation
+   * @param start the index of the first character to parse
+   * @param end the index after the last character to parse
+   * @param defaultValue the value to return if parsing fails
+   * @return the floating point value represented by the range, or {@code
+   *     defaultValue} if the range is empty or cannot be parsed as a {@code
+   *     double} value
+   * @throws IndexOutOfBoundsException if {@code start} or {@code end} is not
+   *     a valid position in {@code sequence}, or if {@code end < start}
+   */
+  public static double tryParse(
+      CharSequence sequence, int start, int end, double defaultValue) {
+    checkPositionIndexes(start, end, sequence.length());
+    long bits = FloatingPointParser.parseDouble(sequence, start, end);
+    return (bits == FloatingPointParser.INVALID)
+        ? defaultValue
+        : Double.longBitsToDouble(bits);
   }
 }
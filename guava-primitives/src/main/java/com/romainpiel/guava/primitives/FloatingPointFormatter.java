@@ -0,0 +1,369 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import static com.romainpiel.guava.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+/**
+ * Allocation-free formatting of {@code double} values, in the layout of {@link
+ * Double#toString(double)} but with the shortest digits that parse back to the same value.
+ *
+ * <p>The digits are computed with Giulietti's Schubfach algorithm: the value and the two
+ * boundaries of the interval that rounds to it are scaled by a 126-bit approximation of a power of
+ * ten, which leaves at most two candidates for the shortest decimal in the interval. Only integer
+ * multiplications are involved, and the result is at most 17 digits long.
+ */
+final class FloatingPointFormatter {
+  private FloatingPointFormatter() {}
+
+  /** The maximum number of characters written, as in {@code "-2.2250738585072014E-308"}. */
+  static final int MAX_LENGTH = 24;
+
+  /** The exponent of the smallest subnormal value, as an integer times a power of two. */
+  private static final int Q_MIN = -1074;
+
+  /** The significand of the smallest normal value with the same exponent. */
+  private static final long C_MIN = 1L << 52;
+
+  /** Subnormal significands below this get an extra digit, so that at least two are computed. */
+  private static final int C_TINY = 3;
+
+  private static final int K_MIN = -324;
+  private static final int K_MAX = 292;
+
+  private static final long MASK_63 = Long.MAX_VALUE;
+
+  /** Writes {@code value} into {@code dst} at {@code offset} and returns the index after it. */
+  static int writeTo(double value, char[] dst, int offset) {
+    long bits = Double.doubleToRawLongBits(value);
+    String special = special(bits);
+    if (special != null) {
+      int end = Digits.checkRoom(dst, offset, special.length());
+      special.getChars(0, special.length(), dst, offset);
+      return end;
+    }
+    long f = significand(bits);
+    int zeros = trailingZeros(f);
+    f /= Digits.POWERS_OF_10[zeros];
+    int e = exponent(bits) + zeros;
+    int length = Digits.unsignedLength(f, 10);
+    // The exponent of the value written as d.ddd 10^x.
+    int x = e + length - 1;
+    int pos = offset;
+    if (x >= 0 && x < 7) {
+      int integerLength = x + 1;
+      int end = Digits.checkRoom(dst, offset, (bits < 0 ? 1 : 0)
+          + ((length <= integerLength) ? integerLength + 2 : length + 1));
+      if (bits < 0) {
+        dst[pos++] = '-';
+      }
+      if (length <= integerLength) {
+        Digits.fillUnsigned(f, 10, dst, pos + length);
+        pos = fillZeros(dst, pos + length, integerLength - length);
+        dst[pos++] = '.';
+        dst[pos] = '0';
+      } else {
+        long power = Digits.POWERS_OF_10[length - integerLength];
+        long integerPart = f / power;
+        Digits.fillUnsigned(integerPart, 10, dst, pos + integerLength);
+        dst[pos + integerLength] = '.';
+        // Pad the fraction with leading zeros, which filling with its digits leaves in place.
+        fillZeros(dst, pos + integerLength + 1, length - integerLength);
+        Digits.fillUnsigned(f - integerPart * power, 10, dst, end);
+      }
+      return end;
+    }
+    if (x < 0 && x >= -3) {
+      int end = Digits.checkRoom(dst, offset, (bits < 0 ? 1 : 0) + 1 - x + length);
+      if (bits < 0) {
+        dst[pos++] = '-';
+      }
+      dst[pos++] = '0';
+      dst[pos++] = '.';
+      fillZeros(dst, pos, -x - 1);
+      Digits.fillUnsigned(f, 10, dst, end);
+      return end;
+    }
+    int end = Digits.checkRoom(dst, offset, (bits < 0 ? 1 : 0)
+        + Math.max(length, 2) + 2 + Digits.signedLength(x, 10));
+    if (bits < 0) {
+      dst[pos++] = '-';
+    }
+    // Write all digits one position to the right, then move the first one before the point.
+    Digits.fillUnsigned(f, 10, dst, pos + 1 + length);
+    dst[pos] = dst[pos + 1];
+    dst[pos + 1] = '.';
+    if (length == 1) {
+      dst[pos + 2] = '0';
+    }
+    pos += Math.max(length, 2) + 1;
+    dst[pos++] = 'E';
+    Digits.writeSigned(x, 10, dst, pos);
+    return end;
+  }
+
+  /** Appends {@code value} to {@code appendable}, most significant digit first. */
+  static void appendTo(Appendable appendable, double value) throws IOException {
+    checkNotNull(appendable);
+    long bits = Double.doubleToRawLongBits(value);
+    String special = special(bits);
+    if (special != null) {
+      appendable.append(special);
+      return;
+    }
+    long f = significand(bits);
+    int zeros = trailingZeros(f);
+    f /= Digits.POWERS_OF_10[zeros];
+    int e = exponent(bits) + zeros;
+    int length = Digits.unsignedLength(f, 10);
+    int x = e + length - 1;
+    if (bits < 0) {
+      appendable.append('-');
+    }
+    if (x >= 0 && x < 7) {
+      int fractionLength = length - (x + 1);
+      if (fractionLength <= 0) {
+        Digits.appendUnsigned(appendable, f, 10);
+        appendZeros(appendable, -fractionLength);
+        appendable.append(".0");
+      } else {
+        long power = Digits.POWERS_OF_10[fractionLength];
+        long integerPart = f / power;
+        Digits.appendUnsigned(appendable, integerPart, 10);
+        appendable.append('.');
+        appendPadded(appendable, f - integerPart * power, fractionLength);
+      }
+    } else if (x < 0 && x >= -3) {
+      appendable.append("0.");
+      appendZeros(appendable, -x - 1);
+      Digits.appendUnsigned(appendable, f, 10);
+    } else {
+      long power = Digits.POWERS_OF_10[length - 1];
+      long first = f / power;
+      appendable.append((char) ('0' + first)).append('.');
+      if (length == 1) {
+        appendable.append('0');
+      } else {
+        appendPadded(appendable, f - first * power, length - 1);
+      }
+      appendable.append('E');
+      Digits.appendSigned(appendable, x, 10);
+    }
+  }
+
+  /** Returns the representation of NaN, infinities and zeros, or null for any other value. */
+  private static String special(long bits) {
+    if ((bits & MASK_63) == 0) {
+      return (bits == 0) ? "0.0" : "-0.0";
+    }
+    if ((bits & 0x7ff0000000000000L) != 0x7ff0000000000000L) {
+      return null;
+    }
+    if ((bits & (C_MIN - 1)) != 0) {
+      return "NaN";
+    }
+    return (bits > 0) ? "Infinity" : "-Infinity";
+  }
+
+  /** Returns the number of trailing decimal zeros of {@code f > 0}, in at most five divisions. */
+  private static int trailingZeros(long f) {
+    int zeros = 0;
+    if (f % 100000000 == 0) {
+      f /= 100000000;
+      zeros = 8;
+      if (f % 100000000 == 0) {
+        f /= 100000000;
+        zeros = 16;
+      }
+    }
+    if (f % 10000 == 0) {
+      f /= 10000;
+      zeros += 4;
+    }
+    if (f % 100 == 0) {
+      f /= 100;
+      zeros += 2;
+    }
+    if (f % 10 == 0) {
+      zeros++;
+    }
+    return zeros;
+  }
+
+  private static int fillZeros(char[] dst, int pos, int count) {
+    for (int end = pos + count; pos < end; pos++) {
+      dst[pos] = '0';
+    }
+    return pos;
+  }
+
+  private static void appendZeros(Appendable appendable, int count) throws IOException {
+    for (int i = 0; i < count; i++) {
+      appendable.append('0');
+    }
+  }
+
+  /** Appends {@code value} with leading zeros up to {@code length} digits. */
+  private static void appendPadded(Appendable appendable, long value, int length)
+      throws IOException {
+    appendZeros(appendable, length - Digits.unsignedLength(value, 10));
+    Digits.appendUnsigned(appendable, value, 10);
+  }
+
+  /**
+   * Returns the significand {@code f} of the shortest decimal {@code f 10^e} that rounds to the
+   * finite, nonzero value with the given bits, ignoring the sign. The significand may have
+   * trailing zeros.
+   */
+  private static long significand(long bits) {
+    int biasedExponent = (int) (bits >>> 52) & 0x7ff;
+    long t = bits & (C_MIN - 1);
+    if (biasedExponent == 0) {
+      return (t < C_TINY) ? shortest(Q_MIN, 10 * t) : shortest(Q_MIN, t);
+    }
+    int q = biasedExponent + Q_MIN - 1;
+    long c = C_MIN | t;
+    if (q < 0 && q > -53) {
+      long f = c >> -q;
+      if (f << -q == c) {
+        return f;
+      }
+    }
+    return shortest(q, c);
+  }
+
+  /** Returns the exponent {@code e} that goes with {@link #significand}. */
+  private static int exponent(long bits) {
+    int biasedExponent = (int) (bits >>> 52) & 0x7ff;
+    long t = bits & (C_MIN - 1);
+    if (biasedExponent == 0) {
+      return (t < C_TINY) ? decimalExponent(Q_MIN, 10 * t) - 1 : decimalExponent(Q_MIN, t);
+    }
+    int q = biasedExponent + Q_MIN - 1;
+    long c = C_MIN | t;
+    if (q < 0 && q > -53 && (c >> -q) << -q == c) {
+      return 0;
+    }
+    return decimalExponent(q, c);
+  }
+
+  private static int decimalExponent(int q, long c) {
+    return (c != C_MIN | q == Q_MIN) ? flog10pow2(q) : flog10threeQuartersPow2(q);
+  }
+
+  /**
+   * Returns the significand of the decimal for {@code c 2^q} computed by Schubfach, at the
+   * exponent returned by {@link #decimalExponent}.
+   */
+  private static long shortest(int q, long c) {
+    int out = (int) c & 1;
+    long cb = c << 2;
+    long cbr = cb + 2;
+    // The gap to the predecessor of a power of two is half the usual one, unless it is subnormal.
+    long cbl = (c != C_MIN | q == Q_MIN) ? cb - 2 : cb - 1;
+    int k = decimalExponent(q, c);
+    int h = q + flog2pow10(-k) + 2;
+    int index = (k - K_MIN) << 1;
+    long[] g = PowersOfTen.TABLE;
+    long g1 = g[index];
+    long g0 = g[index + 1];
+
+    long vb = roundToOdd(g1, g0, cb << h);
+    long vbl = roundToOdd(g1, g0, cbl << h) + out;
+    long vbr = roundToOdd(g1, g0, cbr << h) - out;
+
+    long s = vb >> 2;
+    if (s >= 100) {
+      // Try one digit less: floor(s / 10), by multiplying with a 64-bit reciprocal of 10.
+      long sp10 = 10 * UnsignedLongs.multiplyHigh(s, 115292150460684698L << 4);
+      long tp10 = sp10 + 10;
+      boolean upin = vbl <= sp10 << 2;
+      boolean wpin = (tp10 << 2) <= vbr;
+      if (upin != wpin) {
+        return upin ? sp10 : tp10;
+      }
+    }
+    long t = s + 1;
+    boolean uin = vbl <= s << 2;
+    boolean win = (t << 2) <= vbr;
+    if (uin != win) {
+      return uin ? s : t;
+    }
+    // Both s and t round to the value: pick the closer one, or the even one on a tie.
+    long cmp = vb - ((s + t) << 1);
+    return (cmp < 0 || cmp == 0 && (s & 1) == 0) ? s : t;
+  }
+
+  /**
+   * Returns {@code cp g 2^-127} rounded to odd, where {@code g = g1 2^63 + g0}: truncated, with
+   * the lowest bit set if any discarded bit is.
+   */
+  private static long roundToOdd(long g1, long g0, long cp) {
+    long x1 = UnsignedLongs.multiplyHigh(g0, cp);
+    long y0 = g1 * cp;
+    long y1 = UnsignedLongs.multiplyHigh(g1, cp);
+    long z = (y0 >>> 1) + x1;
+    long vbp = y1 + (z >>> 63);
+    return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+  }
+
+  /** Returns {@code floor(log10(2^e))} for {@code |e| <= 5456721}. */
+  private static int flog10pow2(int e) {
+    return (int) ((e * 661971961083L) >> 41);
+  }
+
+  /** Returns {@code floor(log10(3/4 2^e))} for {@code |e| <= 2114945}. */
+  private static int flog10threeQuartersPow2(int e) {
+    return (int) ((e * 661971961083L - 274743187321L) >> 41);
+  }
+
+  /** Returns {@code floor(log2(10^e))} for {@code |e| <= 1838394}. */
+  private static int flog2pow10(int e) {
+    return (int) ((e * 913124641741L) >> 38);
+  }
+
+  /**
+   * For {@code k} from {@link #K_MIN} to {@link #K_MAX}, {@code g = floor(10^-k 2^-r) + 1} split
+   * into its high 63 bits and its low 63 bits, where {@code r} is such that {@code 2^125 <= 10^-k
+   * 2^-r < 2^126}. Computed on first use.
+   */
+  private static final class PowersOfTen {
+    static final long[] TABLE = new long[(K_MAX - K_MIN + 1) << 1];
+
+    static {
+      BigInteger mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+      for (int k = K_MIN; k <= K_MAX; k++) {
+        BigInteger beta;
+        if (k <= 0) {
+          BigInteger power = BigInteger.TEN.pow(-k);
+          int shift = 126 - power.bitLength();
+          beta = (shift >= 0) ? power.shiftLeft(shift) : power.shiftRight(-shift);
+        } else {
+          BigInteger power = BigInteger.TEN.pow(k);
+          beta = BigInteger.ONE.shiftLeft(125 + power.bitLength()).divide(power);
+        }
+        BigInteger g = beta.add(BigInteger.ONE);
+        int index = (k - K_MIN) << 1;
+        TABLE[index] = g.shiftRight(63).longValue();
+        TABLE[index + 1] = g.and(mask).longValue();
+      }
+    }
+  }
+}
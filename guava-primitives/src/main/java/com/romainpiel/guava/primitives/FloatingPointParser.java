@@ -0,0 +1,387 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import java.math.BigInteger;
+
+/**
+ * Parsing of floating point values out of character ranges, shared by {@link Doubles} and {@link
+ * Floats}. The accepted syntax is that of {@link Double#valueOf(String)}, without leading or
+ * trailing whitespace.
+ *
+ * <p>Up to 19 significant decimal digits are gathered into a {@code long} {@code w}, and the value
+ * {@code w * 10^q} is rounded with the algorithm of Eisel and Lemire: {@code w} is multiplied by a
+ * 128-bit truncation of {@code 5^q}, which determines the correctly rounded result except in rare
+ * cases that the algorithm detects. When the exact product fits in a {@code double}, the value is
+ * computed directly with one floating point operation instead. Nothing is allocated on either
+ * path.
+ *
+ * <p>The remaining inputs fall back to {@link Double#parseDouble} or {@link Float#parseFloat} on a
+ * copy of the range: hexadecimal values, and values with more than 19 significant digits whose
+ * rounding depends on the digits past the nineteenth.
+ */
+final class FloatingPointParser {
+  private FloatingPointParser() {}
+
+  /**
+   * Returned instead of the bits of the parsed value if the input is not a floating point value.
+   * This is a NaN, but never the canonical one, which is what parsing {@code "NaN"} returns.
+   */
+  static final long INVALID = 0x7ff0000000000001L;
+
+  private static final long DOUBLE_NAN = 0x7ff8000000000000L;
+  private static final long FLOAT_NAN = 0x7fc00000L;
+
+  /** The number of significant digits that always fit in a {@code long}, as an unsigned value. */
+  private static final int MAX_DIGITS = 19;
+
+  /** The exponents of the powers of ten below and above which any value rounds to 0 or infinity. */
+  private static final int MIN_EXPONENT = -342;
+  private static final int MAX_EXPONENT = 308;
+
+  /** {@code 10^i} for {@code i} from 0 to 22, the largest power of ten exact as a double. */
+  private static final double[] DOUBLE_POWERS_OF_10 = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /** {@code 10^i} for {@code i} from 0 to 10, the largest power of ten exact as a float. */
+  private static final float[] FLOAT_POWERS_OF_10 = {
+    1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+  };
+
+  /**
+   * Parses the range as a {@code double} and returns its raw bits, or {@link #INVALID} if it is
+   * not a valid representation.
+   */
+  static long parseDouble(CharSequence sequence, int start, int end) {
+    return parse(sequence, start, end, false);
+  }
+
+  /**
+   * Parses the range as a {@code float} and returns its raw bits in the low 32 bits of the result,
+   * or {@link #INVALID} if it is not a valid representation.
+   */
+  static long parseFloat(CharSequence sequence, int start, int end) {
+    return parse(sequence, start, end, true);
+  }
+
+  private static long parse(CharSequence sequence, int start, int end, boolean single) {
+    if (start == end) {
+      return INVALID;
+    }
+    int index = start;
+    char c = sequence.charAt(index);
+    boolean negative = c == '-';
+    if (negative || c == '+') {
+      if (++index == end) {
+        return INVALID;
+      }
+      c = sequence.charAt(index);
+    }
+    long sign = negative ? (single ? 0x80000000L : Long.MIN_VALUE) : 0;
+    if (c == 'N') {
+      return matches(sequence, index, end, "NaN") ? (single ? FLOAT_NAN : DOUBLE_NAN) : INVALID;
+    }
+    if (c == 'I') {
+      if (!matches(sequence, index, end, "Infinity")) {
+        return INVALID;
+      }
+      return sign | (single ? Float.floatToRawIntBits(Float.POSITIVE_INFINITY)
+          : Double.doubleToRawLongBits(Double.POSITIVE_INFINITY));
+    }
+    if (c == '0' && index + 1 < end && (sequence.charAt(index + 1) | 0x20) == 'x') {
+      return isHexadecimal(sequence, index + 2, end)
+          ? parseExactly(sequence, start, end, single)
+          : INVALID;
+    }
+
+    // The value is w 10^exponent, with w gathering at most MAX_DIGITS significant digits.
+    long w = 0;
+    int digits = 0;
+    int exponent = 0;
+    boolean truncated = false;
+    boolean anyDigit = false;
+    int digit;
+    for (; index < end && (digit = sequence.charAt(index) - '0') >= 0 && digit <= 9; index++) {
+      anyDigit = true;
+      if (digits < MAX_DIGITS) {
+        w = w * 10 + digit;
+        digits += (w != 0) ? 1 : 0;
+      } else {
+        exponent++;
+        truncated |= digit != 0;
+      }
+    }
+    if (index < end && sequence.charAt(index) == '.') {
+      for (index++; index < end && (digit = sequence.charAt(index) - '0') >= 0 && digit <= 9;
+          index++) {
+        anyDigit = true;
+        if (digits < MAX_DIGITS) {
+          w = w * 10 + digit;
+          digits += (w != 0) ? 1 : 0;
+          exponent--;
+        } else {
+          truncated |= digit != 0;
+        }
+      }
+    }
+    if (!anyDigit) {
+      return INVALID;
+    }
+    if (index < end && (sequence.charAt(index) | 0x20) == 'e') {
+      if (++index == end) {
+        return INVALID;
+      }
+      c = sequence.charAt(index);
+      boolean negativeExponent = c == '-';
+      if ((negativeExponent || c == '+') && ++index == end) {
+        return INVALID;
+      }
+      int explicitExponent = 0;
+      int exponentStart = index;
+      for (; index < end && (digit = sequence.charAt(index) - '0') >= 0 && digit <= 9; index++) {
+        // Anything this large is 0 or infinity already, and stays far away from overflow.
+        if (explicitExponent < 100000) {
+          explicitExponent = explicitExponent * 10 + digit;
+        }
+      }
+      if (index == exponentStart) {
+        return INVALID;
+      }
+      exponent += negativeExponent ? -explicitExponent : explicitExponent;
+    }
+    if (index < end && ((c = (char) (sequence.charAt(index) | 0x20)) == 'f' || c == 'd')) {
+      index++;
+    }
+    if (index != end) {
+      return INVALID;
+    }
+
+    if (w == 0) {
+      return sign;
+    }
+    long bits;
+    if (!truncated) {
+      bits = single ? toFloatBits(w, exponent) : toDoubleBits(w, exponent);
+    } else {
+      // The exact value lies between w 10^exponent and (w + 1) 10^exponent.
+      bits = single ? eiselLemire(w, exponent, 23, -127, 0xff, -17, 10)
+          : eiselLemire(w, exponent, 52, -1023, 0x7ff, -4, 23);
+      long upper = single ? eiselLemire(w + 1, exponent, 23, -127, 0xff, -17, 10)
+          : eiselLemire(w + 1, exponent, 52, -1023, 0x7ff, -4, 23);
+      if (bits != upper) {
+        bits = -1;
+      }
+    }
+    return (bits < 0) ? parseExactly(sequence, start, end, single) : sign | bits;
+  }
+
+  private static long toDoubleBits(long w, int exponent) {
+    if (w >= 0 && w <= 1L << 53 && exponent >= -22 && exponent <= 22) {
+      // Both w and the power of ten are exact, so the single rounding of the operation is correct.
+      double value = w;
+      value = (exponent < 0)
+          ? value / DOUBLE_POWERS_OF_10[-exponent]
+          : value * DOUBLE_POWERS_OF_10[exponent];
+      return Double.doubleToRawLongBits(value);
+    }
+    return eiselLemire(w, exponent, 52, -1023, 0x7ff, -4, 23);
+  }
+
+  private static long toFloatBits(long w, int exponent) {
+    if (w >= 0 && w <= 1L << 24 && exponent >= -10 && exponent <= 10) {
+      float value = w;
+      value = (exponent < 0)
+          ? value / FLOAT_POWERS_OF_10[-exponent]
+          : value * FLOAT_POWERS_OF_10[exponent];
+      return Float.floatToRawIntBits(value);
+    }
+    return eiselLemire(w, exponent, 23, -127, 0xff, -17, 10);
+  }
+
+  /**
+   * Returns the bits, without sign, of the binary floating point value nearest to {@code w *
+   * 10^q}, or -1 if that cannot be determined from the truncated power of five.
+   *
+   * @param w a nonzero unsigned value
+   * @param mantissaBits the number of explicit mantissa bits of the format
+   * @param minExponent the exponent of the format below which values are subnormal, minus one
+   * @param infiniteExponent the biased exponent of infinity in the format
+   * @param minRoundToEven the smallest {@code q} for which a value can be exactly halfway between
+   *     two consecutive values of the format
+   * @param maxRoundToEven the largest such {@code q}
+   */
+  private static long eiselLemire(long w, int q, int mantissaBits, int minExponent,
+      int infiniteExponent, int minRoundToEven, int maxRoundToEven) {
+    if (q < MIN_EXPONENT) {
+      return 0;
+    }
+    if (q > MAX_EXPONENT) {
+      return (long) infiniteExponent << mantissaBits;
+    }
+    int leadingZeros = Long.numberOfLeadingZeros(w);
+    w <<= leadingZeros;
+
+    int index = (q - MIN_EXPONENT) << 1;
+    long[] powersOfFive = PowersOfFive.TABLE;
+    long high = UnsignedLongs.multiplyHigh(w, powersOfFive[index]);
+    long low = w * powersOfFive[index];
+    long precisionMask = -1L >>> (mantissaBits + 3);
+    if ((high & precisionMask) == precisionMask) {
+      // The bits below the ones to keep might carry into them: refine with the low half of 5^q.
+      long secondHigh = UnsignedLongs.multiplyHigh(w, powersOfFive[index + 1]);
+      low += secondHigh;
+      if (UnsignedLongs.compare(secondHigh, low) > 0) {
+        high++;
+      }
+      // 5^q is exact in 128 bits for 0 <= q <= 55, and its reciprocal precise enough for q >= -27.
+      if (low == -1 && (q < -27 || q > 55)) {
+        return -1;
+      }
+    }
+
+    int upperBit = (int) (high >>> 63);
+    int shift = upperBit + 64 - mantissaBits - 3;
+    long mantissa = high >>> shift;
+    // floor(log2(10^q)) + 63, plus the normalization, relative to the smallest normal exponent.
+    int power2 = (((152170 + 65536) * q) >> 16) + 63 + upperBit - leadingZeros - minExponent;
+    if (power2 <= 0) {
+      if (-power2 + 1 >= 64) {
+        return 0;
+      }
+      // Subnormal, unless rounding carries into the smallest normal value. Either way the bits
+      // are the mantissa, since the carry lands on the lowest exponent bit.
+      mantissa >>>= -power2 + 1;
+      mantissa += mantissa & 1;
+      return mantissa >>> 1;
+    }
+    if (UnsignedLongs.compare(low, 1) <= 0 && q >= minRoundToEven && q <= maxRoundToEven
+        && (mantissa & 3) == 1 && (mantissa << shift) == high) {
+      // Exactly halfway between two values: round down to the even one instead of up.
+      mantissa &= ~1L;
+    }
+    mantissa += mantissa & 1;
+    mantissa >>>= 1;
+    if (mantissa >= 2L << mantissaBits) {
+      mantissa = 1L << mantissaBits;
+      power2++;
+    }
+    mantissa &= ~(1L << mantissaBits);
+    if (power2 >= infiniteExponent) {
+      return (long) infiniteExponent << mantissaBits;
+    }
+    return ((long) power2 << mantissaBits) | mantissa;
+  }
+
+  private static boolean matches(CharSequence sequence, int start, int end, String expected) {
+    if (end - start != expected.length()) {
+      return false;
+    }
+    for (int i = 0; i < expected.length(); i++) {
+      if (sequence.charAt(start + i) != expected.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether the range, which follows a {@code "0x"} prefix, is the rest of a hexadecimal
+   * floating point value.
+   */
+  private static boolean isHexadecimal(CharSequence sequence, int index, int end) {
+    boolean anyDigit = false;
+    while (index < end && Character.digit(sequence.charAt(index), 16) >= 0
+        && sequence.charAt(index) < 128) {
+      anyDigit = true;
+      index++;
+    }
+    if (index < end && sequence.charAt(index) == '.') {
+      for (index++; index < end && Character.digit(sequence.charAt(index), 16) >= 0
+          && sequence.charAt(index) < 128; index++) {
+        anyDigit = true;
+      }
+    }
+    if (!anyDigit || index == end || (sequence.charAt(index++) | 0x20) != 'p') {
+      return false;
+    }
+    if (index < end && (sequence.charAt(index) == '-' || sequence.charAt(index) == '+')) {
+      index++;
+    }
+    int exponentStart = index;
+    while (index < end && sequence.charAt(index) >= '0' && sequence.charAt(index) <= '9') {
+      index++;
+    }
+    if (index == exponentStart) {
+      return false;
+    }
+    if (index < end) {
+      char c = (char) (sequence.charAt(index) | 0x20);
+      if (c == 'f' || c == 'd') {
+        index++;
+      }
+    }
+    return index == end;
+  }
+
+  private static long parseExactly(CharSequence sequence, int start, int end, boolean single) {
+    String string = sequence.subSequence(start, end).toString();
+    try {
+      return single
+          ? Float.floatToRawIntBits(Float.parseFloat(string)) & UnsignedInts.INT_MASK
+          : Double.doubleToRawLongBits(Double.parseDouble(string));
+    } catch (NumberFormatException e) {
+      // Double.parseDouble has changed specs several times, so fall through gracefully
+      return INVALID;
+    }
+  }
+
+  /**
+   * The 128 most significant bits of {@code 5^q} for {@code q} from {@link #MIN_EXPONENT} to
+   * {@link #MAX_EXPONENT}, high half first, truncated for {@code q >= 0} and rounded up for {@code
+   * q < 0}. Computed on first use.
+   */
+  private static final class PowersOfFive {
+    static final long[] TABLE = new long[(MAX_EXPONENT - MIN_EXPONENT + 1) << 1];
+
+    static {
+      BigInteger five = BigInteger.valueOf(5);
+      for (int q = MIN_EXPONENT; q < 0; q++) {
+        BigInteger power = five.pow(-q);
+        int bits = power.bitLength();
+        // For small -q a 128-bit reciprocal is exact enough, otherwise keep twice the precision
+        // of the power before truncating to 128 bits.
+        int scale = (q >= -27) ? bits + 127 : 2 * bits + 128;
+        BigInteger reciprocal = BigInteger.ONE.shiftLeft(scale).divide(power).add(BigInteger.ONE);
+        set(q, reciprocal.shiftRight(Math.max(reciprocal.bitLength() - 128, 0)));
+      }
+      BigInteger power = BigInteger.ONE;
+      for (int q = 0; q <= MAX_EXPONENT; q++) {
+        int bits = power.bitLength();
+        set(q, (bits <= 128) ? power.shiftLeft(128 - bits) : power.shiftRight(bits - 128));
+        power = power.multiply(five);
+      }
+    }
+
+    private static void set(int q, BigInteger value) {
+      int index = (q - MIN_EXPONENT) << 1;
+      TABLE[index] = value.shiftRight(64).longValue();
+      TABLE[index + 1] = value.longValue();
+    }
+  }
+}
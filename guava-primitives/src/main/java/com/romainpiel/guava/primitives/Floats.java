@@ -213,8 +213,23 @@ public final class Floats {
   public static float min(float... array) {
     checkArgument(array.length > 0);
     float min = array[0];
+    if (Float.isNaN(min)) {
+      return min;
+    }
+    // A plain comparison is cheaper than Math.min; NaN is dealt with
+    // separately, and equal values have their bits OR-ed together so that
+    // -0.0 wins over 0.0.
     for (int i = 1; i < array.length; i++) {
-      min = Math.min(min, array[i]);
+      float next = array[i];
+      if (!(next >= min)) {
+        if (Float.isNaN(next)) {
+          return next;
+        }
+        min = next;
+      } else if (next == min) {
+        min = Float.intBitsToFloat(
+            Float.floatToRawIntBits(min) | Float.floatToRawIntBits(next));
+      }
     }
     return min;
   }
@@ -231,12 +246,94 @@ public final class Floats {
   public static float max(float... array) {
     checkArgument(array.length > 0);
     float max = array[0];
+    if (Float.isNaN(max)) {
+      return max;
+    }
+    // Equal values have their bits AND-ed together so that 0.0 wins over -0.0.
     for (int i = 1; i < array.length; i++) {
-      max = Math.max(max, array[i]);
+      float next = array[i];
+      if (!(next <= max)) {
+        if (Float.isNaN(next)) {
+          return next;
+        }
+        max = next;
+      } else if (next == max) {
+        max = Float.intBitsToFloat(
+            Float.floatToRawIntBits(max) & Float.floatToRawIntBits(next));
+      }
     }
     return max;
   }
 
+  /**
+   * Returns the least and the greatest value present in {@code array}, found
+   * in a single pass over the array, using the same rules of comparison as
+   * {@link #min} and {@link #max}. In particular, both are NaN if any value is.
+   *
+   * @param array a <i>nonempty</i> array of {@code float} values
+   * @return a new two-element array holding {@link #min} and {@link #max} of
+   *     {@code array}, in that order
+   * @throws IllegalArgumentException if {@code array} is empty
+   */
+  public static float[] minMax(float... array) {
+    checkArgument(array.length > 0);
+    float min = array[0];
+    float max = min;
+    if (Float.isNaN(min)) {
+      return new float[] {min, min};
+    }
+    for (int i = 1; i < array.length; i++) {
+      float next = array[i];
+      if (!(next >= min)) {
+        if (Float.isNaN(next)) {
+          return new float[] {next, next};
+        }
+        min = next;
+      } else {
+        if (next == min) {
+          min = Float.intBitsToFloat(
+              Float.floatToRawIntBits(min) | Float.floatToRawIntBits(next));
+        }
+        if (next > max) {
+          max = next;
+        } else if (next == max) {
+          max = Float.intBitsToFloat(
+              Float.floatToRawIntBits(max) & Float.floatToRawIntBits(next));
+        }
+      }
+    }
+    return new float[] {min, max};
+  }
+
+  /**
+   * Returns the sum of the values in {@code array}, computed in {@code double}
+   * precision. The values are accumulated in several independent partial
+   * sums, which is faster than a single running sum, so the result may differ
+   * from a left-to-right sum by rounding error. As with the {@code +}
+   * operator, the sum is NaN if any value is NaN or if infinities of both
+   * signs are present.
+   *
+   * @param array an array of {@code float} values, possibly empty
+   * @return the sum of the values, or {@code 0.0} if {@code array} is empty
+   */
+  public static double sum(float... array) {
+    double sum0 = 0;
+    double sum1 = 0;
+    double sum2 = 0;
+    double sum3 = 0;
+    int i = 0;
+    for (; i < array.length - 3; i += 4) {
+      sum0 += array[i];
+      sum1 += array[i + 1];
+      sum2 += array[i + 2];
+      sum3 += array[i + 3];
+    }
+    for (; i < array.length; i++) {
+      sum0 += array[i];
+    }
+    return (sum0 + sum1) + (sum2 + sum3);
+  }
+
   /**
    * Returns the values from each provided array combined into a single array.
    * For example, {@code concat(new float[] {a, b}, new float[] {}, new
@@ -579,7 +676,8 @@ public final class Floats {
    * except that leading and trailing whitespace is not permitted.
    *
    * <p>This implementation is likely to be faster than {@code
-   * Float.parseFloat} if many failures are expected.
+   * Float.parseFloat}, whether or not many failures are expected: decimal
+   * inputs of up to 19 significant digits are converted without allocating.
    *
    * @param string the string representation of a {@code float} value
    * @return the floating point value represented by {@code string}, or
@@ -589,16 +687,61 @@ public final class Floats {
    */
   @Nullable
   public static Float tryParse(String string) {
-    if (Doubles.FLOATING_POINT_PATTERN.matcher(string).matches()) {
-      // TODO(user): could be potentially optimized, but only with
-      // extensive testing
-      try {
-        return Float.parseFloat(string);
-      } catch (NumberFormatException e) {
-        // Float.parseFloat has changed specs several times, so fall through
-        // gracefully
-      }
-    }
-    return null;
+    long bits = FloatingPointParser.parseFloat(string, 0, string.length());
+    return (bits == FloatingPointParser.INVALID)
+        ? null
+        : Float.intBitsToFloat((int) bits);
+  }
+
+  /**
+   * Parses the characters of {@code sequence} from {@code start}, inclusive,
+   * to {@code end}, exclusive, as a single-precision floating point value,
+   * with the same rules as {@link #tryParse(String)}.
+   *
+   * @param sequence the characters containing the {@code float}
+   *     representation
+   * @param start the index of the first character to parse
+   * @param end the index after the last character to parse
+   * @return the floating point value represented by the range, or {@code
+   *     null} if the range is empty or cannot be parsed as a {@code float}
+   *     value
+   * @throws IndexOutOfBoundsException if {@code start} or {@code end} is not
+   *     a valid position in {@code sequence}, or if {@code end < start}
+   */
+  @Nullable
+  public static Float tryParse(CharSequence sequence, int start, int end) {
+    checkPositionIndexes(start, end, sequence.length());
+    long bits = FloatingPointParser.parseFloat(sequence, start, end);
+    return (bits == FloatingPointParser.INVALID)
+        ? null
+        : Float.intBitsToFloat((int) bits);
+  }
+
+  /**
+   * Parses the characters of {@code sequence} from {@code start}, inclusive,
+   * to {@code end}, exclusive, as a single-precision floating point value,
+   * with the same rules as {@link #tryParse(String)}. No object is allocated
+   * for decimal inputs of up to 19 significant digits, whether parsing
+   * succeeds or not. Longer and hexadecimal inputs may be copied to a string
+   * to be converted exactly.
+   *
+   * @param sequence the characters containing the {@code float}
+   *     representation
+   * @param start the index of the first character to parse
+   * @param end the index after the last character to parse
+   * @param defaultValue the value to return if parsing fails
+   * @return the floating point value represented by the range, or {@code
+   *     defaultValue} if the range is empty or cannot be parsed as a {@code
+   *     float} value
+   * @throws IndexOutOfBoundsException if {@code start} or {@code end} is not
+   *     a valid position in {@code sequence}, or if {@code end < start}
+   */
+  public static float tryParse(
+      CharSequence sequence, int start, int end, float defaultValue) {
+    checkPositionIndexes(start, end, sequence.length());
+    long bits = FloatingPointParser.parseFloat(sequence, start, end);
+    return (bits == FloatingPointParser.INVALID)
+        ? defaultValue
+        : Float.intBitsToFloat((int) bits);
   }
 }
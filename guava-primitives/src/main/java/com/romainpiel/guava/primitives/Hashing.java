@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import static com.romainpiel.guava.base.Preconditions.checkArgument;
+
+/**
+ * Hashing utilities shared by the open-addressing tables of this package.
+ *
+ * @author Kevin Bourrillion
+ * @author Jesse Wilson
+ * @author Austin Appleby
+ */
+final class Hashing {
+  private Hashing() {}
+
+  private static final int C1 = 0xcc9e2d51;
+  private static final int C2 = 0x1b873593;
+
+  /*
+   * This method was rewritten in Java from an intermediate step of the Murmur hash function in
+   * http://code.google.com/p/smhasher/source/browse/trunk/MurmurHash3.cpp, which contained the
+   * following header:
+   *
+   * MurmurHash3 was written by Austin Appleby, and is placed in the public domain. The author
+   * hereby disclaims copyright to this source code.
+   */
+  static int smear(int hashCode) {
+    return C2 * Integer.rotateLeft(hashCode * C1, 15);
+  }
+
+  /** Smears {@link Ints#hashCode(int)}, so that sequential keys spread across the table. */
+  static int smearedHash(int key) {
+    return smear(Ints.hashCode(key));
+  }
+
+  /** Smears {@link Longs#hashCode(long)}, so that sequential keys spread across the table. */
+  static int smearedHash(long key) {
+    return smear(Longs.hashCode(key));
+  }
+
+  private static final int MAX_TABLE_SIZE = Ints.MAX_POWER_OF_TWO;
+
+  /**
+   * Returns the power-of-two table size that holds {@code expectedEntries} without exceeding
+   * {@code loadFactor}.
+   */
+  static int closedTableSize(int expectedEntries, float loadFactor) {
+    long minSize = (long) Math.ceil(Math.max(expectedEntries, 2) / (double) loadFactor);
+    if (minSize >= MAX_TABLE_SIZE) {
+      return MAX_TABLE_SIZE;
+    }
+    return Integer.highestOneBit((int) minSize - 1) << 1;
+  }
+
+  /**
+   * Returns the number of entries a table of {@code tableSize} slots may hold before it has to
+   * grow. At least one slot is always left free, so that probing terminates.
+   */
+  static int maxFill(int tableSize, float loadFactor) {
+    return Math.min((int) Math.ceil(tableSize * loadFactor), tableSize - 1);
+  }
+
+  static float checkLoadFactor(float loadFactor) {
+    checkArgument(loadFactor > 0 && loadFactor < 1, "Invalid loadFactor: %s", loadFactor);
+    return loadFactor;
+  }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import static com.romainpiel.guava.base.Preconditions.checkArgument;
+import static com.romainpiel.guava.base.Preconditions.checkState;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash map from {@code int} keys to {@code int} values that never boxes. Entries are stored in
+ * two parallel arrays using open addressing with linear probing, and removals shift subsequent
+ * entries back instead of leaving tombstones, so lookups stay short under churn.
+ *
+ * <p>Every {@code int} is a valid key. Since there is no value reserved to mean "absent", lookups
+ * take the value to return for missing keys: {@link #get(int, int)}.
+ *
+ * <p>Entries are visited with a {@link Cursor}, which allocates nothing per entry: <pre>   {@code
+ *
+ *   IntIntMap.Cursor cursor = map.cursor();
+ *   while (cursor.advance()) {
+ *     use(cursor.key(), cursor.value());
+ *   }}</pre>
+ *
+ * <p>Instances are not thread-safe. Iteration order is unspecified.
+ */
+public final class IntIntMap {
+  private static final int DEFAULT_EXPECTED_SIZE = 8;
+  private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+  /** The key marking an empty slot. The entry for this key itself is stored out of the table. */
+  private static final int FREE = 0;
+
+  /** Creates a new, empty map with a default expected size and a load factor of 0.75. */
+  public static IntIntMap create() {
+    return new IntIntMap(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates a new, empty map that can hold {@code expectedSize} entries without resizing, with a
+   * load factor of 0.75.
+   *
+   * @throws IllegalArgumentException if {@code expectedSize} is negative
+   */
+  public static IntIntMap create(int expectedSize) {
+    return new IntIntMap(expectedSize, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates a new, empty map that can hold {@code expectedSize} entries without resizing. Lower
+   * load factors trade memory for shorter probe sequences.
+   *
+   * @throws IllegalArgumentException if {@code expectedSize} is negative, or if {@code loadFactor}
+   *     is not strictly between 0 and 1
+   */
+  public static IntIntMap create(int expectedSize, float loadFactor) {
+    return new IntIntMap(expectedSize, loadFactor);
+  }
+
+  private final float loadFactor;
+  private int[] keys;
+  private int[] values;
+  private int mask;
+  private int maxFill;
+  /** Number of entries in the table, not counting the {@link #FREE} key. */
+  private int tableSize;
+
+  private boolean hasFreeKey;
+  private int freeKeyValue;
+
+  private IntIntMap(int expectedSize, float loadFactor) {
+    checkArgument(expectedSize >= 0, "Invalid expectedSize: %s", expectedSize);
+    this.loadFactor = Hashing.checkLoadFactor(loadFactor);
+    allocate(Hashing.closedTableSize(expectedSize, loadFactor));
+  }
+
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+    maxFill = Hashing.maxFill(capacity, loadFactor);
+  }
+
+  /** Returns the number of entries in this map. */
+  public int size() {
+    return hasFreeKey ? tableSize + 1 : tableSize;
+  }
+
+  /** Returns {@code true} if this map contains no entries. */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /** Returns {@code true} if this map contains an entry for {@code key}. */
+  public boolean containsKey(int key) {
+    return key == FREE ? hasFreeKey : slotOf(key) >= 0;
+  }
+
+  /**
+   * Returns the value associated with {@code key}, or {@code defaultValue} if this map contains no
+   * entry for it.
+   */
+  public int get(int key, int defaultValue) {
+    if (key == FREE) {
+      return hasFreeKey ? freeKeyValue : defaultValue;
+    }
+    int slot = slotOf(key);
+    return slot >= 0 ? values[slot] : defaultValue;
+  }
+
+  /**
+   * Associates {@code value} with {@code key}, replacing any previous value.
+   *
+   * @return {@code true} if {@code key} was not present before
+   */
+  public boolean put(int key, int value) {
+    if (key == FREE) {
+      boolean added = !hasFreeKey;
+      hasFreeKey = true;
+      freeKeyValue = value;
+      return added;
+    }
+    int slot = Hashing.smearedHash(key) & mask;
+    int k;
+    while ((k = keys[slot]) != FREE) {
+      if (k == key) {
+        values[slot] = value;
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    insertAt(slot, key, value);
+    return true;
+  }
+
+  /**
+   * Adds {@code delta} to the value associated with {@code key}, treating a missing entry as
+   * {@code 0}, and returns the new value. This is the allocation-free way to use this map as a
+   * counter.
+   */
+  public int addTo(int key, int delta) {
+    if (key == FREE) {
+      int newValue = hasFreeKey ? freeKeyValue + delta : delta;
+      hasFreeKey = true;
+      freeKeyValue = newValue;
+      return newValue;
+    }
+    int slot = Hashing.smearedHash(key) & mask;
+    int k;
+    while ((k = keys[slot]) != FREE) {
+      if (k == key) {
+        return values[slot] += delta;
+      }
+      slot = (slot + 1) & mask;
+    }
+    insertAt(slot, key, delta);
+    return delta;
+  }
+
+  /**
+   * Removes the entry for {@code key}, if present.
+   *
+   * @return {@code true} if an entry was removed
+   */
+  public boolean remove(int key) {
+    if (key == FREE) {
+      boolean removed = hasFreeKey;
+      hasFreeKey = false;
+      return removed;
+    }
+    int slot = slotOf(key);
+    if (slot < 0) {
+      return false;
+    }
+    tableSize--;
+    shiftKeys(slot);
+    return true;
+  }
+
+  /** Removes all entries from this map. The capacity of the table is kept. */
+  public void clear() {
+    Arrays.fill(keys, FREE);
+    tableSize = 0;
+    hasFreeKey = false;
+  }
+
+  /**
+   * Returns a new cursor positioned before the first entry of this map. Modifying the map other
+   * than through {@link Cursor#setValue} while a cursor is in use leads to unspecified results.
+   */
+  public Cursor cursor() {
+    return new Cursor();
+  }
+
+  /**
+   * An allocation-free iterator over the entries of an {@link IntIntMap}. Call {@link #advance}
+   * before each access to {@link #key} and {@link #value}.
+   */
+  public final class Cursor {
+    // Slots 0 to keys.length - 1 are the table, slot keys.length is the FREE key.
+    private int slot = -1;
+
+    Cursor() {}
+
+    /**
+     * Moves to the next entry.
+     *
+     * @return {@code false} if there are no more entries
+     */
+    public boolean advance() {
+      int[] keys = IntIntMap.this.keys;
+      while (++slot < keys.length) {
+        if (keys[slot] != FREE) {
+          return true;
+        }
+      }
+      if (slot == keys.length && hasFreeKey) {
+        return true;
+      }
+      slot = keys.length + 1;
+      return false;
+    }
+
+    /** Returns the key of the current entry. */
+    public int key() {
+      checkPosition();
+      return slot == keys.length ? FREE : keys[slot];
+    }
+
+    /** Returns the value of the current entry. */
+    public int value() {
+      checkPosition();
+      return slot == keys.length ? freeKeyValue : values[slot];
+    }
+
+    /** Replaces the value of the current entry. */
+    public void setValue(int value) {
+      checkPosition();
+      if (slot == keys.length) {
+        freeKeyValue = value;
+      } else {
+        values[slot] = value;
+      }
+    }
+
+    private void checkPosition() {
+      checkState(slot >= 0, "advance() was not called");
+      if (slot > keys.length) {
+        throw new NoSuchElementException();
+      }
+    }
+  }
+
+  private int slotOf(int key) {
+    int slot = Hashing.smearedHash(key) & mask;
+    int k;
+    while ((k = keys[slot]) != FREE) {
+      if (k == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void insertAt(int slot, int key, int value) {
+    keys[slot] = key;
+    values[slot] = value;
+    if (++tableSize > maxFill) {
+      rehash(keys.length << 1);
+    }
+  }
+
+  private void rehash(int newCapacity) {
+    checkState(newCapacity > 0, "cannot grow beyond %s slots", keys.length);
+    int[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(newCapacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      int key = oldKeys[i];
+      if (key != FREE) {
+        int slot = Hashing.smearedHash(key) & mask;
+        while (keys[slot] != FREE) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Empties {@code slot}, then moves back any later entry of the same probe run that would no
+   * longer be reachable from its home slot.
+   */
+  private void shiftKeys(int slot) {
+    int last;
+    int k;
+    while (true) {
+      slot = ((last = slot) + 1) & mask;
+      while (true) {
+        if ((k = keys[slot]) == FREE) {
+          keys[last] = FREE;
+          return;
+        }
+        int home = Hashing.smearedHash(k) & mask;
+        // Stop if home is cyclically outside (last, slot]: the entry can fill the hole at last.
+        if (last <= slot ? last >= home || home > slot : last >= home && home > slot) {
+          break;
+        }
+        slot = (slot + 1) & mask;
+      }
+      keys[last] = k;
+      values[last] = values[slot];
+    }
+  }
+
+  /** Returns a string representation of the form {@code "{1=2, 3=4}"}. */
+  @Override public String toString() {
+    StringBuilder builder = new StringBuilder(size() * 8).append('{');
+    Cursor cursor = cursor();
+    boolean first = true;
+    while (cursor.advance()) {
+      if (!first) {
+        builder.append(", ");
+      }
+      first = false;
+      builder.append(cursor.key()).append('=').append(cursor.value());
+    }
+    return builder.append('}').toString();
+  }
+}
@@ -23,7 +23,13 @@ import static com.romainpiel.guava.base.Preconditions.checkPositionIndexes;
 
 import com.romainpiel.guava.base.Converter;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -153,7 +159,7 @@ public final class Ints {
   }
 
   // TODO(kevinb): consider making this public
-  private static int indexOf(
+  static int indexOf(
       int[] array, int target, int start, int end) {
     for (int i = start; i < end; i++) {
       if (array[i] == target) {
@@ -180,19 +186,68 @@ public final class Ints {
     if (target.length == 0) {
       return 0;
     }
+    int lastStart = array.length - target.length;
+    if (target.length >= SKIP_SEARCH_MIN_TARGET
+        && lastStart >= SKIP_SEARCH_MIN_ARRAY) {
+      return horspoolIndexOf(array, target, lastStart);
+    }
 
-    outer:
-    for (int i = 0; i < array.length - target.length + 1; i++) {
-      for (int j = 0; j < target.length; j++) {
-        if (array[i + j] != target[j]) {
-          continue outer;
-        }
+    int first = target[0];
+    for (int i = 0; i <= lastStart; i++) {
+      i = indexOf(array, first, i, lastStart + 1);
+      if (i == -1) {
+        return -1;
+      }
+      if (regionMatches(array, i + 1, target, 1, target.length - 1)) {
+        return i;
       }
-      return i;
     }
     return -1;
   }
 
+  /**
+   * Targets at least this long, in arrays with at least this many candidate
+   * positions, are searched with a Boyer-Moore-Horspool skip table, which
+   * usually advances by close to a whole target length per comparison.
+   */
+  private static final int SKIP_SEARCH_MIN_TARGET = 8;
+  private static final int SKIP_SEARCH_MIN_ARRAY = 256;
+  private static final int SKIP_TABLE_MASK = 0xFF;
+
+  /**
+   * Horspool search with the skip table indexed by a hash of each value rather
+   * than the value itself. Values sharing a bucket keep the smallest shift of
+   * any of them, so the search may shift less than it could but never skips a
+   * match.
+   */
+  private static int horspoolIndexOf(int[] array, int[] target, int lastStart) {
+    int last = target.length - 1;
+    int[] skip = new int[SKIP_TABLE_MASK + 1];
+    Arrays.fill(skip, target.length);
+    for (int j = 0; j < last; j++) {
+      skip[Hashing.smearedHash(target[j]) & SKIP_TABLE_MASK] = last - j;
+    }
+    int lastValue = target[last];
+    for (int i = 0; i <= lastStart; ) {
+      int value = array[i + last];
+      if (value == lastValue && regionMatches(array, i, target, 0, last)) {
+        return i;
+      }
+      i += skip[Hashing.smearedHash(value) & SKIP_TABLE_MASK];
+    }
+    return -1;
+  }
+
+  private static boolean regionMatches(
+      int[] array, int offset, int[] target, int targetOffset, int length) {
+    for (int j = 0; j < length; j++) {
+      if (array[offset + j] != target[targetOffset + j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Returns the index of the last appearance of the value {@code target} in
    * {@code array}.
@@ -207,7 +262,7 @@ public final class Ints {
   }
 
   // TODO(kevinb): consider making this public
-  private static int lastIndexOf(
+  static int lastIndexOf(
       int[] array, int target, int start, int end) {
     for (int i = end - 1; i >= start; i--) {
       if (array[i] == target) {
@@ -255,6 +310,62 @@ public final class Ints {
     return max;
   }
 
+  /**
+   * Returns the least and the greatest value present in {@code array}, found
+   * in a single pass over the array.
+   *
+   * @param array a <i>nonempty</i> array of {@code int} values
+   * @return a new two-element array holding {@link #min} and {@link #max} of
+   *     {@code array}, in that order
+   * @throws IllegalArgumentException if {@code array} is empty
+   */
+  public static int[] minMax(int... array) {
+    checkArgument(array.length > 0);
+    int min = array[0];
+    int max = min;
+    for (int i = 1; i < array.length; i++) {
+      int next = array[i];
+      if (next < min) {
+        min = next;
+      } else if (next > max) {
+        max = next;
+      }
+    }
+    return new int[] {min, max};
+  }
+
+  /**
+   * Returns the sum of the values in {@code array}. The sum is computed as a
+   * {@code long}, which cannot overflow for any {@code int} array.
+   *
+   * @param array an array of {@code int} values, possibly empty
+   * @return the exact sum of the values, or {@code 0} if {@code array} is empty
+   */
+  public static long sum(int... array) {
+    long sum = 0;
+    for (int value : array) {
+      sum += value;
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the sum of the values in {@code array}, if it fits in an {@code
+   * int}. Only the total counts: partial sums outside the {@code int} range
+   * are fine as long as later values bring the total back into range.
+   *
+   * @param array an array of {@code int} values, possibly empty
+   * @throws ArithmeticException if the sum does not fit in an {@code int}
+   */
+  public static int sumExact(int... array) {
+    long sum = sum(array);
+    int result = (int) sum;
+    if (result != sum) {
+      throw new ArithmeticException("overflow");
+    }
+    return result;
+  }
+
   /**
    * Returns the values from each provided array combined into a single array.
    * For example, {@code concat(new int[] {a, b}, new int[] {}, new
@@ -326,6 +437,85 @@ public final class Ints {
     return b1 << 24 | (b2 & 0xFF) << 16 | (b3 & 0xFF) << 8 | (b4 & 0xFF);
   }
 
+  /**
+   * Copies {@code length} values from {@code src}, starting at index {@code
+   * srcIndex}, into {@code dst} starting at index {@code dstIndex}, each value
+   * taking {@value #BYTES} bytes in the given byte order. This is a bulk
+   * version of {@link #toByteArray}; each call allocates a wrapping {@code
+   * ByteBuffer} and a view of it, whatever the {@code length}.
+   *
+   * @throws IndexOutOfBoundsException if either range lies outside its array
+   */
+  public static void copyToBytes(int[] src, int srcIndex, byte[] dst,
+      int dstIndex, int length, ByteOrder order) {
+    checkNotNull(order);
+    checkPositionIndexes(srcIndex, srcIndex + length, src.length);
+    checkPositionIndexes(dstIndex, dstIndex + length * BYTES, dst.length);
+    ByteBuffer.wrap(dst, dstIndex, length * BYTES).order(order)
+        .asIntBuffer().put(src, srcIndex, length);
+  }
+
+  /**
+   * Copies {@code length} values out of {@code src}, starting at index {@code
+   * srcIndex} and each taking {@value #BYTES} bytes in the given byte order,
+   * into {@code dst} starting at index {@code dstIndex}. This is a bulk version
+   * of {@link #fromByteArray}; each call allocates a wrapping {@code
+   * ByteBuffer} and a view of it, whatever the {@code length}.
+   *
+   * @throws IndexOutOfBoundsException if either range lies outside its array
+   */
+  public static void copyFromBytes(byte[] src, int srcIndex, int[] dst,
+      int dstIndex, int length, ByteOrder order) {
+    checkNotNull(order);
+    checkPositionIndexes(srcIndex, srcIndex + length * BYTES, src.length);
+    checkPositionIndexes(dstIndex, dstIndex + length, dst.length);
+    ByteBuffer.wrap(src, srcIndex, length * BYTES).order(order)
+        .asIntBuffer().get(dst, dstIndex, length);
+  }
+
+  /**
+   * Writes {@code length} values from {@code src}, starting at index {@code
+   * srcIndex}, to {@code buffer} at its position and in its byte order, and
+   * advances the position past them. The result is that of calling {@link
+   * ByteBuffer#putInt(int)} for each value, but heap and direct buffers alike are
+   * written in bulk.
+   *
+   * @throws IndexOutOfBoundsException if the range lies outside {@code src}
+   * @throws BufferOverflowException if {@code buffer} has fewer than {@code
+   *     length * BYTES} bytes remaining
+   * @throws ReadOnlyBufferException if {@code buffer} is read-only
+   */
+  public static void put(
+      ByteBuffer buffer, int[] src, int srcIndex, int length) {
+    checkPositionIndexes(srcIndex, srcIndex + length, src.length);
+    if (buffer.remaining() / BYTES < length) {
+      throw new BufferOverflowException();
+    }
+    buffer.asIntBuffer().put(src, srcIndex, length);
+    buffer.position(buffer.position() + length * BYTES);
+  }
+
+  /**
+   * Reads {@code length} values from {@code buffer} at its position and in its
+   * byte order into {@code dst}, starting at index {@code dstIndex}, and
+   * advances the position past them. The result is that of calling {@link
+   * ByteBuffer#getInt()} for each value, but heap and direct buffers alike are
+   * read in bulk.
+   *
+   * @throws IndexOutOfBoundsException if the range lies outside {@code dst}
+   * @throws BufferUnderflowException if {@code buffer} has fewer than {@code
+   *     length * BYTES} bytes remaining
+   */
+  public static void get(
+      ByteBuffer buffer, int[] dst, int dstIndex, int length) {
+    checkPositionIndexes(dstIndex, dstIndex + length, dst.length);
+    if (buffer.remaining() / BYTES < length) {
+      throw new BufferUnderflowException();
+    }
+    buffer.asIntBuffer().get(dst, dstIndex, length);
+    buffer.position(buffer.position() + length * BYTES);
+  }
+
   private static final class IntConverter
       extends Converter<String, Integer> implements Serializable {
     static final IntConverter INSTANCE = new IntConverter();
@@ -417,6 +607,76 @@ public final class Ints {
     return builder.toString();
   }
 
+  /**
+   * Writes the decimal representation of {@code value} into {@code dst},
+   * starting at {@code offset}, and returns the index after the last
+   * character written. Digits are produced two at a time from a lookup table
+   * and nothing is allocated. The ASCII character {@code '-'} precedes
+   * negative values. At most 11 characters are written.
+   *
+   * @param value the value to write
+   * @param dst the array to write the characters into
+   * @param offset the index in {@code dst} of the first character to write
+   * @return the index in {@code dst} after the last character written
+   * @throws IndexOutOfBoundsException if {@code offset} is not a valid
+   *     position in {@code dst}, or if the representation does not fit in
+   *     the remaining space; nothing is written in that case
+   */
+  public static int writeTo(int value, char[] dst, int offset) {
+    return Digits.writeSigned(value, 10, dst, offset);
+  }
+
+  /**
+   * Writes the representation of {@code value} in {@code radix} into
+   * {@code dst}, starting at {@code offset}, and returns the index after the
+   * last character written. Digits above 9 are written as lowercase ASCII
+   * letters, as by {@link Character#forDigit}. At most 33 characters are
+   * written.
+   *
+   * @param value the value to write
+   * @param radix the radix to use
+   * @param dst the array to write the characters into
+   * @param offset the index in {@code dst} of the first character to write
+   * @return the index in {@code dst} after the last character written
+   * @throws IllegalArgumentException if {@code radix} is not between {@link
+   *     Character#MIN_RADIX} and {@link Character#MAX_RADIX}
+   * @throws IndexOutOfBoundsException if {@code offset} is not a valid
+   *     position in {@code dst}, or if the representation does not fit in
+   *     the remaining space; nothing is written in that case
+   */
+  public static int writeTo(int value, int radix, char[] dst, int offset) {
+    return Digits.writeSigned(value, radix, dst, offset);
+  }
+
+  /**
+   * Appends the decimal representation of {@code value} to {@code
+   * appendable}, most significant digit first, without creating a {@code
+   * String} or any other object.
+   *
+   * @return {@code appendable}
+   */
+  public static <A extends Appendable> A appendTo(A appendable, int value)
+      throws IOException {
+    Digits.appendSigned(appendable, value, 10);
+    return appendable;
+  }
+
+  /**
+   * Appends the representation of {@code value} in {@code radix} to {@code
+   * appendable}, most significant digit first, without creating a {@code
+   * String} or any other object. Digits above 9 are written as lowercase ASCII
+   * letters.
+   *
+   * @return {@code appendable}
+   * @throws IllegalArgumentException if {@code radix} is not between {@link
+   *     Character#MIN_RADIX} and {@link Character#MAX_RADIX}
+   */
+  public static <A extends Appendable> A appendTo(A appendable, int value, int radix)
+      throws IOException {
+    Digits.appendSigned(appendable, value, radix);
+    return appendable;
+  }
+
   /**
    * Returns a comparator that compares two {@code int} arrays
    * lexicographically. That is, it compares, using {@link
@@ -452,6 +712,61 @@ public final class Ints {
     }
   }
 
+  /**
+   * Sorts the elements of {@code array} in descending order.
+   *
+   * @param array the array to sort, possibly empty
+   */
+  public static void sortDescending(int[] array) {
+    checkNotNull(array);
+    sortDescending(array, 0, array.length);
+  }
+
+  /**
+   * Sorts the elements of {@code array} between {@code fromIndex} inclusive and
+   * {@code toIndex} exclusive in descending order.
+   *
+   * @throws IndexOutOfBoundsException if {@code fromIndex < 0}, {@code toIndex >
+   *     array.length}, or {@code fromIndex > toIndex}
+   */
+  public static void sortDescending(int[] array, int fromIndex, int toIndex) {
+    checkNotNull(array);
+    checkPositionIndexes(fromIndex, toIndex, array.length);
+    Arrays.sort(array, fromIndex, toIndex);
+    reverse(array, fromIndex, toIndex);
+  }
+
+  /**
+   * Reverses the elements of {@code array}. This is equivalent to {@code
+   * Collections.reverse(Ints.asList(array))}, but is likely to be more
+   * efficient.
+   *
+   * @param array the array to reverse, possibly empty
+   */
+  public static void reverse(int[] array) {
+    checkNotNull(array);
+    reverse(array, 0, array.length);
+  }
+
+  /**
+   * Reverses the elements of {@code array} between {@code fromIndex} inclusive
+   * and {@code toIndex} exclusive. This is equivalent to {@code
+   * Collections.reverse(Ints.asList(array).subList(fromIndex, toIndex))}, but
+   * is likely to be more efficient.
+   *
+   * @throws IndexOutOfBoundsException if {@code fromIndex < 0}, {@code toIndex >
+   *     array.length}, or {@code fromIndex > toIndex}
+   */
+  public static void reverse(int[] array, int fromIndex, int toIndex) {
+    checkNotNull(array);
+    checkPositionIndexes(fromIndex, toIndex, array.length);
+    for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+      int tmp = array[i];
+      array[i] = array[j];
+      array[j] = tmp;
+    }
+  }
+
   /**
    * Returns an array containing each value of {@code collection}, converted to
    * a {@code int} value in the manner of {@link Number#intValue}.
@@ -638,7 +953,7 @@ public final class Ints {
     }
   }
 
-  private static int digit(char c) {
+  static int digit(char c) {
     return (c < 128) ? asciiDigits[c] : -1;
   }
 
@@ -690,34 +1005,103 @@ public final class Ints {
    */
   static Integer tryParse(
       String string, int radix) {
-    if (checkNotNull(string).isEmpty()) {
-      return null;
-    }
+    long result = parse(checkNotNull(string), null, 0, string.length(), radix);
+    return (result == INVALID) ? null : (int) result;
+  }
+
+  /**
+   * Parses the characters of {@code sequence} from {@code start}, inclusive,
+   * to {@code end}, exclusive, as a signed integer value using the specified
+   * radix, with the same rules as {@link #tryParse(String)}. No object is
+   * allocated, whether parsing succeeds or not, which makes this method
+   * suitable for reading fields out of a buffer without extracting them as
+   * strings first.
+   *
+   * @param sequence the characters containing the integer representation
+   * @param start the index of the first character to parse
+   * @param end the index after the last character to parse
+   * @param radix the radix to use when parsing
+   * @param defaultValue the value to return if parsing fails
+   * @return the integer value represented by the range, or {@code
+   *     defaultValue} if the range is empty or cannot be parsed as an integer
+   *     value
+   * @throws IndexOutOfBoundsException if {@code start} or {@code end} is not
+   *     a valid position in {@code sequence}, or if {@code end < start}
+   * @throws IllegalArgumentException if {@code radix < Character.MIN_RADIX} or
+   *     {@code radix > Character.MAX_RADIX}
+   */
+  public static int tryParse(
+      CharSequence sequence, int start, int end, int radix, int defaultValue) {
+    checkPositionIndexes(start, end, sequence.length());
+    long result = parse(sequence, null, start, end, radix);
+    return (result == INVALID) ? defaultValue : (int) result;
+  }
+
+  /**
+   * Parses {@code length} bytes of {@code bytes}, starting at {@code offset},
+   * as ASCII characters representing a signed decimal integer value, with the
+   * same rules as {@link #tryParse(String)}. No object is allocated, whether
+   * parsing succeeds or not, which makes this method suitable for reading
+   * fields straight out of a network buffer.
+   *
+   * @param bytes the ASCII characters containing the integer representation
+   * @param offset the index of the first byte to parse
+   * @param length the number of bytes to parse
+   * @param defaultValue the value to return if parsing fails
+   * @return the integer value represented by the bytes, or {@code
+   *     defaultValue} if {@code length} is zero or the bytes cannot be parsed
+   *     as an integer value
+   * @throws IndexOutOfBoundsException if the range is not within the bounds
+   *     of {@code bytes}
+   */
+  public static int tryParse(byte[] bytes, int offset, int length, int defaultValue) {
+    checkPositionIndexes(offset, offset + length, bytes.length);
+    long result = parse(null, bytes, offset, offset + length, 10);
+    return (result == INVALID) ? defaultValue : (int) result;
+  }
+
+  /** Returned by {@link #parse} for invalid input; not a valid {@code int}. */
+  private static final long INVALID = Long.MAX_VALUE;
+
+  /**
+   * Parses a range of {@code sequence}, or of {@code bytes} as ASCII
+   * characters if {@code sequence} is null, that is known to be valid,
+   * returning {@link #INVALID} if it is empty or cannot be parsed as an
+   * integer value.
+   *
+   * @throws IllegalArgumentException if {@code radix} is out of range, even
+   *     if the range is empty
+   */
+  private static long parse(
+      CharSequence sequence, byte[] bytes, int start, int end, int radix) {
     if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
       throw new IllegalArgumentException(
           "radix must be between MIN_RADIX and MAX_RADIX but was " + radix);
     }
-    boolean negative = string.charAt(0) == '-';
-    int index = negative ? 1 : 0;
-    if (index == string.length()) {
-      return null;
+    if (start == end) {
+      return INVALID;
+    }
+    boolean negative = charAt(sequence, bytes, start) == '-';
+    int index = negative ? start + 1 : start;
+    if (index == end) {
+      return INVALID;
     }
-    int digit = digit(string.charAt(index++));
+    int digit = digit(charAt(sequence, bytes, index++));
     if (digit < 0 || digit >= radix) {
-      return null;
+      return INVALID;
     }
     int accum = -digit;
 
     int cap = Integer.MIN_VALUE / radix;
 
-    while (index < string.length()) {
-      digit = digit(string.charAt(index++));
+    while (index < end) {
+      digit = digit(charAt(sequence, bytes, index++));
       if (digit < 0 || digit >= radix || accum < cap) {
-        return null;
+        return INVALID;
       }
       accum *= radix;
       if (accum < Integer.MIN_VALUE + digit) {
-        return null;
+        return INVALID;
       }
       accum -= digit;
     }
@@ -725,9 +1109,13 @@ public final class Ints {
     if (negative) {
       return accum;
     } else if (accum == Integer.MIN_VALUE) {
-      return null;
+      return INVALID;
     } else {
       return -accum;
     }
   }
+
+  private static char charAt(CharSequence sequence, byte[] bytes, int index) {
+    return (sequence == null) ? (char) bytes[index] : sequence.charAt(index);
+  }
 }
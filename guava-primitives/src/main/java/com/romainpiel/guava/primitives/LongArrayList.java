@@ -0,0 +1,382 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import static com.romainpiel.guava.base.Preconditions.checkArgument;
+import static com.romainpiel.guava.base.Preconditions.checkElementIndex;
+import static com.romainpiel.guava.base.Preconditions.checkNotNull;
+import static com.romainpiel.guava.base.Preconditions.checkPositionIndex;
+import static com.romainpiel.guava.base.Preconditions.checkPositionIndexes;
+
+import android.support.annotation.Nullable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A resizable sequence of {@code long} values, the primitive counterpart of {@code
+ * ArrayList<Long>}. Values are stored in a single {@code long[]} that grows by half its size
+ * when full, so appending is amortized constant time and no {@link Long} is ever allocated.
+ *
+ * <p>The backing array can be handed to the static helpers of {@link Longs} through {@link
+ * #toArray}, and the list can be viewed as a {@code List<Long>} through {@link #asList} when
+ * collection-based utilities are needed (at the cost of boxing on access).
+ *
+ * <p>Instances are not thread-safe.
+ */
+public final class LongArrayList {
+  private static final int DEFAULT_CAPACITY = 10;
+
+  /** Creates a new, empty list with a default initial capacity. */
+  public static LongArrayList create() {
+    return new LongArrayList(new long[DEFAULT_CAPACITY], 0);
+  }
+
+  /**
+   * Creates a new, empty list that can hold {@code initialCapacity} values before it needs to
+   * grow.
+   *
+   * @throws IllegalArgumentException if {@code initialCapacity} is negative
+   */
+  public static LongArrayList create(int initialCapacity) {
+    checkArgument(initialCapacity >= 0, "Invalid initialCapacity: %s", initialCapacity);
+    return new LongArrayList(new long[initialCapacity], 0);
+  }
+
+  /** Creates a new list containing a copy of {@code values}, in order. */
+  public static LongArrayList copyOf(long[] values) {
+    return new LongArrayList(Arrays.copyOf(values, values.length), values.length);
+  }
+
+  /**
+   * Creates a new list containing {@code values}, in order.
+   *
+   * @throws NullPointerException if {@code values} or any of its elements is null
+   */
+  public static LongArrayList copyOf(Collection<? extends Number> values) {
+    long[] array = Longs.toArray(values);
+    return new LongArrayList(array, array.length);
+  }
+
+  private long[] array;
+  private int size;
+
+  private LongArrayList(long[] array, int size) {
+    this.array = array;
+    this.size = size;
+  }
+
+  /** Returns the number of values in this list. */
+  public int size() {
+    return size;
+  }
+
+  /** Returns {@code true} if this list contains no values. */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the value at {@code index}.
+   *
+   * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size}
+   */
+  public long get(int index) {
+    checkElementIndex(index, size);
+    return array[index];
+  }
+
+  /**
+   * Replaces the value at {@code index} with {@code value}.
+   *
+   * @return the value previously at {@code index}
+   * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size}
+   */
+  public long set(int index, long value) {
+    checkElementIndex(index, size);
+    long oldValue = array[index];
+    array[index] = value;
+    return oldValue;
+  }
+
+  /** Appends {@code value} to the end of this list. */
+  public void add(long value) {
+    if (size == array.length) {
+      grow(size + 1);
+    }
+    array[size++] = value;
+  }
+
+  /**
+   * Inserts {@code value} at {@code index}, shifting the value currently at that position and any
+   * subsequent values to the right.
+   *
+   * @throws IndexOutOfBoundsException if {@code index} is negative or greater than {@link #size}
+   */
+  public void add(int index, long value) {
+    checkPositionIndex(index, size);
+    if (size == array.length) {
+      grow(size + 1);
+    }
+    System.arraycopy(array, index, array, index + 1, size - index);
+    array[index] = value;
+    size++;
+  }
+
+  /** Appends all of {@code values}, in order, to the end of this list. */
+  public void addAll(long[] values) {
+    addAll(values, 0, values.length);
+  }
+
+  /**
+   * Appends {@code length} values of {@code values}, starting at {@code offset}, to the end of this
+   * list.
+   *
+   * @throws IndexOutOfBoundsException if the range is not within the bounds of {@code values}
+   */
+  public void addAll(long[] values, int offset, int length) {
+    checkPositionIndexes(offset, offset + length, values.length);
+    ensureCapacity(size + length);
+    System.arraycopy(values, offset, array, size, length);
+    size += length;
+  }
+
+  /** Appends all values of {@code values}, in order, to the end of this list. */
+  public void addAll(LongArrayList values) {
+    addAll(values.array, 0, values.size);
+  }
+
+  /**
+   * Appends all of {@code values}, in order, to the end of this list.
+   *
+   * @throws NullPointerException if {@code values} or any of its elements is null
+   */
+  public void addAll(Collection<? extends Number> values) {
+    ensureCapacity(size + values.size());
+    for (Number value : values) {
+      add(checkNotNull(value).longValue());
+    }
+  }
+
+  /**
+   * Removes the value at {@code index}, shifting any subsequent values to the left.
+   *
+   * @return the removed value
+   * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size}
+   */
+  public long removeAt(int index) {
+    checkElementIndex(index, size);
+    long oldValue = array[index];
+    System.arraycopy(array, index + 1, array, index, size - index - 1);
+    size--;
+    return oldValue;
+  }
+
+  /**
+   * Removes the values from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive, shifting
+   * any subsequent values to the left.
+   *
+   * @throws IndexOutOfBoundsException if {@code fromIndex > toIndex} or if either index is outside
+   *     {@code [0, size()]}
+   */
+  public void removeRange(int fromIndex, int toIndex) {
+    checkPositionIndexes(fromIndex, toIndex, size);
+    System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+    size -= toIndex - fromIndex;
+  }
+
+  /** Removes all values from this list. The capacity is kept; see {@link #trimToSize}. */
+  public void clear() {
+    size = 0;
+  }
+
+  /** Returns {@code true} if {@code target} is present in this list. */
+  public boolean contains(long target) {
+    return Longs.indexOf(array, target, 0, size) != -1;
+  }
+
+  /** Returns the index of the first appearance of {@code target}, or {@code -1} if absent. */
+  public int indexOf(long target) {
+    return Longs.indexOf(array, target, 0, size);
+  }
+
+  /** Returns the index of the last appearance of {@code target}, or {@code -1} if absent. */
+  public int lastIndexOf(long target) {
+    return Longs.lastIndexOf(array, target, 0, size);
+  }
+
+  /** Sorts the values of this list into ascending order. */
+  public void sort() {
+    Arrays.sort(array, 0, size);
+  }
+
+  /**
+   * Searches this list for {@code key} using the binary search algorithm. The list must be sorted
+   * in ascending order (as by {@link #sort}), otherwise the result is undefined.
+   *
+   * @return the index of {@code key} if present; otherwise {@code (-(insertion point) - 1)}, as
+   *     specified by {@link Arrays#binarySearch(long[], long)}
+   */
+  public int binarySearch(long key) {
+    return Arrays.binarySearch(array, 0, size, key);
+  }
+
+  /**
+   * Ensures that this list can hold at least {@code minCapacity} values without growing its
+   * backing array.
+   */
+  public void ensureCapacity(int minCapacity) {
+    if (minCapacity > array.length) {
+      grow(minCapacity);
+    }
+  }
+
+  /** Shrinks the backing array of this list to exactly {@link #size} values. */
+  public void trimToSize() {
+    if (size < array.length) {
+      array = Arrays.copyOf(array, size);
+    }
+  }
+
+  private void grow(int minCapacity) {
+    if (minCapacity < 0) {
+      throw new OutOfMemoryError("cannot store more than Integer.MAX_VALUE values");
+    }
+    // Grow by half again, like ArrayList, without overflowing past Integer.MAX_VALUE.
+    int padding = Math.max(array.length >> 1, 1);
+    padding = (int) Math.min(padding, (long) Integer.MAX_VALUE - minCapacity);
+    array = Longs.ensureCapacity(array, minCapacity, padding);
+  }
+
+  /** Returns a new array containing the values of this list, in order. */
+  public long[] toArray() {
+    return Arrays.copyOf(array, size);
+  }
+
+  /** Returns an immutable snapshot of the values of this list. */
+  public ImmutableLongArray toImmutableArray() {
+    return ImmutableLongArray.copyOfRange(array, 0, size);
+  }
+
+  /**
+   * Returns a {@code List<Long>} view of this list. The view supports {@code set}, {@code add}
+   * and {@code remove}, and writes through to this list; any attempt to store a {@code null}
+   * results in a {@link NullPointerException}. Values are boxed on each access, so the view is
+   * meant for interoperability rather than hot loops.
+   */
+  public List<Long> asList() {
+    return new AsList(this);
+  }
+
+  private static final class AsList extends AbstractList<Long> implements RandomAccess {
+    private final LongArrayList parent;
+
+    AsList(LongArrayList parent) {
+      this.parent = parent;
+    }
+
+    @Override public int size() {
+      return parent.size;
+    }
+
+    @Override public Long get(int index) {
+      return parent.get(index);
+    }
+
+    @Override public Long set(int index, Long element) {
+      return parent.set(index, checkNotNull(element));
+    }
+
+    @Override public void add(int index, Long element) {
+      parent.add(index, checkNotNull(element));
+      modCount++;
+    }
+
+    @Override public Long remove(int index) {
+      modCount++;
+      return parent.removeAt(index);
+    }
+
+    @Override protected void removeRange(int fromIndex, int toIndex) {
+      modCount++;
+      parent.removeRange(fromIndex, toIndex);
+    }
+
+    @Override public boolean contains(Object target) {
+      // Overridden to prevent a ton of boxing
+      return (target instanceof Long) && parent.contains((Long) target);
+    }
+
+    @Override public int indexOf(Object target) {
+      // Overridden to prevent a ton of boxing
+      return (target instanceof Long) ? parent.indexOf((Long) target) : -1;
+    }
+
+    @Override public int lastIndexOf(Object target) {
+      // Overridden to prevent a ton of boxing
+      return (target instanceof Long) ? parent.lastIndexOf((Long) target) : -1;
+    }
+  }
+
+  /**
+   * Returns {@code true} if {@code object} is a {@code LongArrayList} containing the same values
+   * as this one, in the same order.
+   */
+  @Override public boolean equals(@Nullable Object object) {
+    if (object == this) {
+      return true;
+    }
+    if (!(object instanceof LongArrayList)) {
+      return false;
+    }
+    LongArrayList that = (LongArrayList) object;
+    if (size != that.size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (array[i] != that.array[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns the same hash code as {@code asList().hashCode()}, computed without boxing. */
+  @Override public int hashCode() {
+    int result = 1;
+    for (int i = 0; i < size; i++) {
+      result = 31 * result + Longs.hashCode(array[i]);
+    }
+    return result;
+  }
+
+  /** Returns a string representation of the form {@code "[1, 2, 3]"}. */
+  @Override public String toString() {
+    if (size == 0) {
+      return "[]";
+    }
+    StringBuilder builder = new StringBuilder(size * 5);
+    builder.append('[').append(array[0]);
+    for (int i = 1; i < size; i++) {
+      builder.append(", ").append(array[i]);
+    }
+    return builder.append(']').toString();
+  }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import static com.romainpiel.guava.base.Preconditions.checkArgument;
+import static com.romainpiel.guava.base.Preconditions.checkState;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash set of {@code long} values that never boxes. Values are stored in a single array using
+ * open addressing with linear probing, and removals shift subsequent values back instead of
+ * leaving tombstones, so lookups stay short under churn.
+ *
+ * <p>Values are visited with a {@link Cursor}, which allocates nothing per value: <pre>   {@code
+ *
+ *   LongHashSet.Cursor cursor = set.cursor();
+ *   while (cursor.advance()) {
+ *     use(cursor.value());
+ *   }}</pre>
+ *
+ * <p>Instances are not thread-safe. Iteration order is unspecified.
+ */
+public final class LongHashSet {
+  private static final int DEFAULT_EXPECTED_SIZE = 8;
+  private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+  /** The value marking an empty slot. Its own membership is tracked out of the table. */
+  private static final long FREE = 0L;
+
+  /** Creates a new, empty set with a default expected size and a load factor of 0.75. */
+  public static LongHashSet create() {
+    return new LongHashSet(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates a new, empty set that can hold {@code expectedSize} values without resizing, with a
+   * load factor of 0.75.
+   *
+   * @throws IllegalArgumentException if {@code expectedSize} is negative
+   */
+  public static LongHashSet create(int expectedSize) {
+    return new LongHashSet(expectedSize, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates a new, empty set that can hold {@code expectedSize} values without resizing. Lower
+   * load factors trade memory for shorter probe sequences.
+   *
+   * @throws IllegalArgumentException if {@code expectedSize} is negative, or if {@code loadFactor}
+   *     is not strictly between 0 and 1
+   */
+  public static LongHashSet create(int expectedSize, float loadFactor) {
+    return new LongHashSet(expectedSize, loadFactor);
+  }
+
+  /** Creates a new set containing the distinct values of {@code values}. */
+  public static LongHashSet copyOf(long[] values) {
+    LongHashSet set = create(values.length);
+    set.addAll(values);
+    return set;
+  }
+
+  private final float loadFactor;
+  private long[] table;
+  private int mask;
+  private int maxFill;
+  /** Number of values in the table, not counting {@link #FREE}. */
+  private int tableSize;
+
+  private boolean containsFree;
+
+  private LongHashSet(int expectedSize, float loadFactor) {
+    checkArgument(expectedSize >= 0, "Invalid expectedSize: %s", expectedSize);
+    this.loadFactor = Hashing.checkLoadFactor(loadFactor);
+    allocate(Hashing.closedTableSize(expectedSize, loadFactor));
+  }
+
+  private void allocate(int capacity) {
+    table = new long[capacity];
+    mask = capacity - 1;
+    maxFill = Hashing.maxFill(capacity, loadFactor);
+  }
+
+  /** Returns the number of values in this set. */
+  public int size() {
+    return containsFree ? tableSize + 1 : tableSize;
+  }
+
+  /** Returns {@code true} if this set contains no values. */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /** Returns {@code true} if this set contains {@code value}. */
+  public boolean contains(long value) {
+    return value == FREE ? containsFree : slotOf(value) >= 0;
+  }
+
+  /**
+   * Adds {@code value} to this set.
+   *
+   * @return {@code true} if the set did not already contain {@code value}
+   */
+  public boolean add(long value) {
+    if (value == FREE) {
+      boolean added = !containsFree;
+      containsFree = true;
+      return added;
+    }
+    int slot = Hashing.smearedHash(value) & mask;
+    long v;
+    while ((v = table[slot]) != FREE) {
+      if (v == value) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = value;
+    if (++tableSize > maxFill) {
+      rehash(table.length << 1);
+    }
+    return true;
+  }
+
+  /**
+   * Adds all of {@code values} to this set.
+   *
+   * @return {@code true} if the set changed as a result
+   */
+  public boolean addAll(long[] values) {
+    boolean changed = false;
+    for (long value : values) {
+      changed |= add(value);
+    }
+    return changed;
+  }
+
+  /**
+   * Removes {@code value} from this set, if present.
+   *
+   * @return {@code true} if the set contained {@code value}
+   */
+  public boolean remove(long value) {
+    if (value == FREE) {
+      boolean removed = containsFree;
+      containsFree = false;
+      return removed;
+    }
+    int slot = slotOf(value);
+    if (slot < 0) {
+      return false;
+    }
+    tableSize--;
+    shiftKeys(slot);
+    return true;
+  }
+
+  /** Removes all values from this set. The capacity of the table is kept. */
+  public void clear() {
+    Arrays.fill(table, FREE);
+    tableSize = 0;
+    containsFree = false;
+  }
+
+  /** Returns a new array containing the values of this set, in unspecified order. */
+  public long[] toArray() {
+    long[] result = new long[size()];
+    int i = 0;
+    for (long value : table) {
+      if (value != FREE) {
+        result[i++] = value;
+      }
+    }
+    if (containsFree) {
+      result[i] = FREE;
+    }
+    return result;
+  }
+
+  /**
+   * Returns a new cursor positioned before the first value of this set. Modifying the set while a
+   * cursor is in use leads to unspecified results.
+   */
+  public Cursor cursor() {
+    return new Cursor();
+  }
+
+  /**
+   * An allocation-free iterator over the values of a {@link LongHashSet}. Call {@link #advance}
+   * before each access to {@link #value}.
+   */
+  public final class Cursor {
+    // Slots 0 to table.length - 1 are the table, slot table.length is FREE.
+    private int slot = -1;
+
+    Cursor() {}
+
+    /**
+     * Moves to the next value.
+     *
+     * @return {@code false} if there are no more values
+     */
+    public boolean advance() {
+      long[] table = LongHashSet.this.table;
+      while (++slot < table.length) {
+        if (table[slot] != FREE) {
+          return true;
+        }
+      }
+      if (slot == table.length && containsFree) {
+        return true;
+      }
+      slot = table.length + 1;
+      return false;
+    }
+
+    /** Returns the current value. */
+    public long value() {
+      checkState(slot >= 0, "advance() was not called");
+      if (slot > table.length) {
+        throw new NoSuchElementException();
+      }
+      return slot == table.length ? FREE : table[slot];
+    }
+  }
+
+  private int slotOf(long value) {
+    int slot = Hashing.smearedHash(value) & mask;
+    long v;
+    while ((v = table[slot]) != FREE) {
+      if (v == value) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void rehash(int newCapacity) {
+    checkState(newCapacity > 0, "cannot grow beyond %s slots", table.length);
+    long[] oldTable = table;
+    allocate(newCapacity);
+    for (long value : oldTable) {
+      if (value != FREE) {
+        int slot = Hashing.smearedHash(value) & mask;
+        while (table[slot] != FREE) {
+          slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+      }
+    }
+  }
+
+  /**
+   * Empties {@code slot}, then moves back any later value of the same probe run that would no
+   * longer be reachable from its home slot.
+   */
+  private void shiftKeys(int slot) {
+    int last;
+    long v;
+    while (true) {
+      slot = ((last = slot) + 1) & mask;
+      while (true) {
+        if ((v = table[slot]) == FREE) {
+          table[last] = FREE;
+          return;
+        }
+        int home = Hashing.smearedHash(v) & mask;
+        // Stop if home is cyclically outside (last, slot]: the value can fill the hole at last.
+        if (last <= slot ? last >= home || home > slot : last >= home && home > slot) {
+          break;
+        }
+        slot = (slot + 1) & mask;
+      }
+      table[last] = v;
+    }
+  }
+
+  /** Returns a string representation of the form {@code "[1, 2, 3]"}, in unspecified order. */
+  @Override public String toString() {
+    StringBuilder builder = new StringBuilder(size() * 5).append('[');
+    Cursor cursor = cursor();
+    boolean first = true;
+    while (cursor.advance()) {
+      if (!first) {
+        builder.append(", ");
+      }
+      first = false;
+      builder.append(cursor.value());
+    }
+    return builder.append(']').toString();
+  }
+}
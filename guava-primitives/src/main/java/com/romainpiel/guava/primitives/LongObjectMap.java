@@ -0,0 +1,336 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import static com.romainpiel.guava.base.Preconditions.checkArgument;
+import static com.romainpiel.guava.base.Preconditions.checkNotNull;
+import static com.romainpiel.guava.base.Preconditions.checkState;
+
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash map from {@code long} keys to non-null object values that never boxes its keys. Entries
+ * are stored in two parallel arrays using open addressing with linear probing, and removals shift
+ * subsequent entries back instead of leaving tombstones, so lookups stay short under churn.
+ *
+ * <p>Every {@code long} is a valid key. Null values are not supported, which lets {@link #get}
+ * return {@code null} for missing keys.
+ *
+ * <p>Entries are visited with a {@link Cursor}, which allocates nothing per entry: <pre>   {@code
+ *
+ *   LongObjectMap<String>.Cursor cursor = map.cursor();
+ *   while (cursor.advance()) {
+ *     use(cursor.key(), cursor.value());
+ *   }}</pre>
+ *
+ * <p>Instances are not thread-safe. Iteration order is unspecified.
+ *
+ * @param <V> the type of the values
+ */
+public final class LongObjectMap<V> {
+  private static final int DEFAULT_EXPECTED_SIZE = 8;
+  private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+  /** The key marking an empty slot. The entry for this key itself is stored out of the table. */
+  private static final long FREE = 0L;
+
+  /** Creates a new, empty map with a default expected size and a load factor of 0.75. */
+  public static <V> LongObjectMap<V> create() {
+    return new LongObjectMap<V>(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates a new, empty map that can hold {@code expectedSize} entries without resizing, with a
+   * load factor of 0.75.
+   *
+   * @throws IllegalArgumentException if {@code expectedSize} is negative
+   */
+  public static <V> LongObjectMap<V> create(int expectedSize) {
+    return new LongObjectMap<V>(expectedSize, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates a new, empty map that can hold {@code expectedSize} entries without resizing. Lower
+   * load factors trade memory for shorter probe sequences.
+   *
+   * @throws IllegalArgumentException if {@code expectedSize} is negative, or if {@code loadFactor}
+   *     is not strictly between 0 and 1
+   */
+  public static <V> LongObjectMap<V> create(int expectedSize, float loadFactor) {
+    return new LongObjectMap<V>(expectedSize, loadFactor);
+  }
+
+  private final float loadFactor;
+  private long[] keys;
+  private Object[] values;
+  private int mask;
+  private int maxFill;
+  /** Number of entries in the table, not counting the {@link #FREE} key. */
+  private int tableSize;
+
+  /** The value of the {@link #FREE} key, or null if it is absent. */
+  @Nullable private V freeKeyValue;
+
+  private LongObjectMap(int expectedSize, float loadFactor) {
+    checkArgument(expectedSize >= 0, "Invalid expectedSize: %s", expectedSize);
+    this.loadFactor = Hashing.checkLoadFactor(loadFactor);
+    allocate(Hashing.closedTableSize(expectedSize, loadFactor));
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+    maxFill = Hashing.maxFill(capacity, loadFactor);
+  }
+
+  /** Returns the number of entries in this map. */
+  public int size() {
+    return freeKeyValue != null ? tableSize + 1 : tableSize;
+  }
+
+  /** Returns {@code true} if this map contains no entries. */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /** Returns {@code true} if this map contains an entry for {@code key}. */
+  public boolean containsKey(long key) {
+    return key == FREE ? freeKeyValue != null : slotOf(key) >= 0;
+  }
+
+  /** Returns the value associated with {@code key}, or {@code null} if there is none. */
+  @Nullable public V get(long key) {
+    if (key == FREE) {
+      return freeKeyValue;
+    }
+    int slot = slotOf(key);
+    return slot >= 0 ? valueAt(slot) : null;
+  }
+
+  /**
+   * Associates {@code value} with {@code key}, replacing any previous value.
+   *
+   * @return the previous value associated with {@code key}, or {@code null} if there was none
+   * @throws NullPointerException if {@code value} is null
+   */
+  @Nullable public V put(long key, V value) {
+    checkNotNull(value);
+    if (key == FREE) {
+      V oldValue = freeKeyValue;
+      freeKeyValue = value;
+      return oldValue;
+    }
+    int slot = Hashing.smearedHash(key) & mask;
+    long k;
+    while ((k = keys[slot]) != FREE) {
+      if (k == key) {
+        V oldValue = valueAt(slot);
+        values[slot] = value;
+        return oldValue;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    if (++tableSize > maxFill) {
+      rehash(keys.length << 1);
+    }
+    return null;
+  }
+
+  /**
+   * Removes the entry for {@code key}, if present.
+   *
+   * @return the removed value, or {@code null} if there was no entry for {@code key}
+   */
+  @Nullable public V remove(long key) {
+    if (key == FREE) {
+      V oldValue = freeKeyValue;
+      freeKeyValue = null;
+      return oldValue;
+    }
+    int slot = slotOf(key);
+    if (slot < 0) {
+      return null;
+    }
+    V oldValue = valueAt(slot);
+    tableSize--;
+    shiftKeys(slot);
+    return oldValue;
+  }
+
+  /** Removes all entries from this map. The capacity of the table is kept. */
+  public void clear() {
+    Arrays.fill(keys, FREE);
+    Arrays.fill(values, null);
+    tableSize = 0;
+    freeKeyValue = null;
+  }
+
+  /**
+   * Returns a new cursor positioned before the first entry of this map. Modifying the map other
+   * than through {@link Cursor#setValue} while a cursor is in use leads to unspecified results.
+   */
+  public Cursor cursor() {
+    return new Cursor();
+  }
+
+  /**
+   * An allocation-free iterator over the entries of a {@link LongObjectMap}. Call {@link #advance}
+   * before each access to {@link #key} and {@link #value}.
+   */
+  public final class Cursor {
+    // Slots 0 to keys.length - 1 are the table, slot keys.length is the FREE key.
+    private int slot = -1;
+
+    Cursor() {}
+
+    /**
+     * Moves to the next entry.
+     *
+     * @return {@code false} if there are no more entries
+     */
+    public boolean advance() {
+      long[] keys = LongObjectMap.this.keys;
+      while (++slot < keys.length) {
+        if (keys[slot] != FREE) {
+          return true;
+        }
+      }
+      if (slot == keys.length && freeKeyValue != null) {
+        return true;
+      }
+      slot = keys.length + 1;
+      return false;
+    }
+
+    /** Returns the key of the current entry. */
+    public long key() {
+      checkPosition();
+      return slot == keys.length ? FREE : keys[slot];
+    }
+
+    /** Returns the value of the current entry. */
+    public V value() {
+      checkPosition();
+      return slot == keys.length ? freeKeyValue : valueAt(slot);
+    }
+
+    /**
+     * Replaces the value of the current entry.
+     *
+     * @throws NullPointerException if {@code value} is null
+     */
+    public void setValue(V value) {
+      checkNotNull(value);
+      checkPosition();
+      if (slot == keys.length) {
+        freeKeyValue = value;
+      } else {
+        values[slot] = value;
+      }
+    }
+
+    private void checkPosition() {
+      checkState(slot >= 0, "advance() was not called");
+      if (slot > keys.length) {
+        throw new NoSuchElementException();
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked") // only V instances are ever stored in values
+  private V valueAt(int slot) {
+    return (V) values[slot];
+  }
+
+  private int slotOf(long key) {
+    int slot = Hashing.smearedHash(key) & mask;
+    long k;
+    while ((k = keys[slot]) != FREE) {
+      if (k == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void rehash(int newCapacity) {
+    checkState(newCapacity > 0, "cannot grow beyond %s slots", keys.length);
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate(newCapacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      long key = oldKeys[i];
+      if (key != FREE) {
+        int slot = Hashing.smearedHash(key) & mask;
+        while (keys[slot] != FREE) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Empties {@code slot}, then moves back any later entry of the same probe run that would no
+   * longer be reachable from its home slot.
+   */
+  private void shiftKeys(int slot) {
+    int last;
+    long k;
+    while (true) {
+      slot = ((last = slot) + 1) & mask;
+      while (true) {
+        if ((k = keys[slot]) == FREE) {
+          keys[last] = FREE;
+          values[last] = null;
+          return;
+        }
+        int home = Hashing.smearedHash(k) & mask;
+        // Stop if home is cyclically outside (last, slot]: the entry can fill the hole at last.
+        if (last <= slot ? last >= home || home > slot : last >= home && home > slot) {
+          break;
+        }
+        slot = (slot + 1) & mask;
+      }
+      keys[last] = k;
+      values[last] = values[slot];
+    }
+  }
+
+  /** Returns a string representation of the form {@code "{1=a, 3=b}"}. */
+  @Override public String toString() {
+    StringBuilder builder = new StringBuilder(size() * 8).append('{');
+    Cursor cursor = cursor();
+    boolean first = true;
+    while (cursor.advance()) {
+      if (!first) {
+        builder.append(", ");
+      }
+      first = false;
+      builder.append(cursor.key()).append('=').append(cursor.value());
+    }
+    return builder.append('}').toString();
+  }
+}
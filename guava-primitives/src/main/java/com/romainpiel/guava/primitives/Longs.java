@@ -23,7 +23,13 @@ import static com.romainpiel.guava.base.Preconditions.checkPositionIndexes;
 
 import com.romainpiel.guava.base.Converter;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -123,7 +129,7 @@ public final class Longs {
   }
 
   // TODO(kevinb): consider making this public
-  private static int indexOf(
+  static int indexOf(
       long[] array, long target, int start, int end) {
     for (int i = start; i < end; i++) {
       if (array[i] == target) {
@@ -177,7 +183,7 @@ public final class Longs {
   }
 
   // TODO(kevinb): consider making this public
-  private static int lastIndexOf(
+  static int lastIndexOf(
       long[] array, long target, int start, int end) {
     for (int i = end - 1; i >= start; i--) {
       if (array[i] == target) {
@@ -225,6 +231,87 @@ public final class Longs {
     return max;
   }
 
+  /**
+   * Returns the least and the greatest value present in {@code array}, found
+   * in a single pass over the array.
+   *
+   * @param array a <i>nonempty</i> array of {@code long} values
+   * @return a new two-element array holding {@link #min} and {@link #max} of
+   *     {@code array}, in that order
+   * @throws IllegalArgumentException if {@code array} is empty
+   */
+  public static long[] minMax(long... array) {
+    checkArgument(array.length > 0);
+    long min = array[0];
+    long max = min;
+    for (int i = 1; i < array.length; i++) {
+      long next = array[i];
+      if (next < min) {
+        min = next;
+      } else if (next > max) {
+        max = next;
+      }
+    }
+    return new long[] {min, max};
+  }
+
+  /**
+   * Returns the sum of the values in {@code array}. Like repeated use of the
+   * {@code +} operator, the sum silently wraps around on overflow; use {@link
+   * #sumExact} to detect it.
+   *
+   * @param array an array of {@code long} values, possibly empty
+   * @return the sum of the values, or {@code 0} if {@code array} is empty
+   */
+  public static long sum(long... array) {
+    long sum = 0;
+    for (long value : array) {
+      sum += value;
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the sum of the values in {@code array}, if it fits in a {@code
+   * long}. Only the total counts: partial sums outside the {@code long} range
+   * are fine as long as later values bring the total back into range.
+   *
+   * @param array an array of {@code long} values, possibly empty
+   * @throws ArithmeticException if the sum does not fit in a {@code long}
+   */
+  public static long sumExact(long... array) {
+    long sum = 0;
+    long overflow = 0;
+    for (long value : array) {
+      long next = sum + value;
+      // The sign bit is set when both operands differ in sign from the result.
+      overflow |= (sum ^ next) & (value ^ next);
+      sum = next;
+    }
+    // A wrapped partial sum leaves the final sum correct modulo 2^64, so it is
+    // only wrong if the exact total is out of range.
+    if (overflow < 0 && !sumFitsInLong(array)) {
+      throw new ArithmeticException("overflow");
+    }
+    return sum;
+  }
+
+  /**
+   * Returns whether the exact sum of {@code array} fits in a {@code long}, by
+   * computing the high word of the sum as a 128-bit integer.
+   */
+  private static boolean sumFitsInLong(long[] array) {
+    long low = 0;
+    long high = 0;
+    for (long value : array) {
+      long next = low + value;
+      // Add the sign extension of value and the carry out of the low word.
+      high += (value >> 63) + (((low & value) | ((low | value) & ~next)) >>> 63);
+      low = next;
+    }
+    return high == (low >> 63);
+  }
+
   /**
    * Returns the values from each provided array combined into a single array.
    * For example, {@code concat(new long[] {a, b}, new long[] {}, new
@@ -334,34 +421,194 @@ public final class Longs {
       return null;
     }
     boolean negative = string.charAt(0) == '-';
-    int index = negative ? 1 : 0;
-    if (index == string.length()) {
+    long accum = parse(string, null, negative ? 1 : 0, string.length(), 10);
+    if (accum == INVALID || (!negative && accum == Long.MIN_VALUE)) {
       return null;
     }
-    int digit = string.charAt(index++) - '0';
-    if (digit < 0 || digit > 9) {
-      return null;
+    return negative ? accum : -accum;
+  }
+
+  /**
+   * Parses the characters of {@code sequence} from {@code start}, inclusive,
+   * to {@code end}, exclusive, as a signed long value using the specified
+   * radix, with the same rules as {@link #tryParse(String)}. No object is
+   * allocated, whether parsing succeeds or not, which makes this method
+   * suitable for reading fields out of a buffer without extracting them as
+   * strings first.
+   *
+   * @param sequence the characters containing the long representation
+   * @param start the index of the first character to parse
+   * @param end the index after the last character to parse
+   * @param radix the radix to use when parsing
+   * @param defaultValue the value to return if parsing fails
+   * @return the long value represented by the range, or {@code defaultValue}
+   *     if the range is empty or cannot be parsed as a long value
+   * @throws IndexOutOfBoundsException if {@code start} or {@code end} is not
+   *     a valid position in {@code sequence}, or if {@code end < start}
+   * @throws IllegalArgumentException if {@code radix < Character.MIN_RADIX} or
+   *     {@code radix > Character.MAX_RADIX}
+   */
+  public static long tryParse(
+      CharSequence sequence, int start, int end, int radix, long defaultValue) {
+    checkPositionIndexes(start, end, sequence.length());
+    if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+      throw new IllegalArgumentException(
+          "radix must be between MIN_RADIX and MAX_RADIX but was " + radix);
+    }
+    if (start == end) {
+      return defaultValue;
+    }
+    boolean negative = sequence.charAt(start) == '-';
+    long accum = parse(sequence, null, negative ? start + 1 : start, end, radix);
+    if (accum == INVALID || (!negative && accum == Long.MIN_VALUE)) {
+      return defaultValue;
+    }
+    return negative ? accum : -accum;
+  }
+
+  /**
+   * Parses {@code length} bytes of {@code bytes}, starting at {@code offset},
+   * as ASCII characters representing a signed decimal long value, with the
+   * same rules as {@link #tryParse(String)}. No object is allocated, whether
+   * parsing succeeds or not, which makes this method suitable for reading
+   * fields straight out of a network buffer.
+   *
+   * @param bytes the ASCII characters containing the long representation
+   * @param offset the index of the first byte to parse
+   * @param length the number of bytes to parse
+   * @param defaultValue the value to return if parsing fails
+   * @return the long value represented by the bytes, or {@code defaultValue}
+   *     if {@code length} is zero or the bytes cannot be parsed as a long
+   *     value
+   * @throws IndexOutOfBoundsException if the range is not within the bounds
+   *     of {@code bytes}
+   */
+  public static long tryParse(byte[] bytes, int offset, int length, long defaultValue) {
+    checkPositionIndexes(offset, offset + length, bytes.length);
+    if (length == 0) {
+      return defaultValue;
     }
-    long accum = -digit;
-    while (index < string.length()) {
-      digit = string.charAt(index++) - '0';
-      if (digit < 0 || digit > 9 || accum < Long.MIN_VALUE / 10) {
-        return null;
+    boolean negative = bytes[offset] == '-';
+    long accum = parse(null, bytes, negative ? offset + 1 : offset, offset + length, 10);
+    if (accum == INVALID || (!negative && accum == Long.MIN_VALUE)) {
+      return defaultValue;
+    }
+    return negative ? accum : -accum;
+  }
+
+  /**
+   * Returned by {@link #parse} for invalid input. Parsed magnitudes are
+   * negated, so they are never positive and cannot be mistaken for this.
+   */
+  private static final long INVALID = 1;
+
+  /**
+   * Parses the digits of {@code sequence}, or of {@code bytes} as ASCII
+   * characters if {@code sequence} is null, from {@code start}, inclusive, to
+   * {@code end}, exclusive, and returns their value negated, so that the
+   * magnitude of {@link Long#MIN_VALUE} fits. Returns {@link #INVALID} if the
+   * range is empty, holds a character that is not a digit in {@code radix},
+   * or overflows. The caller has already checked the range and the radix.
+   */
+  private static long parse(
+      CharSequence sequence, byte[] bytes, int start, int end, int radix) {
+    if (start == end) {
+      return INVALID;
+    }
+    long cap = Long.MIN_VALUE / radix;
+    long accum = 0;
+    for (int index = start; index < end; index++) {
+      char c = (sequence == null) ? (char) bytes[index] : sequence.charAt(index);
+      int digit = Ints.digit(c);
+      if (digit < 0 || digit >= radix || accum < cap) {
+        return INVALID;
       }
-      accum *= 10;
+      accum *= radix;
       if (accum < Long.MIN_VALUE + digit) {
-        return null;
+        return INVALID;
       }
       accum -= digit;
     }
+    return accum;
+  }
 
-    if (negative) {
-      return accum;
-    } else if (accum == Long.MIN_VALUE) {
-      return null;
-    } else {
-      return -accum;
+  /**
+   * Copies {@code length} values from {@code src}, starting at index {@code
+   * srcIndex}, into {@code dst} starting at index {@code dstIndex}, each value
+   * taking {@value #BYTES} bytes in the given byte order. This is a bulk
+   * version of {@link #toByteArray}; each call allocates a wrapping {@code
+   * ByteBuffer} and a view of it, whatever the {@code length}.
+   *
+   * @throws IndexOutOfBoundsException if either range lies outside its array
+   */
+  public static void copyToBytes(long[] src, int srcIndex, byte[] dst,
+      int dstIndex, int length, ByteOrder order) {
+    checkNotNull(order);
+    checkPositionIndexes(srcIndex, srcIndex + length, src.length);
+    checkPositionIndexes(dstIndex, dstIndex + length * BYTES, dst.length);
+    ByteBuffer.wrap(dst, dstIndex, length * BYTES).order(order)
+        .asLongBuffer().put(src, srcIndex, length);
+  }
+
+  /**
+   * Copies {@code length} values out of {@code src}, starting at index {@code
+   * srcIndex} and each taking {@value #BYTES} bytes in the given byte order,
+   * into {@code dst} starting at index {@code dstIndex}. This is a bulk version
+   * of {@link #fromByteArray}; each call allocates a wrapping {@code
+   * ByteBuffer} and a view of it, whatever the {@code length}.
+   *
+   * @throws IndexOutOfBoundsException if either range lies outside its array
+   */
+  public static void copyFromBytes(byte[] src, int srcIndex, long[] dst,
+      int dstIndex, int length, ByteOrder order) {
+    checkNotNull(order);
+    checkPositionIndexes(srcIndex, srcIndex + length * BYTES, src.length);
+    checkPositionIndexes(dstIndex, dstIndex + length, dst.length);
+    ByteBuffer.wrap(src, srcIndex, length * BYTES).order(order)
+        .asLongBuffer().get(dst, dstIndex, length);
+  }
+
+  /**
+   * Writes {@code length} values from {@code src}, starting at index {@code
+   * srcIndex}, to {@code buffer} at its position and in its byte order, and
+   * advances the position past them. The result is that of calling {@link
+   * ByteBuffer#putLong(long)} for each value, but heap and direct buffers alike are
+   * written in bulk.
+   *
+   * @throws IndexOutOfBoundsException if the range lies outside {@code src}
+   * @throws BufferOverflowException if {@code buffer} has fewer than {@code
+   *     length * BYTES} bytes remaining
+   * @throws ReadOnlyBufferException if {@code buffer} is read-only
+   */
+  public static void put(
+      ByteBuffer buffer, long[] src, int srcIndex, int length) {
+    checkPositionIndexes(srcIndex, srcIndex + length, src.length);
+    if (buffer.remaining() / BYTES < length) {
+      throw new BufferOverflowException();
+    }
+    buffer.asLongBuffer().put(src, srcIndex, length);
+    buffer.position(buffer.position() + length * BYTES);
+  }
+
+  /**
+   * Reads {@code length} values from {@code buffer} at its position and in its
+   * byte order into {@code dst}, starting at index {@code dstIndex}, and
+   * advances the position past them. The result is that of calling {@link
+   * ByteBuffer#getLong()} for each value, but heap and direct buffers alike are
+   * read in bulk.
+   *
+   * @throws IndexOutOfBoundsException if the range lies outside {@code dst}
+   * @throws BufferUnderflowException if {@code buffer} has fewer than {@code
+   *     length * BYTES} bytes remaining
+   */
+  public static void get(
+      ByteBuffer buffer, long[] dst, int dstIndex, int length) {
+    checkPositionIndexes(dstIndex, dstIndex + length, dst.length);
+    if (buffer.remaining() / BYTES < length) {
+      throw new BufferUnderflowException();
     }
+    buffer.asLongBuffer().get(dst, dstIndex, length);
+    buffer.position(buffer.position() + length * BYTES);
   }
 
   private static final class LongConverter extends Converter<String, Long> implements Serializable {
@@ -454,6 +701,76 @@ public final class Longs {
     return builder.toString();
   }
 
+  /**
+   * Writes the decimal representation of {@code value} into {@code dst},
+   * starting at {@code offset}, and returns the index after the last
+   * character written. Digits are produced two at a time from a lookup table
+   * and nothing is allocated. The ASCII character {@code '-'} precedes
+   * negative values. At most 20 characters are written.
+   *
+   * @param value the value to write
+   * @param dst the array to write the characters into
+   * @param offset the index in {@code dst} of the first character to write
+   * @return the index in {@code dst} after the last character written
+   * @throws IndexOutOfBoundsException if {@code offset} is not a valid
+   *     position in {@code dst}, or if the representation does not fit in
+   *     the remaining space; nothing is written in that case
+   */
+  public static int writeTo(long value, char[] dst, int offset) {
+    return Digits.writeSigned(value, 10, dst, offset);
+  }
+
+  /**
+   * Writes the representation of {@code value} in {@code radix} into
+   * {@code dst}, starting at {@code offset}, and returns the index after the
+   * last character written. Digits above 9 are written as lowercase ASCII
+   * letters, as by {@link Character#forDigit}. At most 65 characters are
+   * written.
+   *
+   * @param value the value to write
+   * @param radix the radix to use
+   * @param dst the array to write the characters into
+   * @param offset the index in {@code dst} of the first character to write
+   * @return the index in {@code dst} after the last character written
+   * @throws IllegalArgumentException if {@code radix} is not between {@link
+   *     Character#MIN_RADIX} and {@link Character#MAX_RADIX}
+   * @throws IndexOutOfBoundsException if {@code offset} is not a valid
+   *     position in {@code dst}, or if the representation does not fit in
+   *     the remaining space; nothing is written in that case
+   */
+  public static int writeTo(long value, int radix, char[] dst, int offset) {
+    return Digits.writeSigned(value, radix, dst, offset);
+  }
+
+  /**
+   * Appends the decimal representation of {@code value} to {@code
+   * appendable}, most significant digit first, without creating a {@code
+   * String} or any other object.
+   *
+   * @return {@code appendable}
+   */
+  public static <A extends Appendable> A appendTo(A appendable, long value)
+      throws IOException {
+    Digits.appendSigned(appendable, value, 10);
+    return appendable;
+  }
+
+  /**
+   * Appends the representation of {@code value} in {@code radix} to {@code
+   * appendable}, most significant digit first, without creating a {@code
+   * String} or any other object. Digits above 9 are written as lowercase ASCII
+   * letters.
+   *
+   * @return {@code appendable}
+   * @throws IllegalArgumentException if {@code radix} is not between {@link
+   *     Character#MIN_RADIX} and {@link Character#MAX_RADIX}
+   */
+  public static <A extends Appendable> A appendTo(A appendable, long value, int radix)
+      throws IOException {
+    Digits.appendSigned(appendable, value, radix);
+    return appendable;
+  }
+
   /**
    * Returns a comparator that compares two {@code long} arrays
    * lexicographically. That is, it compares, using {@link
@@ -490,6 +807,61 @@ public final class Longs {
     }
   }
 
+  /**
+   * Sorts the elements of {@code array} in descending order.
+   *
+   * @param array the array to sort, possibly empty
+   */
+  public static void sortDescending(long[] array) {
+    checkNotNull(array);
+    sortDescending(array, 0, array.length);
+  }
+
+  /**
+   * Sorts the elements of {@code array} between {@code fromIndex} inclusive and
+   * {@code toIndex} exclusive in descending order.
+   *
+   * @throws IndexOutOfBoundsException if {@code fromIndex < 0}, {@code toIndex >
+   *     array.length}, or {@code fromIndex > toIndex}
+   */
+  public static void sortDescending(long[] array, int fromIndex, int toIndex) {
+    checkNotNull(array);
+    checkPositionIndexes(fromIndex, toIndex, array.length);
+    Arrays.sort(array, fromIndex, toIndex);
+    reverse(array, fromIndex, toIndex);
+  }
+
+  /**
+   * Reverses the elements of {@code array}. This is equivalent to {@code
+   * Collections.reverse(Longs.asList(array))}, but is likely to be more
+   * efficient.
+   *
+   * @param array the array to reverse, possibly empty
+   */
+  public static void reverse(long[] array) {
+    checkNotNull(array);
+    reverse(array, 0, array.length);
+  }
+
+  /**
+   * Reverses the elements of {@code array} between {@code fromIndex} inclusive
+   * and {@code toIndex} exclusive. This is equivalent to {@code
+   * Collections.reverse(Longs.asList(array).subList(fromIndex, toIndex))}, but
+   * is likely to be more efficient.
+   *
+   * @throws IndexOutOfBoundsException if {@code fromIndex < 0}, {@code toIndex >
+   *     array.length}, or {@code fromIndex > toIndex}
+   */
+  public static void reverse(long[] array, int fromIndex, int toIndex) {
+    checkNotNull(array);
+    checkPositionIndexes(fromIndex, toIndex, array.length);
+    for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+      long tmp = array[i];
+      array[i] = array[j];
+      array[j] = tmp;
+    }
+  }
+
   /**
    * Returns an array containing each value of {@code collection}, converted to
    * a {@code long} value in the manner of {@link Number#longValue}.
@@ -18,37 +18,46 @@ package com.romainpiel.guava.primitives;
  * A string to be parsed as a number and the radix to interpret it in.
  */
 final class ParseRequest {
-  final String rawValue;
+  /** The whole string, including any radix specifier. */
+  final String source;
+  /** The index in {@link #source} of the first digit. */
+  final int start;
   final int radix;
 
-  private ParseRequest(String rawValue, int radix) {
-    this.rawValue = rawValue;
+  private ParseRequest(String source, int start, int radix) {
+    this.source = source;
+    this.start = start;
     this.radix = radix;
   }
 
+  /** Returns the digits of {@link #source}, without any radix specifier. */
+  String rawValue() {
+    return source.substring(start);
+  }
+
   static ParseRequest fromString(String stringValue) {
     if (stringValue.length() == 0) {
       throw new NumberFormatException("empty string");
     }
 
     // Handle radix specifier if present
-    String rawValue;
+    int start;
     int radix;
     char firstChar = stringValue.charAt(0);
     if (stringValue.startsWith("0x") || stringValue.startsWith("0X")) {
-      rawValue = stringValue.substring(2);
+      start = 2;
       radix = 16;
     } else if (firstChar == '#') {
-      rawValue = stringValue.substring(1);
+      start = 1;
       radix = 16;
     } else if (firstChar == '0' && stringValue.length() > 1) {
-      rawValue = stringValue.substring(1);
+      start = 1;
       radix = 8;
     } else {
-      rawValue = stringValue;
+      start = 0;
       radix = 10;
     }
 
-    return new ParseRequest(rawValue, radix);
+    return new ParseRequest(stringValue, start, radix);
   }
 }
@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorting of {@code int} and {@code long} ranges in unsigned order, shared by {@link UnsignedInts}
+ * and {@link UnsignedLongs}.
+ *
+ * <p>Short ranges flip the sign bit of every value, which maps unsigned order onto signed order,
+ * and use {@link Arrays#sort}. Longer ranges use a least-significant-digit radix sort on bytes:
+ * one pass counts all digits at once, then each byte position is distributed into a scratch
+ * buffer in turn. The raw bytes already order the values as unsigned, and byte positions on which
+ * all values agree, such as the high bytes of small values, are skipped.
+ *
+ * <p>The parallel sorts partition a range by its most significant distinct byte into 256 buckets,
+ * which are then sorted as independent fork-join tasks, partitioning further while they are large.
+ */
+final class RadixSort {
+  private RadixSort() {}
+
+  private static final int RADIX = 256;
+  private static final int DIGIT_MASK = RADIX - 1;
+
+  /**
+   * Ranges shorter than these are sorted with {@link Arrays#sort}. Wider values take more radix
+   * passes, so {@code long} ranges need to be longer to make up for them.
+   */
+  static final int INT_RADIX_SORT_THRESHOLD = 1 << 9;
+  static final int LONG_RADIX_SORT_THRESHOLD = 1 << 11;
+
+  /** Ranges shorter than this are not split across fork-join tasks. */
+  static final int PARALLEL_SORT_THRESHOLD = 1 << 14;
+
+  static void sort(int[] array, int fromIndex, int toIndex) {
+    if (toIndex - fromIndex < INT_RADIX_SORT_THRESHOLD) {
+      sortFlipped(array, fromIndex, toIndex);
+    } else {
+      radixSort(array, fromIndex, toIndex, new int[toIndex - fromIndex], 0);
+    }
+  }
+
+  static void sort(long[] array, int fromIndex, int toIndex) {
+    if (toIndex - fromIndex < LONG_RADIX_SORT_THRESHOLD) {
+      sortFlipped(array, fromIndex, toIndex);
+    } else {
+      radixSort(array, fromIndex, toIndex, new long[toIndex - fromIndex], 0);
+    }
+  }
+
+  static void parallelSort(int[] array, int fromIndex, int toIndex, ForkJoinPool pool) {
+    if (toIndex - fromIndex < PARALLEL_SORT_THRESHOLD || pool.getParallelism() == 1) {
+      sort(array, fromIndex, toIndex);
+    } else {
+      int[] buffer = new int[toIndex - fromIndex];
+      pool.invoke(new IntSortTask(array, fromIndex, toIndex, buffer, fromIndex, Integer.SIZE - 8));
+    }
+  }
+
+  static void parallelSort(long[] array, int fromIndex, int toIndex, ForkJoinPool pool) {
+    if (toIndex - fromIndex < PARALLEL_SORT_THRESHOLD || pool.getParallelism() == 1) {
+      sort(array, fromIndex, toIndex);
+    } else {
+      long[] buffer = new long[toIndex - fromIndex];
+      pool.invoke(new LongSortTask(array, fromIndex, toIndex, buffer, fromIndex, Long.SIZE - 8));
+    }
+  }
+
+  private static void sortFlipped(int[] array, int fromIndex, int toIndex) {
+    for (int i = fromIndex; i < toIndex; i++) {
+      array[i] ^= Integer.MIN_VALUE;
+    }
+    Arrays.sort(array, fromIndex, toIndex);
+    for (int i = fromIndex; i < toIndex; i++) {
+      array[i] ^= Integer.MIN_VALUE;
+    }
+  }
+
+  private static void sortFlipped(long[] array, int fromIndex, int toIndex) {
+    for (int i = fromIndex; i < toIndex; i++) {
+      array[i] ^= Long.MIN_VALUE;
+    }
+    Arrays.sort(array, fromIndex, toIndex);
+    for (int i = fromIndex; i < toIndex; i++) {
+      array[i] ^= Long.MIN_VALUE;
+    }
+  }
+
+  /**
+   * Sorts {@code array[fromIndex, toIndex)} using {@code buffer[bufferOffset, bufferOffset +
+   * toIndex - fromIndex)} as scratch space.
+   */
+  private static void radixSort(
+      int[] array, int fromIndex, int toIndex, int[] buffer, int bufferOffset) {
+    int length = toIndex - fromIndex;
+    int[][] counts = new int[Ints.BYTES][RADIX];
+    for (int i = fromIndex; i < toIndex; i++) {
+      int value = array[i];
+      counts[0][value & DIGIT_MASK]++;
+      counts[1][(value >>> 8) & DIGIT_MASK]++;
+      counts[2][(value >>> 16) & DIGIT_MASK]++;
+      counts[3][value >>> 24]++;
+    }
+    int[] source = array;
+    int sourceOffset = fromIndex;
+    int[] target = buffer;
+    int targetOffset = bufferOffset;
+    for (int digit = 0; digit < Ints.BYTES; digit++) {
+      int shift = digit * 8;
+      int[] positions = counts[digit];
+      if (positions[(source[sourceOffset] >>> shift) & DIGIT_MASK] == length) {
+        continue;
+      }
+      toPositions(positions, targetOffset);
+      for (int i = sourceOffset; i < sourceOffset + length; i++) {
+        int value = source[i];
+        target[positions[(value >>> shift) & DIGIT_MASK]++] = value;
+      }
+      int[] swap = source;
+      source = target;
+      target = swap;
+      int swapOffset = sourceOffset;
+      sourceOffset = targetOffset;
+      targetOffset = swapOffset;
+    }
+    if (source != array) {
+      System.arraycopy(source, sourceOffset, array, fromIndex, length);
+    }
+  }
+
+  /**
+   * Sorts {@code array[fromIndex, toIndex)} using {@code buffer[bufferOffset, bufferOffset +
+   * toIndex - fromIndex)} as scratch space.
+   */
+  private static void radixSort(
+      long[] array, int fromIndex, int toIndex, long[] buffer, int bufferOffset) {
+    int length = toIndex - fromIndex;
+    int[][] counts = new int[Longs.BYTES][RADIX];
+    for (int i = fromIndex; i < toIndex; i++) {
+      long value = array[i];
+      int low = (int) value;
+      int high = (int) (value >>> 32);
+      counts[0][low & DIGIT_MASK]++;
+      counts[1][(low >>> 8) & DIGIT_MASK]++;
+      counts[2][(low >>> 16) & DIGIT_MASK]++;
+      counts[3][low >>> 24]++;
+      counts[4][high & DIGIT_MASK]++;
+      counts[5][(high >>> 8) & DIGIT_MASK]++;
+      counts[6][(high >>> 16) & DIGIT_MASK]++;
+      counts[7][high >>> 24]++;
+    }
+    long[] source = array;
+    int sourceOffset = fromIndex;
+    long[] target = buffer;
+    int targetOffset = bufferOffset;
+    for (int digit = 0; digit < Longs.BYTES; digit++) {
+      int shift = digit * 8;
+      int[] positions = counts[digit];
+      if (positions[(int) (source[sourceOffset] >>> shift) & DIGIT_MASK] == length) {
+        continue;
+      }
+      toPositions(positions, targetOffset);
+      for (int i = sourceOffset; i < sourceOffset + length; i++) {
+        long value = source[i];
+        target[positions[(int) (value >>> shift) & DIGIT_MASK]++] = value;
+      }
+      long[] swap = source;
+      source = target;
+      target = swap;
+      int swapOffset = sourceOffset;
+      sourceOffset = targetOffset;
+      targetOffset = swapOffset;
+    }
+    if (source != array) {
+      System.arraycopy(source, sourceOffset, array, fromIndex, length);
+    }
+  }
+
+  /**
+   * Replaces each digit count with the index at which the first value with that digit goes, so
+   * that the values are laid out in digit order starting at {@code offset}.
+   */
+  private static void toPositions(int[] counts, int offset) {
+    int position = offset;
+    for (int digit = 0; digit < RADIX; digit++) {
+      int count = counts[digit];
+      counts[digit] = position;
+      position += count;
+    }
+  }
+
+  /**
+   * Sorts a range whose values agree on all bits above {@code shift + 8}, by partitioning it on
+   * the byte at {@code shift} and sorting the buckets as separate tasks. The buffer is indexed
+   * like the array, minus {@code bufferBase}.
+   */
+  private static final class IntSortTask extends RecursiveAction {
+    private final int[] array;
+    private final int fromIndex;
+    private final int toIndex;
+    private final int[] buffer;
+    private final int bufferBase;
+    private final int shift;
+
+    IntSortTask(int[] array, int fromIndex, int toIndex, int[] buffer, int bufferBase, int shift) {
+      this.array = array;
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+      this.buffer = buffer;
+      this.bufferBase = bufferBase;
+      this.shift = shift;
+    }
+
+    @Override protected void compute() {
+      int length = toIndex - fromIndex;
+      if (length < PARALLEL_SORT_THRESHOLD) {
+        if (length < INT_RADIX_SORT_THRESHOLD) {
+          sortFlipped(array, fromIndex, toIndex);
+        } else {
+          radixSort(array, fromIndex, toIndex, buffer, fromIndex - bufferBase);
+        }
+        return;
+      }
+      int[] counts = new int[RADIX];
+      int shift = this.shift;
+      for (; shift >= 0; shift -= 8) {
+        for (int i = fromIndex; i < toIndex; i++) {
+          counts[(array[i] >>> shift) & DIGIT_MASK]++;
+        }
+        if (counts[(array[fromIndex] >>> shift) & DIGIT_MASK] != length) {
+          break;
+        }
+        Arrays.fill(counts, 0);
+      }
+      if (shift < 0) {
+        return; // all values are equal
+      }
+      int[] starts = counts.clone();
+      toPositions(starts, fromIndex);
+      int[] positions = starts.clone();
+      for (int i = fromIndex; i < toIndex; i++) {
+        int value = array[i];
+        buffer[positions[(value >>> shift) & DIGIT_MASK]++ - bufferBase] = value;
+      }
+      System.arraycopy(buffer, fromIndex - bufferBase, array, fromIndex, length);
+      if (shift == 0) {
+        return;
+      }
+      List<IntSortTask> tasks = new ArrayList<IntSortTask>();
+      for (int digit = 0; digit < RADIX; digit++) {
+        if (counts[digit] > 1) {
+          int start = starts[digit];
+          tasks.add(new IntSortTask(
+              array, start, start + counts[digit], buffer, bufferBase, shift - 8));
+        }
+      }
+      invokeAll(tasks);
+    }
+
+    private static final long serialVersionUID = 0;
+  }
+
+  /** The {@code long} counterpart of {@link IntSortTask}. */
+  private static final class LongSortTask extends RecursiveAction {
+    private final long[] array;
+    private final int fromIndex;
+    private final int toIndex;
+    private final long[] buffer;
+    private final int bufferBase;
+    private final int shift;
+
+    LongSortTask(
+        long[] array, int fromIndex, int toIndex, long[] buffer, int bufferBase, int shift) {
+      this.array = array;
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+      this.buffer = buffer;
+      this.bufferBase = bufferBase;
+      this.shift = shift;
+    }
+
+    @Override protected void compute() {
+      int length = toIndex - fromIndex;
+      if (length < PARALLEL_SORT_THRESHOLD) {
+        if (length < LONG_RADIX_SORT_THRESHOLD) {
+          sortFlipped(array, fromIndex, toIndex);
+        } else {
+          radixSort(array, fromIndex, toIndex, buffer, fromIndex - bufferBase);
+        }
+        return;
+      }
+      int[] counts = new int[RADIX];
+      int shift = this.shift;
+      for (; shift >= 0; shift -= 8) {
+        for (int i = fromIndex; i < toIndex; i++) {
+          counts[(int) (array[i] >>> shift) & DIGIT_MASK]++;
+        }
+        if (counts[(int) (array[fromIndex] >>> shift) & DIGIT_MASK] != length) {
+          break;
+        }
+        Arrays.fill(counts, 0);
+      }
+      if (shift < 0) {
+        return; // all values are equal
+      }
+      int[] starts = counts.clone();
+      toPositions(starts, fromIndex);
+      int[] positions = starts.clone();
+      for (int i = fromIndex; i < toIndex; i++) {
+        long value = array[i];
+        buffer[positions[(int) (value >>> shift) & DIGIT_MASK]++ - bufferBase] = value;
+      }
+      System.arraycopy(buffer, fromIndex - bufferBase, array, fromIndex, length);
+      if (shift == 0) {
+        return;
+      }
+      List<LongSortTask> tasks = new ArrayList<LongSortTask>();
+      for (int digit = 0; digit < RADIX; digit++) {
+        if (counts[digit] > 1) {
+          int start = starts[digit];
+          tasks.add(new LongSortTask(
+              array, start, start + counts[digit], buffer, bufferBase, shift - 8));
+        }
+      }
+      invokeAll(tasks);
+    }
+
+    private static final long serialVersionUID = 0;
+  }
+}
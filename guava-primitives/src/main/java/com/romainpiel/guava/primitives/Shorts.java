@@ -24,6 +24,11 @@ import static com.romainpiel.guava.base.Preconditions.checkPositionIndexes;
 import com.romainpiel.guava.base.Converter;
 
 import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -326,6 +331,85 @@ public final class Shorts {
     return (short) ((b1 << 8) | (b2 & 0xFF));
   }
 
+  /**
+   * Copies {@code length} values from {@code src}, starting at index {@code
+   * srcIndex}, into {@code dst} starting at index {@code dstIndex}, each value
+   * taking {@value #BYTES} bytes in the given byte order. This is a bulk
+   * version of {@link #toByteArray}; each call allocates a wrapping {@code
+   * ByteBuffer} and a view of it, whatever the {@code length}.
+   *
+   * @throws IndexOutOfBoundsException if either range lies outside its array
+   */
+  public static void copyToBytes(short[] src, int srcIndex, byte[] dst,
+      int dstIndex, int length, ByteOrder order) {
+    checkNotNull(order);
+    checkPositionIndexes(srcIndex, srcIndex + length, src.length);
+    checkPositionIndexes(dstIndex, dstIndex + length * BYTES, dst.length);
+    ByteBuffer.wrap(dst, dstIndex, length * BYTES).order(order)
+        .asShortBuffer().put(src, srcIndex, length);
+  }
+
+  /**
+   * Copies {@code length} values out of {@code src}, starting at index {@code
+   * srcIndex} and each taking {@value #BYTES} bytes in the given byte order,
+   * into {@code dst} starting at index {@code dstIndex}. This is a bulk version
+   * of {@link #fromByteArray}; each call allocates a wrapping {@code
+   * ByteBuffer} and a view of it, whatever the {@code length}.
+   *
+   * @throws IndexOutOfBoundsException if either range lies outside its array
+   */
+  public static void copyFromBytes(byte[] src, int srcIndex, short[] dst,
+      int dstIndex, int length, ByteOrder order) {
+    checkNotNull(order);
+    checkPositionIndexes(srcIndex, srcIndex + length * BYTES, src.length);
+    checkPositionIndexes(dstIndex, dstIndex + length, dst.length);
+    ByteBuffer.wrap(src, srcIndex, length * BYTES).order(order)
+        .asShortBuffer().get(dst, dstIndex, length);
+  }
+
+  /**
+   * Writes {@code length} values from {@code src}, starting at index {@code
+   * srcIndex}, to {@code buffer} at its position and in its byte order, and
+   * advances the position past them. The result is that of calling {@link
+   * ByteBuffer#putShort(short)} for each value, but heap and direct buffers alike are
+   * written in bulk.
+   *
+   * @throws IndexOutOfBoundsException if the range lies outside {@code src}
+   * @throws BufferOverflowException if {@code buffer} has fewer than {@code
+   *     length * BYTES} bytes remaining
+   * @throws ReadOnlyBufferException if {@code buffer} is read-only
+   */
+  public static void put(
+      ByteBuffer buffer, short[] src, int srcIndex, int length) {
+    checkPositionIndexes(srcIndex, srcIndex + length, src.length);
+    if (buffer.remaining() / BYTES < length) {
+      throw new BufferOverflowException();
+    }
+    buffer.asShortBuffer().put(src, srcIndex, length);
+    buffer.position(buffer.position() + length * BYTES);
+  }
+
+  /**
+   * Reads {@code length} values from {@code buffer} at its position and in its
+   * byte order into {@code dst}, starting at index {@code dstIndex}, and
+   * advances the position past them. The result is that of calling {@link
+   * ByteBuffer#getShort()} for each value, but heap and direct buffers alike are
+   * read in bulk.
+   *
+   * @throws IndexOutOfBoundsException if the range lies outside {@code dst}
+   * @throws BufferUnderflowException if {@code buffer} has fewer than {@code
+   *     length * BYTES} bytes remaining
+   */
+  public static void get(
+      ByteBuffer buffer, short[] dst, int dstIndex, int length) {
+    checkPositionIndexes(dstIndex, dstIndex + length, dst.length);
+    if (buffer.remaining() / BYTES < length) {
+      throw new BufferUnderflowException();
+    }
+    buffer.asShortBuffer().get(dst, dstIndex, length);
+    buffer.position(buffer.position() + length * BYTES);
+  }
+
   private static final class ShortConverter
       extends Converter<String, Short> implements Serializable {
     static final ShortConverter INSTANCE = new ShortConverter();
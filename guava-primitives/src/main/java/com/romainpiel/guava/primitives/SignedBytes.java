@@ -186,14 +186,13 @@ public final class SignedBytes {
 
     @Override
     public int compare(byte[] left, byte[] right) {
-      int minLength = Math.min(left.length, right.length);
-      for (int i = 0; i < minLength; i++) {
-        int result = SignedBytes.compare(left[i], right[i]);
-        if (result != 0) {
-          return result;
-        }
+      int i = Bytes.mismatch(left, right);
+      if (i == -1) {
+        return 0;
       }
-      return left.length - right.length;
+      return i < Math.min(left.length, right.length)
+          ? SignedBytes.compare(left[i], right[i])
+          : left.length - right.length;
     }
   }
 }
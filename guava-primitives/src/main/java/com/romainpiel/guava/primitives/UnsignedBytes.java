@@ -19,6 +19,10 @@ package com.romainpiel.guava.primitives;
 import static com.romainpiel.guava.base.Preconditions.checkArgument;
 import static com.romainpiel.guava.base.Preconditions.checkNotNull;
 
+import android.support.annotation.VisibleForTesting;
+
+import java.util.Comparator;
+
 /**
  * Static utility methods pertaining to {@code byte} primitives that interpret
  * values as <i>unsigned</i> (that is, any negative value {@code b} is treated
@@ -243,4 +247,91 @@ public final class UnsignedBytes {
     return builder.toString();
   }
 
+  /**
+   * Returns a comparator that compares two {@code byte} arrays
+   * lexicographically. That is, it compares, using {@link
+   * #compare(byte, byte)}), the first pair of values that follow any common
+   * prefix, or when one array is a prefix of the other, treats the shorter
+   * array as the lesser. For example, {@code [] < [0x01] < [0x01, 0x7F] <
+   * [0x01, 0x80] < [0x02]}. Values are treated as unsigned.
+   *
+   * <p>The returned comparator is inconsistent with {@link
+   * Object#equals(Object)} (since arrays support only identity equality), but
+   * it is consistent with {@link java.util.Arrays#equals(byte[], byte[])}.
+   *
+   * <p>Where the runtime reads words from heap byte buffers efficiently, the
+   * comparator steps over common prefixes eight bytes at a time.
+   *
+   * @see <a href="http://en.wikipedia.org/wiki/Lexicographical_order">
+   *     Lexicographical order article at Wikipedia</a>
+   */
+  public static Comparator<byte[]> lexicographicalComparator() {
+    return LexicographicalComparatorHolder.BEST_COMPARATOR;
+  }
+
+  @VisibleForTesting
+  static Comparator<byte[]> lexicographicalComparatorJavaImpl() {
+    return LexicographicalComparatorHolder.PureJavaComparator.INSTANCE;
+  }
+
+  @VisibleForTesting
+  static Comparator<byte[]> lexicographicalComparatorWordImpl() {
+    return LexicographicalComparatorHolder.WordComparator.INSTANCE;
+  }
+
+  /**
+   * Provides a lexicographical comparator implementation; either a
+   * word-at-a-time version built on {@link Bytes#mismatch}, or the plain
+   * byte-at-a-time loop for Dalvik and ART, whose heap buffers assemble each
+   * word from individual bytes.
+   */
+  @VisibleForTesting
+  static class LexicographicalComparatorHolder {
+    static final Comparator<byte[]> BEST_COMPARATOR = getBestComparator();
+
+    enum WordComparator implements Comparator<byte[]> {
+      INSTANCE;
+
+      @Override public int compare(byte[] left, byte[] right) {
+        // Bytes.mismatch skips the common prefix a word at a time.
+        int i = Bytes.mismatch(left, right);
+        if (i == -1) {
+          return 0;
+        }
+        return i < Math.min(left.length, right.length)
+            ? UnsignedBytes.compare(left[i], right[i])
+            : left.length - right.length;
+      }
+    }
+
+    enum PureJavaComparator implements Comparator<byte[]> {
+      INSTANCE;
+
+      @Override public int compare(byte[] left, byte[] right) {
+        int minLength = Math.min(left.length, right.length);
+        for (int i = 0; i < minLength; i++) {
+          int result = UnsignedBytes.compare(left[i], right[i]);
+          if (result != 0) {
+            return result;
+          }
+        }
+        return left.length - right.length;
+      }
+    }
+
+    /**
+     * Returns the word-at-a-time comparator, or the pure Java one on Android
+     * or when the runtime cannot be identified.
+     */
+    static Comparator<byte[]> getBestComparator() {
+      try {
+        String vmName = System.getProperty("java.vm.name");
+        return vmName == null || vmName.equals("Dalvik")
+            ? PureJavaComparator.INSTANCE
+            : WordComparator.INSTANCE;
+      } catch (SecurityException e) {
+        return PureJavaComparator.INSTANCE;
+      }
+    }
+  }
 }
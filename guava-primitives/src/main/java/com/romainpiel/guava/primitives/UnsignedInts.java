@@ -14,11 +14,14 @@
 
 package com.romainpiel.guava.primitives;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.romainpiel.guava.base.Preconditions.checkArgument;
 import static com.romainpiel.guava.base.Preconditions.checkNotNull;
+import static com.romainpiel.guava.base.Preconditions.checkPositionIndexes;
 
 /**
  * Static utility methods pertaining to {@code int} primitives that interpret values as
@@ -126,9 +129,9 @@ public final class UnsignedInts {
 
     // For pre-sizing a builder, just get the right order of magnitude
     StringBuilder builder = new StringBuilder(array.length * 5);
-    builder.append(toString(array[0]));
+    Digits.appendUnsigned(builder, array[0] & INT_MASK);
     for (int i = 1; i < array.length; i++) {
-      builder.append(separator).append(toString(array[i]));
+      Digits.appendUnsigned(builder.append(separator), array[i] & INT_MASK);
     }
     return builder.toString();
   }
@@ -164,6 +167,115 @@ public final class UnsignedInts {
     }
   }
 
+  /**
+   * Sorts {@code array} in ascending order, treating its values as unsigned. Unlike a
+   * {@link #compare}-based {@link Comparator}, this needs no boxing. Large arrays are
+   * sorted with a radix sort, which takes time linear in their length.
+   *
+   * @param array the array to sort, possibly empty
+   */
+  public static void sort(int[] array) {
+    checkNotNull(array);
+    sort(array, 0, array.length);
+  }
+
+  /**
+   * Sorts the elements of {@code array} between {@code fromIndex} inclusive and {@code toIndex}
+   * exclusive in ascending order, treating them as unsigned.
+   *
+   * @throws IndexOutOfBoundsException if {@code fromIndex < 0}, {@code toIndex > array.length}, or
+   *     {@code fromIndex > toIndex}
+   */
+  public static void sort(int[] array, int fromIndex, int toIndex) {
+    checkNotNull(array);
+    checkPositionIndexes(fromIndex, toIndex, array.length);
+    RadixSort.sort(array, fromIndex, toIndex);
+  }
+
+  /**
+   * Sorts {@code array} in descending order, treating its values as unsigned.
+   *
+   * @param array the array to sort, possibly empty
+   */
+  public static void sortDescending(int[] array) {
+    checkNotNull(array);
+    sortDescending(array, 0, array.length);
+  }
+
+  /**
+   * Sorts the elements of {@code array} between {@code fromIndex} inclusive and {@code toIndex}
+   * exclusive in descending order, treating them as unsigned.
+   *
+   * @throws IndexOutOfBoundsException if {@code fromIndex < 0}, {@code toIndex > array.length}, or
+   *     {@code fromIndex > toIndex}
+   */
+  public static void sortDescending(int[] array, int fromIndex, int toIndex) {
+    checkNotNull(array);
+    checkPositionIndexes(fromIndex, toIndex, array.length);
+    RadixSort.sort(array, fromIndex, toIndex);
+    Ints.reverse(array, fromIndex, toIndex);
+  }
+
+  /**
+   * Sorts {@code array} in ascending order, treating its values as unsigned, with the work split
+   * across the threads of {@code pool}. The result is the same as that of {@link #sort(int[])};
+   * arrays too short to be worth splitting, or a pool with a parallelism of one, are sorted on the
+   * calling thread.
+   *
+   * @param array the array to sort, possibly empty
+   * @param pool the pool to run the sorting tasks in
+   */
+  public static void parallelSort(int[] array, ForkJoinPool pool) {
+    checkNotNull(array);
+    checkNotNull(pool);
+    RadixSort.parallelSort(array, 0, array.length, pool);
+  }
+
+  /**
+   * Searches {@code array}, which must be sorted in unsigned ascending order as by {@link
+   * #sort(int[])}, for {@code key}, with the same contract as {@link
+   * Arrays#binarySearch(int[], int)}.
+   *
+   * @return the index of {@code key} if it is present; otherwise {@code (-(insertion point) - 1)},
+   *     where the insertion point is the index of the first value greater than {@code key}, or
+   *     {@code array.length} if there is none
+   */
+  public static int binarySearch(int[] array, int key) {
+    checkNotNull(array);
+    return binarySearch(array, 0, array.length, key);
+  }
+
+  /**
+   * Searches the range of {@code array} between {@code fromIndex} inclusive and {@code toIndex}
+   * exclusive, which must be sorted in unsigned ascending order, for {@code key}, with the same
+   * contract as {@link Arrays#binarySearch(int[], int, int, int)}.
+   *
+   * @return the index of {@code key} if it is present in the range; otherwise {@code (-(insertion
+   *     point) - 1)}, where the insertion point is the index of the first value greater than
+   *     {@code key}, or {@code toIndex} if there is none
+   * @throws IndexOutOfBoundsException if {@code fromIndex < 0}, {@code toIndex > array.length}, or
+   *     {@code fromIndex > toIndex}
+   */
+  public static int binarySearch(int[] array, int fromIndex, int toIndex, int key) {
+    checkNotNull(array);
+    checkPositionIndexes(fromIndex, toIndex, array.length);
+    int flippedKey = flip(key);
+    int low = fromIndex;
+    int high = toIndex - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int value = flip(array[middle]);
+      if (value < flippedKey) {
+        low = middle + 1;
+      } else if (value > flippedKey) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -(low + 1);
+  }
+
   /**
    * Returns dividend / divisor, where the dividend and divisor are treated as unsigned 32-bit
    * quantities.
@@ -207,7 +319,7 @@ public final class UnsignedInts {
     ParseRequest request = ParseRequest.fromString(stringValue);
 
     try {
-      return parseUnsignedInt(request.rawValue, request.radix);
+      return parseUnsignedInt(request.rawValue(), request.radix);
     } catch (NumberFormatException e) {
       NumberFormatException decodeException =
           new NumberFormatException("Error parsing value: " + stringValue);
@@ -268,4 +380,60 @@ public final class UnsignedInts {
     long asLong = x & INT_MASK;
     return Long.toString(asLong, radix);
   }
+
+  /**
+   * Writes the decimal representation of {@code value}, treated as unsigned, into {@code dst}
+   * starting at {@code offset}, and returns the index after the last character written. Digits
+   * are produced two at a time from a lookup table and nothing is allocated. At most 10
+   * characters are written.
+   *
+   * @throws IndexOutOfBoundsException if {@code offset} is not a valid position in {@code dst},
+   *         or if the representation does not fit in the remaining space; nothing is written in
+   *         that case
+   */
+  public static int writeTo(int value, char[] dst, int offset) {
+    return Digits.writeUnsigned(value & INT_MASK, 10, dst, offset);
+  }
+
+  /**
+   * Writes the representation of {@code value} in {@code radix}, treated as unsigned, into
+   * {@code dst} starting at {@code offset}, and returns the index after the last character
+   * written. Digits above 9 are written as lowercase ASCII letters.
+   *
+   * @throws IllegalArgumentException if {@code radix} is not between {@link Character#MIN_RADIX}
+   *         and {@link Character#MAX_RADIX}
+   * @throws IndexOutOfBoundsException if {@code offset} is not a valid position in {@code dst},
+   *         or if the representation does not fit in the remaining space; nothing is written in
+   *         that case
+   */
+  public static int writeTo(int value, int radix, char[] dst, int offset) {
+    return Digits.writeUnsigned(value & INT_MASK, radix, dst, offset);
+  }
+
+  /**
+   * Appends the decimal representation of {@code value}, treated as unsigned, to {@code
+   * appendable}, most significant digit first, without creating a {@code String} or any other
+   * object.
+   *
+   * @return {@code appendable}
+   */
+  public static <A extends Appendable> A appendTo(A appendable, int value) throws IOException {
+    Digits.appendUnsigned(appendable, value & INT_MASK, 10);
+    return appendable;
+  }
+
+  /**
+   * Appends the representation of {@code value} in {@code radix}, treated as unsigned, to {@code
+   * appendable}, most significant digit first, without creating a {@code String} or any other
+   * object. Digits above 9 are written as lowercase ASCII letters.
+   *
+   * @return {@code appendable}
+   * @throws IllegalArgumentException if {@code radix} is not between {@link Character#MIN_RADIX}
+   *         and {@link Character#MAX_RADIX}
+   */
+  public static <A extends Appendable> A appendTo(A appendable, int value, int radix)
+      throws IOException {
+    Digits.appendUnsigned(appendable, value & INT_MASK, radix);
+    return appendable;
+  }
 }
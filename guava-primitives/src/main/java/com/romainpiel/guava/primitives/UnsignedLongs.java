@@ -14,12 +14,15 @@
 
 package com.romainpiel.guava.primitives;
 
+import java.io.IOException;
 import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.romainpiel.guava.base.Preconditions.checkArgument;
 import static com.romainpiel.guava.base.Preconditions.checkNotNull;
+import static com.romainpiel.guava.base.Preconditions.checkPositionIndexes;
 
 /**
  * Static utility methods pertaining to {@code long} primitives that interpret values as
@@ -58,6 +61,21 @@ public final class UnsignedLongs {
     return a ^ Long.MIN_VALUE;
   }
 
+  /**
+   * Returns the high 64 bits of the 128-bit product of {@code a} and {@code b}, treated as
+   * unsigned. The low 64 bits are simply {@code a * b}.
+   */
+  static long multiplyHigh(long a, long b) {
+    long a0 = a & UnsignedInts.INT_MASK;
+    long a1 = a >>> 32;
+    long b0 = b & UnsignedInts.INT_MASK;
+    long b1 = b >>> 32;
+    long cross = a0 * b1;
+    // Cannot overflow: (2^32 - 1)^2 + 2 (2^32 - 1) = 2^64 - 1.
+    long middle = a1 * b0 + ((a0 * b0) >>> 32) + (cross & UnsignedInts.INT_MASK);
+    return a1 * b1 + (middle >>> 32) + (cross >>> 32);
+  }
+
   /**
    * Compares the two specified {@code long} values, treating them as unsigned values between
    * {@code 0} and {@code 2^64 - 1} inclusive.
@@ -127,9 +145,9 @@ public final class UnsignedLongs {
 
     // For pre-sizing a builder, just get the right order of magnitude
     StringBuilder builder = new StringBuilder(array.length * 5);
-    builder.append(toString(array[0]));
+    Digits.appendUnsigned(builder, array[0]);
     for (int i = 1; i < array.length; i++) {
-      builder.append(separator).append(toString(array[i]));
+      Digits.appendUnsigned(builder.append(separator), array[i]);
     }
     return builder.toString();
   }
@@ -166,6 +184,115 @@ public final class UnsignedLongs {
     }
   }
 
+  /**
+   * Sorts {@code array} in ascending order, treating its values as unsigned. Unlike a
+   * {@link #compare}-based {@link Comparator}, this needs no boxing. Large arrays are
+   * sorted with a radix sort, which takes time linear in their length.
+   *
+   * @param array the array to sort, possibly empty
+   */
+  public static void sort(long[] array) {
+    checkNotNull(array);
+    sort(array, 0, array.length);
+  }
+
+  /**
+   * Sorts the elements of {@code array} between {@code fromIndex} inclusive and {@code toIndex}
+   * exclusive in ascending order, treating them as unsigned.
+   *
+   * @throws IndexOutOfBoundsException if {@code fromIndex < 0}, {@code toIndex > array.length}, or
+   *     {@code fromIndex > toIndex}
+   */
+  public static void sort(long[] array, int fromIndex, int toIndex) {
+    checkNotNull(array);
+    checkPositionIndexes(fromIndex, toIndex, array.length);
+    RadixSort.sort(array, fromIndex, toIndex);
+  }
+
+  /**
+   * Sorts {@code array} in descending order, treating its values as unsigned.
+   *
+   * @param array the array to sort, possibly empty
+   */
+  public static void sortDescending(long[] array) {
+    checkNotNull(array);
+    sortDescending(array, 0, array.length);
+  }
+
+  /**
+   * Sorts the elements of {@code array} between {@code fromIndex} inclusive and {@code toIndex}
+   * exclusive in descending order, treating them as unsigned.
+   *
+   * @throws IndexOutOfBoundsException if {@code fromIndex < 0}, {@code toIndex > array.length}, or
+   *     {@code fromIndex > toIndex}
+   */
+  public static void sortDescending(long[] array, int fromIndex, int toIndex) {
+    checkNotNull(array);
+    checkPositionIndexes(fromIndex, toIndex, array.length);
+    RadixSort.sort(array, fromIndex, toIndex);
+    Longs.reverse(array, fromIndex, toIndex);
+  }
+
+  /**
+   * Sorts {@code array} in ascending order, treating its values as unsigned, with the work split
+   * across the threads of {@code pool}. The result is the same as that of {@link #sort(long[])};
+   * arrays too short to be worth splitting, or a pool with a parallelism of one, are sorted on the
+   * calling thread.
+   *
+   * @param array the array to sort, possibly empty
+   * @param pool the pool to run the sorting tasks in
+   */
+  public static void parallelSort(long[] array, ForkJoinPool pool) {
+    checkNotNull(array);
+    checkNotNull(pool);
+    RadixSort.parallelSort(array, 0, array.length, pool);
+  }
+
+  /**
+   * Searches {@code array}, which must be sorted in unsigned ascending order as by {@link
+   * #sort(long[])}, for {@code key}, with the same contract as {@link
+   * Arrays#binarySearch(long[], long)}.
+   *
+   * @return the index of {@code key} if it is present; otherwise {@code (-(insertion point) - 1)},
+   *     where the insertion point is the index of the first value greater than {@code key}, or
+   *     {@code array.length} if there is none
+   */
+  public static int binarySearch(long[] array, long key) {
+    checkNotNull(array);
+    return binarySearch(array, 0, array.length, key);
+  }
+
+  /**
+   * Searches the range of {@code array} between {@code fromIndex} inclusive and {@code toIndex}
+   * exclusive, which must be sorted in unsigned ascending order, for {@code key}, with the same
+   * contract as {@link Arrays#binarySearch(long[], int, int, long)}.
+   *
+   * @return the index of {@code key} if it is present in the range; otherwise {@code (-(insertion
+   *     point) - 1)}, where the insertion point is the index of the first value greater than
+   *     {@code key}, or {@code toIndex} if there is none
+   * @throws IndexOutOfBoundsException if {@code fromIndex < 0}, {@code toIndex > array.length}, or
+   *     {@code fromIndex > toIndex}
+   */
+  public static int binarySearch(long[] array, int fromIndex, int toIndex, long key) {
+    checkNotNull(array);
+    checkPositionIndexes(fromIndex, toIndex, array.length);
+    long flippedKey = flip(key);
+    int low = fromIndex;
+    int high = toIndex - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      long value = flip(array[middle]);
+      if (value < flippedKey) {
+        low = middle + 1;
+      } else if (value > flippedKey) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -(low + 1);
+  }
+
   /**
    * Returns dividend / divisor, where the dividend and divisor are treated as unsigned 64-bit
    * quantities.
@@ -265,7 +392,7 @@ public final class UnsignedLongs {
     ParseRequest request = ParseRequest.fromString(stringValue);
 
     try {
-      return parseUnsignedLong(request.rawValue, request.radix);
+      return parseUnsignedLong(stringValue, request.start, stringValue.length(), request.radix);
     } catch (NumberFormatException e) {
       NumberFormatException decodeException =
           new NumberFormatException("Error parsing value: " + stringValue);
@@ -287,22 +414,44 @@ public final class UnsignedLongs {
    */
   public static long parseUnsignedLong(String s, int radix) {
     checkNotNull(s);
-    if (s.length() == 0) {
+    return parseUnsignedLong(s, 0, s.length(), radix);
+  }
+
+  /**
+   * Returns the unsigned {@code long} value represented by the characters of {@code sequence} from
+   * {@code start}, inclusive, to {@code end}, exclusive, with the given radix. Unlike {@code
+   * parseUnsignedLong(sequence.subSequence(start, end).toString(), radix)}, no object is allocated
+   * unless parsing fails.
+   *
+   * @param sequence the characters containing the unsigned {@code long} representation
+   * @param start the index of the first character to parse
+   * @param end the index after the last character to parse
+   * @param radix the radix to use while parsing the range
+   * @throws NumberFormatException if the range does not contain a valid unsigned {@code long}
+   *         with the given radix, or if {@code radix} is not between {@link Character#MIN_RADIX}
+   *         and {@link Character#MAX_RADIX}.
+   * @throws IndexOutOfBoundsException if {@code start} or {@code end} is not a valid position in
+   *         {@code sequence}, or if {@code end < start}
+   */
+  public static long parseUnsignedLong(CharSequence sequence, int start, int end, int radix) {
+    checkPositionIndexes(start, end, sequence.length());
+    if (start == end) {
       throw new NumberFormatException("empty string");
     }
     if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
       throw new NumberFormatException("illegal radix: " + radix);
     }
 
-    int max_safe_pos = maxSafeDigits[radix] - 1;
+    int max_safe_pos = start + maxSafeDigits[radix] - 1;
     long value = 0;
-    for (int pos = 0; pos < s.length(); pos++) {
-      int digit = Character.digit(s.charAt(pos), radix);
+    for (int pos = start; pos < end; pos++) {
+      int digit = Character.digit(sequence.charAt(pos), radix);
       if (digit == -1) {
-        throw new NumberFormatException(s);
+        throw new NumberFormatException(sequence.subSequence(start, end).toString());
       }
       if (pos > max_safe_pos && overflowInParse(value, digit, radix)) {
-        throw new NumberFormatException("Too large for unsigned long: " + s);
+        throw new NumberFormatException(
+            "Too large for unsigned long: " + sequence.subSequence(start, end));
       }
       value = (value * radix) + digit;
     }
@@ -349,30 +498,66 @@ public final class UnsignedLongs {
    *         and {@link Character#MAX_RADIX}.
    */
   public static String toString(long x, int radix) {
-    checkArgument(radix >= Character.MIN_RADIX && radix <= Character.MAX_RADIX,
-        "radix (%s) must be between Character.MIN_RADIX and Character.MAX_RADIX", radix);
-    if (x == 0) {
-      // Simply return "0"
-      return "0";
-    } else {
-      char[] buf = new char[64];
-      int i = buf.length;
-      if (x < 0) {
-        // Separate off the last digit using unsigned division. That will leave
-        // a number that is nonnegative as a signed integer.
-        long quotient = divide(x, radix);
-        long rem = x - quotient * radix;
-        buf[--i] = Character.forDigit((int) rem, radix);
-        x = quotient;
-      }
-      // Simple modulo/division approach
-      while (x > 0) {
-        buf[--i] = Character.forDigit((int) (x % radix), radix);
-        x /= radix;
-      }
-      // Generate string
-      return new String(buf, i, buf.length - i);
-    }
+    Digits.checkRadix(radix);
+    char[] buf = new char[Digits.unsignedLength(x, radix)];
+    Digits.writeUnsigned(x, radix, buf, 0);
+    return new String(buf);
+  }
+
+  /**
+   * Writes the decimal representation of {@code value}, treated as unsigned, into {@code dst}
+   * starting at {@code offset}, and returns the index after the last character written. Digits
+   * are produced two at a time from a lookup table and nothing is allocated. At most 20
+   * characters are written.
+   *
+   * @throws IndexOutOfBoundsException if {@code offset} is not a valid position in {@code dst},
+   *         or if the representation does not fit in the remaining space; nothing is written in
+   *         that case
+   */
+  public static int writeTo(long value, char[] dst, int offset) {
+    return Digits.writeUnsigned(value, 10, dst, offset);
+  }
+
+  /**
+   * Writes the representation of {@code value} in {@code radix}, treated as unsigned, into
+   * {@code dst} starting at {@code offset}, and returns the index after the last character
+   * written. Digits above 9 are written as lowercase ASCII letters.
+   *
+   * @throws IllegalArgumentException if {@code radix} is not between {@link Character#MIN_RADIX}
+   *         and {@link Character#MAX_RADIX}
+   * @throws IndexOutOfBoundsException if {@code offset} is not a valid position in {@code dst},
+   *         or if the representation does not fit in the remaining space; nothing is written in
+   *         that case
+   */
+  public static int writeTo(long value, int radix, char[] dst, int offset) {
+    return Digits.writeUnsigned(value, radix, dst, offset);
+  }
+
+  /**
+   * Appends the decimal representation of {@code value}, treated as unsigned, to {@code
+   * appendable}, most significant digit first, without creating a {@code String} or any other
+   * object.
+   *
+   * @return {@code appendable}
+   */
+  public static <A extends Appendable> A appendTo(A appendable, long value) throws IOException {
+    Digits.appendUnsigned(appendable, value, 10);
+    return appendable;
+  }
+
+  /**
+   * Appends the representation of {@code value} in {@code radix}, treated as unsigned, to {@code
+   * appendable}, most significant digit first, without creating a {@code String} or any other
+   * object. Digits above 9 are written as lowercase ASCII letters.
+   *
+   * @return {@code appendable}
+   * @throws IllegalArgumentException if {@code radix} is not between {@link Character#MIN_RADIX}
+   *         and {@link Character#MAX_RADIX}
+   */
+  public static <A extends Appendable> A appendTo(A appendable, long value, int radix)
+      throws IOException {
+    Digits.appendUnsigned(appendable, value, radix);
+    return appendable;
   }
 
   // calculated as 0xffffffffffffffff / radix
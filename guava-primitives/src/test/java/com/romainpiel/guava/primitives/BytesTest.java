@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Unit test for {@link Bytes}.
@@ -103,6 +104,98 @@ public class BytesTest extends TestCase {
     ));
   }
 
+  public void testIndexOf_wordBoundaries() {
+    for (int length = 0; length <= 40; length++) {
+      for (int position = 0; position < length; position++) {
+        for (byte value : new byte[] {0, 1, (byte) 0x7F, (byte) 0x80, -1}) {
+          byte[] array = new byte[length];
+          Arrays.fill(array, (byte) (value ^ 0x55));
+          array[position] = value;
+          assertEquals(position, Bytes.indexOf(array, value));
+          assertEquals(position, Bytes.lastIndexOf(array, value));
+          assertTrue(Bytes.contains(array, value));
+          assertEquals(position - 1,
+              Bytes.asList(array).subList(1, length).indexOf(value));
+        }
+      }
+    }
+  }
+
+  public void testIndexOf_randomAgainstNaive() {
+    Random random = new Random(16);
+    for (int trial = 0; trial < 2000; trial++) {
+      byte[] array = randomBytes(random, random.nextInt(1000), 1 + random.nextInt(4));
+      byte value = (byte) random.nextInt(4);
+      assertEquals(naiveIndexOf(array, new byte[] {value}), Bytes.indexOf(array, value));
+      assertEquals(naiveLastIndexOf(array, value), Bytes.lastIndexOf(array, value));
+
+      byte[] target;
+      if (array.length > 0 && random.nextBoolean()) {
+        int from = random.nextInt(array.length);
+        int to = from + random.nextInt(Math.min(array.length - from, 20) + 1);
+        target = Arrays.copyOfRange(array, from, to);
+      } else {
+        target = randomBytes(random, random.nextInt(20), 2);
+      }
+      assertEquals(naiveIndexOf(array, target), Bytes.indexOf(array, target));
+    }
+  }
+
+  private static byte[] randomBytes(Random random, int length, int alphabet) {
+    byte[] array = new byte[length];
+    for (int i = 0; i < length; i++) {
+      array[i] = (byte) random.nextInt(alphabet);
+    }
+    return array;
+  }
+
+  private static int naiveIndexOf(byte[] array, byte[] target) {
+    outer:
+    for (int i = 0; i <= array.length - target.length; i++) {
+      for (int j = 0; j < target.length; j++) {
+        if (array[i + j] != target[j]) {
+          continue outer;
+        }
+      }
+      return i;
+    }
+    return -1;
+  }
+
+  private static int naiveLastIndexOf(byte[] array, byte target) {
+    for (int i = array.length - 1; i >= 0; i--) {
+      if (array[i] == target) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public void testMismatch() {
+    assertEquals(-1, Bytes.mismatch(EMPTY, EMPTY));
+    assertEquals(-1, Bytes.mismatch(ARRAY234, ARRAY234));
+    assertEquals(-1, Bytes.mismatch(ARRAY234, ARRAY234.clone()));
+    assertEquals(0, Bytes.mismatch(EMPTY, ARRAY1));
+    assertEquals(0, Bytes.mismatch(ARRAY1, ARRAY234));
+    assertEquals(1, Bytes.mismatch(ARRAY234, new byte[] {(byte) 2}));
+    assertEquals(1, Bytes.mismatch(new byte[] {(byte) 2}, ARRAY234));
+
+    for (int length = 0; length <= 40; length++) {
+      byte[] a = new byte[length];
+      for (int i = 0; i < length; i++) {
+        a[i] = (byte) (i * 37);
+      }
+      assertEquals(-1, Bytes.mismatch(a, a.clone()));
+      assertEquals(length, Bytes.mismatch(a, Arrays.copyOf(a, length + 1)));
+      for (int i = 0; i < length; i++) {
+        byte[] b = a.clone();
+        b[i] ^= (byte) 0x80;
+        assertEquals(i, Bytes.mismatch(a, b));
+        assertEquals(i, Bytes.mismatch(Arrays.copyOf(b, length + 3), a));
+      }
+    }
+  }
+
   public void testLastIndexOf() {
     assertEquals(-1, Bytes.lastIndexOf(EMPTY, (byte) 1));
     assertEquals(-1, Bytes.lastIndexOf(ARRAY1, (byte) 2));
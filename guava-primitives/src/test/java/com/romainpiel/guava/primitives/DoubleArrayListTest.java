@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+
+/**
+ * Unit test for {@link DoubleArrayList}.
+ */
+public class DoubleArrayListTest extends TestCase {
+  public void testAddAndGet() {
+    DoubleArrayList list = DoubleArrayList.create(1);
+    list.addAll(new double[] {0.5, 1.5});
+    list.addAll(Arrays.asList(2.5));
+    list.add(3.5);
+    assertEquals(4, list.size());
+    assertEquals(2.5, list.get(2), 0.0);
+    assertEquals(Doubles.asList(0.5, 1.5, 2.5, 3.5), list.asList());
+  }
+
+  public void testSearchMatchesDoubles() {
+    DoubleArrayList list = DoubleArrayList.copyOf(new double[] {Double.NaN, -0.0, 1.0});
+    assertFalse(list.contains(Double.NaN));
+    assertEquals(1, list.indexOf(0.0));
+    assertEquals(1, list.lastIndexOf(-0.0));
+  }
+
+  public void testSortUsesTotalOrder() {
+    DoubleArrayList list = DoubleArrayList.copyOf(new double[] {Double.NaN, 0.0, -0.0, -1.0});
+    list.sort();
+    assertTrue(Arrays.equals(new double[] {-1.0, -0.0, 0.0, Double.NaN}, list.toArray()));
+    assertEquals(2, list.binarySearch(0.0));
+    assertEquals(3, list.binarySearch(Double.NaN));
+  }
+
+  public void testEqualsAndHashCode() {
+    DoubleArrayList a = DoubleArrayList.copyOf(new double[] {Double.NaN, -0.0});
+    DoubleArrayList b = DoubleArrayList.copyOf(new double[] {Double.NaN, -0.0});
+    assertEquals(a, b);
+    assertEquals(a.hashCode(), b.hashCode());
+    assertEquals(Arrays.asList(Double.NaN, -0.0).hashCode(), a.hashCode());
+    assertFalse(a.equals(DoubleArrayList.copyOf(new double[] {Double.NaN, 0.0})));
+    assertEquals("[NaN, -0.0]", a.toString());
+  }
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static java.lang.Double.MAX_VALUE;
+import static java.lang.Double.MIN_NORMAL;
+import static java.lang.Double.MIN_VALUE;
+import static java.lang.Double.NaN;
+import static java.lang.Double.NEGATIVE_INFINITY;
+import static java.lang.Double.POSITIVE_INFINITY;
+
+/**
+ * Unit test for {@link Doubles}.
+ */
+public class DoublesTest extends TestCase {
+  private static final double[] VALUES = {
+      0.0, -0.0, 1.0, -1.0, 0.1, 0.5, 1.5, 100.0, 1234567.0, 9999999.0, 1.0E7, 0.001, 9.999E-4,
+      Math.PI, Math.E, 1.0E22, 1.0E23, 2.0E-3, 1.0E-5, 123456.789, 4.35, 0.3, 2.0 / 3,
+      MIN_VALUE, 2 * MIN_VALUE, MIN_NORMAL, Math.nextAfter(MIN_NORMAL, 0), MAX_VALUE,
+      (double) Long.MAX_VALUE, 9007199254740993.0, NaN, POSITIVE_INFINITY, NEGATIVE_INFINITY};
+
+  private static final String[] BAD_TRY_PARSE_INPUTS = {
+      "", "+-", "+-0", " 5", "32 ", " 55 ", " 17", "  1", "-", "+", "e", ".", "e5",
+      "1e", "1e+", "1e-", "1.0e", ".e5", "1d5", "0x", "0x1", "0xp1", "0x1.p", "0x1pf", "NaNd",
+      "nan", "infinity", "Infinityf", "1,0", "1_0", "1\u0662", "\u0662", "1..0", "1.0.0", "0x1p1p"};
+
+  public void testTryParse() {
+    String[] inputs = {
+        "0", "-0", "+0", "1", "-1", "1.", ".5", "-.5e-3", "1e5", "1E+5", "1e-5", "1.5f", "1.5D",
+        "00001.25", "NaN", "-NaN", "+NaN", "Infinity", "-Infinity", "+Infinity", "0x1p3",
+        "0x.8p1", "-0X1.8P-2f", "1e400", "-1e400", "1e-400", "4.9e-324", "2.4703282292062327e-324",
+        "2.4703282292062328e-324", "1.7976931348623157e308", "1.7976931348623158e308",
+        "1.7976931348623159e308", "9007199254740993", "9007199254740993.00000000000000000001",
+        "123456789012345678901234567890", "0.000000000000000000000000000000000000000000001",
+        "1e99999999999999", "1e-99999999999999", "0e99999999"};
+    for (String input : inputs) {
+      checkTryParse(input);
+    }
+    for (String input : BAD_TRY_PARSE_INPUTS) {
+      assertNull(input, Doubles.tryParse(input));
+      assertEquals(input, 42.0, Doubles.tryParse(input, 0, input.length(), 42.0));
+    }
+  }
+
+  public void testTryParse_halfway() {
+    // Exactly halfway between two doubles: the even one is the correct rounding.
+    Random random = new Random(42);
+    for (int i = 0; i < 2000; i++) {
+      double value = Math.abs(Double.longBitsToDouble(random.nextLong()));
+      if (Double.isNaN(value) || Double.isInfinite(value) || value == MAX_VALUE) {
+        continue;
+      }
+      BigDecimal halfway = new BigDecimal(value).add(new BigDecimal(Math.nextUp(value)))
+          .divide(BigDecimal.valueOf(2));
+      checkTryParse(halfway.toString());
+      checkTryParse(halfway.add(BigDecimal.ONE.movePointLeft(1100)).toString());
+    }
+  }
+
+  public void testTryParse_random() {
+    Random random = new Random(42);
+    for (int i = 0; i < 20000; i++) {
+      checkTryParse(Double.toString(Double.longBitsToDouble(random.nextLong())));
+      StringBuilder builder = new StringBuilder();
+      int digits = 1 + random.nextInt(25);
+      for (int j = 0; j < digits; j++) {
+        builder.append((char) ('0' + random.nextInt(10)));
+      }
+      builder.insert(random.nextInt(digits + 1), '.').append('e').append(random.nextInt(700) - 350);
+      checkTryParse(builder.toString());
+    }
+  }
+
+  public void testTryParseRange() {
+    String fields = "x1.5,-2e-3,NaN,1e,0x1p4,";
+    assertEquals(1.5, Doubles.tryParse(fields, 1, 4));
+    assertEquals(1.5, Doubles.tryParse(fields, 1, 4, 0.0));
+    assertEquals(-2e-3, Doubles.tryParse(fields, 5, 10, 0.0));
+    assertTrue(Double.isNaN(Doubles.tryParse(fields, 11, 14, 0.0)));
+    assertNull(Doubles.tryParse(fields, 15, 17));
+    assertEquals(16.0, Doubles.tryParse(fields, 18, 23, 0.0));
+    assertNull(Doubles.tryParse(fields, 24, 24));
+    assertNull(Doubles.tryParse(fields, 0, 4));
+    assertEquals(0.25, Doubles.tryParse(new StringBuilder("x.25x"), 1, 4, 0.0));
+    try {
+      Doubles.tryParse(fields, 3, 2);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Doubles.tryParse(fields, 0, 26, 0.0);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testWriteTo() {
+    char[] dst = new char[40];
+    for (double value : VALUES) {
+      int end = Doubles.writeTo(value, dst, 5);
+      checkShortest(value, new String(dst, 5, end - 5));
+    }
+    assertEquals("1.0E23", write(1.0E23));
+    assertEquals("0.002", write(2.0E-3));
+    assertEquals("4.9E-324", write(MIN_VALUE));
+    assertEquals("9.9E-324", write(2 * MIN_VALUE));
+    assertEquals("-2.2250738585072014E-308", write(-MIN_NORMAL));
+    assertEquals("1.0E7", write(1.0E7));
+    assertEquals("9999999.0", write(9999999.0));
+    assertEquals("0.001", write(0.001));
+    assertEquals("9.999E-4", write(9.999E-4));
+    assertEquals("123456.789", write(123456.789));
+    assertEquals("-0.0", write(-0.0));
+    assertEquals("NaN", write(NaN));
+    assertEquals("-Infinity", write(NEGATIVE_INFINITY));
+    Random random = new Random(42);
+    for (int i = 0; i < 20000; i++) {
+      double value = Double.longBitsToDouble(random.nextLong());
+      int end = Doubles.writeTo(value, dst, 0);
+      checkShortest(value, new String(dst, 0, end));
+    }
+  }
+
+  public void testWriteTo_fails() {
+    char[] dst = new char[24];
+    assertEquals(24, Doubles.writeTo(-MIN_NORMAL, dst, 0));
+    try {
+      Doubles.writeTo(-MIN_NORMAL, dst, 1);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Doubles.writeTo(NaN, dst, 22);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Doubles.writeTo(0.0, dst, -1);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testAppendTo() throws IOException {
+    Random random = new Random(42);
+    for (int i = 0; i < VALUES.length + 2000; i++) {
+      double value = (i < VALUES.length) ? VALUES[i] : Double.longBitsToDouble(random.nextLong());
+      String expected = write(value);
+      assertEquals(expected, Doubles.appendTo(new StringWriter(), value).toString());
+      assertEquals("x" + expected, Doubles.appendTo(new StringBuilder("x"), value).toString());
+    }
+  }
+
+  private static String write(double value) {
+    char[] dst = new char[24];
+    return new String(dst, 0, Doubles.writeTo(value, dst, 0));
+  }
+
+  /**
+   * Asserts that {@code string} parses back to {@code value}, in the layout of {@link
+   * Double#toString} and with no more digits.
+   */
+  private static void checkShortest(double value, String string) {
+    assertEquals(Double.doubleToLongBits(value), Double.doubleToLongBits(Double.valueOf(string)));
+    String expected = Double.toString(value);
+    assertEquals(expected.indexOf('E') >= 0, string.indexOf('E') >= 0);
+    assertTrue(string + " is longer than " + expected, string.length() <= expected.length());
+  }
+
+  /** Asserts that {@link Doubles#tryParse} agrees with {@link Double#parseDouble}. */
+  private static void checkTryParse(String input) {
+    Double expected = Double.valueOf(input);
+    assertEquals(input, expected, Doubles.tryParse(input));
+    assertEquals(input, expected, Doubles.tryParse("[" + input + "]", 1, input.length() + 1));
+    assertEquals(input, Double.doubleToRawLongBits(expected),
+        Double.doubleToRawLongBits(Doubles.tryParse(input, 0, input.length(), 42.0)));
+  }
+
+  public void testMinMax_matchesMathMinAndMax() {
+    Random random = new Random(18);
+    for (int trial = 0; trial < 10000; trial++) {
+      double[] array = new double[1 + random.nextInt(10)];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = VALUES[random.nextInt(VALUES.length)];
+      }
+      double min = array[0];
+      double max = array[0];
+      for (double value : array) {
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+      assertEquals(Double.valueOf(min), Double.valueOf(Doubles.min(array)));
+      assertEquals(Double.valueOf(max), Double.valueOf(Doubles.max(array)));
+      double[] minMax = Doubles.minMax(array);
+      assertEquals(2, minMax.length);
+      assertEquals(Double.valueOf(min), Double.valueOf(minMax[0]));
+      assertEquals(Double.valueOf(max), Double.valueOf(minMax[1]));
+    }
+  }
+
+  public void testMinMax_signedZeros() {
+    assertEquals(Double.valueOf(-0.0), Double.valueOf(Doubles.min(0.0, -0.0)));
+    assertEquals(Double.valueOf(-0.0), Double.valueOf(Doubles.min(-0.0, 0.0)));
+    assertEquals(Double.valueOf(0.0), Double.valueOf(Doubles.max(0.0, -0.0)));
+    assertEquals(Double.valueOf(0.0), Double.valueOf(Doubles.max(-0.0, 0.0)));
+    assertEquals(Double.valueOf(-0.0), Double.valueOf(Doubles.max(-1.0, -0.0)));
+    double[] minMax = Doubles.minMax(-0.0, 0.0, -0.0);
+    assertEquals(Double.valueOf(-0.0), Double.valueOf(minMax[0]));
+    assertEquals(Double.valueOf(0.0), Double.valueOf(minMax[1]));
+  }
+
+  public void testMinMax_empty() {
+    try {
+      Doubles.minMax();
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testSum() {
+    assertEquals(Double.valueOf(0.0), Double.valueOf(Doubles.sum()));
+    assertEquals(Double.valueOf(1.5), Double.valueOf(Doubles.sum(1.5)));
+    assertEquals(Double.valueOf(15.0), Double.valueOf(Doubles.sum(1, 2, 3, 4, 5)));
+    assertTrue(Double.isNaN(Doubles.sum(1, 2, 3, NaN, 5)));
+    assertTrue(Double.isNaN(Doubles.sum(POSITIVE_INFINITY, 1, NEGATIVE_INFINITY)));
+    assertEquals(Double.valueOf(NEGATIVE_INFINITY),
+        Double.valueOf(Doubles.sum(1, NEGATIVE_INFINITY, 2, 3, 4)));
+
+    Random random = new Random(18);
+    for (int length = 0; length < 50; length++) {
+      double[] array = new double[length];
+      long expected = 0;
+      for (int i = 0; i < length; i++) {
+        int value = random.nextInt(2000) - 1000;
+        array[i] = value;
+        expected += value;
+      }
+      assertEquals(Double.valueOf(expected), Double.valueOf(Doubles.sum(array)));
+    }
+  }
+
+  public void testCopyToAndFromBytes() {
+    double[] values = randomValues(new Random(20), 37);
+    for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      byte[] bytes = new byte[3 + values.length * Doubles.BYTES];
+      Doubles.copyToBytes(values, 2, bytes, 3, values.length - 2, order);
+
+      ByteBuffer expected = ByteBuffer.allocate(bytes.length).order(order);
+      expected.position(3);
+      for (int i = 2; i < values.length; i++) {
+        expected.putDouble(values[i]);
+      }
+      assertTrue(Arrays.equals(expected.array(), bytes));
+
+      double[] decoded = new double[values.length];
+      Doubles.copyFromBytes(bytes, 3, decoded, 1, values.length - 2, order);
+      assertTrue(Arrays.equals(
+          Arrays.copyOfRange(values, 2, values.length),
+          Arrays.copyOfRange(decoded, 1, values.length - 1)));
+      assertEquals(0L, Double.doubleToRawLongBits(decoded[0]));
+      assertEquals(0L, Double.doubleToRawLongBits(decoded[values.length - 1]));
+    }
+  }
+
+  public void testCopyToAndFromBytes_outOfBounds() {
+    double[] values = new double[4];
+    byte[] bytes = new byte[4 * Doubles.BYTES];
+    try {
+      Doubles.copyToBytes(values, 1, bytes, 0, 4, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Doubles.copyToBytes(values, 0, bytes, 1, 4, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Doubles.copyFromBytes(bytes, 1, values, 0, 4, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Doubles.copyFromBytes(bytes, 0, values, 0, -1, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testPutAndGet() {
+    double[] values = randomValues(new Random(20), 50);
+    for (ByteBuffer buffer : new ByteBuffer[] {
+        ByteBuffer.allocate(5 + values.length * Doubles.BYTES),
+        ByteBuffer.allocateDirect(5 + values.length * Doubles.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN)}) {
+      buffer.put((byte) 1);
+      Doubles.put(buffer, values, 0, 10);
+      Doubles.put(buffer, values, 10, values.length - 10);
+      assertEquals(1 + values.length * Doubles.BYTES, buffer.position());
+      buffer.flip();
+
+      assertEquals(1, buffer.get());
+      for (double value : Arrays.copyOf(values, 3)) {
+        assertEquals(
+            Double.doubleToRawLongBits(value), Double.doubleToRawLongBits(buffer.getDouble()));
+      }
+      double[] decoded = new double[values.length];
+      Doubles.get(buffer, decoded, 3, values.length - 3);
+      assertEquals(0, buffer.remaining());
+      assertTrue(Arrays.equals(
+          Arrays.copyOfRange(values, 3, values.length),
+          Arrays.copyOfRange(decoded, 3, values.length)));
+    }
+  }
+
+  public void testPutAndGet_bufferTooSmall() {
+    ByteBuffer buffer = ByteBuffer.allocate(3 * Doubles.BYTES + 1);
+    try {
+      Doubles.put(buffer, new double[4], 0, 4);
+      fail();
+    } catch (BufferOverflowException expected) {
+    }
+    assertEquals(0, buffer.position());
+    try {
+      Doubles.get(buffer, new double[4], 0, 4);
+      fail();
+    } catch (BufferUnderflowException expected) {
+    }
+    assertEquals(0, buffer.position());
+    try {
+      Doubles.put(buffer.asReadOnlyBuffer(), new double[1], 0, 1);
+      fail();
+    } catch (ReadOnlyBufferException expected) {
+    }
+  }
+
+  private static double[] randomValues(Random random, int length) {
+    double[] values = new double[length];
+    for (int i = 0; i < length; i++) {
+      values[i] = Double.longBitsToDouble(random.nextLong());
+    }
+    return values;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import junit.framework.TestCase;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+/**
+ * Unit test for {@link Floats}.
+ */
+public class FloatsTest extends TestCase {
+  public void testTryParse() {
+    String[] inputs = {
+        "0", "-0", "1", "-1.5", ".5", "1e5", "1.5f", "1.5D", "NaN", "-Infinity", "0x1.8p1",
+        "3.4028235e38", "3.4028236e38", "3.4028237e38", "1.4e-45", "7.0e-46", "7.1e-46",
+        "16777217", "16777217.000000000000000000001", "1e39", "1e-46", "0.1", "0.3"};
+    for (String input : inputs) {
+      checkTryParse(input);
+    }
+    for (String input : new String[] {"", "-", "1e", "0x1", " 1", "1 ", "Infinityf", "1\u0662"}) {
+      assertNull(input, Floats.tryParse(input));
+      assertEquals(input, 7f, Floats.tryParse(input, 0, input.length(), 7f));
+    }
+  }
+
+  public void testTryParse_random() {
+    Random random = new Random(42);
+    for (int i = 0; i < 20000; i++) {
+      float value = Float.intBitsToFloat(random.nextInt());
+      checkTryParse(Float.toString(value));
+      value = Math.abs(value);
+      if (!Float.isNaN(value) && !Float.isInfinite(value) && value != Float.MAX_VALUE) {
+        // Halfway between two floats, but not between two doubles.
+        checkTryParse(new BigDecimal(value).add(new BigDecimal(Math.nextUp(value)))
+            .divide(BigDecimal.valueOf(2)).toString());
+      }
+      checkTryParse(Double.toString(Double.longBitsToDouble(random.nextLong())));
+    }
+  }
+
+  public void testTryParseRange() {
+    String fields = "x1.5,-2e-3f,";
+    assertEquals(1.5f, Floats.tryParse(fields, 1, 4));
+    assertEquals(-2e-3f, Floats.tryParse(fields, 5, 11, 0f));
+    assertNull(Floats.tryParse(fields, 0, 4));
+    try {
+      Floats.tryParse(fields, 3, 2, 0f);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  /** Asserts that {@link Floats#tryParse} agrees with {@link Float#parseFloat}. */
+  private static void checkTryParse(String input) {
+    Float expected = Float.valueOf(input);
+    assertEquals(input, expected, Floats.tryParse(input));
+    assertEquals(input, expected, Floats.tryParse("[" + input + "]", 1, input.length() + 1));
+  }
+
+  public void testMinMax_matchesMathMinAndMax() {
+    float[] values = {0.0f, -0.0f, 1.0f, -1.0f, 0.5f, Float.MIN_VALUE, Float.MAX_VALUE,
+        -Float.MAX_VALUE, Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY};
+    Random random = new Random(18);
+    for (int trial = 0; trial < 10000; trial++) {
+      float[] array = new float[1 + random.nextInt(10)];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = values[random.nextInt(values.length)];
+      }
+      float min = array[0];
+      float max = array[0];
+      for (float value : array) {
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+      assertEquals(Float.valueOf(min), Float.valueOf(Floats.min(array)));
+      assertEquals(Float.valueOf(max), Float.valueOf(Floats.max(array)));
+      float[] minMax = Floats.minMax(array);
+      assertEquals(2, minMax.length);
+      assertEquals(Float.valueOf(min), Float.valueOf(minMax[0]));
+      assertEquals(Float.valueOf(max), Float.valueOf(minMax[1]));
+    }
+  }
+
+  public void testSum() {
+    assertEquals(Double.valueOf(0.0), Double.valueOf(Floats.sum()));
+    assertEquals(Double.valueOf(15.0), Double.valueOf(Floats.sum(1, 2, 3, 4, 5)));
+    assertTrue(Double.isNaN(Floats.sum(1, 2, 3, Float.NaN, 5)));
+    // Accumulated in double precision, so the small values are not absorbed.
+    assertEquals(Double.valueOf(1.0e8 + 10), Double.valueOf(Floats.sum(
+        1.0e8f, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1)));
+    // Even though the total is out of float range.
+    assertEquals(Double.valueOf(2.0 * Float.MAX_VALUE),
+        Double.valueOf(Floats.sum(Float.MAX_VALUE, Float.MAX_VALUE)));
+  }
+}
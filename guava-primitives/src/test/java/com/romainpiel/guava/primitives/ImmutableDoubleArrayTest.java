@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2017 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+
+/**
+ * Unit test for {@link ImmutableDoubleArray}.
+ */
+public class ImmutableDoubleArrayTest extends TestCase {
+  public void testOf() {
+    assertSame(ImmutableDoubleArray.of(), ImmutableDoubleArray.of());
+    assertEquals("[0.5, -1.0]", ImmutableDoubleArray.of(0.5, -1.0).toString());
+  }
+
+  public void testBuilderAndSubArray() {
+    ImmutableDoubleArray ida = ImmutableDoubleArray.builder()
+        .add(1.0)
+        .addAll(new double[] {2.0, 3.0})
+        .addAll(Arrays.asList(4.0))
+        .build();
+    assertEquals(ImmutableDoubleArray.of(2.0, 3.0), ida.subArray(1, 3));
+    assertEquals(4.0, ida.get(3), 0.0);
+  }
+
+  public void testNaNAndSignedZero() {
+    ImmutableDoubleArray ida = ImmutableDoubleArray.of(Double.NaN, -0.0);
+    assertTrue(ida.contains(Double.NaN));
+    assertEquals(0, ida.indexOf(Double.NaN));
+    assertEquals(1, ida.lastIndexOf(-0.0));
+    assertFalse(ida.contains(0.0));
+    assertEquals(ida, ImmutableDoubleArray.of(Double.NaN, -0.0));
+    assertFalse(ida.equals(ImmutableDoubleArray.of(Double.NaN, 0.0)));
+    assertEquals(ida.asList(), Arrays.asList(Double.NaN, -0.0));
+  }
+
+  public void testHashCode() {
+    ImmutableDoubleArray ida = ImmutableDoubleArray.of(1.5, Double.NaN, -0.0);
+    assertEquals(Arrays.asList(1.5, Double.NaN, -0.0).hashCode(), ida.hashCode());
+    assertEquals(ida.hashCode(), ida.asList().hashCode());
+  }
+}
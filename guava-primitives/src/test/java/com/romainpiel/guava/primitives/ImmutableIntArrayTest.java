@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2017 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit test for {@link ImmutableIntArray}.
+ */
+public class ImmutableIntArrayTest extends TestCase {
+  public void testOf0() {
+    assertSame(ImmutableIntArray.of(), ImmutableIntArray.of());
+    assertTrue(ImmutableIntArray.of().isEmpty());
+    assertEquals(0, ImmutableIntArray.of().length());
+  }
+
+  public void testOf() {
+    assertEquals("[0]", ImmutableIntArray.of(0).toString());
+    assertEquals("[0, 1]", ImmutableIntArray.of(0, 1).toString());
+    assertEquals("[0, 1, 2]", ImmutableIntArray.of(0, 1, 2).toString());
+    assertEquals("[0, 1, 2, 3]", ImmutableIntArray.of(0, 1, 2, 3).toString());
+  }
+
+  public void testCopyOf_array() {
+    int[] array = {0, 1, 2};
+    ImmutableIntArray iia = ImmutableIntArray.copyOf(array);
+    array[0] = 10;
+    assertEquals(0, iia.get(0));
+    assertSame(ImmutableIntArray.of(), ImmutableIntArray.copyOf(new int[0]));
+  }
+
+  public void testCopyOf_collection() {
+    assertEquals(ImmutableIntArray.of(0, 1, 2),
+        ImmutableIntArray.copyOf(Arrays.asList(0, 1, 2)));
+    assertSame(ImmutableIntArray.of(),
+        ImmutableIntArray.copyOf(Collections.<Integer>emptyList()));
+  }
+
+  public void testCopyOf_iterable_notCollection() {
+    Iterable<Integer> iterable = new Iterable<Integer>() {
+      @Override public java.util.Iterator<Integer> iterator() {
+        return Arrays.asList(3, 4, 5).iterator();
+      }
+    };
+    assertEquals(ImmutableIntArray.of(3, 4, 5), ImmutableIntArray.copyOf(iterable));
+  }
+
+  public void testBuilder_growsAndKeepsOrder() {
+    ImmutableIntArray.Builder builder = ImmutableIntArray.builder(0);
+    int[] expected = new int[1000];
+    for (int i = 0; i < 1000; i++) {
+      expected[i] = i * 31;
+      builder.add(i * 31);
+    }
+    assertTrue(Arrays.equals(expected, builder.build().toArray()));
+  }
+
+  public void testBuilder_addAll() {
+    ImmutableIntArray built = ImmutableIntArray.builder()
+        .add(0)
+        .addAll(new int[] {1, 2})
+        .addAll(Arrays.asList(3, 4))
+        .addAll(ImmutableIntArray.of(4, 5, 6, 7).subArray(1, 3))
+        .build();
+    assertEquals(ImmutableIntArray.of(0, 1, 2, 3, 4, 5, 6), built);
+  }
+
+  public void testBuilder_reuse() {
+    ImmutableIntArray.Builder builder = ImmutableIntArray.builder();
+    ImmutableIntArray first = builder.add(1).build();
+    ImmutableIntArray second = builder.add(2).build();
+    assertEquals(ImmutableIntArray.of(1), first);
+    assertEquals(ImmutableIntArray.of(1, 2), second);
+  }
+
+  public void testBuilder_negativeCapacity() {
+    try {
+      ImmutableIntArray.builder(-1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testGet() {
+    ImmutableIntArray iia = ImmutableIntArray.of(5, 6, 7, 8).subArray(1, 3);
+    assertEquals(6, iia.get(0));
+    assertEquals(7, iia.get(1));
+    try {
+      iia.get(2);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      iia.get(-1);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testIndexOf() {
+    ImmutableIntArray iia = ImmutableIntArray.of(1, 1, 2, 3, 5, 8).subArray(1, 5);
+    assertEquals(0, iia.indexOf(1));
+    assertEquals(3, iia.indexOf(5));
+    assertEquals(-1, iia.indexOf(8));
+    assertEquals(0, iia.lastIndexOf(1));
+    assertTrue(iia.contains(3));
+    assertFalse(iia.contains(8));
+  }
+
+  public void testCopyTo() {
+    int[] dest = new int[5];
+    ImmutableIntArray.of(1, 2, 3, 4).subArray(1, 4).copyTo(dest, 1);
+    assertTrue(Arrays.equals(new int[] {0, 2, 3, 4, 0}, dest));
+  }
+
+  public void testSubArray() {
+    ImmutableIntArray iia = ImmutableIntArray.of(0, 1, 2, 3, 4);
+    assertEquals(ImmutableIntArray.of(1, 2, 3), iia.subArray(1, 4));
+    assertEquals(ImmutableIntArray.of(2), iia.subArray(1, 4).subArray(1, 2));
+    assertSame(ImmutableIntArray.of(), iia.subArray(2, 2));
+    try {
+      iia.subArray(3, 2);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testTrimmed() {
+    ImmutableIntArray iia = ImmutableIntArray.of(0, 1, 2, 3);
+    assertSame(iia, iia.trimmed());
+    ImmutableIntArray sub = iia.subArray(1, 3);
+    assertEquals(sub, sub.trimmed());
+    assertNotSame(sub, sub.trimmed());
+  }
+
+  public void testEqualsAndHashCode() {
+    ImmutableIntArray a = ImmutableIntArray.of(1, 2, 3);
+    ImmutableIntArray b = ImmutableIntArray.of(0, 1, 2, 3, 4).subArray(1, 4);
+    assertEquals(a, b);
+    assertEquals(a.hashCode(), b.hashCode());
+    assertEquals(Arrays.asList(1, 2, 3).hashCode(), a.hashCode());
+    assertFalse(a.equals(ImmutableIntArray.of(1, 2)));
+    assertFalse(a.equals(ImmutableIntArray.of(1, 2, 4)));
+    assertFalse(a.equals(Arrays.asList(1, 2, 3)));
+  }
+
+  public void testAsList() {
+    ImmutableIntArray iia = ImmutableIntArray.of(0, 1, 2, 3).subArray(1, 4);
+    List<Integer> list = iia.asList();
+    assertEquals(Arrays.asList(1, 2, 3), list);
+    assertEquals(list, Arrays.asList(1, 2, 3));
+    assertEquals(list, new ArrayList<Integer>(list));
+    assertEquals(Arrays.asList(1, 2, 3).hashCode(), list.hashCode());
+    assertEquals(1, list.indexOf(2));
+    assertEquals(-1, list.indexOf("2"));
+    assertEquals(Arrays.asList(2, 3), list.subList(1, 3));
+    assertFalse(list.equals(Arrays.asList(1L, 2L, 3L)));
+    try {
+      list.set(0, 5);
+      fail();
+    } catch (UnsupportedOperationException expected) {
+    }
+  }
+
+  public void testSerialization() throws Exception {
+    ImmutableIntArray sub = ImmutableIntArray.of(0, 1, 2, 3).subArray(1, 3);
+    assertEquals(sub, reserialize(sub));
+    assertSame(ImmutableIntArray.of(), reserialize(ImmutableIntArray.of()));
+  }
+
+  static <T> T reserialize(T object) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    out.writeObject(object);
+    out.close();
+    ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    @SuppressWarnings("unchecked")
+    T copy = (T) in.readObject();
+    return copy;
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2017 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+
+/**
+ * Unit test for {@link ImmutableLongArray}.
+ */
+public class ImmutableLongArrayTest extends TestCase {
+  public void testOf() {
+    assertSame(ImmutableLongArray.of(), ImmutableLongArray.of());
+    assertEquals("[]", ImmutableLongArray.of().toString());
+    assertEquals("[" + Long.MIN_VALUE + ", " + Long.MAX_VALUE + "]",
+        ImmutableLongArray.of(Long.MIN_VALUE, Long.MAX_VALUE).toString());
+  }
+
+  public void testBuilderAndSubArray() {
+    ImmutableLongArray.Builder builder = ImmutableLongArray.builder(1);
+    for (long i = 0; i < 100; i++) {
+      builder.add(i << 32);
+    }
+    ImmutableLongArray ila = builder.addAll(Arrays.asList(1L, 2L)).build();
+    assertEquals(102, ila.length());
+    assertEquals(99L << 32, ila.get(99));
+    ImmutableLongArray sub = ila.subArray(100, 102);
+    assertEquals(ImmutableLongArray.of(1L, 2L), sub);
+    assertEquals(ImmutableLongArray.of(1L, 2L), sub.trimmed());
+    assertEquals(1, sub.indexOf(2L));
+    assertTrue(ila.contains(5L << 32));
+    assertFalse(sub.contains(5L << 32));
+  }
+
+  public void testEqualsAndHashCode() {
+    ImmutableLongArray ila = ImmutableLongArray.copyOf(new long[] {-1L, 0L, 1L << 40});
+    assertEquals(Arrays.asList(-1L, 0L, 1L << 40).hashCode(), ila.hashCode());
+    assertEquals(Arrays.asList(-1L, 0L, 1L << 40), ila.asList());
+    assertEquals(ila, ImmutableLongArray.copyOf(ila.asList()));
+    assertFalse(ila.asList().equals(Arrays.asList(-1, 0, 1)));
+  }
+
+  public void testToArray() {
+    long[] array = {3L, 4L};
+    long[] copy = ImmutableLongArray.copyOf(array).toArray();
+    assertTrue(Arrays.equals(array, copy));
+    assertNotSame(array, copy);
+  }
+}
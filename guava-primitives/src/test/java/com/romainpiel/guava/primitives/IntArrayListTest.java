@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Unit test for {@link IntArrayList}.
+ */
+public class IntArrayListTest extends TestCase {
+  public void testCreate() {
+    assertTrue(IntArrayList.create().isEmpty());
+    assertEquals(0, IntArrayList.create(0).size());
+    try {
+      IntArrayList.create(-1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testAdd_growsFromZeroCapacity() {
+    IntArrayList list = IntArrayList.create(0);
+    List<Integer> expected = new ArrayList<Integer>();
+    for (int i = 0; i < 1000; i++) {
+      list.add(i * 3);
+      expected.add(i * 3);
+    }
+    assertEquals(1000, list.size());
+    assertEquals(expected, list.asList());
+    assertEquals(999 * 3, list.get(999));
+  }
+
+  public void testAddAtIndex() {
+    IntArrayList list = IntArrayList.copyOf(new int[] {1, 3});
+    list.add(1, 2);
+    list.add(0, 0);
+    list.add(4, 4);
+    assertEquals(IntArrayList.copyOf(new int[] {0, 1, 2, 3, 4}), list);
+    try {
+      list.add(6, 0);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testAddAll() {
+    IntArrayList list = IntArrayList.create(1);
+    list.addAll(new int[] {1, 2});
+    list.addAll(new int[] {0, 3, 4, 0}, 1, 2);
+    list.addAll(IntArrayList.copyOf(new int[] {5}));
+    list.addAll(Arrays.asList(6, 7));
+    list.addAll(list);
+    assertTrue(Arrays.equals(
+        new int[] {1, 2, 3, 4, 5, 6, 7, 1, 2, 3, 4, 5, 6, 7}, list.toArray()));
+    try {
+      list.addAll(new int[] {1, 2}, 1, 2);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      list.addAll(Arrays.asList(1, null));
+      fail();
+    } catch (NullPointerException expected) {
+    }
+  }
+
+  public void testGetAndSet() {
+    IntArrayList list = IntArrayList.copyOf(Arrays.asList(5, 6));
+    assertEquals(6, list.set(1, 7));
+    assertEquals(7, list.get(1));
+    try {
+      list.get(2);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    // capacity beyond size is not addressable
+    list = IntArrayList.create(10);
+    try {
+      list.set(0, 1);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testRemove() {
+    IntArrayList list = IntArrayList.copyOf(new int[] {0, 1, 2, 3, 4, 5});
+    assertEquals(2, list.removeAt(2));
+    assertEquals(IntArrayList.copyOf(new int[] {0, 1, 3, 4, 5}), list);
+    list.removeRange(1, 3);
+    assertEquals(IntArrayList.copyOf(new int[] {0, 4, 5}), list);
+    list.removeRange(1, 1);
+    assertEquals(3, list.size());
+    try {
+      list.removeRange(2, 4);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    list.clear();
+    assertTrue(list.isEmpty());
+  }
+
+  public void testSearch() {
+    IntArrayList list = IntArrayList.copyOf(new int[] {3, 1, 2, 1});
+    assertTrue(list.contains(2));
+    assertEquals(1, list.indexOf(1));
+    assertEquals(3, list.lastIndexOf(1));
+    list.removeAt(3);
+    assertEquals(1, list.lastIndexOf(1));
+    list.clear();
+    // stale values past size must not be found
+    assertFalse(list.contains(3));
+    assertEquals(-1, list.indexOf(3));
+  }
+
+  public void testSortAndBinarySearch() {
+    IntArrayList list = IntArrayList.create(100);
+    list.addAll(new int[] {5, -1, 3, Integer.MAX_VALUE, Integer.MIN_VALUE});
+    list.sort();
+    assertTrue(Arrays.equals(
+        new int[] {Integer.MIN_VALUE, -1, 3, 5, Integer.MAX_VALUE}, list.toArray()));
+    assertEquals(2, list.binarySearch(3));
+    assertEquals(-4, list.binarySearch(4));
+    assertEquals(-5, list.binarySearch(Integer.MAX_VALUE - 1));
+  }
+
+  public void testTrimToSizeAndEnsureCapacity() {
+    IntArrayList list = IntArrayList.create(100);
+    list.add(1);
+    list.trimToSize();
+    list.add(2);
+    list.ensureCapacity(50);
+    list.add(3);
+    assertEquals(IntArrayList.copyOf(new int[] {1, 2, 3}), list);
+  }
+
+  public void testToImmutableArray() {
+    IntArrayList list = IntArrayList.copyOf(new int[] {1, 2});
+    ImmutableIntArray snapshot = list.toImmutableArray();
+    list.set(0, 5);
+    assertEquals(ImmutableIntArray.of(1, 2), snapshot);
+    assertSame(ImmutableIntArray.of(), IntArrayList.create().toImmutableArray());
+  }
+
+  public void testAsList_writesThrough() {
+    IntArrayList list = IntArrayList.copyOf(new int[] {1, 2, 3});
+    List<Integer> view = list.asList();
+    view.set(0, 4);
+    view.add(5);
+    view.remove(1);
+    assertEquals(IntArrayList.copyOf(new int[] {4, 3, 5}), list);
+    view.subList(0, 2).clear();
+    assertEquals(IntArrayList.copyOf(new int[] {5}), list);
+    list.add(6);
+    assertEquals(Arrays.asList(5, 6), view);
+    assertTrue(view.contains(6));
+    assertFalse(view.contains(6L));
+    try {
+      view.add(null);
+      fail();
+    } catch (NullPointerException expected) {
+    }
+  }
+
+  public void testAsList_iteratorRemove() {
+    IntArrayList list = IntArrayList.copyOf(new int[] {1, 2, 3, 4});
+    for (Iterator<Integer> it = list.asList().iterator(); it.hasNext(); ) {
+      if (it.next() % 2 == 0) {
+        it.remove();
+      }
+    }
+    assertEquals(IntArrayList.copyOf(new int[] {1, 3}), list);
+  }
+
+  public void testInteropWithInts() {
+    IntArrayList list = IntArrayList.copyOf(Ints.asList(4, 2, 9));
+    assertEquals(9, Ints.max(list.toArray()));
+    assertEquals("4-2-9", Ints.join("-", list.toArray()));
+    assertEquals(Ints.asList(4, 2, 9), list.asList());
+  }
+
+  public void testEqualsHashCodeToString() {
+    IntArrayList a = IntArrayList.copyOf(new int[] {1, 2, 3});
+    IntArrayList b = IntArrayList.create(20);
+    b.addAll(new int[] {1, 2, 3});
+    assertEquals(a, b);
+    assertEquals(a.hashCode(), b.hashCode());
+    assertEquals(Arrays.asList(1, 2, 3).hashCode(), a.hashCode());
+    assertEquals("[1, 2, 3]", a.toString());
+    assertEquals("[]", IntArrayList.create().toString());
+    b.add(4);
+    assertFalse(a.equals(b));
+  }
+}
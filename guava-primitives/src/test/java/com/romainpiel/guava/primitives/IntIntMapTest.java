@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import junit.framework.TestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Unit test for {@link IntIntMap}.
+ */
+public class IntIntMapTest extends TestCase {
+  public void testCreate_invalid() {
+    try {
+      IntIntMap.create(-1);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      IntIntMap.create(10, 1.0f);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      IntIntMap.create(10, 0.0f);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testPutGetRemove() {
+    IntIntMap map = IntIntMap.create();
+    assertTrue(map.isEmpty());
+    assertTrue(map.put(1, 10));
+    assertFalse(map.put(1, 11));
+    assertTrue(map.put(0, 5));
+    assertTrue(map.put(-1, 7));
+    assertEquals(3, map.size());
+    assertEquals(11, map.get(1, -42));
+    assertEquals(5, map.get(0, -42));
+    assertEquals(-42, map.get(2, -42));
+    assertTrue(map.containsKey(0));
+    assertTrue(map.remove(0));
+    assertFalse(map.remove(0));
+    assertFalse(map.containsKey(0));
+    assertEquals(-42, map.get(0, -42));
+    assertEquals(2, map.size());
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertFalse(map.containsKey(1));
+  }
+
+  public void testAddTo() {
+    IntIntMap map = IntIntMap.create(0);
+    for (int i = 0; i < 100; i++) {
+      map.addTo(i % 7, 1);
+    }
+    assertEquals(7, map.size());
+    assertEquals(15, map.get(0, 0));
+    assertEquals(14, map.get(6, 0));
+    assertEquals(20, map.addTo(0, 5));
+  }
+
+  public void testRandomOperations_matchHashMap() {
+    for (float loadFactor : new float[] {0.25f, 0.5f, 0.75f, 0.99f}) {
+      Random random = new Random(loadFactor > 0.5f ? 1 : 2);
+      IntIntMap map = IntIntMap.create(0, loadFactor);
+      Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+      for (int i = 0; i < 20000; i++) {
+        // a small key space forces collisions, clustering and many removals
+        int key = random.nextInt(512) - 256;
+        switch (random.nextInt(3)) {
+          case 0:
+            assertEquals(!expected.containsKey(key), map.put(key, i));
+            expected.put(key, i);
+            break;
+          case 1:
+            assertEquals(expected.remove(key) != null, map.remove(key));
+            break;
+          default:
+            Integer value = expected.get(key);
+            assertEquals(value == null ? -1 : value, map.get(key, -1));
+        }
+        assertEquals(expected.size(), map.size());
+      }
+      assertContents(expected, map);
+    }
+  }
+
+  public void testGrowth() {
+    IntIntMap map = IntIntMap.create(1);
+    for (int i = 0; i < 100000; i++) {
+      map.put(i * 1024, i);
+    }
+    assertEquals(100000, map.size());
+    for (int i = 0; i < 100000; i++) {
+      assertEquals(i, map.get(i * 1024, -1));
+    }
+  }
+
+  public void testCursor() {
+    IntIntMap map = IntIntMap.create();
+    map.put(0, 1);
+    map.put(2, 3);
+    map.put(Integer.MIN_VALUE, 4);
+    IntIntMap.Cursor cursor = map.cursor();
+    int keySum = 0;
+    int valueSum = 0;
+    int count = 0;
+    while (cursor.advance()) {
+      keySum += cursor.key();
+      valueSum += cursor.value();
+      cursor.setValue(cursor.value() * 10);
+      count++;
+    }
+    assertEquals(3, count);
+    assertEquals(2 + Integer.MIN_VALUE, keySum);
+    assertEquals(8, valueSum);
+    assertEquals(10, map.get(0, -1));
+    assertEquals(40, map.get(Integer.MIN_VALUE, -1));
+    assertFalse(cursor.advance());
+    try {
+      cursor.key();
+      fail();
+    } catch (NoSuchElementException expected) {
+    }
+    try {
+      map.cursor().value();
+      fail();
+    } catch (IllegalStateException expected) {
+    }
+  }
+
+  public void testToString() {
+    assertEquals("{}", IntIntMap.create().toString());
+    IntIntMap map = IntIntMap.create();
+    map.put(0, 1);
+    assertEquals("{0=1}", map.toString());
+  }
+
+  private static void assertContents(Map<Integer, Integer> expected, IntIntMap map) {
+    Map<Integer, Integer> actual = new HashMap<Integer, Integer>();
+    IntIntMap.Cursor cursor = map.cursor();
+    while (cursor.advance()) {
+      assertNull(actual.put(cursor.key(), cursor.value()));
+    }
+    assertEquals(expected, actual);
+  }
+}
@@ -21,6 +21,13 @@ import com.romainpiel.guava.base.Converter;
 
 import junit.framework.TestCase;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -151,6 +158,57 @@ public class IntsTest extends TestCase {
     ));
   }
 
+  public void testIndexOf_arrayTarget_randomAgainstNaive() {
+    Random random = new Random(16);
+    for (int trial = 0; trial < 2000; trial++) {
+      int[] array = randomInts(random, random.nextInt(1000), 1 + random.nextInt(4));
+      int[] target;
+      if (array.length > 0 && random.nextBoolean()) {
+        int from = random.nextInt(array.length);
+        int to = from + random.nextInt(Math.min(array.length - from, 20) + 1);
+        target = Arrays.copyOfRange(array, from, to);
+      } else {
+        target = randomInts(random, random.nextInt(20), 2);
+      }
+      assertEquals(naiveIndexOf(array, target), Ints.indexOf(array, target));
+    }
+  }
+
+  public void testIndexOf_arrayTarget_sharedSkipBuckets() {
+    // Values that differ only above the low bits still have to be told apart.
+    int[] target = new int[16];
+    for (int i = 0; i < target.length; i++) {
+      target[i] = i << 20;
+    }
+    int[] array = new int[1000];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = (i % 16) << 21;
+    }
+    System.arraycopy(target, 0, array, 900, target.length);
+    assertEquals(900, Ints.indexOf(array, target));
+  }
+
+  private static int[] randomInts(Random random, int length, int alphabet) {
+    int[] array = new int[length];
+    for (int i = 0; i < length; i++) {
+      array[i] = random.nextInt(alphabet) * 0x10001;
+    }
+    return array;
+  }
+
+  private static int naiveIndexOf(int[] array, int[] target) {
+    outer:
+    for (int i = 0; i <= array.length - target.length; i++) {
+      for (int j = 0; j < target.length; j++) {
+        if (array[i + j] != target[j]) {
+          continue outer;
+        }
+      }
+      return i;
+    }
+    return -1;
+  }
+
   public void testLastIndexOf() {
     assertEquals(-1, Ints.lastIndexOf(EMPTY, (int) 1));
     assertEquals(-1, Ints.lastIndexOf(ARRAY1, (int) 2));
@@ -197,6 +255,103 @@ public class IntsTest extends TestCase {
             (int) 5, (int) 3, (int) 0, (int) 9));
   }
 
+  public void testMinMax() {
+    assertTrue(Arrays.equals(new int[] {LEAST, LEAST}, Ints.minMax(LEAST)));
+    assertTrue(Arrays.equals(new int[] {GREATEST, GREATEST}, Ints.minMax(GREATEST)));
+    assertTrue(Arrays.equals(new int[] {0, 9},
+        Ints.minMax((int) 8, (int) 6, (int) 7, (int) 5, (int) 3, (int) 0, (int) 9)));
+    assertTrue(Arrays.equals(new int[] {LEAST, GREATEST}, Ints.minMax(GREATEST, 0, LEAST)));
+
+    Random random = new Random(18);
+    for (int trial = 0; trial < 1000; trial++) {
+      int[] array = new int[1 + random.nextInt(20)];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = random.nextInt();
+      }
+      assertTrue(Arrays.equals(new int[] {Ints.min(array), Ints.max(array)}, Ints.minMax(array)));
+    }
+  }
+
+  public void testMinMax_empty() {
+    try {
+      Ints.minMax();
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testSum() {
+    assertEquals(0L, Ints.sum());
+    assertEquals(15L, Ints.sum(1, 2, 3, 4, 5));
+    assertEquals(2L * GREATEST, Ints.sum(GREATEST, GREATEST));
+    assertEquals(2L * LEAST, Ints.sum(LEAST, LEAST));
+  }
+
+  public void testSumExact() {
+    assertEquals(0, Ints.sumExact());
+    assertEquals(15, Ints.sumExact(1, 2, 3, 4, 5));
+    assertEquals(GREATEST, Ints.sumExact(GREATEST, 1, -1));
+    assertEquals(LEAST, Ints.sumExact(LEAST, -1, 1));
+    assertEquals(GREATEST - 1, Ints.sumExact(GREATEST, GREATEST, LEAST, LEAST, GREATEST, 1));
+    try {
+      Ints.sumExact(GREATEST, 1);
+      fail();
+    } catch (ArithmeticException expected) {
+    }
+    try {
+      Ints.sumExact(LEAST, 0, -1);
+      fail();
+    } catch (ArithmeticException expected) {
+    }
+  }
+
+  public void testSortDescending() {
+    testSortDescending(new int[] {}, new int[] {});
+    testSortDescending(new int[] {1}, new int[] {1});
+    testSortDescending(new int[] {1, 2}, new int[] {2, 1});
+    testSortDescending(new int[] {1, 3, 1}, new int[] {3, 1, 1});
+    testSortDescending(new int[] {-1, 1, -2, 2}, new int[] {2, 1, -1, -2});
+  }
+
+  private static void testSortDescending(int[] input, int[] expectedOutput) {
+    input = Arrays.copyOf(input, input.length);
+    Ints.sortDescending(input);
+    assertTrue(Arrays.equals(expectedOutput, input));
+  }
+
+  public void testSortDescendingIndexed() {
+    int[] array = {2, 1, -1, 3, -2};
+    Ints.sortDescending(array, 1, 4);
+    assertTrue(Arrays.equals(new int[] {2, 3, 1, -1, -2}, array));
+    try {
+      Ints.sortDescending(array, 4, 1);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testReverse() {
+    testReverse(new int[] {}, new int[] {});
+    testReverse(new int[] {1}, new int[] {1});
+    testReverse(new int[] {1, 2}, new int[] {2, 1});
+    testReverse(new int[] {3, 1, 1}, new int[] {1, 1, 3});
+    testReverse(new int[] {-1, 1, -2, 2}, new int[] {2, -2, 1, -1});
+  }
+
+  private static void testReverse(int[] input, int[] expectedOutput) {
+    input = Arrays.copyOf(input, input.length);
+    Ints.reverse(input);
+    assertTrue(Arrays.equals(expectedOutput, input));
+  }
+
+  public void testReverseIndexed() {
+    int[] array = {1, 2, 3, 4, 5};
+    Ints.reverse(array, 1, 4);
+    assertTrue(Arrays.equals(new int[] {1, 4, 3, 2, 5}, array));
+    Ints.reverse(array, 2, 2);
+    assertTrue(Arrays.equals(new int[] {1, 4, 3, 2, 5}, array));
+  }
+
   public void testConcat() {
     assertTrue(Arrays.equals(EMPTY, Ints.concat()));
     assertTrue(Arrays.equals(EMPTY, Ints.concat(EMPTY)));
@@ -240,6 +395,108 @@ public class IntsTest extends TestCase {
         (byte) 0xFF, (byte) 0xEE, (byte) 0xDD, (byte) 0xCC));
   }
 
+  public void testCopyToAndFromBytes() {
+    int[] values = randomValues(new Random(20), 37);
+    for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      byte[] bytes = new byte[3 + values.length * Ints.BYTES];
+      Ints.copyToBytes(values, 2, bytes, 3, values.length - 2, order);
+
+      ByteBuffer expected = ByteBuffer.allocate(bytes.length).order(order);
+      expected.position(3);
+      for (int i = 2; i < values.length; i++) {
+        expected.putInt(values[i]);
+      }
+      assertTrue(Arrays.equals(expected.array(), bytes));
+
+      int[] decoded = new int[values.length];
+      Ints.copyFromBytes(bytes, 3, decoded, 1, values.length - 2, order);
+      assertTrue(Arrays.equals(
+          Arrays.copyOfRange(values, 2, values.length),
+          Arrays.copyOfRange(decoded, 1, values.length - 1)));
+      assertEquals(0, decoded[0]);
+      assertEquals(0, decoded[values.length - 1]);
+    }
+  }
+
+  public void testCopyToAndFromBytes_outOfBounds() {
+    int[] values = new int[4];
+    byte[] bytes = new byte[4 * Ints.BYTES];
+    try {
+      Ints.copyToBytes(values, 1, bytes, 0, 4, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Ints.copyToBytes(values, 0, bytes, 1, 4, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Ints.copyFromBytes(bytes, 1, values, 0, 4, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Ints.copyFromBytes(bytes, 0, values, 0, -1, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testPutAndGet() {
+    int[] values = randomValues(new Random(20), 50);
+    for (ByteBuffer buffer : new ByteBuffer[] {
+        ByteBuffer.allocate(5 + values.length * Ints.BYTES),
+        ByteBuffer.allocateDirect(5 + values.length * Ints.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN)}) {
+      buffer.put((byte) 1);
+      Ints.put(buffer, values, 0, 10);
+      Ints.put(buffer, values, 10, values.length - 10);
+      assertEquals(1 + values.length * Ints.BYTES, buffer.position());
+      buffer.flip();
+
+      assertEquals(1, buffer.get());
+      for (int value : Arrays.copyOf(values, 3)) {
+        assertEquals(value, buffer.getInt());
+      }
+      int[] decoded = new int[values.length];
+      Ints.get(buffer, decoded, 3, values.length - 3);
+      assertEquals(0, buffer.remaining());
+      assertTrue(Arrays.equals(
+          Arrays.copyOfRange(values, 3, values.length),
+          Arrays.copyOfRange(decoded, 3, values.length)));
+    }
+  }
+
+  public void testPutAndGet_bufferTooSmall() {
+    ByteBuffer buffer = ByteBuffer.allocate(3 * Ints.BYTES + 1);
+    try {
+      Ints.put(buffer, new int[4], 0, 4);
+      fail();
+    } catch (BufferOverflowException expected) {
+    }
+    assertEquals(0, buffer.position());
+    try {
+      Ints.get(buffer, new int[4], 0, 4);
+      fail();
+    } catch (BufferUnderflowException expected) {
+    }
+    assertEquals(0, buffer.position());
+    try {
+      Ints.put(buffer.asReadOnlyBuffer(), new int[1], 0, 1);
+      fail();
+    } catch (ReadOnlyBufferException expected) {
+    }
+  }
+
+  private static int[] randomValues(Random random, int length) {
+    int[] values = new int[length];
+    for (int i = 0; i < length; i++) {
+      values[i] = random.nextInt();
+    }
+    return values;
+  }
+
   public void testByteArrayRoundTrips() {
     Random r = new Random(5);
     byte[] b = new byte[Ints.BYTES];
@@ -432,6 +689,53 @@ public class IntsTest extends TestCase {
     assertEquals("438", converter.reverse().convert(0666));
   }
 
+  public void testWriteTo() {
+    char[] dst = new char[40];
+    Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      int value = (i < VALUES.length) ? VALUES[i] : random.nextInt() >> random.nextInt(32);
+      for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+        int end = Ints.writeTo(value, radix, dst, 5);
+        assertEquals(Integer.toString(value, radix), new String(dst, 5, end - 5));
+      }
+      int end = Ints.writeTo(value, dst, 0);
+      assertEquals(Integer.toString(value), new String(dst, 0, end));
+    }
+  }
+
+  public void testWriteTo_fails() {
+    char[] dst = new char[11];
+    assertEquals(11, Ints.writeTo(LEAST, dst, 0));
+    assertEquals("-2147483648", new String(dst));
+    try {
+      Ints.writeTo(LEAST, dst, 1);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Ints.writeTo(0, dst, 12);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Ints.writeTo(0, 37, dst, 0);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testAppendTo() throws IOException {
+    for (int value : VALUES) {
+      assertEquals(Integer.toString(value),
+          Ints.appendTo(new StringWriter(), value).toString());
+      assertEquals("x" + value, Ints.appendTo(new StringBuilder("x"), value).toString());
+      for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+        assertEquals(Integer.toString(value, radix),
+            Ints.appendTo(new StringWriter(), value, radix).toString());
+      }
+    }
+  }
+
   public void testTryParse() {
     tryParseAndAssertEquals(0, "0");
     tryParseAndAssertEquals(0, "-0");
@@ -458,6 +762,57 @@ public class IntsTest extends TestCase {
     assertNull(Ints.tryParse("\u0662\u06f3"));
   }
 
+  public void testTryParseRange() {
+    String fields = "x12,-2147483648,2147483648,-,7fffffff,";
+    assertEquals(12, Ints.tryParse(fields, 1, 3, 10, -1));
+    assertEquals(LEAST, Ints.tryParse(fields, 4, 15, 10, -1));
+    assertEquals(-1, Ints.tryParse(fields, 16, 26, 10, -1));
+    assertEquals(-1, Ints.tryParse(fields, 27, 28, 10, -1));
+    assertEquals(GREATEST, Ints.tryParse(fields, 29, 37, 16, -1));
+    assertEquals(-1, Ints.tryParse(fields, 38, 38, 10, -1));
+    assertEquals(-1, Ints.tryParse(fields, 0, 3, 10, -1));
+    assertEquals(-255, Ints.tryParse(new StringBuilder("-ff"), 0, 3, 16, 0));
+    assertEquals(7, Ints.tryParse("\u0662", 0, 1, 10, 7));
+    for (int value : new int[] {0, 1, -1, 8900, GREATEST, LEAST}) {
+      String string = Integer.toString(value, 36);
+      assertEquals(value, Ints.tryParse(string, 0, string.length(), 36, 42));
+    }
+    try {
+      Ints.tryParse(fields, 3, 2, 10, 0);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Ints.tryParse(fields, 1, 3, 37, 0);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      Ints.tryParse(fields, 38, 38, Character.MAX_RADIX + 1, 0);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testTryParseAsciiBytes() throws Exception {
+    byte[] bytes = "12 -2147483648 2147483647 2147483648 + -0 1a".getBytes("US-ASCII");
+    assertEquals(12, Ints.tryParse(bytes, 0, 2, -1));
+    assertEquals(LEAST, Ints.tryParse(bytes, 3, 11, -1));
+    assertEquals(GREATEST, Ints.tryParse(bytes, 15, 10, -1));
+    assertEquals(-1, Ints.tryParse(bytes, 26, 10, -1));
+    assertEquals(-1, Ints.tryParse(bytes, 37, 1, -1));
+    assertEquals(0, Ints.tryParse(bytes, 39, 2, -1));
+    assertEquals(-1, Ints.tryParse(bytes, 42, 2, -1));
+    assertEquals(-1, Ints.tryParse(bytes, 0, 0, -1));
+    assertEquals(-1, Ints.tryParse(bytes, 3, 1, -1));
+    assertEquals(-1, Ints.tryParse(new byte[] {'1', (byte) 0xB2}, 0, 2, -1));
+    try {
+      Ints.tryParse(bytes, 42, 3, 0);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
   /**
    * Applies {@link Ints#tryParse(String)} to the given string and asserts that
    * the result is as expected.
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+
+/**
+ * Unit test for {@link LongArrayList}.
+ */
+public class LongArrayListTest extends TestCase {
+  public void testAddRemoveAndGrow() {
+    LongArrayList list = LongArrayList.create(0);
+    for (long i = 0; i < 100; i++) {
+      list.add(i << 33);
+    }
+    assertEquals(100, list.size());
+    assertEquals(99L << 33, list.get(99));
+    list.removeRange(10, 100);
+    assertEquals(10, list.size());
+    assertEquals(9L << 33, list.removeAt(9));
+    list.trimToSize();
+    list.add(0, -1L);
+    assertEquals(-1L, list.get(0));
+    assertEquals(10, list.size());
+  }
+
+  public void testSortAndBinarySearch() {
+    LongArrayList list = LongArrayList.copyOf(new long[] {Long.MAX_VALUE, 0L, Long.MIN_VALUE});
+    list.sort();
+    assertEquals(LongArrayList.copyOf(new long[] {Long.MIN_VALUE, 0L, Long.MAX_VALUE}), list);
+    assertEquals(1, list.binarySearch(0L));
+    assertEquals(-2, list.binarySearch(-1L));
+  }
+
+  public void testViewsAndInterop() {
+    LongArrayList list = LongArrayList.copyOf(Arrays.asList(3L, 1L, 2L));
+    assertEquals(Longs.asList(3L, 1L, 2L), list.asList());
+    assertEquals(Longs.asList(3L, 1L, 2L).hashCode(), list.hashCode());
+    assertEquals(ImmutableLongArray.of(3L, 1L, 2L), list.toImmutableArray());
+    assertEquals("3,1,2", Longs.join(",", list.toArray()));
+    assertEquals(2, list.lastIndexOf(2L));
+    assertFalse(list.asList().contains(2));
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit test for {@link LongHashSet}.
+ */
+public class LongHashSetTest extends TestCase {
+  public void testAddContainsRemove() {
+    LongHashSet set = LongHashSet.create();
+    assertTrue(set.add(0L));
+    assertFalse(set.add(0L));
+    assertTrue(set.add(-1L));
+    assertTrue(set.contains(0L));
+    assertFalse(set.contains(1L));
+    assertEquals(2, set.size());
+    assertTrue(set.remove(0L));
+    assertFalse(set.remove(0L));
+    assertEquals(1, set.size());
+    set.clear();
+    assertTrue(set.isEmpty());
+  }
+
+  public void testCopyOfAndToArray() {
+    LongHashSet set = LongHashSet.copyOf(new long[] {3L, 0L, 3L, Long.MIN_VALUE});
+    assertEquals(3, set.size());
+    long[] values = set.toArray();
+    Arrays.sort(values);
+    assertTrue(Arrays.equals(new long[] {Long.MIN_VALUE, 0L, 3L}, values));
+    assertFalse(set.addAll(new long[] {0L, 3L}));
+    assertTrue(set.addAll(new long[] {0L, 4L}));
+  }
+
+  public void testRandomOperations_matchHashSet() {
+    Random random = new Random(0);
+    LongHashSet set = LongHashSet.create(0, 0.5f);
+    Set<Long> expected = new HashSet<Long>();
+    for (int i = 0; i < 20000; i++) {
+      long value = random.nextInt(400) * 0x100000001L;
+      if (random.nextBoolean()) {
+        assertEquals(expected.add(value), set.add(value));
+      } else {
+        assertEquals(expected.remove(value), set.remove(value));
+      }
+      assertEquals(expected.size(), set.size());
+    }
+    Set<Long> actual = new HashSet<Long>();
+    LongHashSet.Cursor cursor = set.cursor();
+    while (cursor.advance()) {
+      assertTrue(actual.add(cursor.value()));
+    }
+    assertEquals(expected, actual);
+  }
+
+  public void testToString() {
+    assertEquals("[]", LongHashSet.create().toString());
+    assertEquals("[5]", LongHashSet.copyOf(new long[] {5L}).toString());
+  }
+}
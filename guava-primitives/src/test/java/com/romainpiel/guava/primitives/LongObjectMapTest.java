@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2015 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.romainpiel.guava.primitives;
+
+import junit.framework.TestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit test for {@link LongObjectMap}.
+ */
+public class LongObjectMapTest extends TestCase {
+  public void testPutGetRemove() {
+    LongObjectMap<String> map = LongObjectMap.create();
+    assertNull(map.put(Long.MAX_VALUE, "a"));
+    assertEquals("a", map.put(Long.MAX_VALUE, "b"));
+    assertNull(map.put(0L, "zero"));
+    assertEquals(2, map.size());
+    assertEquals("b", map.get(Long.MAX_VALUE));
+    assertEquals("zero", map.get(0L));
+    assertNull(map.get(1L));
+    assertEquals("zero", map.remove(0L));
+    assertNull(map.remove(0L));
+    assertEquals(1, map.size());
+    assertFalse(map.containsKey(0L));
+    assertTrue(map.containsKey(Long.MAX_VALUE));
+    map.clear();
+    assertTrue(map.isEmpty());
+  }
+
+  public void testNullValue() {
+    LongObjectMap<String> map = LongObjectMap.create();
+    try {
+      map.put(1L, null);
+      fail();
+    } catch (NullPointerException expected) {
+    }
+  }
+
+  public void testRandomOperations_matchHashMap() {
+    Random random = new Random(0);
+    LongObjectMap<Integer> map = LongObjectMap.create(4, 0.9f);
+    Map<Long, Integer> expected = new HashMap<Long, Integer>();
+    for (int i = 0; i < 20000; i++) {
+      // keys differing only in their high bits exercise the hash mixing
+      long key = ((long) random.nextInt(300)) << 40;
+      switch (random.nextInt(3)) {
+        case 0:
+          assertEquals(expected.put(key, i), map.put(key, i));
+          break;
+        case 1:
+          assertEquals(expected.remove(key), map.remove(key));
+          break;
+        default:
+          assertEquals(expected.get(key), map.get(key));
+      }
+      assertEquals(expected.size(), map.size());
+    }
+    Map<Long, Integer> actual = new HashMap<Long, Integer>();
+    LongObjectMap<Integer>.Cursor cursor = map.cursor();
+    while (cursor.advance()) {
+      actual.put(cursor.key(), cursor.value());
+    }
+    assertEquals(expected, actual);
+  }
+
+  public void testCursorSetValue() {
+    LongObjectMap<String> map = LongObjectMap.create();
+    map.put(0L, "a");
+    map.put(7L, "b");
+    LongObjectMap<String>.Cursor cursor = map.cursor();
+    while (cursor.advance()) {
+      cursor.setValue(cursor.value() + cursor.key());
+    }
+    assertEquals("a0", map.get(0L));
+    assertEquals("b7", map.get(7L));
+  }
+}
@@ -21,7 +21,14 @@ import com.romainpiel.guava.base.Converter;
 
 import junit.framework.TestCase;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -169,6 +176,131 @@ public class LongsTest extends TestCase {
             (long) 5, (long) 3, (long) 0, (long) 9));
   }
 
+  public void testMinMax() {
+    assertTrue(Arrays.equals(new long[] {MIN_VALUE, MIN_VALUE}, Longs.minMax(MIN_VALUE)));
+    assertTrue(Arrays.equals(new long[] {MAX_VALUE, MAX_VALUE}, Longs.minMax(MAX_VALUE)));
+    assertTrue(Arrays.equals(new long[] {0, 9},
+        Longs.minMax((long) 8, (long) 6, (long) 7, (long) 5, (long) 3, (long) 0, (long) 9)));
+    assertTrue(Arrays.equals(
+        new long[] {MIN_VALUE, MAX_VALUE}, Longs.minMax(MAX_VALUE, 0, MIN_VALUE)));
+
+    Random random = new Random(18);
+    for (int trial = 0; trial < 1000; trial++) {
+      long[] array = new long[1 + random.nextInt(20)];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = random.nextLong();
+      }
+      assertTrue(Arrays.equals(
+          new long[] {Longs.min(array), Longs.max(array)}, Longs.minMax(array)));
+    }
+  }
+
+  public void testMinMax_empty() {
+    try {
+      Longs.minMax();
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testSum() {
+    assertEquals(0L, Longs.sum());
+    assertEquals(15L, Longs.sum(1, 2, 3, 4, 5));
+    assertEquals(MIN_VALUE, Longs.sum(MAX_VALUE, 1));
+  }
+
+  public void testSumExact() {
+    assertEquals(0L, Longs.sumExact());
+    assertEquals(15L, Longs.sumExact(1, 2, 3, 4, 5));
+    assertEquals(MAX_VALUE, Longs.sumExact(MAX_VALUE, 1, -1));
+    assertEquals(MIN_VALUE, Longs.sumExact(MIN_VALUE, -1, 1));
+    assertEquals(MAX_VALUE - 1,
+        Longs.sumExact(MAX_VALUE, MAX_VALUE, MIN_VALUE, MIN_VALUE, MAX_VALUE, 1));
+    try {
+      Longs.sumExact(MAX_VALUE, 1);
+      fail();
+    } catch (ArithmeticException expected) {
+    }
+    try {
+      Longs.sumExact(MIN_VALUE, 0, -1);
+      fail();
+    } catch (ArithmeticException expected) {
+    }
+    try {
+      Longs.sumExact(MAX_VALUE, MAX_VALUE, MAX_VALUE, MIN_VALUE);
+      fail();
+    } catch (ArithmeticException expected) {
+    }
+  }
+
+  public void testSumExact_matchesBigInteger() {
+    Random random = new Random(18);
+    for (int trial = 0; trial < 10000; trial++) {
+      long[] array = new long[random.nextInt(8)];
+      BigInteger exact = BigInteger.ZERO;
+      for (int i = 0; i < array.length; i++) {
+        array[i] = random.nextBoolean() ? random.nextLong() : random.nextLong() >> 40;
+        exact = exact.add(BigInteger.valueOf(array[i]));
+      }
+      if (exact.bitLength() < Long.SIZE) {
+        assertEquals(exact.longValue(), Longs.sumExact(array));
+      } else {
+        try {
+          Longs.sumExact(array);
+          fail();
+        } catch (ArithmeticException expected) {
+        }
+      }
+    }
+  }
+
+  public void testSortDescending() {
+    testSortDescending(new long[] {}, new long[] {});
+    testSortDescending(new long[] {1}, new long[] {1});
+    testSortDescending(new long[] {1, 2}, new long[] {2, 1});
+    testSortDescending(new long[] {1, 3, 1}, new long[] {3, 1, 1});
+    testSortDescending(new long[] {-1, 1, -2, 2}, new long[] {2, 1, -1, -2});
+  }
+
+  private static void testSortDescending(long[] input, long[] expectedOutput) {
+    input = Arrays.copyOf(input, input.length);
+    Longs.sortDescending(input);
+    assertTrue(Arrays.equals(expectedOutput, input));
+  }
+
+  public void testSortDescendingIndexed() {
+    long[] array = {2, 1, -1, 3, -2};
+    Longs.sortDescending(array, 1, 4);
+    assertTrue(Arrays.equals(new long[] {2, 3, 1, -1, -2}, array));
+    try {
+      Longs.sortDescending(array, 4, 1);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testReverse() {
+    testReverse(new long[] {}, new long[] {});
+    testReverse(new long[] {1}, new long[] {1});
+    testReverse(new long[] {1, 2}, new long[] {2, 1});
+    testReverse(new long[] {3, 1, 1}, new long[] {1, 1, 3});
+    testReverse(new long[] {-1, 1, -2, 2}, new long[] {2, -2, 1, -1});
+  }
+
+  private static void testReverse(long[] input, long[] expectedOutput) {
+    input = Arrays.copyOf(input, input.length);
+    Longs.reverse(input);
+    assertTrue(Arrays.equals(expectedOutput, input));
+  }
+
+  public void testReverseIndexed() {
+    long[] array = {1, 2, 3, 4, 5};
+    Longs.reverse(array, 1, 4);
+    assertTrue(Arrays.equals(new long[] {1, 4, 3, 2, 5}, array));
+    Longs.reverse(array, 2, 2);
+    assertTrue(Arrays.equals(new long[] {1, 4, 3, 2, 5}, array));
+  }
+
   public void testConcat() {
     assertTrue(Arrays.equals(EMPTY, Longs.concat()));
     assertTrue(Arrays.equals(EMPTY, Longs.concat(EMPTY)));
@@ -225,6 +357,108 @@ public class LongsTest extends TestCase {
         (byte) 0xBB, (byte) 0xAA, (byte) 0x99, (byte) 0x88));
   }
 
+  public void testCopyToAndFromBytes() {
+    long[] values = randomValues(new Random(20), 37);
+    for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      byte[] bytes = new byte[3 + values.length * Longs.BYTES];
+      Longs.copyToBytes(values, 2, bytes, 3, values.length - 2, order);
+
+      ByteBuffer expected = ByteBuffer.allocate(bytes.length).order(order);
+      expected.position(3);
+      for (int i = 2; i < values.length; i++) {
+        expected.putLong(values[i]);
+      }
+      assertTrue(Arrays.equals(expected.array(), bytes));
+
+      long[] decoded = new long[values.length];
+      Longs.copyFromBytes(bytes, 3, decoded, 1, values.length - 2, order);
+      assertTrue(Arrays.equals(
+          Arrays.copyOfRange(values, 2, values.length),
+          Arrays.copyOfRange(decoded, 1, values.length - 1)));
+      assertEquals(0, decoded[0]);
+      assertEquals(0, decoded[values.length - 1]);
+    }
+  }
+
+  public void testCopyToAndFromBytes_outOfBounds() {
+    long[] values = new long[4];
+    byte[] bytes = new byte[4 * Longs.BYTES];
+    try {
+      Longs.copyToBytes(values, 1, bytes, 0, 4, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Longs.copyToBytes(values, 0, bytes, 1, 4, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Longs.copyFromBytes(bytes, 1, values, 0, 4, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Longs.copyFromBytes(bytes, 0, values, 0, -1, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testPutAndGet() {
+    long[] values = randomValues(new Random(20), 50);
+    for (ByteBuffer buffer : new ByteBuffer[] {
+        ByteBuffer.allocate(5 + values.length * Longs.BYTES),
+        ByteBuffer.allocateDirect(5 + values.length * Longs.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN)}) {
+      buffer.put((byte) 1);
+      Longs.put(buffer, values, 0, 10);
+      Longs.put(buffer, values, 10, values.length - 10);
+      assertEquals(1 + values.length * Longs.BYTES, buffer.position());
+      buffer.flip();
+
+      assertEquals(1, buffer.get());
+      for (long value : Arrays.copyOf(values, 3)) {
+        assertEquals(value, buffer.getLong());
+      }
+      long[] decoded = new long[values.length];
+      Longs.get(buffer, decoded, 3, values.length - 3);
+      assertEquals(0, buffer.remaining());
+      assertTrue(Arrays.equals(
+          Arrays.copyOfRange(values, 3, values.length),
+          Arrays.copyOfRange(decoded, 3, values.length)));
+    }
+  }
+
+  public void testPutAndGet_bufferTooSmall() {
+    ByteBuffer buffer = ByteBuffer.allocate(3 * Longs.BYTES + 1);
+    try {
+      Longs.put(buffer, new long[4], 0, 4);
+      fail();
+    } catch (BufferOverflowException expected) {
+    }
+    assertEquals(0, buffer.position());
+    try {
+      Longs.get(buffer, new long[4], 0, 4);
+      fail();
+    } catch (BufferUnderflowException expected) {
+    }
+    assertEquals(0, buffer.position());
+    try {
+      Longs.put(buffer.asReadOnlyBuffer(), new long[1], 0, 1);
+      fail();
+    } catch (ReadOnlyBufferException expected) {
+    }
+  }
+
+  private static long[] randomValues(Random random, int length) {
+    long[] values = new long[length];
+    for (int i = 0; i < length; i++) {
+      values[i] = random.nextLong();
+    }
+    return values;
+  }
+
   public void testByteArrayRoundTrips() {
     Random r = new Random(5);
     byte[] b = new byte[Longs.BYTES];
@@ -418,6 +652,52 @@ public class LongsTest extends TestCase {
     assertEquals("438", converter.reverse().convert(0666L));
   }
 
+  public void testWriteTo() {
+    char[] dst = new char[80];
+    Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      long value = (i < VALUES.length) ? VALUES[i] : random.nextLong() >> random.nextInt(64);
+      for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+        int end = Longs.writeTo(value, radix, dst, 5);
+        assertEquals(Long.toString(value, radix), new String(dst, 5, end - 5));
+      }
+      int end = Longs.writeTo(value, dst, 0);
+      assertEquals(Long.toString(value), new String(dst, 0, end));
+    }
+  }
+
+  public void testWriteTo_fails() {
+    char[] dst = new char[20];
+    assertEquals(20, Longs.writeTo(MIN_VALUE, dst, 0));
+    assertEquals("-9223372036854775808", new String(dst));
+    try {
+      Longs.writeTo(MIN_VALUE, dst, 1);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Longs.writeTo(0L, dst, -1);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Longs.writeTo(0L, 1, dst, 0);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testAppendTo() throws IOException {
+    for (long value : VALUES) {
+      assertEquals(Long.toString(value), Longs.appendTo(new StringWriter(), value).toString());
+      assertEquals("x" + value, Longs.appendTo(new StringBuilder("x"), value).toString());
+      for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+        assertEquals(Long.toString(value, radix),
+            Longs.appendTo(new StringWriter(), value, radix).toString());
+      }
+    }
+  }
+
   public void testTryParse() {
     tryParseAndAssertEquals(0L, "0");
     tryParseAndAssertEquals(0L, "-0");
@@ -442,6 +722,59 @@ public class LongsTest extends TestCase {
     assertNull(Longs.tryParse("\u0662\u06f3"));
   }
 
+  public void testTryParseRange() {
+    String fields = "x12,-9223372036854775808,9223372036854775808,-,7fffffffffffffff,";
+    assertEquals(12L, Longs.tryParse(fields, 1, 3, 10, -1L));
+    assertEquals(MIN_VALUE, Longs.tryParse(fields, 4, 24, 10, -1L));
+    assertEquals(-1L, Longs.tryParse(fields, 25, 44, 10, -1L));
+    assertEquals(-1L, Longs.tryParse(fields, 45, 46, 10, -1L));
+    assertEquals(MAX_VALUE, Longs.tryParse(fields, 47, 63, 16, -1L));
+    assertEquals(-1L, Longs.tryParse(fields, 64, 64, 10, -1L));
+    assertEquals(-1L, Longs.tryParse(fields, 0, 3, 10, -1L));
+    assertEquals(-255L, Longs.tryParse(new StringBuilder("-ff"), 0, 3, 16, 0L));
+    assertEquals(7L, Longs.tryParse("\u0662", 0, 1, 10, 7L));
+    for (long value : new long[] {0, 1, -1, 8900, MAX_VALUE, MIN_VALUE}) {
+      for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+        String string = Long.toString(value, radix);
+        assertEquals(value, Longs.tryParse(string, 0, string.length(), radix, 42L));
+      }
+    }
+    try {
+      Longs.tryParse(fields, 3, 2, 10, 0L);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Longs.tryParse(fields, 1, 3, 1, 0L);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      Longs.tryParse(fields, 64, 64, Character.MAX_RADIX + 1, 0L);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testTryParseAsciiBytes() throws Exception {
+    byte[] bytes = "12 -9223372036854775808 9223372036854775807 9223372036854775808 + -0 1a"
+        .getBytes("US-ASCII");
+    assertEquals(12L, Longs.tryParse(bytes, 0, 2, -1L));
+    assertEquals(MIN_VALUE, Longs.tryParse(bytes, 3, 20, -1L));
+    assertEquals(MAX_VALUE, Longs.tryParse(bytes, 24, 19, -1L));
+    assertEquals(-1L, Longs.tryParse(bytes, 44, 19, -1L));
+    assertEquals(-1L, Longs.tryParse(bytes, 64, 1, -1L));
+    assertEquals(0L, Longs.tryParse(bytes, 66, 2, -1L));
+    assertEquals(-1L, Longs.tryParse(bytes, 69, 2, -1L));
+    assertEquals(-1L, Longs.tryParse(bytes, 0, 0, -1L));
+    assertEquals(-1L, Longs.tryParse(new byte[] {'1', (byte) 0xB2}, 0, 2, -1L));
+    try {
+      Longs.tryParse(bytes, 69, 3, 0L);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
   /**
    * Applies {@link Longs#tryParse(String)} to the given string and asserts that
    * the result is as expected.
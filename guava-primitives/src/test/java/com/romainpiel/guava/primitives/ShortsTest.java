@@ -21,6 +21,11 @@ import com.romainpiel.guava.base.Converter;
 
 import junit.framework.TestCase;
 
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -246,6 +251,108 @@ public class ShortsTest extends TestCase {
     assertEquals((short) 0xFEDC, Shorts.fromBytes((byte) 0xFE, (byte) 0xDC));
   }
 
+  public void testCopyToAndFromBytes() {
+    short[] values = randomValues(new Random(20), 37);
+    for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      byte[] bytes = new byte[3 + values.length * Shorts.BYTES];
+      Shorts.copyToBytes(values, 2, bytes, 3, values.length - 2, order);
+
+      ByteBuffer expected = ByteBuffer.allocate(bytes.length).order(order);
+      expected.position(3);
+      for (int i = 2; i < values.length; i++) {
+        expected.putShort(values[i]);
+      }
+      assertTrue(Arrays.equals(expected.array(), bytes));
+
+      short[] decoded = new short[values.length];
+      Shorts.copyFromBytes(bytes, 3, decoded, 1, values.length - 2, order);
+      assertTrue(Arrays.equals(
+          Arrays.copyOfRange(values, 2, values.length),
+          Arrays.copyOfRange(decoded, 1, values.length - 1)));
+      assertEquals(0, decoded[0]);
+      assertEquals(0, decoded[values.length - 1]);
+    }
+  }
+
+  public void testCopyToAndFromBytes_outOfBounds() {
+    short[] values = new short[4];
+    byte[] bytes = new byte[4 * Shorts.BYTES];
+    try {
+      Shorts.copyToBytes(values, 1, bytes, 0, 4, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Shorts.copyToBytes(values, 0, bytes, 1, 4, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Shorts.copyFromBytes(bytes, 1, values, 0, 4, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      Shorts.copyFromBytes(bytes, 0, values, 0, -1, ByteOrder.BIG_ENDIAN);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testPutAndGet() {
+    short[] values = randomValues(new Random(20), 50);
+    for (ByteBuffer buffer : new ByteBuffer[] {
+        ByteBuffer.allocate(5 + values.length * Shorts.BYTES),
+        ByteBuffer.allocateDirect(5 + values.length * Shorts.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN)}) {
+      buffer.put((byte) 1);
+      Shorts.put(buffer, values, 0, 10);
+      Shorts.put(buffer, values, 10, values.length - 10);
+      assertEquals(1 + values.length * Shorts.BYTES, buffer.position());
+      buffer.flip();
+
+      assertEquals(1, buffer.get());
+      for (short value : Arrays.copyOf(values, 3)) {
+        assertEquals(value, buffer.getShort());
+      }
+      short[] decoded = new short[values.length];
+      Shorts.get(buffer, decoded, 3, values.length - 3);
+      assertEquals(0, buffer.remaining());
+      assertTrue(Arrays.equals(
+          Arrays.copyOfRange(values, 3, values.length),
+          Arrays.copyOfRange(decoded, 3, values.length)));
+    }
+  }
+
+  public void testPutAndGet_bufferTooSmall() {
+    ByteBuffer buffer = ByteBuffer.allocate(3 * Shorts.BYTES + 1);
+    try {
+      Shorts.put(buffer, new short[4], 0, 4);
+      fail();
+    } catch (BufferOverflowException expected) {
+    }
+    assertEquals(0, buffer.position());
+    try {
+      Shorts.get(buffer, new short[4], 0, 4);
+      fail();
+    } catch (BufferUnderflowException expected) {
+    }
+    assertEquals(0, buffer.position());
+    try {
+      Shorts.put(buffer.asReadOnlyBuffer(), new short[1], 0, 1);
+      fail();
+    } catch (ReadOnlyBufferException expected) {
+    }
+  }
+
+  private static short[] randomValues(Random random, int length) {
+    short[] values = new short[length];
+    for (int i = 0; i < length; i++) {
+      values[i] = (short) random.nextInt();
+    }
+    return values;
+  }
+
   public void testByteArrayRoundTrips() {
     Random r = new Random(5);
     byte[] b = new byte[Shorts.BYTES];
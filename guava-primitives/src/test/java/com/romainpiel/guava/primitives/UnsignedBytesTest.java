@@ -16,8 +16,15 @@
 
 package com.romainpiel.guava.primitives;
 
+import com.romainpiel.guava.Helpers;
+
 import junit.framework.TestCase;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
 /**
  * Unit test for {@link UnsignedBytes}.
  *
@@ -214,4 +221,44 @@ public class UnsignedBytesTest extends TestCase {
     assertEquals("123", UnsignedBytes.join("", (byte) 1, (byte) 2, (byte) 3));
     assertEquals("128,255", UnsignedBytes.join(",", (byte) 128, (byte) -1));
   }
+
+  public void testLexicographicalComparator() {
+    List<byte[]> ordered = Arrays.asList(
+        new byte[] {},
+        new byte[] {LEAST},
+        new byte[] {LEAST, LEAST},
+        new byte[] {LEAST, (byte) 1},
+        new byte[] {(byte) 1},
+        new byte[] {(byte) 1, LEAST},
+        new byte[] {GREATEST, GREATEST - (byte) 1},
+        new byte[] {GREATEST, GREATEST},
+        new byte[] {GREATEST, GREATEST, GREATEST},
+        new byte[] {GREATEST, GREATEST, GREATEST, GREATEST, GREATEST, GREATEST, GREATEST, 0},
+        new byte[] {GREATEST, GREATEST, GREATEST, GREATEST, GREATEST, GREATEST, GREATEST, 0, 0},
+        new byte[] {GREATEST, GREATEST, GREATEST, GREATEST, GREATEST, GREATEST, GREATEST, 1},
+        new byte[] {
+            GREATEST, GREATEST, GREATEST, GREATEST, GREATEST, GREATEST, GREATEST, GREATEST});
+
+    Helpers.testComparator(UnsignedBytes.lexicographicalComparator(), ordered);
+    Helpers.testComparator(UnsignedBytes.lexicographicalComparatorJavaImpl(), ordered);
+    Helpers.testComparator(UnsignedBytes.lexicographicalComparatorWordImpl(), ordered);
+  }
+
+  public void testLexicographicalComparator_wordImplMatchesJavaImpl() {
+    Comparator<byte[]> javaImpl = UnsignedBytes.lexicographicalComparatorJavaImpl();
+    Comparator<byte[]> wordImpl = UnsignedBytes.lexicographicalComparatorWordImpl();
+    Random random = new Random(17);
+    for (int trial = 0; trial < 10000; trial++) {
+      byte[] left = new byte[random.nextInt(40)];
+      random.nextBytes(left);
+      byte[] right = Arrays.copyOf(left, random.nextInt(40));
+      if (right.length > 0 && random.nextBoolean()) {
+        right[random.nextInt(right.length)] = (byte) random.nextInt();
+      }
+      assertEquals(Integer.signum(javaImpl.compare(left, right)),
+          Integer.signum(wordImpl.compare(left, right)));
+      assertEquals(Integer.signum(javaImpl.compare(right, left)),
+          Integer.signum(wordImpl.compare(right, left)));
+    }
+  }
 }
@@ -18,10 +18,13 @@ import com.romainpiel.guava.Helpers;
 
 import junit.framework.TestCase;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Tests for UnsignedInts
@@ -255,6 +258,31 @@ public class UnsignedIntsTest extends TestCase {
     }
   }
 
+  public void testWriteTo() {
+    char[] dst = new char[32];
+    Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      int value = random.nextInt() >>> random.nextInt(32);
+      long asLong = value & 0xffffffffL;
+      for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+        int end = UnsignedInts.writeTo(value, radix, dst, 0);
+        assertEquals(Long.toString(asLong, radix), new String(dst, 0, end));
+      }
+      int end = UnsignedInts.writeTo(value, dst, 0);
+      assertEquals(Long.toString(asLong), new String(dst, 0, end));
+    }
+  }
+
+  public void testAppendTo() throws IOException {
+    for (int value : new int[] {0, 1, 10, Integer.MAX_VALUE, Integer.MIN_VALUE, -1}) {
+      long asLong = value & 0xffffffffL;
+      assertEquals(Long.toString(asLong),
+          UnsignedInts.appendTo(new StringWriter(), value).toString());
+      assertEquals(Long.toString(asLong, 16),
+          UnsignedInts.appendTo(new StringBuilder(), value, 16).toString());
+    }
+  }
+
   public void testJoin() {
     assertEquals("", join());
     assertEquals("1", join(1));
@@ -267,4 +295,156 @@ public class UnsignedIntsTest extends TestCase {
   private static String join(int... values) {
     return UnsignedInts.join(",", values);
   }
+
+  public void testSort() {
+    testSort(new int[] {}, new int[] {});
+    testSort(new int[] {2}, new int[] {2});
+    testSort(new int[] {2, -1, 0, Integer.MIN_VALUE, 1},
+        new int[] {0, 1, 2, Integer.MIN_VALUE, -1});
+    testSort(new int[] {-1, Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MAX_VALUE},
+        new int[] {Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1});
+  }
+
+  private static void testSort(int[] input, int[] expected) {
+    input = Arrays.copyOf(input, input.length);
+    UnsignedInts.sort(input);
+    assertTrue(Arrays.equals(expected, input));
+  }
+
+  public void testSort_matchesComparator() {
+    Random random = new Random(19);
+    // Lengths on both sides of the radix sort threshold, and values that share their high bytes.
+    for (int length : new int[] {0, 1, 10, 100, 1000, 5000, 20000}) {
+      for (int mode = 0; mode < 3; mode++) {
+        int[] array = new int[length];
+        for (int i = 0; i < length; i++) {
+          int value = random.nextInt();
+          array[i] = mode == 0 ? value : mode == 1 ? value & 0xFF : value | Integer.MIN_VALUE;
+        }
+        int[] expected = sortedWithComparator(array);
+        int[] sorted = Arrays.copyOf(array, length);
+        UnsignedInts.sort(sorted);
+        assertTrue(Arrays.equals(expected, sorted));
+
+        int from = length / 3;
+        int to = length - length / 4;
+        int[] range = Arrays.copyOf(array, length);
+        UnsignedInts.sort(range, from, to);
+        int[] expectedRange = Arrays.copyOf(array, length);
+        System.arraycopy(
+            sortedWithComparator(Arrays.copyOfRange(array, from, to)), 0,
+            expectedRange, from, to - from);
+        assertTrue(Arrays.equals(expectedRange, range));
+      }
+    }
+  }
+
+  public void testSort_indexesOutOfBounds() {
+    try {
+      UnsignedInts.sort(new int[5], 3, 2);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      UnsignedInts.sort(new int[5], 0, 6);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testSortDescending() {
+    Random random = new Random(19);
+    for (int length : new int[] {0, 1, 10, 5000}) {
+      int[] array = new int[length];
+      for (int i = 0; i < length; i++) {
+        array[i] = random.nextInt();
+      }
+      int[] expected = sortedWithComparator(array);
+      Ints.reverse(expected);
+      UnsignedInts.sortDescending(array);
+      assertTrue(Arrays.equals(expected, array));
+    }
+    int[] array = {1, -1, 3, 0, 2};
+    UnsignedInts.sortDescending(array, 1, 4);
+    assertTrue(Arrays.equals(new int[] {1, -1, 3, 0, 2}, array));
+    UnsignedInts.sortDescending(array, 0, 5);
+    assertTrue(Arrays.equals(new int[] {-1, 3, 2, 1, 0}, array));
+  }
+
+  public void testParallelSort() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Random random = new Random(19);
+      for (int length : new int[] {0, 1000, 100000}) {
+        for (int mode = 0; mode < 3; mode++) {
+          int[] array = new int[length];
+          for (int i = 0; i < length; i++) {
+            int value = random.nextInt();
+            // Skewed keys force the partitioning to go past the top byte.
+            array[i] = mode == 0 ? value : mode == 1 ? value & 0xFFFF : value % 3;
+          }
+          int[] expected = Arrays.copyOf(array, length);
+          UnsignedInts.sort(expected);
+          UnsignedInts.parallelSort(array, pool);
+          assertTrue(Arrays.equals(expected, array));
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  public void testBinarySearch() {
+    int[] array = {0, 1, 3, Integer.MAX_VALUE, Integer.MIN_VALUE, -1};
+    for (int i = 0; i < array.length; i++) {
+      assertEquals(i, UnsignedInts.binarySearch(array, array[i]));
+    }
+    assertEquals(-3, UnsignedInts.binarySearch(array, 2));
+    assertEquals(-4, UnsignedInts.binarySearch(array, 4));
+    assertEquals(-6, UnsignedInts.binarySearch(array, Integer.MIN_VALUE + 1));
+    assertEquals(-6, UnsignedInts.binarySearch(array, -2));
+    assertEquals(-1, UnsignedInts.binarySearch(new int[] {}, 0));
+    assertEquals(-3, UnsignedInts.binarySearch(array, 2, 4, 0));
+    assertEquals(-5, UnsignedInts.binarySearch(array, 2, 4, -1));
+    assertEquals(3, UnsignedInts.binarySearch(array, 2, 4, Integer.MAX_VALUE));
+  }
+
+  public void testBinarySearch_matchesSortedList() {
+    Random random = new Random(19);
+    int[] array = new int[1000];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = random.nextInt() & 0xFFF0000F;
+    }
+    UnsignedInts.sort(array);
+    for (int trial = 0; trial < 1000; trial++) {
+      int key = random.nextBoolean() ? array[random.nextInt(array.length)] : random.nextInt();
+      int index = UnsignedInts.binarySearch(array, key);
+      if (index >= 0) {
+        assertEquals(key, array[index]);
+      } else {
+        int insertionPoint = -index - 1;
+        assertTrue(insertionPoint == 0
+            || UnsignedInts.compare(array[insertionPoint - 1], key) < 0);
+        assertTrue(insertionPoint == array.length
+            || UnsignedInts.compare(array[insertionPoint], key) > 0);
+      }
+    }
+  }
+
+  private static int[] sortedWithComparator(int[] array) {
+    Integer[] boxed = new Integer[array.length];
+    for (int i = 0; i < array.length; i++) {
+      boxed[i] = array[i];
+    }
+    Arrays.sort(boxed, new Comparator<Integer>() {
+      @Override public int compare(Integer a, Integer b) {
+        return UnsignedInts.compare(a, b);
+      }
+    });
+    int[] result = new int[array.length];
+    for (int i = 0; i < array.length; i++) {
+      result[i] = boxed[i];
+    }
+    return result;
+  }
 }
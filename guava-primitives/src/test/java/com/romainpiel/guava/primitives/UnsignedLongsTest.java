@@ -18,11 +18,14 @@ import com.romainpiel.guava.Helpers;
 
 import junit.framework.TestCase;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.math.BigInteger.ONE;
 
@@ -219,6 +222,35 @@ public class UnsignedLongsTest extends TestCase {
     }
   }
 
+  public void testParseLongRange() {
+    String fields = "[18446744073709551615|ffffffffffffffff|18446744073709551616||-1]";
+    assertEquals(0xffffffffffffffffL, UnsignedLongs.parseUnsignedLong(fields, 1, 21, 10));
+    assertEquals(0xffffffffffffffffL, UnsignedLongs.parseUnsignedLong(fields, 22, 38, 16));
+    assertEquals(0x7fffffffffffffffL,
+        UnsignedLongs.parseUnsignedLong(new StringBuilder("7fffffffffffffff"), 0, 16, 16));
+    assertEquals(1L, UnsignedLongs.parseUnsignedLong(fields, 62, 63, 10));
+    try {
+      UnsignedLongs.parseUnsignedLong(fields, 39, 59, 10);
+      fail();
+    } catch (NumberFormatException expected) {
+    }
+    try {
+      UnsignedLongs.parseUnsignedLong(fields, 60, 60, 10);
+      fail();
+    } catch (NumberFormatException expected) {
+    }
+    try {
+      UnsignedLongs.parseUnsignedLong(fields, 61, 63, 10);
+      fail();
+    } catch (NumberFormatException expected) {
+    }
+    try {
+      UnsignedLongs.parseUnsignedLong(fields, 1, 65, 10);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
   public void testParseLongThrowsExceptionForInvalidRadix() {
     // Valid radix values are Character.MIN_RADIX to Character.MAX_RADIX, inclusive.
     try {
@@ -259,6 +291,49 @@ public class UnsignedLongsTest extends TestCase {
     }
   }
 
+  public void testWriteTo() {
+    char[] dst = new char[70];
+    Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      long value = random.nextLong() >>> random.nextInt(64);
+      for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+        String expected = toUnsignedBigInteger(value).toString(radix);
+        int end = UnsignedLongs.writeTo(value, radix, dst, 3);
+        assertEquals(expected, new String(dst, 3, end - 3));
+        assertEquals(expected, UnsignedLongs.toString(value, radix));
+      }
+      int end = UnsignedLongs.writeTo(value, dst, 0);
+      assertEquals(toUnsignedBigInteger(value).toString(), new String(dst, 0, end));
+    }
+    assertEquals(70, UnsignedLongs.writeTo(-1L, dst, 50));
+    try {
+      UnsignedLongs.writeTo(-1L, dst, 51);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testAppendTo() throws IOException {
+    long[] values = {0, 1, 10, 0x7fffffffffffffffL, 0x8000000000000000L, 0xfedcba9876543210L,
+        -8446744073709551617L, -8446744073709551616L, -1L};
+    for (long value : values) {
+      BigInteger unsigned = toUnsignedBigInteger(value);
+      assertEquals(unsigned.toString(),
+          UnsignedLongs.appendTo(new StringWriter(), value).toString());
+      assertEquals(unsigned.toString(),
+          UnsignedLongs.appendTo(new StringBuilder(), value).toString());
+      for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+        assertEquals(unsigned.toString(radix),
+            UnsignedLongs.appendTo(new StringWriter(), value, radix).toString());
+      }
+    }
+  }
+
+  private static BigInteger toUnsignedBigInteger(long value) {
+    BigInteger result = BigInteger.valueOf(value & 0x7fffffffffffffffL);
+    return value < 0 ? result.setBit(63) : result;
+  }
+
   public void testJoin() {
     assertEquals("", UnsignedLongs.join(","));
     assertEquals("1", UnsignedLongs.join(",", 1));
@@ -269,4 +344,156 @@ public class UnsignedLongsTest extends TestCase {
     assertEquals("184467440737095516159223372036854775808",
         UnsignedLongs.join("", -1, Long.MIN_VALUE));
   }
+
+  public void testSort() {
+    testSort(new long[] {}, new long[] {});
+    testSort(new long[] {2}, new long[] {2});
+    testSort(new long[] {2, -1, 0, Long.MIN_VALUE, 1},
+        new long[] {0, 1, 2, Long.MIN_VALUE, -1});
+    testSort(new long[] {-1, Long.MIN_VALUE, Long.MIN_VALUE + 1, Long.MAX_VALUE},
+        new long[] {Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1, -1});
+  }
+
+  private static void testSort(long[] input, long[] expected) {
+    input = Arrays.copyOf(input, input.length);
+    UnsignedLongs.sort(input);
+    assertTrue(Arrays.equals(expected, input));
+  }
+
+  public void testSort_matchesComparator() {
+    Random random = new Random(19);
+    // Lengths on both sides of the radix sort threshold, and values that share their high bytes.
+    for (int length : new int[] {0, 1, 10, 100, 1000, 5000, 20000}) {
+      for (int mode = 0; mode < 3; mode++) {
+        long[] array = new long[length];
+        for (int i = 0; i < length; i++) {
+          long value = random.nextLong();
+          array[i] = mode == 0 ? value : mode == 1 ? value & 0xFF : value | Long.MIN_VALUE;
+        }
+        long[] expected = sortedWithComparator(array);
+        long[] sorted = Arrays.copyOf(array, length);
+        UnsignedLongs.sort(sorted);
+        assertTrue(Arrays.equals(expected, sorted));
+
+        int from = length / 3;
+        int to = length - length / 4;
+        long[] range = Arrays.copyOf(array, length);
+        UnsignedLongs.sort(range, from, to);
+        long[] expectedRange = Arrays.copyOf(array, length);
+        System.arraycopy(
+            sortedWithComparator(Arrays.copyOfRange(array, from, to)), 0,
+            expectedRange, from, to - from);
+        assertTrue(Arrays.equals(expectedRange, range));
+      }
+    }
+  }
+
+  public void testSort_indexesOutOfBounds() {
+    try {
+      UnsignedLongs.sort(new long[5], 3, 2);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      UnsignedLongs.sort(new long[5], 0, 6);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testSortDescending() {
+    Random random = new Random(19);
+    for (int length : new int[] {0, 1, 10, 5000}) {
+      long[] array = new long[length];
+      for (int i = 0; i < length; i++) {
+        array[i] = random.nextLong();
+      }
+      long[] expected = sortedWithComparator(array);
+      Longs.reverse(expected);
+      UnsignedLongs.sortDescending(array);
+      assertTrue(Arrays.equals(expected, array));
+    }
+    long[] array = {1, -1, 3, 0, 2};
+    UnsignedLongs.sortDescending(array, 1, 4);
+    assertTrue(Arrays.equals(new long[] {1, -1, 3, 0, 2}, array));
+    UnsignedLongs.sortDescending(array, 0, 5);
+    assertTrue(Arrays.equals(new long[] {-1, 3, 2, 1, 0}, array));
+  }
+
+  public void testParallelSort() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Random random = new Random(19);
+      for (int length : new int[] {0, 1000, 100000}) {
+        for (int mode = 0; mode < 3; mode++) {
+          long[] array = new long[length];
+          for (int i = 0; i < length; i++) {
+            long value = random.nextLong();
+            // Skewed keys force the partitioning to go past the top byte.
+            array[i] = mode == 0 ? value : mode == 1 ? value & 0xFFFF : value % 3;
+          }
+          long[] expected = Arrays.copyOf(array, length);
+          UnsignedLongs.sort(expected);
+          UnsignedLongs.parallelSort(array, pool);
+          assertTrue(Arrays.equals(expected, array));
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  public void testBinarySearch() {
+    long[] array = {0, 1, 3, Long.MAX_VALUE, Long.MIN_VALUE, -1};
+    for (int i = 0; i < array.length; i++) {
+      assertEquals(i, UnsignedLongs.binarySearch(array, array[i]));
+    }
+    assertEquals(-3, UnsignedLongs.binarySearch(array, 2));
+    assertEquals(-4, UnsignedLongs.binarySearch(array, 4));
+    assertEquals(-6, UnsignedLongs.binarySearch(array, Long.MIN_VALUE + 1));
+    assertEquals(-6, UnsignedLongs.binarySearch(array, -2));
+    assertEquals(-1, UnsignedLongs.binarySearch(new long[] {}, 0));
+    assertEquals(-3, UnsignedLongs.binarySearch(array, 2, 4, 0));
+    assertEquals(-5, UnsignedLongs.binarySearch(array, 2, 4, -1));
+    assertEquals(3, UnsignedLongs.binarySearch(array, 2, 4, Long.MAX_VALUE));
+  }
+
+  public void testBinarySearch_matchesSortedList() {
+    Random random = new Random(19);
+    long[] array = new long[1000];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = random.nextLong() & 0xFFF000000000000FL;
+    }
+    UnsignedLongs.sort(array);
+    for (int trial = 0; trial < 1000; trial++) {
+      long key = random.nextBoolean() ? array[random.nextInt(array.length)] : random.nextLong();
+      int index = UnsignedLongs.binarySearch(array, key);
+      if (index >= 0) {
+        assertEquals(key, array[index]);
+      } else {
+        int insertionPoint = -index - 1;
+        assertTrue(insertionPoint == 0
+            || UnsignedLongs.compare(array[insertionPoint - 1], key) < 0);
+        assertTrue(insertionPoint == array.length
+            || UnsignedLongs.compare(array[insertionPoint], key) > 0);
+      }
+    }
+  }
+
+  private static long[] sortedWithComparator(long[] array) {
+    Long[] boxed = new Long[array.length];
+    for (int i = 0; i < array.length; i++) {
+      boxed[i] = array[i];
+    }
+    Arrays.sort(boxed, new Comparator<Long>() {
+      @Override public int compare(Long a, Long b) {
+        return UnsignedLongs.compare(a, b);
+      }
+    });
+    long[] result = new long[array.length];
+    for (int i = 0; i < array.length; i++) {
+      result[i] = boxed[i];
+    }
+    return result;
+  }
 }